@@ -0,0 +1,37 @@
+/*
+ *  Copyright (c) 2026 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.xtratej.adapter.core;
+
+/**
+ * A subscriber fanning its feed out to child subscribers by key, e.g. the symbol token of a wildcard subject,
+ * so one connection can feed many strategies that each select their own part of it.
+ */
+public interface Demultiplexer {
+
+    /** Returns the child subscriber of {@code key}, the same instance for every call with that key. */
+    Subscriber select(String key);
+
+    /**
+     * Selects the {@code key} child of {@code source}.
+     *
+     * @throws IllegalArgumentException if the source does not demultiplex
+     */
+    static Subscriber select(Subscriber source, String key) {
+        if (source instanceof Demultiplexer demultiplexer) {
+            return demultiplexer.select(key);
+        }
+        throw new IllegalArgumentException(source.name() + " source does not support select");
+    }
+}
@@ -0,0 +1,334 @@
+/*
+ *  Copyright (c) 2026 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.xtratej.adapter.duckdb;
+
+import com.fibonsai.xtratej.event.series.dao.*;
+import com.fibonsai.xtratej.event.series.dao.MyOrdersTimeSeries.BidAskSide;
+import com.fibonsai.xtratej.event.series.dao.MyOrdersTimeSeries.OrderCondition;
+import com.fibonsai.xtratej.event.series.dao.MyOrdersTimeSeries.OrderType;
+import com.fibonsai.xtratej.event.series.dao.MyOrdersTimeSeries.TradeState;
+import org.jspecify.annotations.Nullable;
+
+import java.lang.reflect.Array;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLDataException;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+
+/**
+ * Maps result set columns to the fields of one {@link TimeSeries} type. Each field reads the column named in
+ * {@code columns}, or else the one named like the field, in camel or snake case ({@code bidPrice} or
+ * {@code bid_price}). Fields with a default may be missing from the result set. Column indexes, timestamp
+ * types and enum names are resolved once per result set; rows are then read by index into column arrays.
+ * SQL timestamps without a time zone are read as UTC, and a NULL timestamp fails the read.
+ */
+final class ColumnMapping {
+
+    enum SeriesType {
+        DOUBLE(List.of(Field.timestamp(), Field.number("value", null))),
+        DOUBLE2(List.of(Field.timestamp(), Field.number("value", null).column("price"),
+                Field.number("value2", null).column("volume"))),
+        BAR(List.of(Field.timestamp(), Field.number("open", null), Field.number("high", null),
+                Field.number("low", null), Field.number("close", null), Field.number("volume", 0.0))),
+        ORDER_BOOK_UPDATE(List.of(Field.timestamp(), Field.text("bidOrderId", ""), Field.text("askOrderId", ""),
+                Field.number("bidPrice", null), Field.number("askPrice", null), Field.number("bidAmount", null),
+                Field.number("askAmount", null), Field.number("spread", Double.NaN))),
+        MY_ORDERS(List.of(Field.timestamp(), Field.text("orderId", null), Field.text("symbol", "SYMBOL"),
+                Field.choice("side", BidAskSide.UNDEF), Field.text("owner", "OWNER"),
+                Field.choice("tradeState", TradeState.UNKNOWN), Field.choice("orderType", OrderType.MARKET),
+                Field.number("fee", 0.0), Field.number("price", null), Field.number("limitPrice", Double.NaN),
+                Field.number("stopPrice", Double.NaN), Field.number("takeProfitPrice", Double.NaN),
+                Field.number("trailingPrice", Double.NaN), Field.number("initialAmount", null),
+                Field.number("executedAmount", 0.0), Field.choice("orderCondition", OrderCondition.GOOD_TIL_CANCELED),
+                Field.text("orderConditionRule", ""))),
+        ;
+
+        private final List<Field> fields;
+
+        SeriesType(List<Field> fields) {
+            this.fields = fields;
+        }
+
+        public static SeriesType fromName(String name) {
+            String normalized = name.replace('-', '_');
+            for (var value: values()) {
+                if (value.name().equalsIgnoreCase(normalized)) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("unknown series type " + name);
+        }
+
+        List<Field> fields() {
+            return fields;
+        }
+    }
+
+    private enum Kind { TIMESTAMP, NUMBER, TEXT, CHOICE }
+
+    /** A field of the series; {@code defaultValue} null means the column is required. */
+    private record Field(String name, Kind kind, @Nullable String column, @Nullable Object defaultValue) {
+
+        static Field timestamp() {
+            return new Field("timestamp", Kind.TIMESTAMP, null, null);
+        }
+
+        static Field number(String name, @Nullable Double defaultValue) {
+            return new Field(name, Kind.NUMBER, null, defaultValue);
+        }
+
+        static Field text(String name, @Nullable String defaultValue) {
+            return new Field(name, Kind.TEXT, null, defaultValue);
+        }
+
+        static Field choice(String name, Enum<?> defaultValue) {
+            return new Field(name, Kind.CHOICE, null, defaultValue);
+        }
+
+        Field column(String column) {
+            return new Field(name, kind, column, defaultValue);
+        }
+    }
+
+    private final SeriesType seriesType;
+    private final Map<String, String> columns;
+
+    ColumnMapping(SeriesType seriesType, Map<String, String> columns) {
+        this.seriesType = seriesType;
+        this.columns = Map.copyOf(columns);
+        for (var field : columns.keySet()) {
+            if (seriesType.fields().stream().noneMatch(f -> f.name().equals(field))) {
+                throw new IllegalArgumentException("%s has no %s field".formatted(seriesType, field));
+            }
+        }
+    }
+
+    SeriesType seriesType() {
+        return seriesType;
+    }
+
+    /** The column the {@code timestamp} field reads, as configured. */
+    String timestampColumn() {
+        return columns.getOrDefault("timestamp", "timestamp");
+    }
+
+    /**
+     * Resolves the fields against the result set columns.
+     *
+     * @throws IllegalArgumentException if a required field has no column
+     */
+    Reader resolve(ResultSetMetaData metaData) throws SQLException {
+        Map<String, Integer> indexes = new HashMap<>();
+        Map<Integer, Integer> types = new HashMap<>();
+        for (int column = 1; column <= metaData.getColumnCount(); column++) {
+            indexes.putIfAbsent(metaData.getColumnLabel(column).toLowerCase(Locale.ROOT), column);
+            types.put(column, metaData.getColumnType(column));
+        }
+        List<Field> fields = seriesType.fields();
+        int[] resolved = new int[fields.size()];
+        int[] sqlTypes = new int[fields.size()];
+        for (int x = 0; x < fields.size(); x++) {
+            Field field = fields.get(x);
+            String column = columns.getOrDefault(field.name(), field.column() != null ? field.column() : field.name());
+            Integer index = indexes.get(column.toLowerCase(Locale.ROOT));
+            if (index == null) {
+                index = indexes.get(snakeCase(column));
+            }
+            if (index == null && field.defaultValue() == null) {
+                throw new IllegalArgumentException("no %s column for the %s field of %s".formatted(column, field.name(), seriesType));
+            }
+            resolved[x] = index == null ? 0 : index;
+            sqlTypes[x] = index == null ? Types.NULL : types.get(index);
+        }
+        return new Reader(resolved, sqlTypes);
+    }
+
+    private static String snakeCase(String name) {
+        return name.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toLowerCase(Locale.ROOT);
+    }
+
+    /** Reads rows of one result set into chunks of the series type. */
+    final class Reader {
+        private final int[] indexes;
+        private final int[] sqlTypes;
+        private final List<Map<String, Enum<?>>> constants = new ArrayList<>();
+
+        private Reader(int[] indexes, int[] sqlTypes) {
+            this.indexes = indexes;
+            this.sqlTypes = sqlTypes;
+            for (var field : seriesType.fields()) {
+                Map<String, Enum<?>> byName = new HashMap<>();
+                if (field.defaultValue() instanceof Enum<?> defaultValue) {
+                    for (var constant : defaultValue.getDeclaringClass().getEnumConstants()) {
+                        byName.put(constant.name(), constant);
+                    }
+                }
+                constants.add(byName);
+            }
+        }
+
+        Chunk chunk(int capacity) {
+            return new Chunk(capacity);
+        }
+
+        /** Column arrays of up to {@code capacity} rows. */
+        final class Chunk {
+            private final Object[] columns;
+            private int size = 0;
+
+            private Chunk(int capacity) {
+                List<Field> fields = seriesType.fields();
+                columns = new Object[fields.size()];
+                for (int x = 0; x < fields.size(); x++) {
+                    columns[x] = switch (fields.get(x).kind()) {
+                        case TIMESTAMP -> new long[capacity];
+                        case NUMBER -> new double[capacity];
+                        case TEXT -> new String[capacity];
+                        case CHOICE -> Array.newInstance(((Enum<?>) Objects.requireNonNull(fields.get(x).defaultValue()))
+                                .getDeclaringClass(), capacity);
+                    };
+                }
+            }
+
+            int size() {
+                return size;
+            }
+
+            boolean isFull() {
+                return size == ((long[]) columns[0]).length;
+            }
+
+            long timestamp(int row) {
+                return ((long[]) columns[0])[row];
+            }
+
+            /** An empty chunk of the same series type. */
+            Chunk newChunk(int capacity) {
+                return new Chunk(capacity);
+            }
+
+            /** Appends row {@code row} of another chunk of the same series type. */
+            void copy(Chunk from, int row) {
+                for (int x = 0; x < columns.length; x++) {
+                    System.arraycopy(from.columns[x], row, columns[x], size, 1);
+                }
+                size++;
+            }
+
+            /** Appends the current row of {@code rs}. */
+            void read(ResultSet rs) throws SQLException {
+                List<Field> fields = seriesType.fields();
+                for (int x = 0; x < columns.length; x++) {
+                    final int index = indexes[x];
+                    final Object defaultValue = fields.get(x).defaultValue();
+                    switch (fields.get(x).kind()) {
+                        case TIMESTAMP -> ((long[]) columns[x])[size] = timestamp(rs, x);
+                        case NUMBER -> {
+                            double value = index == 0 ? (Double) Objects.requireNonNull(defaultValue) : rs.getDouble(index);
+                            if (index != 0 && rs.wasNull()) {
+                                if (defaultValue == null) {
+                                    throw new SQLDataException("NULL %s in column %s".formatted(
+                                            fields.get(x).name(), rs.getMetaData().getColumnLabel(index)));
+                                }
+                                value = (Double) defaultValue;
+                            }
+                            ((double[]) columns[x])[size] = value;
+                        }
+                        case TEXT -> {
+                            String value = index == 0 ? null : rs.getString(index);
+                            ((String[]) columns[x])[size] = value == null ? (String) defaultValue : value;
+                        }
+                        case CHOICE -> {
+                            String value = index == 0 ? null : rs.getString(index);
+                            Enum<?> constant = value == null ? null : constants.get(x).get(value.toUpperCase(Locale.ROOT));
+                            ((Object[]) columns[x])[size] = constant == null ? defaultValue : constant;
+                        }
+                    }
+                }
+                size++;
+            }
+
+            private long timestamp(ResultSet rs, int field) throws SQLException {
+                final int index = indexes[field];
+                final long timestamp = switch (sqlTypes[field]) {
+                    case Types.TIMESTAMP -> {
+                        LocalDateTime value = rs.getObject(index, LocalDateTime.class);
+                        yield value == null ? 0L : value.toInstant(ZoneOffset.UTC).toEpochMilli();
+                    }
+                    case Types.TIMESTAMP_WITH_TIMEZONE -> {
+                        OffsetDateTime value = rs.getObject(index, OffsetDateTime.class);
+                        yield value == null ? 0L : value.toInstant().toEpochMilli();
+                    }
+                    case Types.DATE -> {
+                        LocalDate value = rs.getObject(index, LocalDate.class);
+                        yield value == null ? 0L : value.atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
+                    }
+                    default -> rs.getLong(index);
+                };
+                if (rs.wasNull()) {
+                    throw new SQLDataException("NULL timestamp in column " + rs.getMetaData().getColumnLabel(index));
+                }
+                return timestamp;
+            }
+
+            /** Returns the rows read so far as a series of the mapped type. */
+            TimeSeries build(String id) {
+                Object[] c = new Object[columns.length];
+                for (int x = 0; x < columns.length; x++) {
+                    c[x] = trim(columns[x]);
+                }
+                return switch (seriesType) {
+                    case DOUBLE -> new DoubleTimeSeries(id, (long[]) c[0], (double[]) c[1]);
+                    case DOUBLE2 -> new Double2TimeSeries(id, (long[]) c[0], (double[]) c[1], (double[]) c[2]);
+                    case BAR -> new BarTimeSeries(id, (long[]) c[0], (double[]) c[1], (double[]) c[2], (double[]) c[3],
+                            (double[]) c[4], (double[]) c[5]);
+                    case ORDER_BOOK_UPDATE -> new OrderBookUpdateTimeSeries(id, (long[]) c[0], (String[]) c[1],
+                            (String[]) c[2], (double[]) c[3], (double[]) c[4], (double[]) c[5], (double[]) c[6],
+                            spreads((double[]) c[7], (double[]) c[3], (double[]) c[4]));
+                    case MY_ORDERS -> new MyOrdersTimeSeries(id, (long[]) c[0], (String[]) c[1], (String[]) c[2],
+                            (BidAskSide[]) c[3], (String[]) c[4], (TradeState[]) c[5], (OrderType[]) c[6],
+                            (double[]) c[7], (double[]) c[8], (double[]) c[9], (double[]) c[10], (double[]) c[11],
+                            (double[]) c[12], (double[]) c[13], (double[]) c[14], (OrderCondition[]) c[15],
+                            (String[]) c[16]);
+                };
+            }
+
+            private Object trim(Object column) {
+                if (Array.getLength(column) == size) {
+                    return column;
+                }
+                Object trimmed = Array.newInstance(column.getClass().getComponentType(), size);
+                System.arraycopy(column, 0, trimmed, 0, size);
+                return trimmed;
+            }
+
+            /** A missing spread is derived from the prices. */
+            private static double[] spreads(double[] spreads, double[] bidPrices, double[] askPrices) {
+                for (int x = 0; x < spreads.length; x++) {
+                    if (Double.isNaN(spreads[x])) {
+                        spreads[x] = askPrices[x] - bidPrices[x];
+                    }
+                }
+                return spreads;
+            }
+        }
+    }
+}
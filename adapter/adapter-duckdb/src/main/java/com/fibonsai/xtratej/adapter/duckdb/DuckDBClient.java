@@ -17,9 +17,9 @@ package com.fibonsai.xtratej.adapter.duckdb;
 import com.fibonsai.directflux.DirectFlux;
 import com.fibonsai.xtratej.adapter.core.Adapter;
 import com.fibonsai.xtratej.adapter.core.WithParams;
-import com.fibonsai.xtratej.event.series.dao.EmptyTimeSeries;
+import com.fibonsai.xtratej.event.series.dao.Double2TimeSeries;
 import com.fibonsai.xtratej.event.series.dao.TimeSeries;
-import com.fibonsai.xtratej.event.series.dao.builders.Double2TimeSeriesBuilder;
+import org.duckdb.DuckDBConnection;
 import org.duckdb.DuckDBDriver;
 import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
@@ -28,9 +28,8 @@ import tools.jackson.databind.JsonNode;
 import tools.jackson.databind.node.NullNode;
 
 import java.sql.*;
-import java.util.Objects;
-import java.util.Properties;
-import java.util.concurrent.TimeUnit;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class DuckDBClient implements Adapter, WithParams {
 
@@ -40,6 +39,18 @@ public class DuckDBClient implements Adapter, WithParams {
     private final DirectFlux<TimeSeries> caller;
 
     private long delayElementsNano = 100;
+    private Pacer.Mode pacing = Pacer.Mode.FIXED;
+    private double speed = 1.0;
+    private long spinNanos = 50_000L;
+    private Pacer pacer = new Pacer(Pacer.Mode.UNTHROTTLED, 0L, 1.0, 0L);
+    private int batchSize = 1;
+    private int fetchSize = 0;
+    private final AtomicLong rows = new AtomicLong();
+    private ColumnMapping mapping = new ColumnMapping(ColumnMapping.SeriesType.DOUBLE2, Map.of());
+    private @Nullable String partitionBy = null;
+    private List<Object> partitionValues = List.of();
+    private int partitionCount = 1;
+    private boolean merge = true;
     private JsonNode otherProperties = NullNode.getInstance();
     private String account = "";
     private String secret = "";
@@ -56,7 +67,17 @@ public class DuckDBClient implements Adapter, WithParams {
         SECRET("secret"),
         DELAY_ELEMENTS_NANO("delay-elements-nanos"),
         OTHER_PROPERTIES("other_properties"),
-        QUERY("query")
+        QUERY("query"),
+        BATCH_SIZE("batch-size"),
+        FETCH_SIZE("fetch-size"),
+        SERIES("series"),
+        COLUMNS("columns"),
+        PARTITION_BY("partition-by"),
+        PARTITIONS("partitions"),
+        MERGE("merge"),
+        PACING("pacing"),
+        SPEED("speed"),
+        SPIN_NANOS("spin-nanos"),
         ;
 
         private final String key;
@@ -104,6 +125,8 @@ public class DuckDBClient implements Adapter, WithParams {
     public DuckDBClient setParams(JsonNode params) {
         String accountTemp = null;
         String secretTemp = null;
+        ColumnMapping.SeriesType seriesType = mapping.seriesType();
+        Map<String, String> columns = new HashMap<>();
         for (var param: params.properties()) {
             String key = param.getKey();
             JsonNode value = param.getValue();
@@ -113,7 +136,7 @@ public class DuckDBClient implements Adapter, WithParams {
             if (DuckDBKey.SECRET.key().equals(key) && value.isString()) {
                 secretTemp = value.asString();
             }
-            if (DuckDBKey.DELAY_ELEMENTS_NANO.key().equals(key) && value.isLong()) {
+            if (DuckDBKey.DELAY_ELEMENTS_NANO.key().equals(key) && value.isIntegralNumber()) {
                 delayElementsNano = value.asLong();
             }
             if (DuckDBKey.OTHER_PROPERTIES.key().equals(key) && value.isObject()) {
@@ -122,7 +145,52 @@ public class DuckDBClient implements Adapter, WithParams {
             if (DuckDBKey.QUERY.key().equals(key) && value.isString()) {
                 query = value.asString();
             }
+            if (DuckDBKey.BATCH_SIZE.key().equals(key) && value.isInt()) {
+                batchSize = Math.max(1, value.asInt());
+            }
+            if (DuckDBKey.FETCH_SIZE.key().equals(key) && value.isInt()) {
+                fetchSize = value.asInt();
+            }
+            if (DuckDBKey.SERIES.key().equals(key) && value.isString()) {
+                seriesType = ColumnMapping.SeriesType.fromName(value.asString());
+            }
+            if (DuckDBKey.COLUMNS.key().equals(key) && value.isObject()) {
+                for (var column : value.properties()) {
+                    columns.put(column.getKey(), column.getValue().asString());
+                }
+            }
+            if (DuckDBKey.PARTITION_BY.key().equals(key) && value.isString()) {
+                partitionBy = value.asString();
+            }
+            if (DuckDBKey.PARTITIONS.key().equals(key) && value.isInt()) {
+                partitionCount = Math.max(1, value.asInt());
+                partitionValues = List.of();
+            }
+            if (DuckDBKey.PARTITIONS.key().equals(key) && value.isArray()) {
+                List<Object> values = new ArrayList<>();
+                for (var partition : value.asArray()) {
+                    values.add(partition.isIntegralNumber() ? partition.asLong()
+                            : partition.isNumber() ? partition.asDouble() : partition.asString());
+                }
+                partitionValues = List.copyOf(values);
+            }
+            if (DuckDBKey.MERGE.key().equals(key) && value.isBoolean()) {
+                merge = value.asBoolean();
+            }
+            if (DuckDBKey.PACING.key().equals(key) && value.isString()) {
+                pacing = Pacer.Mode.fromName(value.asString());
+            }
+            if (DuckDBKey.SPEED.key().equals(key) && value.isNumber()) {
+                speed = value.asDouble();
+            }
+            if (DuckDBKey.SPIN_NANOS.key().equals(key) && value.isIntegralNumber()) {
+                spinNanos = value.asLong();
+            }
+        }
+        if (pacing == Pacer.Mode.EVENT_TIME && !(speed > 0.0)) {
+            throw new IllegalArgumentException("speed must be positive: " + speed);
         }
+        mapping = new ColumnMapping(seriesType, columns);
         account = accountTemp == null ? System.getenv("DUCKDB_ACCOUNT") : accountTemp;
         secret = secretTemp == null ? System.getenv("DUCKDB_SECRET") : secretTemp;
         return this;
@@ -160,6 +228,7 @@ public class DuckDBClient implements Adapter, WithParams {
             log.error("java.sql.Connection not defined: Driver not found");
             return;
         }
+        pacer = new Pacer(pacing, delayElementsNano, speed, spinNanos);
         thread = Thread.startVirtualThread(() -> {
             try (Statement stmt = conn.createStatement()) {
                 if (query.contains("s3://") || query.contains("S3://")) {
@@ -207,16 +276,16 @@ public class DuckDBClient implements Adapter, WithParams {
                 }
 
                 stmt.executeBatch();
-                ResultSet resultSet = stmt.executeQuery(query);
-                try {
-                    while (resultSet.next()) {
-                        TimeSeries timeseries = decode(resultSet);
-                        caller.emitNext(timeseries);
-                        TimeUnit.NANOSECONDS.sleep(delayElementsNano);
-                    }
-                    if (!resultSet.isClosed()) {
-                        resultSet.close();
-                    }
+                if (fetchSize > 0) {
+                    stmt.setFetchSize(fetchSize);
+                }
+                if (partitionBy != null) {
+                    new PartitionedReplay(query, mapping, partitionBy, partitionValues, partitionCount, merge,
+                            batchSize, fetchSize, this::emitNext).run(conn.unwrap(DuckDBConnection.class));
+                    return;
+                }
+                try (ResultSet resultSet = stmt.executeQuery(query)) {
+                    emit(resultSet);
                 } catch (Exception e) {
                     log.error(e.getMessage(), e);
                 }
@@ -227,24 +296,37 @@ public class DuckDBClient implements Adapter, WithParams {
         subscribed = true;
     }
 
-    private TimeSeries decode(ResultSet rs) {
-        TimeSeries timeSeries = EmptyTimeSeries.INSTANCE;
-        try {
-            // HINT: ResultSetMetaData metaData = rs.getMetaData();
+    /**
+     * Emits the rows as series of the {@code series} type (by default {@link Double2TimeSeries} of the
+     * {@code price} and {@code volume} columns), mapped as {@link ColumnMapping} describes: one per row, or with a
+     * {@code batch-size} above one, chunks of up to that many rows in query order. Emissions are paced
+     * by the {@code pacing} mode: {@code unthrottled}, {@code fixed} ({@code delay-elements-nanos} apart, the
+     * default) or {@code event-time} ({@code speed} times the spacing of the timestamps), see {@link Pacer}.
+     */
+    void emit(ResultSet rs) throws SQLException, InterruptedException {
+        final ColumnMapping.Reader reader = mapping.resolve(rs.getMetaData());
+        ColumnMapping.Reader.Chunk chunk = reader.chunk(batchSize);
+        while (rs.next()) {
+            chunk.read(rs);
+            if (chunk.isFull()) {
+                emitNext(chunk.build(query), chunk.size());
+                chunk = reader.chunk(batchSize);
+            }
+        }
+        if (chunk.size() > 0) {
+            emitNext(chunk.build(query), chunk.size());
+        }
+    }
 
-            String id = rs.getString("id");
-            String side = rs.getString("side");
-            double price = rs.getDouble("price");
-            double amount = rs.getDouble("volume");
-            long timestamp = rs.getLong("timestamp");
+    private void emitNext(TimeSeries series, int size) throws InterruptedException {
+        pacer.await(series.timestamp());
+        caller.emitNext(series);
+        rows.addAndGet(size);
+    }
 
-            Double2TimeSeriesBuilder builder = new Double2TimeSeriesBuilder().setId(query);
-            builder.add(timestamp, price, amount);
-            timeSeries = builder.build();
-        } catch (SQLException e) {
-            log.error(e.getMessage(), e);
-        }
-        return timeSeries;
+    /** Rows emitted so far. */
+    public long rows() {
+        return rows.get();
     }
 
     @Override
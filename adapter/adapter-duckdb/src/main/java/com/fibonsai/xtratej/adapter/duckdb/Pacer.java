@@ -0,0 +1,105 @@
+/*
+ *  Copyright (c) 2026 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.xtratej.adapter.duckdb;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Paces emissions of a replay. {@link Mode#UNTHROTTLED} never waits, {@link Mode#FIXED} spaces emissions by at least
+ * a fixed gap, and {@link Mode#EVENT_TIME} releases each series when its last timestamp (in millis) is due: the event time
+ * elapsed since the first series, divided by {@code speed}, on the wall clock. Event-time deadlines are absolute, so
+ * waits do not add up drift, and a replay running late catches up without waiting. Waits park until {@code spinNanos} before
+ * the deadline and spin for the rest, since parking alone overshoots by tens of microseconds.
+ */
+final class Pacer {
+
+    enum Mode {
+        UNTHROTTLED,
+        FIXED,
+        EVENT_TIME,
+        ;
+
+        public static Mode fromName(String name) {
+            String normalized = name.replace('-', '_');
+            for (var value: values()) {
+                if (value.name().equalsIgnoreCase(normalized)) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("unknown pacing " + name);
+        }
+    }
+
+    private final Mode mode;
+    private final long gapNanos;
+    private final double speed;
+    private final long spinNanos;
+
+    private boolean started = false;
+    private long wallOrigin = 0L;
+    private long eventOrigin = 0L;
+    private long next = 0L;
+
+    Pacer(Mode mode, long gapNanos, double speed, long spinNanos) {
+        if (mode == Mode.EVENT_TIME && !(speed > 0.0)) {
+            throw new IllegalArgumentException("speed must be positive: " + speed);
+        }
+        this.mode = mode == Mode.FIXED && gapNanos <= 0 ? Mode.UNTHROTTLED : mode;
+        this.gapNanos = gapNanos;
+        this.speed = speed;
+        this.spinNanos = Math.max(0L, spinNanos);
+    }
+
+    Mode mode() {
+        return mode;
+    }
+
+    /** Waits until a series whose last timestamp is {@code timestamp} is due. */
+    void await(long timestamp) throws InterruptedException {
+        if (mode != Mode.UNTHROTTLED) {
+            waitUntil(deadline(timestamp));
+        }
+    }
+
+    private synchronized long deadline(long timestamp) {
+        final long now = System.nanoTime();
+        if (!started) {
+            started = true;
+            wallOrigin = now;
+            eventOrigin = timestamp;
+            next = now;
+        }
+        if (mode == Mode.FIXED) {
+            final long due = next;
+            next = Math.max(due, now) + gapNanos;
+            return due;
+        }
+        return wallOrigin + (long) ((timestamp - eventOrigin) * 1_000_000.0 / speed);
+    }
+
+    private void waitUntil(long deadline) throws InterruptedException {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            if (remaining > spinNanos) {
+                LockSupport.parkNanos(remaining - spinNanos);
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+    }
+}
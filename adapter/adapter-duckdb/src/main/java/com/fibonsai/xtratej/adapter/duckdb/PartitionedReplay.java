@@ -0,0 +1,283 @@
+/*
+ *  Copyright (c) 2026 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.xtratej.adapter.duckdb;
+
+import com.fibonsai.xtratej.event.series.dao.TimeSeries;
+import org.duckdb.DuckDBConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Replays a query split into partitions: one per value of the {@code partition-by} column, or a number of ranges
+ * of it split at its quantiles, so each holds about as many rows, plus one for its NULL values. Every partition
+ * runs on its own virtual thread over a duplicate of the client connection, which shares the database and its
+ * secrets and settings. The partition streams are either merged back in timestamp order, ties in partition order,
+ * or emitted as they are read with the partition value as series id. The first partition to fail stops the replay.
+ */
+final class PartitionedReplay {
+
+    private static final Logger log = LoggerFactory.getLogger(PartitionedReplay.class);
+
+    /** Rows a partition reads ahead of the merge, per chunk. */
+    private static final int READ_CHUNK = 1024;
+    private static final int READ_AHEAD = 4;
+
+    interface Sink {
+        void emit(TimeSeries series, int rows) throws InterruptedException;
+    }
+
+    record Partition(String label, String predicate, List<Object> parameters) {}
+
+    private final String query;
+    private final ColumnMapping mapping;
+    private final String partitionBy;
+    private final List<Object> values;
+    private final int count;
+    private final boolean merge;
+    private final int batchSize;
+    private final int fetchSize;
+    private final Sink sink;
+    private final AtomicReference<SQLException> failure = new AtomicReference<>();
+
+    PartitionedReplay(String query, ColumnMapping mapping, String partitionBy, List<Object> values, int count,
+                      boolean merge, int batchSize, int fetchSize, Sink sink) {
+        this.query = query.strip().replaceAll(";+$", "");
+        this.mapping = mapping;
+        this.partitionBy = partitionBy;
+        this.values = List.copyOf(values);
+        this.count = Math.max(1, count);
+        this.merge = merge;
+        this.batchSize = batchSize;
+        this.fetchSize = fetchSize;
+        this.sink = sink;
+    }
+
+    /** Lists the partitions: one per configured value, or else {@code count} quantile ranges and the NULL values. */
+    List<Partition> partitions(Connection conn) throws SQLException {
+        List<Partition> partitions = new ArrayList<>();
+        if (!values.isEmpty()) {
+            for (var value : values) {
+                partitions.add(new Partition(String.valueOf(value), "%s = ?".formatted(partitionBy), List.of(value)));
+            }
+            return partitions;
+        }
+        if (count == 1) {
+            return List.of(new Partition(query, "TRUE", List.of()));
+        }
+        StringJoiner quantiles = new StringJoiner(", ");
+        for (int x = 1; x < count; x++) {
+            quantiles.add("quantile_disc(%s, %s)".formatted(partitionBy, (double) x / count));
+        }
+        Object[] bounds = new Object[count - 1];
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT %s FROM (%s) AS replay".formatted(quantiles, query))) {
+            rs.next();
+            for (int x = 0; x < bounds.length; x++) {
+                bounds[x] = rs.getObject(x + 1);
+            }
+        }
+        for (int x = 0; x < count; x++) {
+            String label = "%s#%d".formatted(query, x);
+            if (x == 0) {
+                partitions.add(new Partition(label, "%s < ?".formatted(partitionBy), Arrays.asList(bounds[0])));
+            } else if (x == count - 1) {
+                partitions.add(new Partition(label, "%s >= ?".formatted(partitionBy), Arrays.asList(bounds[x - 1])));
+            } else {
+                partitions.add(new Partition(label, "%s >= ? AND %s < ?".formatted(partitionBy, partitionBy),
+                        Arrays.asList(bounds[x - 1], bounds[x])));
+            }
+        }
+        // comparisons never match NULL
+        partitions.add(new Partition("%s#null".formatted(query), "%s IS NULL".formatted(partitionBy), List.of()));
+        return partitions;
+    }
+
+    /**
+     * Replays every partition and returns when all are done.
+     *
+     * @throws SQLException the failure of the first failing partition, once the others are stopped
+     */
+    void run(DuckDBConnection conn) throws SQLException, InterruptedException {
+        final Thread runner = Thread.currentThread();
+        List<Partition> partitions = partitions(conn);
+        List<Connection> connections = new ArrayList<>();
+        List<Thread> workers = new ArrayList<>();
+        try {
+            List<BlockingQueue<Optional<ColumnMapping.Reader.Chunk>>> queues = new ArrayList<>();
+            for (var partition : partitions) {
+                final Connection connection = conn.duplicate();
+                connections.add(connection);
+                if (merge) {
+                    final BlockingQueue<Optional<ColumnMapping.Reader.Chunk>> queue = new ArrayBlockingQueue<>(READ_AHEAD);
+                    queues.add(queue);
+                    workers.add(Thread.startVirtualThread(() -> {
+                        try {
+                            read(connection, partition, READ_CHUNK, chunk -> queue.put(Optional.of(chunk)), runner);
+                        } finally {
+                            try {
+                                queue.put(Optional.empty());
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                        }
+                    }));
+                } else {
+                    workers.add(Thread.startVirtualThread(() ->
+                            read(connection, partition, batchSize, chunk -> sink.emit(chunk.build(partition.label()), chunk.size()),
+                                    runner)));
+                }
+            }
+            try {
+                if (merge) {
+                    merge(queues);
+                }
+                for (var worker : workers) {
+                    worker.join();
+                }
+            } catch (InterruptedException e) {
+                if (failure.get() == null) {
+                    throw e;
+                }
+            }
+            SQLException failed = failure.get();
+            if (failed != null) {
+                // the failing partition interrupts the runner to stop the others
+                Thread.interrupted();
+                throw failed;
+            }
+        } finally {
+            for (var worker : workers) {
+                worker.interrupt();
+            }
+            for (var connection : connections) {
+                connection.close();
+            }
+        }
+    }
+
+    private interface ChunkConsumer {
+        void accept(ColumnMapping.Reader.Chunk chunk) throws InterruptedException;
+    }
+
+    private void read(Connection connection, Partition partition, int chunkSize, ChunkConsumer consumer, Thread runner) {
+        String sql = "SELECT * FROM (%s) AS replay WHERE %s ORDER BY %s"
+                .formatted(query, partition.predicate(), mapping.timestampColumn());
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            for (int x = 0; x < partition.parameters().size(); x++) {
+                stmt.setObject(x + 1, partition.parameters().get(x));
+            }
+            if (fetchSize > 0) {
+                stmt.setFetchSize(fetchSize);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                ColumnMapping.Reader reader = mapping.resolve(rs.getMetaData());
+                ColumnMapping.Reader.Chunk chunk = reader.chunk(chunkSize);
+                while (rs.next()) {
+                    chunk.read(rs);
+                    if (chunk.isFull()) {
+                        consumer.accept(chunk);
+                        chunk = reader.chunk(chunkSize);
+                    }
+                }
+                if (chunk.size() > 0) {
+                    consumer.accept(chunk);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            SQLException failed = new SQLException("partition %s failed: %s".formatted(partition.label(), e.getMessage()), e);
+            if (failure.compareAndSet(null, failed)) {
+                log.error("partition {}: {}", partition.label(), e.getMessage(), e);
+                runner.interrupt();
+            } else {
+                // stopped by the first failure
+                log.debug("partition {}: {}", partition.label(), e.getMessage());
+            }
+        }
+    }
+
+    /** Position of the merge in one partition stream. */
+    private static final class Cursor {
+        private final int partition;
+        private final BlockingQueue<Optional<ColumnMapping.Reader.Chunk>> queue;
+        private ColumnMapping.Reader.Chunk chunk;
+        private int row;
+
+        private Cursor(int partition, BlockingQueue<Optional<ColumnMapping.Reader.Chunk>> queue,
+                       ColumnMapping.Reader.Chunk chunk) {
+            this.partition = partition;
+            this.queue = queue;
+            this.chunk = chunk;
+        }
+
+        long timestamp() {
+            return chunk.timestamp(row);
+        }
+
+        /** Moves to the next row, taking the next chunk when this one is done; false at the end of the stream. */
+        boolean advance() throws InterruptedException {
+            if (++row < chunk.size()) {
+                return true;
+            }
+            Optional<ColumnMapping.Reader.Chunk> next = queue.take();
+            if (next.isEmpty()) {
+                return false;
+            }
+            chunk = next.get();
+            row = 0;
+            return true;
+        }
+    }
+
+    private void merge(List<BlockingQueue<Optional<ColumnMapping.Reader.Chunk>>> queues) throws InterruptedException {
+        PriorityQueue<Cursor> heads = new PriorityQueue<>(
+                Comparator.comparingLong(Cursor::timestamp).thenComparingInt(cursor -> cursor.partition));
+        for (int x = 0; x < queues.size(); x++) {
+            Optional<ColumnMapping.Reader.Chunk> first = queues.get(x).take();
+            if (first.isPresent()) {
+                heads.add(new Cursor(x, queues.get(x), first.get()));
+            }
+        }
+        ColumnMapping.Reader.Chunk out = null;
+        while (!heads.isEmpty()) {
+            Cursor head = heads.poll();
+            if (out == null) {
+                out = head.chunk.newChunk(batchSize);
+            }
+            out.copy(head.chunk, head.row);
+            if (out.isFull()) {
+                sink.emit(out.build(query), out.size());
+                out = null;
+            }
+            if (head.advance()) {
+                heads.add(head);
+            }
+        }
+        if (out != null && out.size() > 0) {
+            sink.emit(out.build(query), out.size());
+        }
+    }
+}
@@ -0,0 +1,319 @@
+/*
+ *  Copyright (c) 2026 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.xtratej.adapter.duckdb;
+
+import com.fibonsai.directflux.DirectFlux;
+import com.fibonsai.xtratej.event.series.dao.BarTimeSeries;
+import com.fibonsai.xtratej.event.series.dao.Double2TimeSeries;
+import com.fibonsai.xtratej.event.series.dao.MyOrdersTimeSeries;
+import com.fibonsai.xtratej.event.series.dao.OrderBookUpdateTimeSeries;
+import com.fibonsai.xtratej.event.series.dao.TimeSeries;
+import org.duckdb.DuckDBConnection;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import tools.jackson.databind.node.JsonNodeFactory;
+import tools.jackson.databind.node.ObjectNode;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLDataException;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DuckDBClientTest {
+
+    private static final String QUERY = """
+            SELECT 'BTC' AS id, 'buy' AS side, i * 0.5 AS price, 1.0 + i AS volume, 1000 + i AS timestamp
+            FROM range(%d) t(i) ORDER BY i
+            """;
+
+    private static List<TimeSeries> read(int rows, int batchSize) throws InterruptedException {
+        ObjectNode params = JsonNodeFactory.instance.objectNode();
+        params.put(DuckDBClient.DuckDBKey.QUERY.key(), QUERY.formatted(rows));
+        params.put(DuckDBClient.DuckDBKey.BATCH_SIZE.key(), batchSize);
+        return read(params, rows);
+    }
+
+    private static List<TimeSeries> read(ObjectNode params, int rows) throws InterruptedException {
+        List<TimeSeries> received = new CopyOnWriteArrayList<>();
+        DirectFlux<TimeSeries> caller = new DirectFlux<>();
+        caller.subscribe(received::add);
+        params.put(DuckDBClient.DuckDBKey.FETCH_SIZE.key(), 4096);
+        params.put(DuckDBClient.DuckDBKey.DELAY_ELEMENTS_NANO.key(), 0L);
+        DuckDBClient client = new DuckDBClient(caller).setParams(params);
+
+        assertTrue(client.connect());
+        client.subscribe();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (client.rows() < rows && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        client.disconnect();
+        return received;
+    }
+
+    @Test
+    void batchMode_emitsMultiPointChunks() throws InterruptedException {
+        List<TimeSeries> received = read(2_500, 1_000);
+
+        assertEquals(List.of(1_000, 1_000, 500), received.stream().map(TimeSeries::size).toList());
+        Double2TimeSeries last = assertInstanceOf(Double2TimeSeries.class, received.getLast());
+        assertEquals(3_499L, last.timestamp());
+        assertEquals(1_249.5, last.values()[499]);
+        assertEquals(2_500.0, last.values2()[499]);
+        assertEquals(3_000L, last.timestamps()[0]);
+    }
+
+    @Test
+    void rowMode_emitsOnePointPerRow() throws InterruptedException {
+        List<TimeSeries> received = read(5, 1);
+
+        assertEquals(5, received.size());
+        assertTrue(received.stream().allMatch(timeSeries -> timeSeries.size() == 1));
+        assertEquals(1_004L, received.getLast().timestamp());
+    }
+
+    @Test
+    void series_bar_mapsRenamedAndTimestampColumns() throws InterruptedException {
+        ObjectNode params = JsonNodeFactory.instance.objectNode();
+        params.put(DuckDBClient.DuckDBKey.QUERY.key(), """
+                SELECT TIMESTAMP '2024-01-01 00:00:00' + INTERVAL (i) MINUTE AS ts, 1.0 + i AS open, 2.0 + i AS high,
+                       0.5 + i AS low, 1.5 + i AS px_close
+                FROM range(3) t(i) ORDER BY i
+                """);
+        params.put(DuckDBClient.DuckDBKey.SERIES.key(), "bar");
+        params.put(DuckDBClient.DuckDBKey.BATCH_SIZE.key(), 10);
+        params.putObject(DuckDBClient.DuckDBKey.COLUMNS.key()).put("timestamp", "ts").put("close", "px_close");
+
+        List<TimeSeries> received = read(params, 3);
+
+        BarTimeSeries bar = assertInstanceOf(BarTimeSeries.class, received.getFirst());
+        assertEquals(3, bar.size());
+        assertEquals(1_704_067_200_000L + 120_000L, bar.timestamp());
+        assertArrayEquals(new double[]{1.5, 2.5, 3.5}, bar.closes());
+        assertArrayEquals(new double[]{0.0, 0.0, 0.0}, bar.volumes());
+    }
+
+    @Test
+    void series_orderBookUpdate_readsSnakeCaseColumns() throws InterruptedException {
+        ObjectNode params = JsonNodeFactory.instance.objectNode();
+        params.put(DuckDBClient.DuckDBKey.QUERY.key(), """
+                SELECT 1000 + i AS timestamp, 100.0 - i AS bid_price, 101.0 + i AS ask_price,
+                       1.0 AS bid_amount, 2.0 AS ask_amount
+                FROM range(2) t(i) ORDER BY i
+                """);
+        params.put(DuckDBClient.DuckDBKey.SERIES.key(), "order-book-update");
+        params.put(DuckDBClient.DuckDBKey.BATCH_SIZE.key(), 10);
+
+        OrderBookUpdateTimeSeries book = assertInstanceOf(OrderBookUpdateTimeSeries.class, read(params, 2).getFirst());
+
+        assertArrayEquals(new double[]{101.0, 102.0}, book.askPrices());
+        assertArrayEquals(new double[]{1.0, 3.0}, book.spreads());
+        assertArrayEquals(new String[]{"", ""}, book.bidOrderIds());
+    }
+
+    @Test
+    void series_myOrders_parsesEnumsWithDefaults() throws InterruptedException {
+        ObjectNode params = JsonNodeFactory.instance.objectNode();
+        params.put(DuckDBClient.DuckDBKey.QUERY.key(), """
+                SELECT 1000 AS timestamp, 'o1' AS order_id, 'bid' AS side, 'FILLED' AS trade_state, 10.0 AS price,
+                       1.0 AS initial_amount, 1.0 AS executed_amount
+                UNION ALL
+                SELECT 1001, 'o2', 'nonsense', NULL, 11.0, 2.0, NULL
+                """);
+        params.put(DuckDBClient.DuckDBKey.SERIES.key(), "my-orders");
+        params.put(DuckDBClient.DuckDBKey.BATCH_SIZE.key(), 10);
+
+        MyOrdersTimeSeries orders = assertInstanceOf(MyOrdersTimeSeries.class, read(params, 2).getFirst());
+
+        assertArrayEquals(new MyOrdersTimeSeries.BidAskSide[]{MyOrdersTimeSeries.BidAskSide.BID,
+                MyOrdersTimeSeries.BidAskSide.UNDEF}, orders.sides());
+        assertEquals(MyOrdersTimeSeries.TradeState.UNKNOWN, orders.tradeStates()[1]);
+        assertArrayEquals(new double[]{1.0, 0.0}, orders.executedAmounts());
+        assertEquals(MyOrdersTimeSeries.OrderType.MARKET, orders.orderTypes()[0]);
+        assertTrue(Double.isNaN(orders.limitPrices()[0]));
+    }
+
+    @Test
+    void columns_unknownFieldOrMissingColumn_isRejected() {
+        ObjectNode params = JsonNodeFactory.instance.objectNode();
+        params.put(DuckDBClient.DuckDBKey.SERIES.key(), "double");
+        params.putObject(DuckDBClient.DuckDBKey.COLUMNS.key()).put("close", "px");
+        DuckDBClient client = new DuckDBClient(new DirectFlux<>());
+
+        assertThrows(IllegalArgumentException.class, () -> client.setParams(params));
+        assertThrows(IllegalArgumentException.class,
+                () -> client.setParams(JsonNodeFactory.instance.objectNode().put(DuckDBClient.DuckDBKey.SERIES.key(), "tick")));
+    }
+
+    private static final String SYMBOLS_QUERY = """
+            SELECT ['BTC', 'ETH', 'SOL'][mod(i, 3) + 1] AS symbol, i * 0.5 AS price, 1.0 AS volume, 1000 + i AS timestamp
+            FROM range(%d) t(i)
+            """;
+
+    private static long[] timestamps(List<TimeSeries> received) {
+        return received.stream().flatMapToLong(timeSeries -> Arrays.stream(timeSeries.timestamps())).toArray();
+    }
+
+    @Test
+    void partitions_bySymbol_mergeInTimestampOrder() throws InterruptedException {
+        ObjectNode params = JsonNodeFactory.instance.objectNode();
+        params.put(DuckDBClient.DuckDBKey.QUERY.key(), SYMBOLS_QUERY.formatted(30_000));
+        params.put(DuckDBClient.DuckDBKey.BATCH_SIZE.key(), 1_000);
+        params.put(DuckDBClient.DuckDBKey.PARTITION_BY.key(), "symbol");
+        params.putArray(DuckDBClient.DuckDBKey.PARTITIONS.key()).add("BTC").add("ETH").add("SOL");
+
+        List<TimeSeries> received = read(params, 30_000);
+
+        assertEquals(30, received.size());
+        assertArrayEquals(LongStream.range(1_000, 31_000).toArray(), timestamps(received));
+    }
+
+    @Test
+    void partitions_byTimeRange_mergeInTimestampOrder() throws InterruptedException {
+        ObjectNode params = JsonNodeFactory.instance.objectNode();
+        params.put(DuckDBClient.DuckDBKey.QUERY.key(), """
+                SELECT i * 0.5 AS price, 1.0 AS volume, TIMESTAMP '2024-01-01 00:00:00' + INTERVAL (i) SECOND AS ts
+                FROM range(10000) t(i);
+                """);
+        params.put(DuckDBClient.DuckDBKey.BATCH_SIZE.key(), 4_096);
+        params.put(DuckDBClient.DuckDBKey.PARTITION_BY.key(), "ts");
+        params.put(DuckDBClient.DuckDBKey.PARTITIONS.key(), 4);
+        params.putObject(DuckDBClient.DuckDBKey.COLUMNS.key()).put("timestamp", "ts");
+
+        long[] timestamps = timestamps(read(params, 10_000));
+
+        assertArrayEquals(LongStream.range(0, 10_000).map(i -> 1_704_067_200_000L + i * 1_000L).toArray(), timestamps);
+    }
+
+    @Test
+    void partitions_withoutMerge_emitPerSymbolStreams() throws InterruptedException {
+        ObjectNode params = JsonNodeFactory.instance.objectNode();
+        params.put(DuckDBClient.DuckDBKey.QUERY.key(), SYMBOLS_QUERY.formatted(3_000));
+        params.put(DuckDBClient.DuckDBKey.BATCH_SIZE.key(), 100);
+        params.put(DuckDBClient.DuckDBKey.PARTITION_BY.key(), "symbol");
+        params.putArray(DuckDBClient.DuckDBKey.PARTITIONS.key()).add("BTC").add("ETH").add("SOL");
+        params.put(DuckDBClient.DuckDBKey.MERGE.key(), false);
+
+        Map<String, List<TimeSeries>> bySymbol = read(params, 3_000).stream()
+                .collect(Collectors.groupingBy(TimeSeries::id));
+
+        assertEquals(Set.of("BTC", "ETH", "SOL"), bySymbol.keySet());
+        assertArrayEquals(LongStream.range(0, 1_000).map(i -> 1_001L + 3 * i).toArray(), timestamps(bySymbol.get("ETH")));
+    }
+
+    @Test
+    void pacing_eventTime_replaysAtMultipleOfTimestampSpacing() throws InterruptedException {
+        ObjectNode params = JsonNodeFactory.instance.objectNode();
+        params.put(DuckDBClient.DuckDBKey.QUERY.key(), """
+                SELECT i * 0.5 AS price, 1.0 AS volume, 1000 + i * 100 AS timestamp FROM range(5) t(i) ORDER BY i
+                """);
+        params.put(DuckDBClient.DuckDBKey.PACING.key(), "event-time");
+        params.put(DuckDBClient.DuckDBKey.SPEED.key(), 20.0);
+
+        long start = System.nanoTime();
+        List<TimeSeries> received = read(params, 5);
+
+        assertEquals(5, received.size());
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(20));
+        assertThrows(IllegalArgumentException.class, () -> new DuckDBClient(new DirectFlux<>())
+                .setParams(JsonNodeFactory.instance.objectNode().put(DuckDBClient.DuckDBKey.PACING.key(), "event-time")
+                        .put(DuckDBClient.DuckDBKey.SPEED.key(), 0)));
+    }
+
+    private static long firstTimestamp(Connection conn, String query) throws SQLException {
+        try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery(query)) {
+            ColumnMapping.Reader.Chunk chunk = new ColumnMapping(ColumnMapping.SeriesType.DOUBLE, Map.of())
+                    .resolve(rs.getMetaData()).chunk(1);
+            assertTrue(rs.next());
+            chunk.read(rs);
+            return chunk.timestamp(0);
+        }
+    }
+
+    @Test
+    void mapping_readsSqlTimestampsAsUtcAndRejectsNull() throws SQLException {
+        TimeZone defaultZone = TimeZone.getDefault();
+        TimeZone.setDefault(TimeZone.getTimeZone("America/New_York"));
+        try (Connection conn = DriverManager.getConnection("jdbc:duckdb:")) {
+            assertEquals(1_704_067_200_000L, firstTimestamp(conn,
+                    "SELECT TIMESTAMP '2024-01-01 00:00:00' AS timestamp, 1.0 AS value"));
+            assertEquals(1_704_067_200_000L - 7_200_000L, firstTimestamp(conn,
+                    "SELECT TIMESTAMPTZ '2024-01-01 00:00:00+02:00' AS timestamp, 1.0 AS value"));
+            assertEquals(1_704_067_200_000L, firstTimestamp(conn,
+                    "SELECT DATE '2024-01-01' AS timestamp, 1.0 AS value"));
+            assertThrows(SQLException.class, () -> firstTimestamp(conn,
+                    "SELECT CAST(NULL AS TIMESTAMP) AS timestamp, 1.0 AS value"));
+            assertThrows(SQLException.class, () -> firstTimestamp(conn,
+                    "SELECT CAST(NULL AS BIGINT) AS timestamp, 1.0 AS value"));
+            assertThrows(SQLDataException.class, () -> firstTimestamp(conn,
+                    "SELECT 1000 AS timestamp, CAST(NULL AS DOUBLE) AS value"));
+        } finally {
+            TimeZone.setDefault(defaultZone);
+        }
+    }
+
+    private static List<TimeSeries> replay(String query, String partitionBy, List<Object> values, int count, boolean merge)
+            throws SQLException, InterruptedException {
+        List<TimeSeries> received = new CopyOnWriteArrayList<>();
+        try (Connection conn = DriverManager.getConnection("jdbc:duckdb:")) {
+            new PartitionedReplay(query, new ColumnMapping(ColumnMapping.SeriesType.DOUBLE2, Map.of()), partitionBy,
+                    values, count, merge, 100, 0, (series, rows) -> received.add(series))
+                    .run(conn.unwrap(DuckDBConnection.class));
+        }
+        return received;
+    }
+
+    @Test
+    void partitions_byQuantile_replayNullValues() throws SQLException, InterruptedException {
+        String query = """
+                SELECT i * 0.5 AS price, 1.0 AS volume, 1000 + i AS timestamp,
+                       CASE WHEN mod(i, 10) = 0 THEN NULL ELSE i END AS bucket
+                FROM range(1000) t(i)
+                """;
+
+        assertArrayEquals(LongStream.range(1_000, 2_000).toArray(),
+                timestamps(replay(query, "bucket", List.of(), 4, true)));
+        assertEquals(1_000, timestamps(replay(query, "bucket", List.of(), 4, false)).length);
+    }
+
+    @Test
+    @Timeout(10)
+    void partitions_failingPartition_stopsTheReplay() {
+        String query = """
+                SELECT ['BTC', 'ETH', 'SOL'][mod(i, 3) + 1] AS symbol, i * 0.5 AS price, 1.0 AS volume,
+                       CASE WHEN mod(i, 3) = 1 AND i > 1000 THEN NULL ELSE 1000 + i END AS timestamp
+                FROM range(300000) t(i)
+                """;
+        List<Object> symbols = List.of("BTC", "ETH", "SOL");
+
+        SQLException merged = assertThrows(SQLException.class, () -> replay(query, "symbol", symbols, 1, true));
+        assertTrue(merged.getMessage().contains("partition ETH failed"));
+        assertThrows(SQLException.class, () -> replay(query, "symbol", symbols, 1, false));
+    }
+}
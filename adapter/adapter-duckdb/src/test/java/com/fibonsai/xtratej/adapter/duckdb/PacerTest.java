@@ -0,0 +1,73 @@
+/*
+ *  Copyright (c) 2026 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.xtratej.adapter.duckdb;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PacerTest {
+
+    private static long elapsedNanos(Pacer pacer, long... timestamps) throws InterruptedException {
+        long start = System.nanoTime();
+        for (var timestamp : timestamps) {
+            pacer.await(timestamp);
+        }
+        return System.nanoTime() - start;
+    }
+
+    @Test
+    void unthrottled_neverWaits() throws InterruptedException {
+        Pacer pacer = new Pacer(Pacer.Mode.UNTHROTTLED, 0L, 1.0, 0L);
+
+        assertTrue(elapsedNanos(pacer, 0L, 60_000L, 120_000L) < TimeUnit.SECONDS.toNanos(1));
+    }
+
+    @Test
+    void eventTime_scalesTimestampSpacingBySpeed() throws InterruptedException {
+        Pacer pacer = new Pacer(Pacer.Mode.EVENT_TIME, 0L, 10.0, 50_000L);
+
+        long elapsed = elapsedNanos(pacer, 1_000L, 1_100L, 1_100L, 1_300L);
+
+        assertTrue(elapsed >= TimeUnit.MILLISECONDS.toNanos(30), "elapsed " + elapsed);
+        assertTrue(elapsed < TimeUnit.MILLISECONDS.toNanos(300), "elapsed " + elapsed);
+    }
+
+    @Test
+    void eventTime_catchesUpWithoutWaiting() throws InterruptedException {
+        Pacer pacer = new Pacer(Pacer.Mode.EVENT_TIME, 0L, 1.0, 50_000L);
+        pacer.await(0L);
+        TimeUnit.MILLISECONDS.sleep(50);
+
+        assertTrue(elapsedNanos(pacer, 10L, 20L, 40L) < TimeUnit.MILLISECONDS.toNanos(5));
+    }
+
+    @Test
+    void fixed_spacesEmissionsByGap() throws InterruptedException {
+        Pacer pacer = new Pacer(Pacer.Mode.FIXED, TimeUnit.MILLISECONDS.toNanos(10), 1.0, 50_000L);
+
+        assertTrue(elapsedNanos(pacer, 0L, 0L, 0L, 0L) >= TimeUnit.MILLISECONDS.toNanos(30));
+        assertEquals(Pacer.Mode.UNTHROTTLED, new Pacer(Pacer.Mode.FIXED, 0L, 1.0, 0L).mode());
+    }
+
+    @Test
+    void mode_fromName_acceptsHyphens() {
+        assertEquals(Pacer.Mode.EVENT_TIME, Pacer.Mode.fromName("event-time"));
+        assertThrows(IllegalArgumentException.class, () -> Pacer.Mode.fromName("warp"));
+        assertThrows(IllegalArgumentException.class, () -> new Pacer(Pacer.Mode.EVENT_TIME, 0L, 0.0, 0L));
+    }
+}
@@ -18,6 +18,9 @@ import com.fibonsai.directflux.DirectFlux;
 import com.fibonsai.xtratej.adapter.core.Adapter;
 import com.fibonsai.xtratej.adapter.core.WithParams;
 import com.fibonsai.xtratej.event.series.dao.*;
+import com.fibonsai.xtratej.event.series.dao.codec.BinaryCodec;
+import com.fibonsai.xtratej.event.series.dao.codec.GorillaCodec;
+import com.fibonsai.xtratej.event.series.dao.codec.TimeSeriesView;
 import io.nats.client.*;
 import io.nats.client.impl.Headers;
 import org.jspecify.annotations.Nullable;
@@ -27,13 +30,16 @@ import tools.jackson.databind.JsonNode;
 import tools.jackson.databind.ObjectMapper;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
+import java.nio.ByteBuffer;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
 
 import static com.fibonsai.xtratej.adapter.nats.NatsClient.NatsKey.*;
 
@@ -47,6 +53,14 @@ public class NatsClient implements Adapter, WithParams {
         MAX_RECONNECTS("max-reconnects"),
         MAX_MESSAGES_INOUTGOING_QUEUE("max-messages-outgoing-queue"),
         TOPICS("topics"),
+        CODEC("codec"),
+        ZERO_COPY("zero-copy"),
+        ASYNC_PUBLISH("async-publish"),
+        OUTBOUND_CAPACITY("outbound-capacity"),
+        OUTBOUND_BATCH_SIZE("outbound-batch-size"),
+        DECODE_WORKERS("decode-workers"),
+        DECODE_QUEUE_CAPACITY("decode-queue-capacity"),
+        DEMUX_TOKEN("demux-token"),
         ;
 
         private final String key;
@@ -60,7 +74,30 @@ public class NatsClient implements Adapter, WithParams {
         }
     }
 
+    /**
+     * Payload encoding, set per source with the {@code codec} param: {@code json} (the default), {@code binary}
+     * (see {@link BinaryCodec}) or {@code gorilla} (see {@link GorillaCodec}, which also reads binary payloads).
+     * Binary and gorilla payloads carry their type, JSON ones need the {@code class} header.
+     */
+    public enum Codec {
+        JSON,
+        BINARY,
+        GORILLA,
+        ;
+
+        public static Codec fromName(String name) {
+            for (var value: values()) {
+                if (value.name().equalsIgnoreCase(name)) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("unknown codec " + name);
+        }
+    }
+
     public static final List<Class<? extends TimeSeries>> CLASSES_SUPPORTED = List.of(DoubleTimeSeries.class, BarTimeSeries.class, BooleanTimeSeries.class);
+    private static final Map<String, Class<? extends TimeSeries>> CLASSES_BY_NAME = CLASSES_SUPPORTED.stream()
+            .collect(Collectors.toUnmodifiableMap(Class::getSimpleName, clazz -> clazz));
 
     private static final Logger log = LoggerFactory.getLogger(NatsClient.class);
     private static final ObjectMapper MAPPER = new ObjectMapper();
@@ -69,6 +106,17 @@ public class NatsClient implements Adapter, WithParams {
     private @Nullable Connection connection;
     private @Nullable Dispatcher dispatcher;
 
+    private Codec codec = Codec.JSON;
+    private boolean zeroCopy = false;
+    private boolean asyncPublish = false;
+    private int outboundCapacity = NatsOutbound.DEFAULT_CAPACITY;
+    private int outboundBatchSize = NatsOutbound.DEFAULT_BATCH_SIZE;
+    private volatile @Nullable NatsOutbound outbound;
+    private int decodeWorkers = 1;
+    private int decodeQueueCapacity = NatsDecodePool.DEFAULT_CAPACITY;
+    private volatile @Nullable NatsDecodePool decodePool;
+    private int demuxToken = -1;
+    private @Nullable BiConsumer<String, TimeSeries> router;
     private boolean connected = false;
     private boolean subscribed = false;
 
@@ -81,29 +129,47 @@ public class NatsClient implements Adapter, WithParams {
         this.caller = caller;
     }
 
-    private static TimeSeries decode(byte[] data, @Nullable Headers headers) {
-        String msg = new String(data, StandardCharsets.UTF_8);
-        String className = headers != null ? headers.getFirst("class") : Object.class.getSimpleName();
-        TimeSeries timeSeries = null;
+    static TimeSeries decode(Codec codec, byte[] data, @Nullable Headers headers) {
+        return decode(codec, false, data, headers);
+    }
 
-        if (className != null) {
-            for (var clazz : CLASSES_SUPPORTED) {
-                if (clazz.getSimpleName().equals(className)) {
-                    timeSeries = decode(clazz, msg);
-                    break;
+    /**
+     * With {@code zeroCopy} and an uncompressed binary payload, {@code DoubleTimeSeries} and {@code OrderBookUpdateTimeSeries}
+     * payloads are wrapped as a {@link TimeSeriesView} over the
+     * message bytes instead of being copied into a record.
+     */
+    static TimeSeries decode(Codec codec, boolean zeroCopy, byte[] data, @Nullable Headers headers) {
+        if (codec != Codec.JSON) {
+            try {
+                boolean compressed = codec == Codec.GORILLA && data.length > 0 && (data[0] & GorillaCodec.COMPRESSED) != 0;
+                if (compressed) {
+                    return GorillaCodec.decode(data);
                 }
+                return zeroCopy ? BinaryCodec.view(ByteBuffer.wrap(data)) : BinaryCodec.decode(data);
+            } catch (IllegalArgumentException e) {
+                log.warn("{} message not decoded: {}", codec.name().toLowerCase(), e.getMessage());
+                return EmptyTimeSeries.INSTANCE;
             }
         }
+        String className = headers != null ? headers.getFirst("class") : null;
+        Class<? extends TimeSeries> clazz = className == null ? null : CLASSES_BY_NAME.get(className);
+        return clazz == null ? EmptyTimeSeries.INSTANCE : MAPPER.readValue(data, clazz);
+    }
 
-        return timeSeries == null ? EmptyTimeSeries.INSTANCE : timeSeries;
+    static byte[] encode(Codec codec, TimeSeries timeSeries) {
+        return switch (codec) {
+            case BINARY -> BinaryCodec.encode(timeSeries);
+            case GORILLA -> GorillaCodec.encode(timeSeries);
+            case JSON -> MAPPER.writeValueAsBytes(timeSeries instanceof TimeSeriesView view ? view.toSeries() : timeSeries);
+        };
     }
 
-    private static TimeSeries decode(Class<? extends TimeSeries> clazz, String msg) {
-        return MAPPER.readValue(msg, clazz);
+    public Codec codec() {
+        return codec;
     }
 
-    private static byte[] encode(TimeSeries timeSeries) {
-        return MAPPER.writeValueAsBytes(timeSeries);
+    public boolean isZeroCopy() {
+        return zeroCopy;
     }
 
     @Override
@@ -125,6 +191,30 @@ public class NatsClient implements Adapter, WithParams {
             if (param.hasNonNull(MAX_MESSAGES_INOUTGOING_QUEUE.key()) && param.get(MAX_MESSAGES_INOUTGOING_QUEUE.key()).isInt()) {
                 natsOptionsBuilder.maxMessagesInOutgoingQueue(param.get(MAX_MESSAGES_INOUTGOING_QUEUE.key()).asInt());
             }
+            if (param.hasNonNull(CODEC.key()) && param.get(CODEC.key()).isString()) {
+                codec = Codec.fromName(param.get(CODEC.key()).asString());
+            }
+            if (param.hasNonNull(ZERO_COPY.key()) && param.get(ZERO_COPY.key()).isBoolean()) {
+                zeroCopy = param.get(ZERO_COPY.key()).asBoolean();
+            }
+            if (param.hasNonNull(ASYNC_PUBLISH.key()) && param.get(ASYNC_PUBLISH.key()).isBoolean()) {
+                asyncPublish = param.get(ASYNC_PUBLISH.key()).asBoolean();
+            }
+            if (param.hasNonNull(OUTBOUND_CAPACITY.key()) && param.get(OUTBOUND_CAPACITY.key()).isInt()) {
+                outboundCapacity = param.get(OUTBOUND_CAPACITY.key()).asInt();
+            }
+            if (param.hasNonNull(OUTBOUND_BATCH_SIZE.key()) && param.get(OUTBOUND_BATCH_SIZE.key()).isInt()) {
+                outboundBatchSize = param.get(OUTBOUND_BATCH_SIZE.key()).asInt();
+            }
+            if (param.hasNonNull(DECODE_WORKERS.key()) && param.get(DECODE_WORKERS.key()).isInt()) {
+                decodeWorkers = param.get(DECODE_WORKERS.key()).asInt();
+            }
+            if (param.hasNonNull(DECODE_QUEUE_CAPACITY.key()) && param.get(DECODE_QUEUE_CAPACITY.key()).isInt()) {
+                decodeQueueCapacity = param.get(DECODE_QUEUE_CAPACITY.key()).asInt();
+            }
+            if (param.hasNonNull(DEMUX_TOKEN.key()) && param.get(DEMUX_TOKEN.key()).isInt()) {
+                demuxToken = param.get(DEMUX_TOKEN.key()).asInt();
+            }
             if (param.hasNonNull(TOPICS.key()) && param.get(TOPICS.key()).isArray()) {
                 for (var topic: param.get(TOPICS.key())) {
                     topics.add(topic.asString());
@@ -141,15 +231,122 @@ public class NatsClient implements Adapter, WithParams {
         return this;
     }
 
+    /**
+     * Publishes on the {@code name} subject. With {@code async-publish} the message is only queued and a sender
+     * thread encodes, publishes and flushes the queued messages in batches, see {@link NatsOutbound}; by default
+     * it is encoded and published on the calling thread.
+     */
     public void publish(String name, TimeSeries timeSeries, Headers headers) {
         if (isConnected()) {
-            connection.publish(name, headers, encode(timeSeries));
+            if (asyncPublish) {
+                outbound().submit(name, timeSeries, headers);
+            } else {
+                connection.publish(name, headers, encode(codec, timeSeries));
+            }
         }
     }
 
+    private NatsOutbound outbound() {
+        NatsOutbound current = outbound;
+        return current != null && current.isRunning() ? current : startOutbound();
+    }
+
+    private synchronized NatsOutbound startOutbound() {
+        if (outbound == null) {
+            outbound = new NatsOutbound(outboundCapacity, outboundBatchSize, timeSeries -> encode(codec, timeSeries),
+                    new NatsOutbound.Sink() {
+                        @Override
+                        public void publish(String subject, Headers headers, byte[] payload) {
+                            Objects.requireNonNull(connection).publish(subject, headers, payload);
+                        }
+
+                        @Override
+                        public void flush() {
+                            try {
+                                Objects.requireNonNull(connection).flushBuffer();
+                            } catch (IOException e) {
+                                log.warn("outbound flush failed: {}", e.getMessage());
+                            }
+                        }
+                    });
+        }
+        return outbound.start();
+    }
+
+    /**
+     * Index of the subject token a {@link NatsSubscriber} demultiplexes on ({@code demux-token}); negative
+     * indexes count from the end, the default -1 being the last token ({@code BTC} in {@code ticks.BTC}).
+     */
+    public int demuxToken() {
+        return demuxToken;
+    }
+
+    /** Returns the {@code index} token of the subject as {@link #demuxToken()} counts them, null if out of range. */
+    static @Nullable String token(String subject, int index) {
+        String[] tokens = subject.split("\\.");
+        int position = index < 0 ? tokens.length + index : index;
+        return position >= 0 && position < tokens.length ? tokens[position] : null;
+    }
+
+    /** Also hands every decoded series to the router along with its subject, see {@link NatsSubscriber}. */
+    NatsClient route(BiConsumer<String, TimeSeries> router) {
+        this.router = router;
+        return this;
+    }
+
+    public int decodeWorkers() {
+        return decodeWorkers;
+    }
+
+    /** Messages waiting for a decode worker, 0 without a decode pool. */
+    public int decodePending() {
+        NatsDecodePool pool = decodePool;
+        return pool == null ? 0 : pool.pending();
+    }
+
+    public boolean isAsyncPublish() {
+        return asyncPublish;
+    }
+
+    /** Messages waiting in the outbound queue. */
+    public int outboundPending() {
+        NatsOutbound current = outbound;
+        return current == null ? 0 : current.pending();
+    }
+
+    /** Highest outbound queue depth seen. */
+    public long outboundMaxPending() {
+        NatsOutbound current = outbound;
+        return current == null ? 0L : current.maxPending();
+    }
+
+    public long outboundPublished() {
+        NatsOutbound current = outbound;
+        return current == null ? 0L : current.published();
+    }
+
+    public long outboundDropped() {
+        NatsOutbound current = outbound;
+        return current == null ? 0L : current.dropped();
+    }
+
+    public long outboundBatches() {
+        NatsOutbound current = outbound;
+        return current == null ? 0L : current.batches();
+    }
+
+    /**
+     * Subscribes the topics on one dispatcher. With more than one {@code decode-workers}, the dispatcher thread
+     * only routes messages to a {@link NatsDecodePool} by subject, and decoding runs on the pool workers.
+     */
     public void subscribe() {
         if (isConnected()) {
-            this.dispatcher = connection.createDispatcher(handler());
+            MessageHandler handler = handler();
+            if (decodeWorkers > 1) {
+                decodePool = new NatsDecodePool(decodeWorkers, decodeQueueCapacity, handler);
+                handler = decodePool;
+            }
+            this.dispatcher = connection.createDispatcher(handler);
             this.subscribed = topics.stream().map(dispatcher::subscribe).allMatch(Consumer::isActive);
         }
     }
@@ -185,12 +382,20 @@ public class NatsClient implements Adapter, WithParams {
     @Override
     public boolean disconnect() {
         if (connection != null) {
+            NatsOutbound current = outbound;
+            if (current != null) {
+                current.close();
+            }
             try {
                 if (isSubscribed()) {
                     CompletableFuture<Boolean> drained = dispatcher.drain(Duration.ofSeconds(10));
                     drained.get();
                     subscribed = false;
                 }
+                if (decodePool != null) {
+                    decodePool.close();
+                    decodePool = null;
+                }
                 connection.close();
                 connected = false;
             } catch (ExecutionException | InterruptedException e) {
@@ -219,15 +424,18 @@ public class NatsClient implements Adapter, WithParams {
             byte[] data = raw.getData();
             Headers headers = raw.getHeaders();
 
-            TimeSeries timeSeries = decode(data, headers);
+            TimeSeries timeSeries = decode(codec, zeroCopy, data, headers);
 
             if (timeSeries != EmptyTimeSeries.INSTANCE) {
                 if (log.isDebugEnabled()) {
                     log.debug(">>>>>>> [{}] SEND {}", timeSeries.timestamp(), timeSeries);
                 }
                 caller.emitNext(timeSeries);
+                if (router != null) {
+                    router.accept(raw.getSubject(), timeSeries);
+                }
             } else {
-                log.warn("header `class` NOT defined or its value IS NOT supported");
+                log.warn(codec != Codec.JSON ? "message NOT decoded" : "header `class` NOT defined or its value IS NOT supported");
             }
         };
     }
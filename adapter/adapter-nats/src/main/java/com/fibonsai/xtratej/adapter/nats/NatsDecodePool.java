@@ -0,0 +1,126 @@
+/*
+ *  Copyright (c) 2026 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.xtratej.adapter.nats;
+
+import io.nats.client.Message;
+import io.nats.client.MessageHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decode workers of a {@link NatsClient} subscription. The dispatcher thread only hands each message to the lane
+ * of its subject hash; every lane is a bounded queue with one worker running the handler, so messages of a subject
+ * keep their order while different subjects are decoded and emitted in parallel. A full lane blocks the
+ * dispatcher, which leaves the overflow to the NATS slow consumer handling instead of losing data.
+ */
+class NatsDecodePool implements MessageHandler, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(NatsDecodePool.class);
+
+    static final int DEFAULT_CAPACITY = 1024;
+    private static final long POLL_MILLIS = 100;
+
+    private final List<BlockingQueue<Message>> lanes = new ArrayList<>();
+    private final List<Thread> workers = new ArrayList<>();
+    private final MessageHandler handler;
+
+    private final AtomicLong decoded = new AtomicLong();
+    private final AtomicLong maxPending = new AtomicLong();
+
+    private volatile boolean running = true;
+
+    NatsDecodePool(int workers, int capacity, MessageHandler handler) {
+        this.handler = handler;
+        for (int x = 0; x < Math.max(1, workers); x++) {
+            BlockingQueue<Message> lane = new ArrayBlockingQueue<>(Math.max(1, capacity));
+            lanes.add(lane);
+            this.workers.add(Thread.ofPlatform().daemon().name("nats-decode-" + x).start(() -> work(lane)));
+        }
+    }
+
+    int lane(String subject) {
+        return Math.floorMod(subject.hashCode(), lanes.size());
+    }
+
+    @Override
+    public void onMessage(Message message) throws InterruptedException {
+        BlockingQueue<Message> lane = lanes.get(lane(message.getSubject()));
+        lane.put(message);
+        maxPending.accumulateAndGet(lane.size(), Math::max);
+    }
+
+    private void work(BlockingQueue<Message> lane) {
+        while (running || !lane.isEmpty()) {
+            final Message message;
+            try {
+                message = lane.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (message == null) {
+                continue;
+            }
+            try {
+                handler.onMessage(message);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error(e.getMessage(), e);
+            }
+            decoded.incrementAndGet();
+        }
+    }
+
+    /** Stops the workers once the queued messages are handled, waiting for each up to 10 seconds. */
+    @Override
+    public void close() {
+        running = false;
+        for (var worker : workers) {
+            try {
+                worker.join(Duration.ofSeconds(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    int workers() {
+        return lanes.size();
+    }
+
+    int pending() {
+        return lanes.stream().mapToInt(BlockingQueue::size).sum();
+    }
+
+    /** Highest depth seen on a single lane. */
+    long maxPending() {
+        return maxPending.get();
+    }
+
+    long decoded() {
+        return decoded.get();
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ *  Copyright (c) 2026 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.xtratej.adapter.nats;
+
+import com.fibonsai.xtratej.event.series.dao.TimeSeries;
+import io.nats.client.impl.Headers;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Outbound queue of a {@link NatsClient}: the emitting thread only enqueues, and a single sender encodes and
+ * publishes the messages in submission order. Each drained batch of up to {@code batchSize} messages is followed
+ * by one flush of the connection buffer, so a burst leaves in a few writes. A full queue blocks the emitter until
+ * the sender makes room, so a slow connection slows the emitter down instead of losing messages; only a queue
+ * that is not being drained (sender not started or closed) drops the message and counts it.
+ */
+class NatsOutbound implements AutoCloseable {
+
+    interface Sink {
+        void publish(String subject, Headers headers, byte[] payload);
+
+        void flush();
+    }
+
+    private record Message(String subject, TimeSeries timeSeries, Headers headers) {}
+
+    private static final Logger log = LoggerFactory.getLogger(NatsOutbound.class);
+
+    static final int DEFAULT_CAPACITY = 8192;
+    static final int DEFAULT_BATCH_SIZE = 256;
+    private static final long POLL_MILLIS = 100;
+
+    private final BlockingQueue<Message> queue;
+    private final int batchSize;
+    private final Function<TimeSeries, byte[]> encoder;
+    private final Sink sink;
+
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong maxPending = new AtomicLong();
+
+    private volatile boolean running = false;
+    private @Nullable Thread sender = null;
+
+    NatsOutbound(int capacity, int batchSize, Function<TimeSeries, byte[]> encoder, Sink sink) {
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+        this.batchSize = Math.max(1, batchSize);
+        this.encoder = encoder;
+        this.sink = sink;
+    }
+
+    /** Starts the sender, does nothing if already started. */
+    synchronized NatsOutbound start() {
+        if (!running) {
+            running = true;
+            sender = Thread.ofVirtual().name("nats-outbound").start(this::send);
+        }
+        return this;
+    }
+
+    /**
+     * Queues the message, waiting for room while the sender runs. Returns false if it was dropped because the
+     * queue is full and not drained, or the emitter was interrupted while waiting.
+     */
+    boolean submit(String subject, TimeSeries timeSeries, Headers headers) {
+        final Message message = new Message(subject, timeSeries, headers);
+        boolean queued = queue.offer(message);
+        try {
+            while (!queued && running) {
+                queued = queue.offer(message, POLL_MILLIS, TimeUnit.MILLISECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!queued) {
+            long count = dropped.incrementAndGet();
+            // 1st, 2nd, 4th, 8th... drop, so a lasting overflow stays visible without flooding the log
+            if (Long.bitCount(count) == 1 || log.isDebugEnabled()) {
+                log.warn("outbound queue full, message to {} dropped, {} dropped so far", subject, count);
+            }
+            return false;
+        }
+        maxPending.accumulateAndGet(queue.size(), Math::max);
+        return true;
+    }
+
+    private void send() {
+        final List<Message> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Message first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                queue.drainTo(batch);
+                running = false;
+                if (batch.isEmpty()) {
+                    continue;
+                }
+            }
+            for (var message : batch) {
+                try {
+                    sink.publish(message.subject(), message.headers(), encoder.apply(message.timeSeries()));
+                    published.incrementAndGet();
+                } catch (Exception e) {
+                    log.error(e.getMessage(), e);
+                }
+            }
+            try {
+                sink.flush();
+            } catch (Exception e) {
+                log.error(e.getMessage(), e);
+            }
+            batches.incrementAndGet();
+            batch.clear();
+        }
+    }
+
+    /** Stops the sender once the queued messages are published, waiting for it up to 10 seconds. */
+    @Override
+    public void close() {
+        final Thread thread;
+        synchronized (this) {
+            running = false;
+            thread = sender;
+            sender = null;
+        }
+        if (thread != null) {
+            try {
+                thread.join(Duration.ofSeconds(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    boolean isRunning() {
+        return running;
+    }
+
+    int pending() {
+        return queue.size();
+    }
+
+    long maxPending() {
+        return maxPending.get();
+    }
+
+    long published() {
+        return published.get();
+    }
+
+    long dropped() {
+        return dropped.get();
+    }
+
+    long batches() {
+        return batches.get();
+    }
+}
@@ -53,6 +53,10 @@ public class NatsPublisher extends Publisher implements WithParams {
         };
     }
 
+    public NatsClient client() {
+        return natsClient;
+    }
+
     @Override
     public boolean connect() {
         return natsClient.connect();
@@ -14,16 +14,36 @@
 
 package com.fibonsai.xtratej.adapter.nats;
 
+import com.fibonsai.xtratej.adapter.core.Demultiplexer;
 import com.fibonsai.xtratej.adapter.core.Subscriber;
 import com.fibonsai.xtratej.adapter.core.WithParams;
+import com.fibonsai.xtratej.event.series.dao.TimeSeries;
 import tools.jackson.databind.JsonNode;
 
-public class NatsSubscriber extends Subscriber implements WithParams {
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * NATS source. Its {@code topics} may be wildcard subjects ({@code ticks.>}): besides emitting every series,
+ * the subscriber routes each one to the child {@linkplain #select(String) selected} by the {@code demux-token}
+ * of its subject, so a single subscription and connection can feed one strategy per symbol.
+ *
+ * <p>The connection is reference counted: every successful {@link #connect()} of the subscriber and every
+ * connected child holds it, and it is closed when the last one disconnects.
+ */
+public class NatsSubscriber extends Subscriber implements WithParams, Demultiplexer {
 
     private final NatsClient natsClient = new NatsClient(this);
+    private final Map<String, Child> children = new ConcurrentHashMap<>();
+
+    // guarded by 'this'
+    private int directUsers = 0;
+    private int connectedChildren = 0;
 
     public NatsSubscriber(String name, String publisher) {
         super(name, publisher);
+        natsClient.route(this::route);
+        onClose(() -> children.values().forEach(Child::close));
     }
 
     @Override
@@ -33,20 +53,90 @@ public class NatsSubscriber extends Subscriber implements WithParams {
     }
 
     @Override
-    public boolean connect() {
-        if (natsClient.connect()) {
+    public Subscriber select(String key) {
+        return children.computeIfAbsent(key, Child::new);
+    }
+
+    void route(String subject, TimeSeries timeSeries) {
+        if (children.isEmpty()) {
+            return;
+        }
+        String key = NatsClient.token(subject, natsClient.demuxToken());
+        Child child = key == null ? null : children.get(key);
+        if (child != null) {
+            child.emitNext(timeSeries);
+        }
+    }
+
+    @Override
+    public synchronized boolean connect() {
+        if (!connectClient()) {
+            return false;
+        }
+        directUsers++;
+        return true;
+    }
+
+    /** Drops one direct reference, the connection stays open while other references remain. */
+    @Override
+    public synchronized boolean disconnect() {
+        if (directUsers > 0) {
+            directUsers--;
+        }
+        return releaseClient();
+    }
+
+    private synchronized boolean connectClient() {
+        if (!natsClient.isSubscribed() && natsClient.connect()) {
             natsClient.subscribe();
         }
         return natsClient.isSubscribed();
     }
 
-    @Override
-    public boolean disconnect() {
-        return natsClient.disconnect();
+    private synchronized boolean releaseClient() {
+        return directUsers > 0 || connectedChildren > 0 || natsClient.disconnect();
     }
 
     @Override
     public boolean isConnected() {
         return natsClient.isSubscribed();
     }
+
+    /** Series of one demultiplexing key, holding a reference to the parent connection while connected. */
+    private final class Child extends Subscriber {
+
+        private boolean connected = false;
+
+        private Child(String key) {
+            super(NatsSubscriber.this.name() + "." + key, NatsSubscriber.this.publisher());
+        }
+
+        @Override
+        public synchronized boolean connect() {
+            synchronized (NatsSubscriber.this) {
+                if (!connected) {
+                    connected = true;
+                    connectedChildren++;
+                }
+                return connectClient();
+            }
+        }
+
+        @Override
+        public synchronized boolean disconnect() {
+            synchronized (NatsSubscriber.this) {
+                if (!connected) {
+                    return true;
+                }
+                connected = false;
+                connectedChildren--;
+                return releaseClient();
+            }
+        }
+
+        @Override
+        public synchronized boolean isConnected() {
+            return connected && NatsSubscriber.this.isConnected();
+        }
+    }
 }
@@ -0,0 +1,160 @@
+/*
+ *  Copyright (c) 2026 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.xtratej.adapter.nats;
+
+import com.fibonsai.directflux.DirectFlux;
+import com.fibonsai.xtratej.event.series.dao.BarTimeSeries;
+import com.fibonsai.xtratej.event.series.dao.DoubleTimeSeries;
+import com.fibonsai.xtratej.event.series.dao.EmptyTimeSeries;
+import com.fibonsai.xtratej.event.series.dao.TimeSeries;
+import com.fibonsai.xtratej.event.series.dao.builders.BarTimeSeriesBuilder;
+import com.fibonsai.xtratej.event.series.dao.codec.DoubleTimeSeriesView;
+import io.nats.client.impl.Headers;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NatsClientTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final BarTimeSeries bar = new BarTimeSeriesBuilder().setId("bar")
+            .add(1000L, 1.0, 2.0, 0.5, 1.5, 10.0).add(2000L, 1.5, 3.0, 1.0, 2.5, 20.0).build();
+
+    @Test
+    void setParams_selectsCodec() {
+        NatsClient client = new NatsClient(new DirectFlux<>());
+        assertEquals(NatsClient.Codec.JSON, client.codec());
+
+        client.setParams(MAPPER.readTree("""
+            [{ "codec": "binary" }]
+            """));
+
+        assertEquals(NatsClient.Codec.BINARY, client.codec());
+    }
+
+    @Test
+    void binaryCodec_roundTripWithoutClassHeader() {
+        byte[] payload = NatsClient.encode(NatsClient.Codec.BINARY, bar);
+
+        TimeSeries decoded = NatsClient.decode(NatsClient.Codec.BINARY, payload, null);
+
+        assertInstanceOf(BarTimeSeries.class, decoded);
+        assertArrayEquals(bar.closes(), ((BarTimeSeries) decoded).closes());
+        assertTrue(payload.length < NatsClient.encode(NatsClient.Codec.JSON, bar).length);
+        assertSame(EmptyTimeSeries.INSTANCE, NatsClient.decode(NatsClient.Codec.BINARY, new byte[]{42}, null));
+    }
+
+    @Test
+    void jsonCodec_decodesByClassHeader() {
+        byte[] payload = NatsClient.encode(NatsClient.Codec.JSON, bar);
+
+        TimeSeries decoded = NatsClient.decode(NatsClient.Codec.JSON, payload, new Headers().add("class", "BarTimeSeries"));
+
+        assertArrayEquals(bar.volumes(), ((BarTimeSeries) decoded).volumes());
+        assertSame(EmptyTimeSeries.INSTANCE, NatsClient.decode(NatsClient.Codec.JSON, payload, null));
+    }
+
+    @Test
+    void zeroCopy_wrapsDoublePayloads() {
+        NatsClient client = new NatsClient(new DirectFlux<>()).setParams(MAPPER.readTree("""
+            [{ "codec": "binary", "zero-copy": true }]
+            """));
+        assertTrue(client.isZeroCopy());
+        DoubleTimeSeries prices = new DoubleTimeSeries("price", new long[]{1000L, 2000L}, new double[]{1.5, 2.5});
+        byte[] payload = NatsClient.encode(NatsClient.Codec.BINARY, prices);
+
+        TimeSeries decoded = NatsClient.decode(NatsClient.Codec.BINARY, true, payload, null);
+
+        DoubleTimeSeriesView view = assertInstanceOf(DoubleTimeSeriesView.class, decoded);
+        assertEquals(2.5, view.value(1));
+        assertArrayEquals(payload, NatsClient.encode(NatsClient.Codec.BINARY, view));
+        assertInstanceOf(BarTimeSeries.class, NatsClient.decode(NatsClient.Codec.BINARY, true,
+                NatsClient.encode(NatsClient.Codec.BINARY, bar), null));
+    }
+
+    @Test
+    void gorillaCodec_compressesAndReadsBinary() {
+        byte[] payload = NatsClient.encode(NatsClient.Codec.GORILLA, bar);
+
+        TimeSeries decoded = NatsClient.decode(NatsClient.Codec.GORILLA, payload, null);
+
+        assertArrayEquals(bar.closes(), ((BarTimeSeries) decoded).closes());
+        assertTrue(payload.length < NatsClient.encode(NatsClient.Codec.BINARY, bar).length);
+        assertInstanceOf(BarTimeSeries.class,
+                NatsClient.decode(NatsClient.Codec.GORILLA, NatsClient.encode(NatsClient.Codec.BINARY, bar), null));
+    }
+
+    @Test
+    void setParams_configuresOutbound() {
+        NatsClient client = new NatsClient(new DirectFlux<>());
+        assertFalse(client.isAsyncPublish());
+
+        client.setParams(MAPPER.readTree("""
+            [{ "async-publish": true, "outbound-capacity": 16, "outbound-batch-size": 4 }]
+            """));
+
+        assertTrue(client.isAsyncPublish());
+        assertEquals(0, client.outboundPending());
+        assertEquals(0L, client.outboundPublished());
+    }
+
+    @Test
+    void setParams_configuresDecodeWorkers() {
+        NatsClient client = new NatsClient(new DirectFlux<>());
+        assertEquals(1, client.decodeWorkers());
+
+        client.setParams(MAPPER.readTree("""
+            [{ "decode-workers": 4, "decode-queue-capacity": 64 }]
+            """));
+
+        assertEquals(4, client.decodeWorkers());
+        assertEquals(0, client.decodePending());
+    }
+
+    @Test
+    void token_countsFromBothEnds() {
+        assertEquals("BTC", NatsClient.token("ticks.BTC", -1));
+        assertEquals("ticks", NatsClient.token("ticks.BTC", 0));
+        assertEquals("BTC", NatsClient.token("ticks.BTC.l2", 1));
+        assertNull(NatsClient.token("ticks.BTC", 2));
+        assertNull(NatsClient.token("ticks.BTC", -3));
+    }
+
+    @Test
+    void subscriber_routesSubjectsToSelectedChildren() {
+        NatsSubscriber subscriber = new NatsSubscriber("ticks", "feed");
+        List<TimeSeries> all = new ArrayList<>();
+        List<TimeSeries> btc = new ArrayList<>();
+        subscriber.subscribe(all::add);
+        subscriber.select("BTC").subscribe(btc::add);
+
+        subscriber.emitNext(bar);
+        subscriber.route("ticks.BTC", bar);
+        subscriber.route("ticks.ETH", bar);
+
+        assertSame(subscriber.select("BTC"), subscriber.select("BTC"));
+        assertEquals("ticks.BTC", subscriber.select("BTC").name());
+        assertEquals(List.of(bar), btc);
+        assertEquals(1, all.size());
+
+        subscriber.close();
+        assertTrue(subscriber.select("BTC").isClosed());
+    }
+}
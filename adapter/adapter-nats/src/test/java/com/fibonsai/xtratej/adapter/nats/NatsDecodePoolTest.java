@@ -0,0 +1,92 @@
+/*
+ *  Copyright (c) 2026 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.xtratej.adapter.nats;
+
+import io.nats.client.Message;
+import io.nats.client.impl.NatsMessage;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NatsDecodePoolTest {
+
+    private static Message message(String subject, int sequence) {
+        return NatsMessage.builder().subject(subject).data(ByteBuffer.allocate(Integer.BYTES).putInt(sequence).array()).build();
+    }
+
+    @Test
+    void messages_keepOrderPerSubject() throws InterruptedException {
+        Map<String, List<Integer>> received = new ConcurrentHashMap<>();
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        NatsDecodePool pool = new NatsDecodePool(4, 16, message -> {
+            threads.add(Thread.currentThread().getName());
+            received.computeIfAbsent(message.getSubject(), _ -> new ArrayList<>())
+                    .add(ByteBuffer.wrap(message.getData()).getInt());
+        });
+
+        for (int sequence = 0; sequence < 200; sequence++) {
+            for (int subject = 0; subject < 50; subject++) {
+                pool.onMessage(message("prices." + subject, sequence));
+            }
+        }
+        pool.close();
+
+        assertEquals(10_000, pool.decoded());
+        assertEquals(0, pool.pending());
+        assertEquals(50, received.size());
+        for (var sequences : received.values()) {
+            assertEquals(200, sequences.size());
+            for (int x = 0; x < sequences.size(); x++) {
+                assertEquals(x, sequences.get(x));
+            }
+        }
+        assertTrue(threads.size() > 1, "decoded on " + threads);
+        assertTrue(pool.maxPending() <= 16);
+    }
+
+    @Test
+    void subject_alwaysMapsToTheSameLane() {
+        NatsDecodePool pool = new NatsDecodePool(3, 16, _ -> {});
+
+        assertEquals(3, pool.workers());
+        assertEquals(pool.lane("prices.BTC"), pool.lane("prices.BTC"));
+        assertTrue(pool.lane("prices.ETH") >= 0 && pool.lane("prices.ETH") < 3);
+        pool.close();
+    }
+
+    @Test
+    void handlerFailure_doesNotStopTheLane() throws InterruptedException {
+        List<Integer> received = new ArrayList<>();
+        NatsDecodePool pool = new NatsDecodePool(1, 16, message -> {
+            int sequence = ByteBuffer.wrap(message.getData()).getInt();
+            if (sequence == 1) throw new IllegalStateException("malformed");
+            received.add(sequence);
+        });
+
+        for (int sequence = 0; sequence < 3; sequence++) {
+            pool.onMessage(message("prices", sequence));
+        }
+        pool.close();
+
+        assertEquals(List.of(0, 2), received);
+    }
+}
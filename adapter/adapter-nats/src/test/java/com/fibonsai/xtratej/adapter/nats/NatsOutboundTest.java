@@ -0,0 +1,154 @@
+/*
+ *  Copyright (c) 2026 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.xtratej.adapter.nats;
+
+import com.fibonsai.xtratej.event.series.dao.DoubleTimeSeries;
+import com.fibonsai.xtratej.event.series.dao.TimeSeries;
+import io.nats.client.impl.Headers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NatsOutboundTest {
+
+    private final List<Long> sent = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicInteger flushes = new AtomicInteger();
+
+    private final NatsOutbound.Sink sink = new NatsOutbound.Sink() {
+        @Override
+        public void publish(String subject, Headers headers, byte[] payload) {
+            sent.add(ByteBuffer.wrap(payload).getLong());
+        }
+
+        @Override
+        public void flush() {
+            flushes.incrementAndGet();
+        }
+    };
+
+    private static byte[] encode(TimeSeries timeSeries) {
+        return ByteBuffer.allocate(Long.BYTES).putLong(timeSeries.timestamp()).array();
+    }
+
+    private static DoubleTimeSeries price(long timestamp) {
+        return new DoubleTimeSeries(new long[]{timestamp}, new double[]{1.0});
+    }
+
+    @Test
+    void burst_isPublishedInOrderWithOneFlushPerBatch() {
+        NatsOutbound outbound = new NatsOutbound(100, 10, NatsOutboundTest::encode, sink);
+        for (long x = 1; x <= 25; x++) {
+            assertTrue(outbound.submit("prices", price(x), new Headers()));
+        }
+        assertEquals(25, outbound.pending());
+        assertEquals(25, outbound.maxPending());
+
+        outbound.start().close();
+
+        assertEquals(25, outbound.published());
+        assertEquals(0, outbound.pending());
+        assertEquals(3, outbound.batches());
+        assertEquals(3, flushes.get());
+        assertEquals(25, sent.size());
+        for (int x = 0; x < sent.size(); x++) {
+            assertEquals(x + 1L, sent.get(x));
+        }
+    }
+
+    @Test
+    void fullQueue_notDrained_drops() {
+        NatsOutbound outbound = new NatsOutbound(2, 10, NatsOutboundTest::encode, sink);
+
+        assertTrue(outbound.submit("prices", price(1L), new Headers()));
+        assertTrue(outbound.submit("prices", price(2L), new Headers()));
+        assertFalse(outbound.submit("prices", price(3L), new Headers()));
+
+        assertEquals(1, outbound.dropped());
+        assertEquals(2, outbound.pending());
+    }
+
+    @Test
+    @Timeout(5)
+    void fullQueue_blocksUntilSenderMakesRoom() {
+        CountDownLatch release = new CountDownLatch(1);
+        NatsOutbound outbound = new NatsOutbound(2, 1, NatsOutboundTest::encode, new NatsOutbound.Sink() {
+            @Override
+            public void publish(String subject, Headers headers, byte[] payload) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                sent.add(ByteBuffer.wrap(payload).getLong());
+            }
+
+            @Override
+            public void flush() {}
+        }).start();
+        Thread.startVirtualThread(() -> {
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            release.countDown();
+        });
+
+        for (long x = 1; x <= 10; x++) {
+            assertTrue(outbound.submit("prices", price(x), new Headers()));
+        }
+        outbound.close();
+
+        assertEquals(0, outbound.dropped());
+        assertEquals(10, sent.size());
+        for (int x = 0; x < sent.size(); x++) {
+            assertEquals(x + 1L, sent.get(x));
+        }
+    }
+
+    @Test
+    void sender_publishesWhileRunning() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(3);
+        NatsOutbound outbound = new NatsOutbound(100, 10, NatsOutboundTest::encode, new NatsOutbound.Sink() {
+            @Override
+            public void publish(String subject, Headers headers, byte[] payload) {
+                latch.countDown();
+            }
+
+            @Override
+            public void flush() {
+                throw new IllegalStateException("flush failure is only logged");
+            }
+        }).start();
+
+        for (long x = 1; x <= 3; x++) {
+            outbound.submit("prices", price(x), new Headers());
+        }
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        outbound.close();
+        assertFalse(outbound.isRunning());
+        assertEquals(3, outbound.published());
+    }
+}
@@ -14,6 +14,7 @@
 
 package com.fibonsai.xtratej.adapter.nats;
 
+import com.fibonsai.xtratej.adapter.core.Subscriber;
 import com.fibonsai.xtratej.event.series.dao.BarTimeSeries;
 import com.fibonsai.xtratej.event.series.dao.BooleanTimeSeries;
 import com.fibonsai.xtratej.event.series.dao.DoubleTimeSeries;
@@ -252,4 +253,31 @@ public class NatsSubscriberTest {
         conn.close();
         return latch;
     }
+
+    @Test
+    void testChildDisconnect_keepsDirectlyConnectedParent() throws Exception {
+        if (NATS_URL == null) {
+            fail("NATS_URL environment variable must be set for this test");
+        }
+
+        natsSubscriber.setParams(MAPPER.readTree(String.format("""
+            [{
+                "servers": ["%s"],
+                "topics": ["ticks.>"]
+            }]
+            """, NATS_URL)));
+        Subscriber child = natsSubscriber.select("BTC");
+
+        assertTrue(natsSubscriber.connect());
+        assertTrue(child.connect());
+        assertTrue(child.disconnect());
+        assertTrue(natsSubscriber.isConnected(), "Parent is still used directly");
+
+        assertTrue(child.connect());
+        assertTrue(natsSubscriber.disconnect());
+        assertTrue(child.isConnected(), "Child still holds the connection");
+
+        assertTrue(child.disconnect());
+        assertFalse(natsSubscriber.isConnected());
+    }
 }
@@ -0,0 +1,345 @@
+/*
+ *  Copyright (c) 2026 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.xtratej.adapter.simulated;
+
+import com.fibonsai.directflux.DirectFlux;
+import com.fibonsai.xtratej.event.series.dao.BarTimeSeries;
+import com.fibonsai.xtratej.event.series.dao.Double2TimeSeries;
+import com.fibonsai.xtratej.event.series.dao.DoubleTimeSeries;
+import com.fibonsai.xtratej.event.series.dao.MyOrdersTimeSeries;
+import com.fibonsai.xtratej.event.series.dao.MyOrdersTimeSeries.BidAskSide;
+import com.fibonsai.xtratej.event.series.dao.MyOrdersTimeSeries.OrderCondition;
+import com.fibonsai.xtratej.event.series.dao.MyOrdersTimeSeries.OrderType;
+import com.fibonsai.xtratej.event.series.dao.MyOrdersTimeSeries.TradeState;
+import com.fibonsai.xtratej.event.series.dao.OrderBookUpdateTimeSeries;
+import com.fibonsai.xtratej.event.series.dao.TimeSeries;
+import com.fibonsai.xtratej.event.series.dao.TradingSignal;
+import com.fibonsai.xtratej.event.series.dao.codec.DoubleTimeSeriesView;
+import com.fibonsai.xtratej.event.series.dao.codec.OrderBookUpdateTimeSeriesView;
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.fibonsai.xtratej.event.series.dao.MyOrdersTimeSeries.MINIMUM_AMOUNT_ALLOWED;
+
+/**
+ * Market order fill simulator: turns {@link TradingSignal}s into filled {@link MyOrdersTimeSeries} orders priced
+ * from the latest quote of their pair.
+ *
+ * <p>An ENTER buys {@code orderAmount} at the ask if the pair position (pending orders included) stays within
+ * {@code maxPosition}; an EXIT sells the whole position at the bid. Other signals are ignored. Quotes come from
+ * {@link #onMarketData(String, TimeSeries)}: the best prices of the last {@link OrderBookUpdateTimeSeries}
+ * timestamp, or the last close of a {@link BarTimeSeries} or value of a {@link DoubleTimeSeries} or
+ * {@link Double2TimeSeries} (the price, as DuckDB replays emit it) for both sides.
+ * The zero-copy views of order book and double series are read in place.
+ *
+ * <p>Time is event time. An order is due {@code latencyMillis} after its signal and fills at the first quote at or
+ * after that time, or straight away at the current quote with no latency. Fill prices move against the order by
+ * {@code slippage} (a fraction of the price) and pay {@code feeRate} of the notional in the fee field.
+ *
+ * <p>Fills are published by {@link #fills()} all at once after each call, outside the simulator lock, so consumers
+ * may send new signals back. Every published series carries only the new fills: rules reading them need the
+ * {@code delta} input.
+ */
+public class FillSimulator {
+
+    private record Order(String orderId, String pair, BidAskSide side, double amount, long dueTimestamp) {}
+
+    private record Fill(long timestamp, Order order, double price, double fee) {}
+
+    private static final class Book {
+        private double bid = Double.NaN;
+        private double ask = Double.NaN;
+        private double position = 0.0;
+        private final ArrayDeque<Order> pending = new ArrayDeque<>();
+    }
+
+    private final String owner;
+    private final DirectFlux<TimeSeries> fills = new DirectFlux<>();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // All fields below are guarded by 'lock'.
+    private final Map<String, Book> books = new HashMap<>();
+    private long orderSequence = 0;
+    private long submitted = 0;
+    private long filled = 0;
+    private long ignored = 0;
+
+    private long latencyMillis = 0L;
+    private double slippage = 0.0;
+    private double feeRate = 0.0;
+    private double orderAmount = 1.0;
+    private double maxPosition = 1.0;
+
+    /** @param owner owner of the simulated orders */
+    public FillSimulator(String owner) {
+        this.owner = owner;
+    }
+
+    public FillSimulator setLatencyMillis(long latencyMillis) {
+        if (latencyMillis < 0) throw new IllegalArgumentException("latency must not be negative");
+        this.latencyMillis = latencyMillis;
+        return this;
+    }
+
+    public FillSimulator setSlippage(double slippage) {
+        if (slippage < 0.0) throw new IllegalArgumentException("slippage must not be negative");
+        this.slippage = slippage;
+        return this;
+    }
+
+    public FillSimulator setFeeRate(double feeRate) {
+        if (feeRate < 0.0) throw new IllegalArgumentException("fee rate must not be negative");
+        this.feeRate = feeRate;
+        return this;
+    }
+
+    public FillSimulator setOrderAmount(double orderAmount) {
+        if (orderAmount < MINIMUM_AMOUNT_ALLOWED) throw new IllegalArgumentException("order amount too small");
+        this.orderAmount = orderAmount;
+        return this;
+    }
+
+    public FillSimulator setMaxPosition(double maxPosition) {
+        this.maxPosition = maxPosition;
+        return this;
+    }
+
+    /** Filled orders, as {@link MyOrdersTimeSeries}. */
+    public DirectFlux<TimeSeries> fills() {
+        return fills;
+    }
+
+    /** Accepts a {@link TradingSignal}; any other series is ignored. */
+    public void onSignal(TimeSeries timeSeries) {
+        if (!(timeSeries instanceof TradingSignal signal)) {
+            return;
+        }
+        final @Nullable MyOrdersTimeSeries published;
+        lock.lock();
+        try {
+            submitted++;
+            final Book book = books.computeIfAbsent(signal.pair(), _ -> new Book());
+            final BidAskSide side;
+            final double amount;
+            switch (signal.signal()) {
+                case ENTER -> {
+                    side = BidAskSide.BID;
+                    amount = orderAmount;
+                }
+                case EXIT -> {
+                    side = BidAskSide.ASK;
+                    amount = book.position;
+                }
+                default -> {
+                    side = BidAskSide.UNDEF;
+                    amount = 0.0;
+                }
+            }
+            if (side == BidAskSide.UNDEF || amount < MINIMUM_AMOUNT_ALLOWED
+                    || (side == BidAskSide.BID && book.position + amount > maxPosition + MINIMUM_AMOUNT_ALLOWED)) {
+                ignored++;
+                return;
+            }
+            book.position += side == BidAskSide.BID ? amount : -amount;
+            book.pending.add(new Order(owner + "-" + (++orderSequence), signal.pair(), side, amount,
+                    signal.timestamp() + latencyMillis));
+
+            final List<Fill> newFills = new ArrayList<>(1);
+            if (latencyMillis == 0L) {
+                drain(book, signal.timestamp(), newFills);
+            }
+            published = publish(newFills);
+        } finally {
+            lock.unlock();
+        }
+        if (published != null) {
+            fills.emitNext(published);
+        }
+    }
+
+    /** Updates the quote of {@code pair} and fills its orders due by the timestamp of {@code marketData}. */
+    public void onMarketData(String pair, TimeSeries marketData) {
+        final @Nullable MyOrdersTimeSeries published;
+        lock.lock();
+        try {
+            final Book book = books.computeIfAbsent(pair, _ -> new Book());
+            if (!quote(book, marketData)) {
+                return;
+            }
+            final List<Fill> newFills = new ArrayList<>(book.pending.size());
+            drain(book, marketData.timestamp(), newFills);
+            published = publish(newFills);
+        } finally {
+            lock.unlock();
+        }
+        if (published != null) {
+            fills.emitNext(published);
+        }
+    }
+
+    public long submitted() {
+        lock.lock();
+        try {
+            return submitted;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long filled() {
+        lock.lock();
+        try {
+            return filled;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Signals that produced no order: unknown type, nothing to sell or position limit reached. */
+    public long ignored() {
+        lock.lock();
+        try {
+            return ignored;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int pending() {
+        lock.lock();
+        try {
+            return books.values().stream().mapToInt(book -> book.pending.size()).sum();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void drain(Book book, long timestamp, List<Fill> newFills) {
+        while (!book.pending.isEmpty() && book.pending.peekFirst().dueTimestamp() <= timestamp) {
+            final Order order = book.pending.peekFirst();
+            double price = order.side() == BidAskSide.BID ?
+                    (Double.isNaN(book.ask) ? book.bid : book.ask) * (1.0 + slippage) :
+                    (Double.isNaN(book.bid) ? book.ask : book.bid) * (1.0 - slippage);
+            if (Double.isNaN(price)) {
+                return; // no quote yet
+            }
+            book.pending.pollFirst();
+            newFills.add(new Fill(timestamp, order, price, price * order.amount() * feeRate));
+        }
+    }
+
+    private static boolean quote(Book book, TimeSeries marketData) {
+        int last = marketData.size() - 1;
+        if (last < 0) {
+            return false;
+        }
+        switch (marketData) {
+            case OrderBookUpdateTimeSeries orderBook -> {
+                final long[] timestamps = orderBook.timestamps();
+                double bid = Double.NaN;
+                double ask = Double.NaN;
+                for (int x = last; x >= 0 && timestamps[x] == timestamps[last]; x--) {
+                    if (orderBook.bidAmounts()[x] > 0.0 && !(orderBook.bidPrices()[x] <= bid)) bid = orderBook.bidPrices()[x];
+                    if (orderBook.askAmounts()[x] > 0.0 && !(orderBook.askPrices()[x] >= ask)) ask = orderBook.askPrices()[x];
+                }
+                if (Double.isNaN(bid) && Double.isNaN(ask)) {
+                    return false;
+                }
+                book.bid = bid;
+                book.ask = ask;
+            }
+            case OrderBookUpdateTimeSeriesView orderBook -> {
+                final long timestamp = orderBook.timestamp(last);
+                double bid = Double.NaN;
+                double ask = Double.NaN;
+                for (int x = last; x >= 0 && orderBook.timestamp(x) == timestamp; x--) {
+                    if (orderBook.bidAmount(x) > 0.0 && !(orderBook.bidPrice(x) <= bid)) bid = orderBook.bidPrice(x);
+                    if (orderBook.askAmount(x) > 0.0 && !(orderBook.askPrice(x) >= ask)) ask = orderBook.askPrice(x);
+                }
+                if (Double.isNaN(bid) && Double.isNaN(ask)) {
+                    return false;
+                }
+                book.bid = bid;
+                book.ask = ask;
+            }
+            case DoubleTimeSeriesView series -> {
+                book.bid = series.value(last);
+                book.ask = series.value(last);
+            }
+            case BarTimeSeries bar -> {
+                book.bid = bar.closes()[last];
+                book.ask = bar.closes()[last];
+            }
+            case DoubleTimeSeries series -> {
+                book.bid = series.values()[last];
+                book.ask = series.values()[last];
+            }
+            case Double2TimeSeries series -> {
+                book.bid = series.values()[last];
+                book.ask = series.values()[last];
+            }
+            default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** The series to emit for the new fills, null if there are none. */
+    private @Nullable MyOrdersTimeSeries publish(List<Fill> newFills) {
+        if (newFills.isEmpty()) {
+            return null;
+        }
+        filled += newFills.size();
+        final int size = newFills.size();
+        final long[] timestamps = new long[size];
+        final String[] orderIds = new String[size];
+        final String[] symbols = new String[size];
+        final BidAskSide[] sides = new BidAskSide[size];
+        final String[] owners = new String[size];
+        final TradeState[] tradeStates = new TradeState[size];
+        final OrderType[] orderTypes = new OrderType[size];
+        final double[] fees = new double[size];
+        final double[] prices = new double[size];
+        final double[] nan = new double[size];
+        final double[] amounts = new double[size];
+        final OrderCondition[] orderConditions = new OrderCondition[size];
+        final String[] orderConditionsRules = new String[size];
+        for (int x = 0; x < size; x++) {
+            final Fill fill = newFills.get(x);
+            timestamps[x] = fill.timestamp();
+            orderIds[x] = fill.order().orderId();
+            symbols[x] = fill.order().pair();
+            sides[x] = fill.order().side();
+            owners[x] = owner;
+            tradeStates[x] = TradeState.FILLED;
+            orderTypes[x] = OrderType.MARKET;
+            fees[x] = fill.fee();
+            prices[x] = fill.price();
+            nan[x] = Double.NaN;
+            amounts[x] = fill.order().amount();
+            orderConditions[x] = OrderCondition.IMMEDIATE_OR_CANCEL;
+            orderConditionsRules[x] = "";
+        }
+        return new MyOrdersTimeSeries(owner, timestamps, orderIds, symbols, sides, owners, tradeStates, orderTypes,
+                fees, prices, nan, nan, nan, nan, amounts, amounts, orderConditions, orderConditionsRules);
+    }
+}
@@ -22,6 +22,15 @@ public class SimulatedPublisher extends Publisher {
         super(name);
     }
 
+    /**
+     * Sends the published signals to {@code fillSimulator}. Bind the publisher to an event loop to keep the
+     * signal order.
+     */
+    public SimulatedPublisher setFillSimulator(FillSimulator fillSimulator) {
+        subscribe(fillSimulator::onSignal);
+        return this;
+    }
+
     @Override
     public boolean connect() {
         return true;
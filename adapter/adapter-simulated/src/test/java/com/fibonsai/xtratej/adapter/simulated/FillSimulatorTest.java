@@ -0,0 +1,183 @@
+/*
+ *  Copyright (c) 2026 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.xtratej.adapter.simulated;
+
+import com.fibonsai.directflux.EventLoop;
+import com.fibonsai.xtratej.event.series.dao.Double2TimeSeries;
+import com.fibonsai.xtratej.event.series.dao.MyOrdersTimeSeries;
+import com.fibonsai.xtratej.event.series.dao.MyOrdersTimeSeries.BidAskSide;
+import com.fibonsai.xtratej.event.series.dao.OrderBookUpdateTimeSeries;
+import com.fibonsai.xtratej.event.series.dao.TimeSeries;
+import com.fibonsai.xtratej.event.series.dao.TradingSignal;
+import com.fibonsai.xtratej.event.series.dao.builders.BarTimeSeriesBuilder;
+import com.fibonsai.xtratej.event.series.dao.builders.DoubleTimeSeriesBuilder;
+import com.fibonsai.xtratej.event.series.dao.codec.BinaryCodec;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FillSimulatorTest {
+
+    private EventLoop loop;
+    private FillSimulator simulator;
+    private final List<MyOrdersTimeSeries> fills = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        loop = EventLoop.direct("fills");
+        simulator = new FillSimulator("sim");
+        simulator.fills().dispatchOn(loop).subscribe(ts -> fills.add((MyOrdersTimeSeries) ts));
+    }
+
+    @AfterEach
+    void tearDown() {
+        loop.close();
+    }
+
+    private static TradingSignal signal(long timestamp, TradingSignal.Signal signal) {
+        return new TradingSignal("test", timestamp, signal, "strategy", "BTC", "");
+    }
+
+    private static TimeSeries price(long timestamp, double value) {
+        return new DoubleTimeSeriesBuilder().add(timestamp, value).build();
+    }
+
+    @Test
+    void onSignal_fillsAtQuoteWithSlippageAndFees() {
+        simulator.setSlippage(0.01).setFeeRate(0.001);
+        simulator.onMarketData("BTC", new BarTimeSeriesBuilder().add(5L, 90.0, 110.0, 80.0, 100.0, 1.0).build());
+
+        simulator.onSignal(signal(10L, TradingSignal.Signal.ENTER));
+        simulator.onSignal(signal(20L, TradingSignal.Signal.EXIT));
+
+        assertEquals(2, fills.size());
+        MyOrdersTimeSeries buy = fills.get(0);
+        assertEquals(BidAskSide.BID, buy.sides()[0]);
+        assertEquals(10L, buy.timestamp());
+        assertEquals(101.0, buy.prices()[0], 1e-9);
+        assertEquals(0.101, buy.fees()[0], 1e-9);
+        assertEquals(MyOrdersTimeSeries.TradeState.FILLED, buy.tradeStates()[0]);
+        assertEquals("sim", buy.owners()[0]);
+        assertEquals("BTC", buy.symbols()[0]);
+        MyOrdersTimeSeries sell = fills.get(1);
+        assertEquals(BidAskSide.ASK, sell.sides()[0]);
+        assertEquals(99.0, sell.prices()[0], 1e-9);
+        assertEquals(1.0, sell.executedAmounts()[0]);
+    }
+
+    @Test
+    void onSignal_withoutQuote_waitsForMarketData() {
+        simulator.onSignal(signal(10L, TradingSignal.Signal.ENTER));
+        assertTrue(fills.isEmpty());
+        assertEquals(1, simulator.pending());
+
+        simulator.onMarketData("ETH", price(11L, 1.0));
+        assertTrue(fills.isEmpty());
+        simulator.onMarketData("BTC", price(12L, 50.0));
+
+        assertEquals(1, fills.size());
+        assertEquals(12L, fills.getFirst().timestamp());
+        assertEquals(50.0, fills.getFirst().prices()[0]);
+        assertEquals(0, simulator.pending());
+    }
+
+    @Test
+    void latency_fillsAtFirstQuoteAfterDueTime() {
+        simulator.setLatencyMillis(50L);
+        simulator.onMarketData("BTC", price(100L, 10.0));
+        simulator.onSignal(signal(100L, TradingSignal.Signal.ENTER));
+
+        simulator.onMarketData("BTC", price(120L, 11.0));
+        assertTrue(fills.isEmpty());
+        simulator.onMarketData("BTC", price(170L, 12.0));
+
+        assertEquals(1, fills.size());
+        assertEquals(170L, fills.getFirst().timestamp());
+        assertEquals(12.0, fills.getFirst().prices()[0]);
+    }
+
+    @Test
+    void onSignal_respectsPositionLimit() {
+        simulator.onMarketData("BTC", price(1L, 10.0));
+
+        simulator.onSignal(signal(2L, TradingSignal.Signal.EXIT));
+        simulator.onSignal(signal(3L, TradingSignal.Signal.ENTER));
+        simulator.onSignal(signal(4L, TradingSignal.Signal.ENTER));
+        simulator.onSignal(signal(5L, TradingSignal.Signal.UNDEF));
+
+        assertEquals(4, simulator.submitted());
+        assertEquals(1, simulator.filled());
+        assertEquals(3, simulator.ignored());
+    }
+
+    @Test
+    void onMarketData_orderBook_usesBestPricesOfLastTimestamp() {
+        simulator.onMarketData("BTC", new OrderBookUpdateTimeSeries("book", new long[]{1L, 2L, 2L},
+                new String[]{"", "", ""}, new String[]{"", "", ""},
+                new double[]{50.0, 9.0, 9.5}, new double[]{1.0, 10.5, 10.0},
+                new double[]{1.0, 1.0, 1.0}, new double[]{1.0, 1.0, 1.0}, new double[]{0.0, 0.0, 0.0}));
+
+        simulator.onSignal(signal(3L, TradingSignal.Signal.ENTER));
+        simulator.onSignal(signal(4L, TradingSignal.Signal.EXIT));
+
+        assertEquals(10.0, fills.get(0).prices()[0]);
+        assertEquals(9.5, fills.get(1).prices()[0]);
+    }
+
+    @Test
+    void fills_atSameTimestamp_onlyNewFills() {
+        simulator.onMarketData("BTC", price(1L, 10.0));
+
+        simulator.onSignal(signal(2L, TradingSignal.Signal.ENTER));
+        simulator.onSignal(signal(2L, TradingSignal.Signal.EXIT));
+        simulator.onSignal(signal(3L, TradingSignal.Signal.ENTER));
+
+        assertEquals(List.of(1, 1, 1), fills.stream().map(TimeSeries::size).toList());
+        assertEquals(List.of(BidAskSide.BID, BidAskSide.ASK, BidAskSide.BID), fills.stream().map(f -> f.sides()[0]).toList());
+        assertEquals(List.of(2L, 2L, 3L), fills.stream().map(TimeSeries::timestamp).toList());
+        assertNotEquals(fills.get(0).orderIds()[0], fills.get(1).orderIds()[0]);
+    }
+
+    @Test
+    void onMarketData_orderBookView_readsInPlace() {
+        var orderBook = new OrderBookUpdateTimeSeries("book", new long[]{1L, 2L, 2L},
+                new String[]{"", "", ""}, new String[]{"", "", ""},
+                new double[]{50.0, 9.0, 9.5}, new double[]{1.0, 10.5, 10.0},
+                new double[]{1.0, 1.0, 1.0}, new double[]{1.0, 1.0, 1.0}, new double[]{0.0, 0.0, 0.0});
+        simulator.onMarketData("BTC", BinaryCodec.view(ByteBuffer.wrap(BinaryCodec.encode(orderBook))));
+
+        simulator.onSignal(signal(3L, TradingSignal.Signal.ENTER));
+        simulator.onSignal(signal(4L, TradingSignal.Signal.EXIT));
+
+        assertEquals(10.0, fills.get(0).prices()[0]);
+        assertEquals(9.5, fills.get(1).prices()[0]);
+    }
+
+    @Test
+    void onMarketData_double2_quotesThePrice() {
+        simulator.onMarketData("BTC", new Double2TimeSeries("BTC", new long[]{1L}, new double[]{42.0}, new double[]{3.0}));
+
+        simulator.onSignal(signal(2L, TradingSignal.Signal.ENTER));
+
+        assertEquals(1, fills.size());
+        assertEquals(42.0, fills.getFirst().prices()[0]);
+    }
+}
@@ -0,0 +1,22 @@
+/*
+ *  Copyright (c) 2026 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.xtratej.backtest;
+
+import com.fibonsai.xtratej.event.series.dao.TradingSignal;
+
+import java.util.List;
+
+/** Signals emitted by a replay, in emission order, and the number of events delivered to the strategies. */
+public record BacktestResult(List<TradingSignal> signals, long events) {}
@@ -0,0 +1,166 @@
+/*
+ *  Copyright (c) 2026 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.xtratej.backtest;
+
+import com.fibonsai.directflux.EventLoop;
+import com.fibonsai.xtratej.adapter.core.Subscriber;
+import com.fibonsai.xtratej.adapter.simulated.FillSimulator;
+import com.fibonsai.xtratej.adapter.simulated.SimulatedPublisher;
+import com.fibonsai.xtratej.engine.strategy.IStrategy;
+import com.fibonsai.xtratej.engine.strategy.Loader;
+import com.fibonsai.xtratej.engine.strategy.StrategyManager;
+import com.fibonsai.xtratej.event.series.dao.TradingSignal;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import tools.jackson.databind.JsonNode;
+
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Replays {@link ReplayData} through a {@link StrategyManager} as fast as possible.
+ *
+ * <p>The strategies, their sources and the signal publisher are bound to a direct {@link EventLoop}, so each event
+ * is evaluated to completion on the calling thread before the next one, with no zip tolerance timers. Time based
+ * rules read an {@link EventClock} set to the timestamp of the event being replayed. Given the same strategies and
+ * data, two runs emit identical {@link TradingSignal}s in the same order.
+ *
+ * <p>With a {@link FillSimulator} the signals are also turned into fills, priced from the replayed market data and
+ * fed back to the strategies through an orders source, in the same thread. Each fill is sent once, so the rules
+ * reading the orders source take the {@code delta} input.
+ *
+ * <p>Strategies are stateful: a runner replays once.
+ */
+public class BacktestRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(BacktestRunner.class);
+
+    public static final String NAME = "backtest";
+
+    private final Map<String, IStrategy> strategies;
+    private ZoneId zone = ZoneOffset.UTC;
+    private boolean done = false;
+    private @Nullable FillSimulator fillSimulator = null;
+    private String ordersSource = "";
+    private Map<String, String> pairsBySource = Map.of();
+
+    public BacktestRunner(Map<String, IStrategy> strategies) {
+        // registration order must not depend on the map implementation
+        this.strategies = new TreeMap<>(strategies);
+    }
+
+    public static BacktestRunner fromJson(JsonNode json) {
+        return new BacktestRunner(Loader.fromJson(json));
+    }
+
+    /** Zone of the event clock, UTC by default. */
+    public BacktestRunner setZone(ZoneId zone) {
+        this.zone = zone;
+        return this;
+    }
+
+    /**
+     * Fills the signals with {@code fillSimulator}.
+     *
+     * @param ordersSource name of the strategy sources receiving the fills
+     * @param pairsBySource pair quoted by each market data source of the replay
+     */
+    public BacktestRunner setFillSimulator(FillSimulator fillSimulator, String ordersSource,
+                                           Map<String, String> pairsBySource) {
+        this.fillSimulator = fillSimulator;
+        this.ordersSource = ordersSource;
+        this.pairsBySource = Map.copyOf(pairsBySource);
+        return this;
+    }
+
+    public synchronized BacktestResult run(ReplayData data) {
+        if (done) {
+            throw new IllegalStateException("a backtest runner replays once");
+        }
+        done = true;
+
+        final EventClock clock = new EventClock(zone);
+        final List<TradingSignal> signals = new ArrayList<>();
+        final Map<String, List<Subscriber>> sources = new HashMap<>();
+        final StrategyManager manager = new StrategyManager().setName(NAME);
+        final FillSimulator simulator = fillSimulator;
+        long events = 0;
+
+        try (EventLoop loop = EventLoop.direct(NAME)) {
+            SimulatedPublisher publisher = new SimulatedPublisher(NAME);
+            publisher.dispatchOn(loop).subscribe(timeSeries -> {
+                if (timeSeries instanceof TradingSignal signal) {
+                    signals.add(signal);
+                }
+            });
+            if (simulator != null) {
+                publisher.setFillSimulator(simulator);
+                simulator.fills().dispatchOn(loop).subscribe(orders -> {
+                    for (var source : sources.getOrDefault(ordersSource, List.of())) {
+                        source.emitNext(orders);
+                    }
+                });
+            }
+            manager.setPublisher(publisher);
+
+            Set<Subscriber> bound = Collections.newSetFromMap(new IdentityHashMap<>());
+            strategies.values().forEach(strategy -> {
+                strategy.dispatchOn(loop).setClock(clock);
+                manager.registerStrategy(strategy);
+                new TreeMap<>(strategy.getSources()).forEach((name, source) -> {
+                    if (bound.add(source)) {
+                        sources.computeIfAbsent(name, _ -> new ArrayList<>()).add(source);
+                    }
+                });
+            });
+            if (!strategies.isEmpty() && !manager.run()) {
+                throw new IllegalStateException("strategies not started");
+            }
+
+            for (var event : data.events()) {
+                List<Subscriber> targets = sources.get(event.source());
+                @Nullable String pair = simulator == null ? null : pairsBySource.get(event.source());
+                if (targets == null && pair == null) {
+                    continue;
+                }
+                clock.set(event.timestamp());
+                if (simulator != null && pair != null) {
+                    // orders due by now fill before the strategies see the new price
+                    simulator.onMarketData(pair, event.timeSeries());
+                }
+                if (targets != null) {
+                    for (var source : targets) {
+                        source.emitNext(event.timeSeries());
+                    }
+                    events++;
+                }
+            }
+        } finally {
+            manager.shutdown();
+            strategies.values().forEach(IStrategy::close);
+        }
+        log.info("backtest: {} events replayed, {} signals", events, signals.size());
+        return new BacktestResult(List.copyOf(signals), events);
+    }
+}
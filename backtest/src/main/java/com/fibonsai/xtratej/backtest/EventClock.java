@@ -0,0 +1,70 @@
+/*
+ *  Copyright (c) 2026 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.xtratej.backtest;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Clock reading the timestamp (epoch milliseconds) of the event being replayed, so time based rules
+ * see event time instead of wall-clock time.
+ */
+public class EventClock extends Clock {
+
+    private final AtomicLong time;
+    private final ZoneId zone;
+
+    public EventClock() {
+        this(ZoneOffset.UTC);
+    }
+
+    public EventClock(ZoneId zone) {
+        this(new AtomicLong(), zone);
+    }
+
+    private EventClock(AtomicLong time, ZoneId zone) {
+        this.time = time;
+        this.zone = zone;
+    }
+
+    public EventClock set(long epochMillis) {
+        time.set(epochMillis);
+        return this;
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    /** A view in another zone sharing the same event time. */
+    @Override
+    public Clock withZone(ZoneId zone) {
+        return new EventClock(time, zone);
+    }
+
+    @Override
+    public long millis() {
+        return time.get();
+    }
+
+    @Override
+    public Instant instant() {
+        return Instant.ofEpochMilli(time.get());
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ *  Copyright (c) 2026 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.xtratej.backtest;
+
+import com.fibonsai.xtratej.engine.strategy.Loader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import tools.jackson.core.JsonPointer;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.node.ArrayNode;
+import tools.jackson.databind.node.JsonNodeFactory;
+import tools.jackson.databind.node.ObjectNode;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Expands a {@link Loader} strategies JSON holding parameter ranges into concrete variants and backtests them
+ * in parallel over the same {@link ReplayData}.
+ *
+ * <p>Any JSON value may be replaced by a range, either a list of candidates or an inclusive arithmetic sequence:
+ * <pre>
+ *   "min": { "sweep": [1.0, 2.5, 4.0] }
+ *   "max": { "sweep": { "from": 6.0, "to": 10.0, "step": 0.5 } }
+ * </pre>
+ * Sequences of integral bounds produce integers, otherwise doubles. Variants come from the full grid or from
+ * a seeded random sample of it. Every variant loads its own strategies; the replay data and the price index
+ * are shared read-only.
+ */
+public class ParameterSweep {
+
+    private static final Logger log = LoggerFactory.getLogger(ParameterSweep.class);
+
+    public static final String SWEEP = "sweep";
+
+    /** A swept value, addressed by its JSON pointer in the template. */
+    public record Parameter(String path, List<JsonNode> values) {}
+
+    public record Variant(int index, Map<String, JsonNode> parameters, JsonNode json) {}
+
+    private final JsonNode template;
+    private final List<Parameter> parameters;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    public ParameterSweep(JsonNode template) {
+        this.template = template;
+        final List<Parameter> found = new ArrayList<>();
+        collect(template, "", found);
+        this.parameters = List.copyOf(found);
+    }
+
+    public List<Parameter> parameters() {
+        return parameters;
+    }
+
+    /** Number of variants of the full grid, saturating at {@link Long#MAX_VALUE}. */
+    public long gridSize() {
+        long size = 1;
+        for (var parameter : parameters) {
+            try {
+                size = Math.multiplyExact(size, parameter.values().size());
+            } catch (ArithmeticException e) {
+                return Long.MAX_VALUE;
+            }
+        }
+        return size;
+    }
+
+    public ParameterSweep setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive");
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /** Every combination, the last parameter varying fastest. */
+    public List<Variant> grid() {
+        long size = gridSize();
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalStateException("grid too large: use random()");
+        }
+        final List<Variant> variants = new ArrayList<>((int) size);
+        final int[] indexes = new int[parameters.size()];
+        for (int v = 0; v < size; v++) {
+            variants.add(variant(v, indexes));
+            for (int p = indexes.length - 1; p >= 0; p--) {
+                if (++indexes[p] < parameters.get(p).values().size()) break;
+                indexes[p] = 0;
+            }
+        }
+        return variants;
+    }
+
+    /** Up to {@code count} distinct combinations drawn uniformly; the same seed gives the same variants. */
+    public List<Variant> random(int count, long seed) {
+        if (count >= gridSize()) {
+            return grid();
+        }
+        final SplittableRandom random = new SplittableRandom(seed);
+        final Set<List<Integer>> seen = new HashSet<>();
+        final List<Variant> variants = new ArrayList<>(count);
+        while (variants.size() < count) {
+            final int[] indexes = new int[parameters.size()];
+            final List<Integer> key = new ArrayList<>(indexes.length);
+            for (int p = 0; p < indexes.length; p++) {
+                indexes[p] = random.nextInt(parameters.get(p).values().size());
+                key.add(indexes[p]);
+            }
+            if (seen.add(key)) {
+                variants.add(variant(variants.size(), indexes));
+            }
+        }
+        return variants;
+    }
+
+    /**
+     * Backtests each variant and prices its signals with {@code pnl}. Results are in variant order.
+     * Any failing variant fails the sweep.
+     */
+    public List<SweepResult> run(List<Variant> variants, ReplayData data, PnlCalculator pnl) {
+        final List<SweepResult> results = new ArrayList<>(variants.size());
+        try (ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, Math.max(1, variants.size())))) {
+            final List<Future<SweepResult>> futures = new ArrayList<>(variants.size());
+            for (var variant : variants) {
+                futures.add(executor.submit(() -> evaluate(variant, data, pnl)));
+            }
+            for (var future : futures) {
+                results.add(future.get());
+            }
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException re ? re : new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+        return results;
+    }
+
+    /** Backtests the whole grid, pricing each pair from the source that quotes it. */
+    public List<SweepResult> run(ReplayData data, Map<String, String> pairsBySource) {
+        return run(grid(), data, new PnlCalculator(data, pairsBySource));
+    }
+
+    private static SweepResult evaluate(Variant variant, ReplayData data, PnlCalculator pnl) {
+        BacktestResult result = BacktestRunner.fromJson(variant.json()).run(data);
+        SweepResult sweepResult = new SweepResult(variant, result, pnl.compute(result.signals()));
+        if (log.isDebugEnabled()) {
+            log.debug("variant {} {}: {} signals, pnl {}", variant.index(), variant.parameters(),
+                    sweepResult.signals(), sweepResult.pnl().total());
+        }
+        return sweepResult;
+    }
+
+    private Variant variant(int index, int[] indexes) {
+        final JsonNode json = template.deepCopy();
+        final Map<String, JsonNode> values = new LinkedHashMap<>();
+        for (int p = 0; p < indexes.length; p++) {
+            final Parameter parameter = parameters.get(p);
+            final JsonNode value = parameter.values().get(indexes[p]);
+            final JsonPointer pointer = JsonPointer.compile(parameter.path());
+            final JsonNode parent = json.at(pointer.head());
+            if (parent instanceof ObjectNode object) {
+                object.set(pointer.last().getMatchingProperty(), value);
+            } else if (parent instanceof ArrayNode array) {
+                array.set(pointer.last().getMatchingIndex(), value);
+            }
+            values.put(parameter.path(), value);
+        }
+        return new Variant(index, Collections.unmodifiableMap(values), json);
+    }
+
+    private static void collect(JsonNode node, String path, List<Parameter> found) {
+        if (node.isObject() && node.size() == 1 && node.has(SWEEP)) {
+            found.add(new Parameter(path, expand(path, node.get(SWEEP))));
+        } else if (node.isObject()) {
+            for (var e : node.properties()) {
+                collect(e.getValue(), path + "/" + e.getKey().replace("~", "~0").replace("/", "~1"), found);
+            }
+        } else if (node.isArray()) {
+            for (int i = 0; i < node.size(); i++) {
+                collect(node.get(i), path + "/" + i, found);
+            }
+        }
+    }
+
+    private static List<JsonNode> expand(String path, JsonNode sweep) {
+        final List<JsonNode> values = new ArrayList<>();
+        if (sweep.isArray()) {
+            sweep.forEach(values::add);
+        } else if (sweep.isObject() && sweep.path("from").isNumber() && sweep.path("to").isNumber()
+                && sweep.path("step").isNumber()) {
+            final JsonNode from = sweep.get("from");
+            final JsonNode to = sweep.get("to");
+            final JsonNode step = sweep.get("step");
+            final boolean integral = from.isIntegralNumber() && to.isIntegralNumber() && step.isIntegralNumber();
+            final BigDecimal start = from.decimalValue();
+            final BigDecimal end = to.decimalValue();
+            final BigDecimal increment = step.decimalValue();
+            if (increment.signum() <= 0) {
+                throw new IllegalArgumentException(path + ": sweep step must be positive");
+            }
+            for (BigDecimal v = start; v.compareTo(end) <= 0; v = v.add(increment)) {
+                values.add(integral ? JsonNodeFactory.instance.numberNode(v.longValueExact())
+                        : JsonNodeFactory.instance.numberNode(v.doubleValue()));
+            }
+        }
+        if (values.isEmpty()) {
+            throw new IllegalArgumentException(path + ": sweep must be a non empty list or {from, to, step}");
+        }
+        return List.copyOf(values);
+    }
+}
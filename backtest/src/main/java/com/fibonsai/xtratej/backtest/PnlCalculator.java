@@ -0,0 +1,126 @@
+/*
+ *  Copyright (c) 2026 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.xtratej.backtest;
+
+import com.fibonsai.xtratej.event.series.dao.BarTimeSeries;
+import com.fibonsai.xtratej.event.series.dao.DoubleTimeSeries;
+import com.fibonsai.xtratej.event.series.dao.TradingSignal;
+import org.jspecify.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Long only profit and loss of a signal stream against the prices of a {@link ReplayData}, each pair priced from
+ * the source that quotes it.
+ *
+ * <p>An ENTER signal opens a position of one unit on its pair at the last known price of that pair, if none is
+ * open; an EXIT closes it. Positions still open at the end are marked to the last price of their pair. The price
+ * indexes are built once and only read afterwards, so one calculator can be shared by concurrent replays.
+ */
+public final class PnlCalculator {
+
+    private record Prices(long[] timestamps, double[] prices) {}
+
+    private final Map<String, Prices> pricesByPair = new HashMap<>();
+
+    /**
+     * @param data          replayed market data
+     * @param pairsBySource pair quoted by each market data source of the replay
+     */
+    public PnlCalculator(ReplayData data, Map<String, String> pairsBySource) {
+        final Map<String, long[]> ts = new HashMap<>();
+        final Map<String, double[]> px = new HashMap<>();
+        final Map<String, Integer> sizes = new HashMap<>();
+        for (var event : data.events()) {
+            @Nullable String pair = pairsBySource.get(event.source());
+            if (pair == null) {
+                continue;
+            }
+            double price = switch (event.timeSeries()) {
+                case DoubleTimeSeries series when series.values().length > 0 -> series.values()[series.values().length - 1];
+                case BarTimeSeries series when series.closes().length > 0 -> series.closes()[series.closes().length - 1];
+                default -> Double.NaN;
+            };
+            if (!Double.isNaN(price)) {
+                int n = sizes.getOrDefault(pair, 0);
+                ts.computeIfAbsent(pair, k -> new long[data.size()])[n] = event.timestamp();
+                px.computeIfAbsent(pair, k -> new double[data.size()])[n] = price;
+                sizes.put(pair, n + 1);
+            }
+        }
+        sizes.forEach((pair, n) -> pricesByPair.put(pair,
+                new Prices(Arrays.copyOf(ts.get(pair), n), Arrays.copyOf(px.get(pair), n))));
+    }
+
+    /** Last price of {@code pair} at or before {@code timestamp}, NaN if there is none. */
+    public double priceAt(String pair, long timestamp) {
+        @Nullable Prices prices = pricesByPair.get(pair);
+        if (prices == null) {
+            return Double.NaN;
+        }
+        long[] timestamps = prices.timestamps();
+        int i = Arrays.binarySearch(timestamps, timestamp);
+        if (i < 0) {
+            i = -i - 2;
+        } else {
+            // equal timestamps: take the last one
+            while (i + 1 < timestamps.length && timestamps[i + 1] == timestamp) i++;
+        }
+        return i < 0 ? Double.NaN : prices.prices()[i];
+    }
+
+    public double lastPrice(String pair) {
+        @Nullable Prices prices = pricesByPair.get(pair);
+        return prices == null || prices.prices().length == 0 ? Double.NaN : prices.prices()[prices.prices().length - 1];
+    }
+
+    public Pnl compute(List<TradingSignal> signals) {
+        final Map<String, Double> open = new HashMap<>();
+        double realized = 0.0;
+        int trades = 0;
+        for (var signal : signals) {
+            double price = priceAt(signal.pair(), signal.timestamp());
+            if (Double.isNaN(price)) {
+                continue;
+            }
+            switch (signal.signal()) {
+                case ENTER -> open.putIfAbsent(signal.pair(), price);
+                case EXIT -> {
+                    Double entry = open.remove(signal.pair());
+                    if (entry != null) {
+                        realized += price - entry;
+                        trades++;
+                    }
+                }
+                default -> {}
+            }
+        }
+        double unrealized = 0.0;
+        for (var entry : open.entrySet()) {
+            unrealized += lastPrice(entry.getKey()) - entry.getValue();
+        }
+        return new Pnl(realized, unrealized, trades);
+    }
+
+    /** Realized and unrealized profit in price units, and the number of closed round trips. */
+    public record Pnl(double realized, double unrealized, int trades) {
+        public double total() {
+            return realized + unrealized;
+        }
+    }
+}
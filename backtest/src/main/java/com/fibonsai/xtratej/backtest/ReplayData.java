@@ -0,0 +1,71 @@
+/*
+ *  Copyright (c) 2026 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.xtratej.backtest;
+
+import com.fibonsai.xtratej.event.series.dao.TimeSeries;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable historical events of several sources merged in timestamp order. Events with the same timestamp
+ * keep the order they were added in, so a replay is fully determined by the data.
+ * Being read-only, one instance can be replayed by many runners at the same time.
+ */
+public final class ReplayData {
+
+    public record Event(long timestamp, String source, TimeSeries timeSeries) {}
+
+    private final List<Event> events;
+
+    private ReplayData(List<Event> events) {
+        this.events = events;
+    }
+
+    public List<Event> events() {
+        return events;
+    }
+
+    public int size() {
+        return events.size();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private final List<Event> events = new ArrayList<>();
+
+        /** Adds the events of a source; each time series is replayed as one event at its last timestamp. */
+        public Builder add(String source, List<? extends TimeSeries> timeSeries) {
+            for (var ts : timeSeries) {
+                events.add(new Event(ts.timestamp(), source, ts));
+            }
+            return this;
+        }
+
+        public Builder add(String source, TimeSeries... timeSeries) {
+            return add(source, List.of(timeSeries));
+        }
+
+        public ReplayData build() {
+            List<Event> sorted = new ArrayList<>(events);
+            sorted.sort(Comparator.comparingLong(Event::timestamp)); // stable
+            return new ReplayData(List.copyOf(sorted));
+        }
+    }
+}
@@ -0,0 +1,31 @@
+/*
+ *  Copyright (c) 2026 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.xtratej.backtest;
+
+import tools.jackson.databind.JsonNode;
+
+import java.util.Map;
+
+/** Outcome of one {@link ParameterSweep} variant. */
+public record SweepResult(ParameterSweep.Variant variant, BacktestResult result, PnlCalculator.Pnl pnl) {
+
+    public int signals() {
+        return result.signals().size();
+    }
+
+    public Map<String, JsonNode> parameters() {
+        return variant.parameters();
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ *  Copyright (c) 2026 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.xtratej.backtest;
+
+import com.fibonsai.xtratej.adapter.simulated.FillSimulator;
+import com.fibonsai.xtratej.event.series.dao.TimeSeries;
+import com.fibonsai.xtratej.event.series.dao.TradingSignal;
+import com.fibonsai.xtratej.event.series.dao.builders.DoubleTimeSeriesBuilder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BacktestRunnerTest {
+
+    private static final String JSON = """
+            {
+              "strategies": {
+                "mondayLimit": {
+                  "symbol": "BTC",
+                  "type": "ENTER",
+                  "sources": { "flux1": { "type": "SIMULATED", "publisher": "test" } },
+                  "rule": {
+                    "type": "And",
+                    "inputs": [
+                      { "type": "Limit", "params": { "min": 1.0, "max": 10.0 }, "inputs": ["flux1"] },
+                      { "type": "Weekday", "params": { "weekdays": ["monday"] }, "inputs": ["flux1"] }
+                    ]
+                  }
+                }
+              }
+            }
+            """;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static long millis(String instant) {
+        return Instant.parse(instant).toEpochMilli();
+    }
+
+    private static TimeSeries price(String instant, double value) {
+        return new DoubleTimeSeriesBuilder().setId("flux1").add(millis(instant), value).build();
+    }
+
+    private static ReplayData data() {
+        return ReplayData.builder()
+                .add("flux1",
+                        price("2026-01-05T10:00:00Z", 5.0),   // monday, in range
+                        price("2026-01-06T10:00:00Z", 5.0),   // tuesday
+                        price("2026-01-12T10:00:00Z", 20.0),  // monday, out of range
+                        price("2026-01-12T11:00:00Z", 3.0))   // monday, in range
+                .add("unknown", price("2026-01-05T10:00:00Z", 1.0))
+                .build();
+    }
+
+    private BacktestRunner runner() {
+        return BacktestRunner.fromJson(objectMapper.readValue(JSON, JsonNode.class));
+    }
+
+    @Test
+    @Timeout(10)
+    void run_usesEventTimeAndEmitsSignalsSynchronously() {
+        BacktestResult result = runner().run(data());
+
+        assertEquals(4, result.events());
+        assertEquals(List.of(millis("2026-01-05T10:00:00Z"), millis("2026-01-12T11:00:00Z")),
+                result.signals().stream().map(TradingSignal::timestamp).toList());
+        TradingSignal signal = result.signals().getFirst();
+        assertEquals(BacktestRunner.NAME, signal.id());
+        assertEquals("mondayLimit", signal.strategyName());
+        assertEquals("BTC", signal.pair());
+        assertEquals(TradingSignal.Signal.ENTER, signal.signal());
+    }
+
+    @Test
+    @Timeout(10)
+    void run_identicalInputs_identicalSignals() {
+        ReplayData data = data();
+
+        assertEquals(runner().run(data), runner().run(data));
+    }
+
+    private static final String FEEDBACK_JSON = """
+            {
+              "strategies": {
+                "enter": {
+                  "symbol": "BTC",
+                  "type": "ENTER",
+                  "sources": { "flux1": { "type": "SIMULATED", "publisher": "test" } },
+                  "rule": { "type": "Limit", "params": { "min": 1.0, "max": 10.0 }, "inputs": ["flux1"] }
+                },
+                "exit": {
+                  "symbol": "BTC",
+                  "type": "EXIT",
+                  "sources": { "orders": { "type": "SIMULATED", "publisher": "test" } },
+                  "rule": { "type": "HasOpenPosition", "params": { "input": "delta" }, "inputs": ["orders"] }
+                }
+              }
+            }
+            """;
+
+    @Test
+    @Timeout(10)
+    void run_fillSimulator_feedsOrdersBackToStrategies() {
+        FillSimulator simulator = new FillSimulator("sim");
+        BacktestRunner runner = BacktestRunner.fromJson(objectMapper.readValue(FEEDBACK_JSON, JsonNode.class))
+                .setFillSimulator(simulator, "orders", Map.of("flux1", "BTC"));
+        ReplayData data = ReplayData.builder()
+                .add("flux1", price("2026-01-05T10:00:00Z", 5.0), price("2026-01-05T10:01:00Z", 20.0))
+                .build();
+
+        BacktestResult result = runner.run(data);
+
+        // the buy fill opens a position, which the exit strategy closes straight away
+        assertEquals(List.of(TradingSignal.Signal.ENTER, TradingSignal.Signal.EXIT),
+                result.signals().stream().map(TradingSignal::signal).toList());
+        assertEquals(2, simulator.filled());
+        assertEquals(0, simulator.pending());
+    }
+
+    @Test
+    void run_twice_throws() {
+        BacktestRunner runner = new BacktestRunner(Map.of());
+        runner.run(data());
+
+        assertThrows(IllegalStateException.class, () -> runner.run(data()));
+    }
+
+    @Test
+    void replayData_mergesSourcesByTimestampStably() {
+        ReplayData data = ReplayData.builder()
+                .add("b", price("2026-01-05T10:00:01Z", 1.0))
+                .add("a", price("2026-01-05T10:00:00Z", 1.0), price("2026-01-05T10:00:01Z", 2.0))
+                .build();
+
+        List<String> order = new ArrayList<>();
+        data.events().forEach(event -> order.add(event.source() + event.timestamp()));
+
+        assertEquals(List.of("a" + millis("2026-01-05T10:00:00Z"), "b" + millis("2026-01-05T10:00:01Z"),
+                "a" + millis("2026-01-05T10:00:01Z")), order);
+    }
+
+    @Test
+    void eventClock_readsEventTime() {
+        EventClock clock = new EventClock().set(millis("2026-01-05T10:00:00Z"));
+
+        assertEquals(Instant.parse("2026-01-05T10:00:00Z"), clock.instant());
+        clock.set(42L);
+        assertEquals(42L, clock.withZone(ZoneId.of("Europe/Lisbon")).millis());
+    }
+}
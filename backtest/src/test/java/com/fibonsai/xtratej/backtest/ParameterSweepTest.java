@@ -0,0 +1,162 @@
+/*
+ *  Copyright (c) 2026 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.xtratej.backtest;
+
+import com.fibonsai.xtratej.event.series.dao.TimeSeries;
+import com.fibonsai.xtratej.event.series.dao.TradingSignal;
+import com.fibonsai.xtratej.event.series.dao.builders.DoubleTimeSeriesBuilder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParameterSweepTest {
+
+    private static final String JSON = """
+            {
+              "strategies": {
+                "enter": {
+                  "symbol": "BTC",
+                  "type": "ENTER",
+                  "sources": { "flux1": { "type": "SIMULATED", "publisher": "test" } },
+                  "rule": {
+                    "type": "Limit",
+                    "params": { "min": { "sweep": [1.0, 4.0] }, "max": { "sweep": { "from": 6.0, "to": 10.0, "step": 4.0 } } },
+                    "inputs": ["flux1"]
+                  }
+                },
+                "exit": {
+                  "symbol": "BTC",
+                  "type": "EXIT",
+                  "sources": { "flux1": { "type": "SIMULATED", "publisher": "test" } },
+                  "rule": { "type": "Limit", "params": { "min": 12.0, "max": 100.0 }, "inputs": ["flux1"] }
+                }
+              }
+            }
+            """;
+
+    private static final String MIN = "/strategies/enter/rule/params/min";
+    private static final String MAX = "/strategies/enter/rule/params/max";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private ParameterSweep sweep() {
+        return new ParameterSweep(objectMapper.readValue(JSON, JsonNode.class));
+    }
+
+    private static TimeSeries price(long timestamp, double value) {
+        return new DoubleTimeSeriesBuilder().setId("flux1").add(timestamp, value).build();
+    }
+
+    private static ReplayData data() {
+        return ReplayData.builder()
+                .add("flux1", price(1_000L, 5.0), price(2_000L, 8.0), price(3_000L, 13.0), price(4_000L, 3.0),
+                        price(5_000L, 9.0))
+                .build();
+    }
+
+    @Test
+    void grid_expandsListsAndSequences() {
+        ParameterSweep sweep = sweep();
+
+        assertEquals(List.of(MIN, MAX), sweep.parameters().stream().map(ParameterSweep.Parameter::path).toList());
+        assertEquals(4, sweep.gridSize());
+        List<ParameterSweep.Variant> grid = sweep.grid();
+        assertEquals(List.of(List.of(1.0, 6.0), List.of(1.0, 10.0), List.of(4.0, 6.0), List.of(4.0, 10.0)),
+                grid.stream().map(v -> v.parameters().values().stream().map(JsonNode::asDouble).toList()).toList());
+        JsonNode params = grid.get(3).json().at("/strategies/enter/rule/params");
+        assertTrue(params.get("min").isDouble());
+        assertEquals(10.0, params.get("max").asDouble());
+    }
+
+    @Test
+    void random_isSeededAndDistinct() {
+        List<ParameterSweep.Variant> first = sweep().random(3, 7L);
+
+        assertEquals(3, first.size());
+        assertEquals(3, first.stream().map(ParameterSweep.Variant::parameters).distinct().count());
+        assertEquals(first, sweep().random(3, 7L));
+        assertEquals(4, sweep().random(10, 7L).size());
+    }
+
+    @Test
+    void expand_invalidSweep_throws() {
+        assertThrows(IllegalArgumentException.class, () -> new ParameterSweep(objectMapper.readValue(
+                "{\"min\": {\"sweep\": {\"from\": 1, \"to\": 2, \"step\": 0}}}", JsonNode.class)));
+        assertThrows(IllegalArgumentException.class, () -> new ParameterSweep(objectMapper.readValue(
+                "{\"min\": {\"sweep\": []}}", JsonNode.class)));
+    }
+
+    @Test
+    @Timeout(30)
+    void run_reportsSignalsAndPnlPerVariant() {
+        List<SweepResult> results = sweep().run(data(), Map.of("flux1", "BTC"));
+
+        assertEquals(List.of(3, 5, 2, 4), results.stream().map(SweepResult::signals).toList());
+        assertEquals(List.of(14.0, 14.0, 8.0, 8.0), results.stream().map(r -> r.pnl().total()).toList());
+        SweepResult first = results.getFirst();
+        assertEquals(Map.of(MIN, 1.0, MAX, 6.0), Map.of(MIN, first.parameters().get(MIN).asDouble(),
+                MAX, first.parameters().get(MAX).asDouble()));
+        assertEquals(new PnlCalculator.Pnl(8.0, 6.0, 1), first.pnl());
+    }
+
+    @Test
+    @Timeout(30)
+    void run_parallelMatchesSequential() {
+        ReplayData data = data();
+        PnlCalculator pnl = new PnlCalculator(data, Map.of("flux1", "BTC"));
+        ParameterSweep sweep = sweep();
+
+        List<SweepResult> sequential = sweep.setParallelism(1).run(sweep.grid(), data, pnl);
+        List<SweepResult> parallel = sweep.setParallelism(4).run(sweep.grid(), data, pnl);
+
+        assertEquals(sequential, parallel);
+    }
+
+    @Test
+    void pnlCalculator_priceAt_usesLastKnownPrice() {
+        PnlCalculator pnl = new PnlCalculator(data(), Map.of("flux1", "BTC"));
+
+        assertTrue(Double.isNaN(pnl.priceAt("BTC", 999L)));
+        assertEquals(5.0, pnl.priceAt("BTC", 1_000L));
+        assertEquals(8.0, pnl.priceAt("BTC", 2_999L));
+        assertEquals(9.0, pnl.lastPrice("BTC"));
+    }
+
+
+    @Test
+    void pnlCalculator_compute_pricesEachPairFromItsSource() {
+        ReplayData data = ReplayData.builder()
+                .add("flux1", price(1_000L, 5.0), price(3_000L, 9.0))
+                .add("flux2", new DoubleTimeSeriesBuilder().setId("flux2").add(2_000L, 100.0).build(),
+                        new DoubleTimeSeriesBuilder().setId("flux2").add(4_000L, 130.0).build())
+                .build();
+        PnlCalculator pnl = new PnlCalculator(data, Map.of("flux1", "BTC", "flux2", "ETH"));
+
+        PnlCalculator.Pnl result = pnl.compute(List.of(
+                new TradingSignal("s1", 1_000L, TradingSignal.Signal.ENTER, "enter", "BTC", "test"),
+                new TradingSignal("s2", 2_000L, TradingSignal.Signal.ENTER, "enter", "ETH", "test"),
+                new TradingSignal("s3", 3_000L, TradingSignal.Signal.EXIT, "exit", "BTC", "test")));
+
+        assertEquals(100.0, pnl.priceAt("ETH", 3_000L));
+        assertTrue(Double.isNaN(pnl.priceAt("XRP", 3_000L)));
+        assertEquals(new PnlCalculator.Pnl(4.0, 30.0, 1), result);
+    }
+}
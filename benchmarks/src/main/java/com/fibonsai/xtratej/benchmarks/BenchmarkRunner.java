@@ -26,6 +26,7 @@ public class BenchmarkRunner {
                 .include(DirectFluxZipBenchmark.class.getSimpleName())
                 .include(TimeSeriesBenchmark.class.getSimpleName())
                 .include(StrategyExecutionBenchmark.class.getSimpleName())
+                .include(WireCodecBenchmark.class.getSimpleName())
                 .forks(1)
                 .warmupIterations(3)
                 .measurementIterations(5)
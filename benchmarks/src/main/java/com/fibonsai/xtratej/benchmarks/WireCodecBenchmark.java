@@ -0,0 +1,118 @@
+/*
+ *  Copyright (c) 2026 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.xtratej.benchmarks;
+
+import com.fibonsai.xtratej.event.series.dao.BarTimeSeries;
+import com.fibonsai.xtratej.event.series.dao.OrderBookUpdateTimeSeries;
+import com.fibonsai.xtratej.event.series.dao.TimeSeries;
+import com.fibonsai.xtratej.event.series.dao.builders.BarTimeSeriesBuilder;
+import com.fibonsai.xtratej.event.series.dao.codec.BinaryCodec;
+import com.fibonsai.xtratej.event.series.dao.codec.GorillaCodec;
+import com.fibonsai.xtratej.event.series.dao.codec.OrderBookUpdateTimeSeriesView;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.databind.ObjectMapper;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wire encoding of one bar series message: the JSON path of the NATS adapter against {@link BinaryCodec} and
+ * {@link GorillaCodec}. The
+ * order book pair compares a full binary decode with reading the best bid through a zero-copy view.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 1, jvmArgs = {"-Xms2G", "-Xmx2G"})
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class WireCodecBenchmark {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Param({"1", "100"})
+    private int points;
+
+    private BarTimeSeries bar;
+    private byte[] json;
+    private byte[] binary;
+    private byte[] gorilla;
+    private byte[] orderBook;
+
+    @Setup
+    public void setup() {
+        BarTimeSeriesBuilder builder = new BarTimeSeriesBuilder().setId("BTC-USD");
+        for (int i = 0; i < points; i++) {
+            double price = 100.0 + i * 0.25;
+            builder.add(1_700_000_000_000L + i * 60_000L, price, price + 1.0, price - 1.0, price + 0.5, 1000.0 + i);
+        }
+        bar = builder.build();
+        json = MAPPER.writeValueAsBytes(bar);
+        binary = BinaryCodec.encode(bar);
+        gorilla = GorillaCodec.encode(bar);
+
+        String[] orderIds = new String[points];
+        Arrays.fill(orderIds, "");
+        double[] prices = new double[points];
+        Arrays.setAll(prices, i -> 100.0 + i * 0.25);
+        long[] timestamps = new long[points];
+        Arrays.setAll(timestamps, i -> 1_700_000_000_000L + i);
+        orderBook = BinaryCodec.encode(new OrderBookUpdateTimeSeries("BTC-USD", timestamps, orderIds, orderIds,
+                prices, prices, prices, prices, prices));
+    }
+
+    @Benchmark
+    public byte[] encodeJson() {
+        return MAPPER.writeValueAsBytes(bar);
+    }
+
+    @Benchmark
+    public byte[] encodeBinary() {
+        return BinaryCodec.encode(bar);
+    }
+
+    @Benchmark
+    public TimeSeries decodeJson() {
+        return MAPPER.readValue(json, BarTimeSeries.class);
+    }
+
+    @Benchmark
+    public TimeSeries decodeBinary() {
+        return BinaryCodec.decode(binary);
+    }
+
+    @Benchmark
+    public byte[] encodeGorilla() {
+        return GorillaCodec.encode(bar);
+    }
+
+    @Benchmark
+    public TimeSeries decodeGorilla() {
+        return GorillaCodec.decode(gorilla);
+    }
+
+    @Benchmark
+    public double decodeOrderBookBinary() {
+        OrderBookUpdateTimeSeries decoded = (OrderBookUpdateTimeSeries) BinaryCodec.decode(orderBook);
+        return decoded.bidPrices()[decoded.size() - 1];
+    }
+
+    @Benchmark
+    public double viewOrderBookBinary() {
+        OrderBookUpdateTimeSeriesView view = (OrderBookUpdateTimeSeriesView) BinaryCodec.view(ByteBuffer.wrap(orderBook));
+        return view.bidPrice(view.size() - 1);
+    }
+}
@@ -38,9 +38,12 @@ public class DirectFlux<T> {
     private final ReentrantReadWriteLock readWriteLock = new ReentrantReadWriteLock();
     protected final ReentrantReadWriteLock.ReadLock  readLock  = readWriteLock.readLock();
     protected final ReentrantReadWriteLock.WriteLock writeLock = readWriteLock.writeLock();
+    private final List<Runnable> onClose = new ArrayList<>();
     private Runnable onSubscribe = () -> {};
+    private volatile boolean closed = false;
     private long timeout = 10;
     private TimeUnit timeoutUnit = TimeUnit.SECONDS;
+    private volatile @Nullable EventLoop eventLoop = null;
 
     public DirectFlux<T> onSubscribe(Runnable onSubscribe) {
         writeLock.lock();
@@ -59,6 +62,19 @@ public class DirectFlux<T> {
         return this;
     }
 
+    /**
+     * Delivers the events to the consumers on the given loop instead of one virtual thread per consumer.
+     * Consumers run inline when the emitter is already on the loop. {@code null} restores the default.
+     */
+    public DirectFlux<T> dispatchOn(@Nullable EventLoop eventLoop) {
+        this.eventLoop = eventLoop;
+        return this;
+    }
+
+    public @Nullable EventLoop eventLoop() {
+        return eventLoop;
+    }
+
     public void subscribe(Consumer<T> consumer) {
         writeLock.lock();
         try {
@@ -80,7 +96,69 @@ public class DirectFlux<T> {
         }
     }
 
+    public boolean unsubscribe(Consumer<T> consumer) {
+        writeLock.lock();
+        try {
+            return consumers.remove(consumer);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Registers a hook run once by {@link #close()}, used to release upstream subscriptions and executors.
+     * Runs immediately if the flux is already closed.
+     */
+    public DirectFlux<T> onClose(Runnable hook) {
+        writeLock.lock();
+        try {
+            if (!closed) {
+                onClose.add(hook);
+                return this;
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        hook.run();
+        return this;
+    }
+
+    /**
+     * Drops every consumer and runs the close hooks. Further events are still accepted but reach nobody.
+     */
+    public void close() {
+        final List<Runnable> hooks;
+        writeLock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            consumers.clear();
+            consumersError.clear();
+            hooks = List.copyOf(onClose);
+            onClose.clear();
+        } finally {
+            writeLock.unlock();
+        }
+        for (var hook : hooks) {
+            try {
+                hook.run();
+            } catch (Exception e) {
+                log.error(e.getMessage(), e);
+            }
+        }
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
     public boolean emitNext(T event) {
+        final EventLoop loop = eventLoop;
+        if (loop != null) {
+            return emitOn(loop, event);
+        }
         readLock.lock();
         try {
             CountDownLatch latch = new CountDownLatch(consumers.size());
@@ -99,6 +177,53 @@ public class DirectFlux<T> {
         return false;
     }
 
+    private boolean emitOn(EventLoop loop, T event) {
+        if (loop.inEventLoop()) {
+            readLock.lock();
+            try {
+                for (var consumer : consumers) {
+                    accept(consumer, event);
+                }
+            } finally {
+                readLock.unlock();
+            }
+            return true;
+        }
+        final List<Consumer<T>> snapshot;
+        readLock.lock();
+        try {
+            snapshot = List.copyOf(consumers);
+        } finally {
+            readLock.unlock();
+        }
+        try {
+            CountDownLatch latch = new CountDownLatch(1);
+            loop.execute(() -> {
+                try {
+                    for (var consumer : snapshot) {
+                        accept(consumer, event);
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+            return latch.await(timeout, timeoutUnit);
+        } catch (RejectedExecutionException e) {
+            log.warn("event loop {} is shut down, event dropped", loop.name());
+        } catch (InterruptedException e) {
+            log.error(e.getMessage(), e);
+        }
+        return false;
+    }
+
+    private static <T> void accept(Consumer<T> consumer, T event) {
+        try {
+            consumer.accept(event);
+        } catch (Exception e) {
+            log.error(e.getMessage(), e);
+        }
+    }
+
     public boolean emitError(Throwable throwable) {
         readLock.lock();
         try {
@@ -213,14 +338,25 @@ public class DirectFlux<T> {
                 new ZipCoordinator<>(n, queues, result, scheduler, delayToleration);
 
         // Subscribe to every source reactor.
+        final List<Consumer<T>> subscriptions = new ArrayList<>(n);
         for (int i = 0; i < n; i++) {
             final int sourceIndex = i;
-            directFluxes[sourceIndex].subscribe(event -> {
+            final Consumer<T> subscription = event -> {
                 queues[sourceIndex].offer(event);
                 coordinator.tryAdvance();
-            });
+            };
+            subscriptions.add(subscription);
+            directFluxes[sourceIndex].subscribe(subscription);
         }
 
+        // Closing the zipped flux detaches it from the sources and stops its executors.
+        result.onClose(() -> {
+            for (int i = 0; i < n; i++) {
+                directFluxes[i].unsubscribe(subscriptions.get(i));
+            }
+            coordinator.shutdown();
+        });
+
         return result;
     }
 
@@ -235,6 +371,8 @@ public class DirectFlux<T> {
         private final ScheduledExecutorService scheduler;
         private final Duration delayToleration;
         private final ExecutorService dispatchExecutor;
+        // completed slots of a direct loop, emitted by the caller once the slot lock is released
+        private final ConcurrentLinkedQueue<Z[]> ready = new ConcurrentLinkedQueue<>();
 
         // All fields below are guarded by 'slotLock'.
         private final ReentrantLock slotLock = new ReentrantLock();
@@ -243,6 +381,7 @@ public class DirectFlux<T> {
         private boolean[] slotFilled = new boolean[0];       // which indices have been filled
         private int filledCount;
         private boolean slotActive;
+        private boolean stopped;
         @Nullable private ScheduledFuture<?> timeoutFuture = null;
 
         ZipCoordinator(int n,
@@ -269,6 +408,16 @@ public class DirectFlux<T> {
             } finally {
                 slotLock.unlock();
             }
+            Z[] snapshot;
+            while ((snapshot = ready.poll()) != null) {
+                downstream.emitNext(snapshot);
+            }
+        }
+
+        /** Downstream bound to a direct loop: publish on the caller thread and don't arm timers. */
+        private boolean isDirect() {
+            EventLoop loop = downstream.eventLoop();
+            return loop != null && loop.isDirect();
         }
 
         /** Initializes a fresh slot and arms the tolerance-window timer.
@@ -282,6 +431,9 @@ public class DirectFlux<T> {
             filledCount = 0;
             slotActive  = true;
 
+            if (isDirect()) {
+                return;
+            }
             timeoutFuture = scheduler.schedule(() -> {
                 slotLock.lock();
                 try {
@@ -302,7 +454,7 @@ public class DirectFlux<T> {
          */
         private void advanceUnderLock() {
             // Drain as many complete slots as possible.
-            while (true) {
+            while (!stopped) {
                 // Ensure we have an active slot.
                 if (!slotActive) {
                     openSlot();
@@ -353,6 +505,10 @@ public class DirectFlux<T> {
             slotFilled  = new boolean[0];
             filledCount = 0;
 
+            if (isDirect()) {
+                ready.offer(snapshot);
+                return;
+            }
             // Emit sequentially on a virtual thread to preserve tuple order.
             dispatchExecutor.execute(() -> downstream.emitNext(snapshot));
         }
@@ -370,6 +526,19 @@ public class DirectFlux<T> {
             filledCount = 0;
         }
 
+        /** Discards any partial slot and stops the timer and dispatch executors. */
+        void shutdown() {
+            slotLock.lock();
+            try {
+                stopped = true;
+                discardSlot();
+            } finally {
+                slotLock.unlock();
+            }
+            scheduler.shutdownNow();
+            dispatchExecutor.shutdown();
+        }
+
         /** Returns {@code true} if a slot is currently open (partially filled). */
         boolean isSlotActive() {
             slotLock.lock();
@@ -0,0 +1,105 @@
+/*
+ *  Copyright (c) 2026 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.directflux;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single platform thread executing tasks in submission order.
+ *
+ * <p>A {@link DirectFlux} dispatched on an event loop delivers every event to its consumers on that thread,
+ * inline when the emitter already runs on it, so a whole flux graph bound to one loop is evaluated sequentially
+ * on the same thread.
+ *
+ * <p>A {@link #direct(String) direct} loop has no thread: tasks run on the calling thread and every caller is
+ * "in" the loop, so a graph bound to it is evaluated synchronously by whoever emits. {@link DirectFlux#zip}
+ * arms no tolerance timer on a direct loop, which makes replays deterministic and free of wall-clock effects.
+ */
+public class EventLoop implements Executor, AutoCloseable {
+
+    private final String name;
+    private final @Nullable ExecutorService executor; // null for a direct loop
+    private volatile @Nullable Thread thread = null;
+    private volatile boolean closed = false;
+
+    public EventLoop(String name) {
+        this.name = name;
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread newThread = Thread.ofPlatform().name(name).daemon(true).unstarted(runnable);
+            thread = newThread;
+            return newThread;
+        });
+    }
+
+    private EventLoop(String name, @Nullable ExecutorService executor) {
+        this.name = name;
+        this.executor = executor;
+    }
+
+    /** A loop running its tasks on the calling thread. */
+    public static EventLoop direct(String name) {
+        return new EventLoop(name, null);
+    }
+
+    public boolean isDirect() {
+        return executor == null;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public boolean inEventLoop() {
+        return executor == null ? !closed : Thread.currentThread() == thread;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (executor != null) {
+            executor.execute(task);
+        } else if (closed) {
+            throw new RejectedExecutionException("event loop " + name + " is closed");
+        } else {
+            task.run();
+        }
+    }
+
+    public boolean isShutdown() {
+        return executor != null ? executor.isShutdown() : closed;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        if (executor == null) {
+            return;
+        }
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
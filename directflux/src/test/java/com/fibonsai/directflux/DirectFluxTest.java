@@ -18,6 +18,7 @@ package com.fibonsai.directflux;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
@@ -381,4 +382,137 @@ class DirectFluxTest {
         assertTrue(await(receiveLatch, 3_000),
                 "All concurrent subscribers should receive the event");
     }
+
+    // =========================================================================
+    // dispatchOn – consumers run on the event loop, inline when already on it
+    // =========================================================================
+
+    @Test
+    @Timeout(5)
+    void dispatchOnRunsConsumersOnEventLoop() {
+        try (EventLoop loop = new EventLoop("test-loop")) {
+            DirectFlux<String> first = new DirectFlux<String>().dispatchOn(loop);
+            DirectFlux<String> second = new DirectFlux<String>().dispatchOn(loop);
+            List<String> threads = new CopyOnWriteArrayList<>();
+            List<String> events = new CopyOnWriteArrayList<>();
+
+            first.subscribe(event -> {
+                threads.add(Thread.currentThread().getName());
+                second.emitNext(event + "-second");
+            });
+            second.subscribe(event -> {
+                threads.add(Thread.currentThread().getName());
+                events.add(event);
+            });
+
+            for (int i = 0; i < 10; i++) {
+                assertTrue(first.emitNext("e" + i));
+            }
+
+            assertEquals(20, threads.size());
+            assertTrue(threads.stream().allMatch("test-loop"::equals), "All consumers run on the loop");
+            assertEquals("e0-second", events.getFirst());
+            assertEquals("e9-second", events.getLast());
+        }
+    }
+
+    @Test
+    @Timeout(5)
+    void dispatchOnClosedLoopDropsEvent() {
+        EventLoop loop = new EventLoop("closed-loop");
+        loop.close();
+        DirectFlux<String> reactor = new DirectFlux<String>().dispatchOn(loop);
+        reactor.subscribe(_ -> fail("must not be called"));
+
+        assertFalse(reactor.emitNext("event"));
+    }
+
+    // =========================================================================
+    // unsubscribe / close – detaching consumers at runtime
+    // =========================================================================
+
+    @Test
+    @Timeout(5)
+    void unsubscribeStopsDelivery() {
+        DirectFlux<String> reactor = new DirectFlux<>();
+        List<String> received = new CopyOnWriteArrayList<>();
+        java.util.function.Consumer<String> consumer = received::add;
+
+        reactor.subscribe(consumer);
+        assertTrue(reactor.emitNext("first"));
+        assertTrue(reactor.unsubscribe(consumer));
+        assertFalse(reactor.unsubscribe(consumer));
+        assertTrue(reactor.emitNext("second"));
+
+        assertEquals(List.of("first"), received);
+    }
+
+    @Test
+    @Timeout(5)
+    void closeRunsHooksOnce() {
+        DirectFlux<String> reactor = new DirectFlux<>();
+        AtomicInteger hooks = new AtomicInteger();
+        reactor.onClose(hooks::incrementAndGet);
+        reactor.subscribe(_ -> fail("must not be called"));
+
+        reactor.close();
+        reactor.close();
+        reactor.onClose(hooks::incrementAndGet);
+
+        assertTrue(reactor.isClosed());
+        assertEquals(2, hooks.get(), "hook registered after close runs immediately");
+        assertTrue(reactor.emitNext("event"));
+    }
+
+    @Test
+    @Timeout(5)
+    void closeDetachesZipFromSources() throws InterruptedException {
+        DirectFlux<String> r1 = new DirectFlux<>();
+        DirectFlux<String> r2 = new DirectFlux<>();
+        DirectFlux<String[]> zipped = zip(r1, r2);
+        List<String[]> results = new CopyOnWriteArrayList<>();
+        CountDownLatch first = new CountDownLatch(1);
+        zipped.subscribe(arr -> { results.add(arr); first.countDown(); });
+
+        r1.emitNext("a");
+        r2.emitNext("a");
+        assertTrue(await(first, 2_000));
+
+        zipped.close();
+        List<String> stillSubscribed = new CopyOnWriteArrayList<>();
+        r1.subscribe(stillSubscribed::add);
+        r1.emitNext("b");
+        r2.emitNext("b");
+        Thread.sleep(200);
+
+        assertEquals(1, results.size());
+        assertEquals(List.of("b"), stillSubscribed);
+    }
+
+    @Test
+    @Timeout(5)
+    void directLoopZipEmitsSynchronouslyOnCaller() {
+        EventLoop loop = EventLoop.direct("direct");
+        DirectFlux<String> r1 = new DirectFlux<String>().dispatchOn(loop);
+        DirectFlux<String> r2 = new DirectFlux<String>().dispatchOn(loop);
+        DirectFlux<String[]> zipped = zip(r1, r2).dispatchOn(loop);
+        List<String> received = new ArrayList<>();
+        String caller = Thread.currentThread().getName();
+        zipped.subscribe(arr -> {
+            assertEquals(caller, Thread.currentThread().getName());
+            received.add(String.join(",", arr));
+        });
+
+        r1.emitNext("a1");
+        r1.emitNext("b1");
+        assertTrue(received.isEmpty());
+        r2.emitNext("a2");
+        assertEquals(List.of("a1,a2"), received, "published before emitNext returns");
+        r2.emitNext("b2");
+        assertEquals(List.of("a1,a2", "b1,b2"), received);
+
+        loop.close();
+        assertTrue(loop.isShutdown());
+        assertFalse(r1.emitNext("dropped"));
+    }
 }
@@ -0,0 +1,165 @@
+/*
+ *  Copyright (c) 2026 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.xtratej.engine.adapters;
+
+import com.fibonsai.xtratej.adapter.core.Demultiplexer;
+import com.fibonsai.xtratej.adapter.core.Subscriber;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import tools.jackson.databind.JsonNode;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Reference counted subscribers shared by the strategies of one owner (e.g. a
+ * {@link com.fibonsai.xtratej.engine.strategy.StrategyManager}) declaring the same source definition
+ * (type, publisher and params), so connections and decoding scale with the distinct feeds
+ * rather than with the strategies. The first holder's source name is kept as the subscriber name.
+ * Children {@linkplain Demultiplexer#select(String) selected} from a shared source hold references to it too.
+ */
+public class SourceRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(SourceRegistry.class);
+
+    public record SourceKey(SourceType sourceType, String publisher, JsonNode params) {}
+
+    private static final class Shared {
+        private final SourceKey key;
+        private final Subscriber subscriber;
+        private int references = 0;
+
+        private Shared(SourceKey key, Subscriber subscriber) {
+            this.key = key;
+            this.subscriber = subscriber;
+        }
+    }
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // All fields below are guarded by 'lock'.
+    private final Map<SourceKey, Shared> byKey = new HashMap<>();
+    private final Map<Subscriber, Shared> bySubscriber = new IdentityHashMap<>();
+
+    /** Returns the subscriber of that definition, building it on first use, and takes a reference to it. */
+    public Subscriber acquire(SourceType sourceType, String name, String publisher, JsonNode params) {
+        final SourceKey key = new SourceKey(sourceType, publisher, params);
+        lock.lock();
+        try {
+            Shared shared = byKey.get(key);
+            if (shared == null) {
+                Subscriber subscriber = sourceType.create(name, publisher, params);
+                shared = new Shared(key, subscriber);
+                byKey.put(key, shared);
+                bySubscriber.put(subscriber, shared);
+            }
+            shared.references++;
+            return shared.subscriber;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the {@code select} child of the shared subscriber of that definition and takes a reference to the
+     * subscriber, so every selection from one definition shares its connection.
+     *
+     * @throws IllegalArgumentException if the subscriber does not demultiplex
+     */
+    public Subscriber acquire(SourceType sourceType, String name, String publisher, JsonNode params, String select) {
+        lock.lock();
+        try {
+            Subscriber parent = acquire(sourceType, name, publisher, params);
+            Shared shared = bySubscriber.get(parent);
+            final Subscriber child;
+            try {
+                child = Demultiplexer.select(parent, select);
+            } catch (IllegalArgumentException e) {
+                release(parent);
+                throw e;
+            }
+            bySubscriber.put(child, shared);
+            return child;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Takes one more reference to a subscriber of this registry, returns false if it is not one. */
+    public boolean retain(Subscriber subscriber) {
+        lock.lock();
+        try {
+            Shared shared = bySubscriber.get(subscriber);
+            if (shared == null) {
+                return false;
+            }
+            shared.references++;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drops one reference to a subscriber of this registry; the last one disconnects and closes it.
+     * Returns false if the subscriber is not one of this registry.
+     */
+    public boolean release(Subscriber subscriber) {
+        final Subscriber source;
+        lock.lock();
+        try {
+            Shared shared = bySubscriber.get(subscriber);
+            if (shared == null) {
+                return false;
+            }
+            if (--shared.references > 0) {
+                return true;
+            }
+            byKey.remove(shared.key);
+            bySubscriber.values().removeIf(holder -> holder == shared);
+            source = shared.subscriber;
+        } finally {
+            lock.unlock();
+        }
+        if (source.isConnected()) {
+            source.disconnect();
+        }
+        source.close();
+        log.info("{} source released", source.name());
+        return true;
+    }
+
+    public int references(Subscriber subscriber) {
+        lock.lock();
+        try {
+            Shared shared = bySubscriber.get(subscriber);
+            return shared == null ? 0 : shared.references;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Number of distinct sources alive. */
+    public int size() {
+        lock.lock();
+        try {
+            return byKey.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -15,9 +15,11 @@
 package com.fibonsai.xtratej.engine.adapters;
 
 import com.fibonsai.xtratej.adapter.core.Subscriber;
+import com.fibonsai.xtratej.adapter.core.WithParams;
 import com.fibonsai.xtratej.adapter.nats.NatsSubscriber;
 import com.fibonsai.xtratej.adapter.simulated.SimulatedSubscriber;
 import org.jspecify.annotations.Nullable;
+import tools.jackson.databind.JsonNode;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
@@ -47,17 +49,39 @@ public enum SourceType {
         return new Builder<>(clazz);
     }
 
+    /** Builds a subscriber of this type and applies its params. */
+    public Subscriber create(String name, String publisher, JsonNode params) {
+        Subscriber subscriber = builder().setName(name).setPublisher(publisher).build();
+        if (subscriber instanceof WithParams subscriberWithParams) {
+            subscriberWithParams.setParams(params);
+        }
+        return subscriber;
+    }
+
     public static class Builder<T> {
+        // resolved once per subscriber class, builders are created for every source of every strategy
+        private static final ClassValue<Constructor<?>> CONSTRUCTORS = new ClassValue<>() {
+            @Override
+            protected Constructor<?> computeValue(Class<?> type) {
+                try {
+                    return type.getConstructor(String.class, String.class);
+                } catch (NoSuchMethodException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        };
+
         private final Constructor<T> constructor;
         private String name = "undef";
         private String publisher = "undef";
 
+        @SuppressWarnings("unchecked")
         public Builder(@Nullable Class<T> clazz) {
             try {
                 if (clazz == null) {
                     throw new UnsupportedOperationException();
                 }
-                this.constructor = clazz.getConstructor(String.class, String.class);
+                this.constructor = (Constructor<T>) CONSTRUCTORS.get(clazz);
             } catch (Exception e) {
                 throw new RuntimeException(e);
             }
@@ -0,0 +1,41 @@
+/*
+ *  Copyright (c) 2026 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.xtratej.engine.ledger;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Named {@link PositionLedger}s shared by the rules of one owner, e.g. the strategies of one
+ * {@link com.fibonsai.xtratej.engine.strategy.StrategyManager}. Two registries never share a ledger.
+ */
+public class LedgerRegistry {
+
+    private final Map<String, PositionLedger> ledgers = new ConcurrentHashMap<>();
+
+    /** Returns the ledger of that name, creating it on first use. */
+    public PositionLedger ledger(String name) {
+        return ledgers.computeIfAbsent(name, _ -> new PositionLedger());
+    }
+
+    public void release(String name) {
+        ledgers.remove(name);
+    }
+
+    /** Number of named ledgers alive. */
+    public int size() {
+        return ledgers.size();
+    }
+}
@@ -0,0 +1,314 @@
+/*
+ *  Copyright (c) 2026 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.xtratej.engine.ledger;
+
+import com.fibonsai.xtratej.event.series.dao.MyOrdersTimeSeries;
+import com.fibonsai.xtratej.event.series.dao.MyOrdersTimeSeries.BidAskSide;
+import com.fibonsai.xtratej.event.series.dao.tools.SeriesCursor;
+import com.fibonsai.xtratej.event.series.dao.tools.Welford;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+import static com.fibonsai.xtratej.event.series.dao.MyOrdersTimeSeries.BidAskSide.ASK;
+import static com.fibonsai.xtratej.event.series.dao.MyOrdersTimeSeries.BidAskSide.BID;
+import static com.fibonsai.xtratej.event.series.dao.MyOrdersTimeSeries.MINIMUM_AMOUNT_ALLOWED;
+
+/**
+ * Incrementally updated position/PnL ledger of order streams, kept per symbol and owner.
+ *
+ * <p>{@link #update(MyOrdersTimeSeries, Consumer)} consumes only the orders it has not seen yet, tracked by one
+ * {@link SeriesCursor} per order stream, told apart by series id: by default every series carries the whole order
+ * history of its stream in timestamp order, with {@link SeriesCursor.Mode#DELTA} every series carries only new
+ * orders. Every consumed order costs O(1).
+ *
+ * <p>A round trip starts with a BID (leading ASKs are ignored) and closes when the accumulated amount drops below
+ * {@link MyOrdersTimeSeries#MINIMUM_AMOUNT_ALLOWED}. Closed round trips feed the gain/loss counters and the
+ * mean/standard deviation of the results. No order history is retained.
+ *
+ * <p>Ledgers can be shared between rules by name through a {@link LedgerRegistry}. The whole state can be saved
+ * and restored with {@link #writeTo(DataOutput)} and {@link #readFrom(DataInput)}.
+ */
+public class PositionLedger {
+
+    public record PositionKey(String symbol, String owner) {}
+
+    public static class Position {
+        private double roundTripResult = Double.NaN;
+        private double roundTripAmount = Double.NaN;
+        private double committedAmount = 0.0;
+        private double executedAmount = 0.0;
+
+        private Position copy() {
+            Position position = new Position();
+            position.roundTripResult = roundTripResult;
+            position.roundTripAmount = roundTripAmount;
+            position.committedAmount = committedAmount;
+            position.executedAmount = executedAmount;
+            return position;
+        }
+
+        /** Sum of BID minus ASK executed amounts. */
+        public double executedAmount() {
+            return executedAmount;
+        }
+
+        /** Sum of BID minus ASK initial amounts. */
+        public double committedAmount() {
+            return committedAmount;
+        }
+
+        public double openAmount() {
+            return Math.max(committedAmount, executedAmount);
+        }
+
+        public boolean isOpen() {
+            return !isOversold() && openAmount() >= MINIMUM_AMOUNT_ALLOWED;
+        }
+
+        public boolean isOversold() {
+            return committedAmount < 0.0 || executedAmount < 0.0;
+        }
+    }
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // All fields below are guarded by 'lock'.
+    private final Map<PositionKey, Position> positions = new HashMap<>();
+    private final Welford roundTrips = new Welford();
+    private final SeriesCursor.Mode input;
+    private final Map<String, SeriesCursor> cursors = new HashMap<>();
+    private long gains = 0;
+    private long losses = 0;
+    private int openPositions = 0;
+    private int oversoldPositions = 0;
+
+    public PositionLedger() {
+        this(SeriesCursor.Mode.HISTORY);
+    }
+
+    public PositionLedger(SeriesCursor.Mode input) {
+        this.input = input;
+    }
+
+    /**
+     * Consumes the orders not seen yet.
+     *
+     * @param onError receives an error when a round trip sells more than it holds
+     * @return the number of orders consumed
+     */
+    public int update(MyOrdersTimeSeries orders, Consumer<RuntimeException> onError) {
+        lock.lock();
+        try {
+            final SeriesCursor cursor = cursors.computeIfAbsent(streamOf(orders), _ -> new SeriesCursor(input));
+            int consumed = 0;
+            for (int x = cursor.firstUnseen(orders); x < orders.size(); x++) {
+                cursor.consumed(orders.timestamps()[x]);
+                apply(orders, x, onError);
+                consumed++;
+            }
+            return consumed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static String streamOf(MyOrdersTimeSeries orders) {
+        return orders.id() == null ? "" : orders.id();
+    }
+
+    private void apply(MyOrdersTimeSeries orders, int x, Consumer<RuntimeException> onError) {
+        double price = orders.prices()[x];
+
+        Position position = positions.computeIfAbsent(new PositionKey(orders.symbols()[x], orders.owners()[x]), _ -> new Position());
+        boolean wasOpen = position.isOpen();
+        boolean wasOversold = position.isOversold();
+
+        BidAskSide side = orders.sides()[x];
+        double amount = orders.executedAmounts()[x];
+        if (side == ASK) {
+            position.committedAmount -= orders.initialAmounts()[x];
+            position.executedAmount -= amount;
+            if (!Double.isNaN(position.roundTripResult)) {
+                position.roundTripResult += amount * price;
+                position.roundTripAmount -= amount;
+                if (position.roundTripAmount < 0.0) {
+                    onError.accept(new RuntimeException("Something is wrong. Selling more than you have."));
+                    position.roundTripAmount = 0.0;
+                }
+                if (position.roundTripAmount < MINIMUM_AMOUNT_ALLOWED) {
+                    close(position.roundTripResult);
+                    position.roundTripResult = Double.NaN;
+                    position.roundTripAmount = Double.NaN;
+                }
+            }
+        } else if (side == BID) {
+            position.committedAmount += orders.initialAmounts()[x];
+            position.executedAmount += amount;
+            position.roundTripResult = Double.isNaN(position.roundTripResult) ? amount * price * -1.0 : position.roundTripResult - (amount * price);
+            position.roundTripAmount = Double.isNaN(position.roundTripAmount) ? amount : position.roundTripAmount + amount;
+        }
+
+        if (position.isOpen() != wasOpen) openPositions += wasOpen ? -1 : 1;
+        if (position.isOversold() != wasOversold) oversoldPositions += wasOversold ? -1 : 1;
+    }
+
+    private void close(double result) {
+        roundTrips.add(result);
+        if (result > 0) gains++;
+        if (result < 0) losses++;
+    }
+
+    public void writeTo(DataOutput out) throws IOException {
+        lock.lock();
+        try {
+            out.writeInt(positions.size());
+            for (var e : positions.entrySet()) {
+                out.writeUTF(e.getKey().symbol());
+                out.writeUTF(e.getKey().owner());
+                Position position = e.getValue();
+                out.writeDouble(position.roundTripResult);
+                out.writeDouble(position.roundTripAmount);
+                out.writeDouble(position.committedAmount);
+                out.writeDouble(position.executedAmount);
+            }
+            roundTrips.writeTo(out);
+            out.writeInt(cursors.size());
+            for (var e : cursors.entrySet()) {
+                out.writeUTF(e.getKey());
+                e.getValue().writeTo(out);
+            }
+            out.writeLong(gains);
+            out.writeLong(losses);
+            out.writeInt(openPositions);
+            out.writeInt(oversoldPositions);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Replaces the state of this ledger with one written by {@link #writeTo(DataOutput)}. */
+    public PositionLedger readFrom(DataInput in) throws IOException {
+        lock.lock();
+        try {
+            positions.clear();
+            int size = in.readInt();
+            for (int x = 0; x < size; x++) {
+                PositionKey key = new PositionKey(in.readUTF(), in.readUTF());
+                Position position = new Position();
+                position.roundTripResult = in.readDouble();
+                position.roundTripAmount = in.readDouble();
+                position.committedAmount = in.readDouble();
+                position.executedAmount = in.readDouble();
+                positions.put(key, position);
+            }
+            roundTrips.readFrom(in);
+            cursors.clear();
+            int streams = in.readInt();
+            for (int x = 0; x < streams; x++) {
+                cursors.put(in.readUTF(), new SeriesCursor(input).readFrom(in));
+            }
+            gains = in.readLong();
+            losses = in.readLong();
+            openPositions = in.readInt();
+            oversoldPositions = in.readInt();
+            return this;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Snapshot of the position of symbol and owner. */
+    public Position position(String symbol, String owner) {
+        lock.lock();
+        try {
+            Position position = positions.get(new PositionKey(symbol, owner));
+            return position == null ? new Position() : position.copy();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long roundTrips() {
+        lock.lock();
+        try {
+            return roundTrips.count();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long gains() {
+        lock.lock();
+        try {
+            return gains;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long losses() {
+        lock.lock();
+        try {
+            return losses;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Mean result of the closed round trips, NaN if none. */
+    public double roundTripMean() {
+        lock.lock();
+        try {
+            return roundTrips.mean();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Sample standard deviation of the closed round trips, NaN if none. */
+    public double roundTripStandardDeviation() {
+        lock.lock();
+        try {
+            return roundTrips.standardDeviation();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean hasOpenPosition() {
+        lock.lock();
+        try {
+            return openPositions > 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** True if any position sold more than it bought. */
+    public boolean isOversold() {
+        lock.lock();
+        try {
+            return oversoldPositions > 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
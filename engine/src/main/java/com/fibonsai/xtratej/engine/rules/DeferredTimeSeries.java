@@ -0,0 +1,46 @@
+/*
+ *  Copyright (c) 2026 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.xtratej.engine.rules;
+
+import com.fibonsai.xtratej.event.series.dao.TimeSeries;
+
+/**
+ * Pending result of a deferred {@link RuleStream}: holds the inputs and evaluates the rule only on {@link #resolve()}.
+ * Its timestamp is the latest input timestamp, so consumers can order it without evaluating.
+ */
+public record DeferredTimeSeries(RuleStream<?> rule, TimeSeries[] inputs) implements TimeSeries {
+
+    @Override
+    public String id() {
+        return rule.getDescription();
+    }
+
+    @Override
+    public long[] timestamps() {
+        long timestamp = 0L;
+        for (var ts: inputs) {
+            if (ts.timestamp() > timestamp) timestamp = ts.timestamp();
+        }
+        return new long[] { timestamp };
+    }
+
+    public TimeSeries resolve() {
+        return rule.evaluate(inputs);
+    }
+
+    public static TimeSeries resolve(TimeSeries timeSeries) {
+        return timeSeries instanceof DeferredTimeSeries deferred ? deferred.resolve() : timeSeries;
+    }
+}
@@ -15,15 +15,27 @@
 package com.fibonsai.xtratej.engine.rules;
 
 import com.fibonsai.directflux.DirectFlux;
+import com.fibonsai.directflux.EventLoop;
 import com.fibonsai.xtratej.adapter.core.Subscriber;
 import com.fibonsai.xtratej.event.series.dao.*;
 import com.fibonsai.xtratej.event.series.dao.builders.*;
+import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import tools.jackson.databind.JsonNode;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.Clock;
+import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 
@@ -33,35 +45,25 @@ public abstract class RuleStream<T extends TimeSeries> {
 
     private final DirectFlux<TimeSeries> results = new DirectFlux<>();
     private final AtomicBoolean activated = new AtomicBoolean(false);
+    private final List<DirectFlux<TimeSeries[]>> inputs = new CopyOnWriteArrayList<>();
+    private final List<RuleStream<?>> children = new CopyOnWriteArrayList<>();
 
     private String description = "";
+    private volatile boolean deferred = false;
+    private volatile Clock clock = Clock.systemDefaultZone();
 
     public RuleStream<T> setParams(JsonNode params) {
         return this;
     }
 
     public void watch(DirectFlux<TimeSeries[]> inputs) {
+        this.inputs.add(inputs);
         inputs.onSubscribe(() -> activated.set(true)).subscribe(inputTimeSeriesArray -> {
             try {
-                T[] resultTimeSeriesArray = predicate().apply(inputTimeSeriesArray);
-                if (resultTimeSeriesArray.length == 0) {
-                    results.emitNext(EmptyTimeSeries.INSTANCE);
-                } else if (resultTimeSeriesArray.length == 1) {
-                    results.emitNext(resultTimeSeriesArray[0]);
+                if (deferred) {
+                    results.emitNext(new DeferredTimeSeries(this, inputTimeSeriesArray));
                 } else {
-                    var ids = new LinkedHashSet<String>();
-                    List.of(resultTimeSeriesArray).forEach(ts -> ids.add(ts.id()));
-                    String newId = String.join("#", ids);
-                    var builder = switch (resultTimeSeriesArray[0]) {
-                        case BooleanTimeSeries _ -> new BooleanTimeSeriesBuilder();
-                        case DoubleTimeSeries _ -> new DoubleTimeSeriesBuilder();
-                        case Double2TimeSeries _ -> new Double2TimeSeriesBuilder();
-                        case BarTimeSeries _ -> new BarTimeSeriesBuilder();
-                        case BandTimeSeries _ -> new BandTimeSeriesBuilder();
-                        default -> throw new UnsupportedOperationException("not supported");
-                    };
-                    TimeSeries merged = builder.setId(newId).merge(resultTimeSeriesArray).build();
-                    results.emitNext(merged);
+                    results.emitNext(evaluate(inputTimeSeriesArray));
                 }
             } catch (Exception e) {
                 log.error(e.getMessage(), e);
@@ -70,6 +72,31 @@ public abstract class RuleStream<T extends TimeSeries> {
         });
     }
 
+    /**
+     * Applies the predicate to one set of inputs and merges the result array into a single TimeSeries,
+     * exactly as it would be emitted to {@link #results()}.
+     */
+    public TimeSeries evaluate(TimeSeries[] inputTimeSeriesArray) {
+        T[] resultTimeSeriesArray = predicate().apply(inputTimeSeriesArray);
+        if (resultTimeSeriesArray.length == 0) {
+            return EmptyTimeSeries.INSTANCE;
+        } else if (resultTimeSeriesArray.length == 1) {
+            return resultTimeSeriesArray[0];
+        }
+        var ids = new LinkedHashSet<String>();
+        List.of(resultTimeSeriesArray).forEach(ts -> ids.add(ts.id()));
+        String newId = String.join("#", ids);
+        var builder = switch (resultTimeSeriesArray[0]) {
+            case BooleanTimeSeries _ -> new BooleanTimeSeriesBuilder();
+            case DoubleTimeSeries _ -> new DoubleTimeSeriesBuilder();
+            case Double2TimeSeries _ -> new Double2TimeSeriesBuilder();
+            case BarTimeSeries _ -> new BarTimeSeriesBuilder();
+            case BandTimeSeries _ -> new BandTimeSeriesBuilder();
+            default -> throw new UnsupportedOperationException("not supported");
+        };
+        return builder.setId(newId).merge(resultTimeSeriesArray).build();
+    }
+
     public void watch(Subscriber... subscribers) {
         DirectFlux<TimeSeries>[] arrayOfFluxes = DirectFlux.createArray(subscribers.length);
         int count = 0;
@@ -82,7 +109,12 @@ public abstract class RuleStream<T extends TimeSeries> {
 
     @SafeVarargs
     public final void watch(RuleStream<T>... rules) {
-        DirectFlux<TimeSeries>[] arrayOfFluxes = DirectFlux.createArray(rules.length);
+        watch(List.of(rules));
+    }
+
+    public void watch(List<? extends RuleStream<?>> rules) {
+        children.addAll(rules);
+        DirectFlux<TimeSeries>[] arrayOfFluxes = DirectFlux.createArray(rules.size());
         int count = 0;
         for (var rule: rules) {
             arrayOfFluxes[count++] = rule.results();
@@ -101,6 +133,131 @@ public abstract class RuleStream<T extends TimeSeries> {
         return results;
     }
 
+    /**
+     * Binds this rule, its watched inputs and all its child rules to the given loop
+     * (see {@link DirectFlux#dispatchOn(EventLoop)}).
+     */
+    public RuleStream<T> dispatchOn(@Nullable EventLoop eventLoop) {
+        results.dispatchOn(eventLoop);
+        inputs.forEach(input -> input.dispatchOn(eventLoop));
+        children.forEach(child -> child.dispatchOn(eventLoop));
+        return this;
+    }
+
+    /**
+     * Sets the clock used by time based rules for "now" on this rule and its child rules,
+     * e.g. an event time clock when replaying history.
+     */
+    public RuleStream<T> setClock(Clock clock) {
+        this.clock = clock;
+        children.forEach(child -> child.setClock(clock));
+        return this;
+    }
+
+    public Clock clock() {
+        return clock;
+    }
+
+    /**
+     * Writes the accumulated state of this rule and, recursively, of its child rules, so that an identical graph
+     * can resume from it with {@link #restore(DataInput)}. Each rule is framed by its class and state length;
+     * rules without state write an empty frame. Rules are locked one at a time, so the snapshot of a graph
+     * receiving events is consistent per rule only.
+     */
+    public void snapshot(DataOutput out) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        writeState(new DataOutputStream(buffer));
+        byte[] state = buffer.toByteArray();
+        out.writeUTF(getClass().getName());
+        out.writeInt(state.length);
+        out.write(state);
+        List<RuleStream<?>> subtree = children();
+        out.writeInt(subtree.size());
+        for (var child : subtree) {
+            child.snapshot(out);
+        }
+    }
+
+    /**
+     * Restores the state written by {@link #snapshot(DataOutput)} into this graph.
+     *
+     * @throws IOException if the snapshot was taken from a graph of a different shape
+     */
+    public void restore(DataInput in) throws IOException {
+        String type = in.readUTF();
+        if (!type.equals(getClass().getName())) {
+            throw new IOException("snapshot of " + type + " does not match " + getClass().getName());
+        }
+        byte[] state = new byte[in.readInt()];
+        in.readFully(state);
+        if (state.length > 0) {
+            readState(new DataInputStream(new ByteArrayInputStream(state)));
+        }
+        int size = in.readInt();
+        List<RuleStream<?>> subtree = children();
+        if (size != subtree.size()) {
+            throw new IOException("snapshot of " + type + " has " + size + " child rules, not " + subtree.size());
+        }
+        for (var child : subtree) {
+            child.restore(in);
+        }
+    }
+
+    /** Writes the state accumulated from the events seen so far, nothing by default. */
+    protected void writeState(DataOutput out) throws IOException {
+    }
+
+    /** Reads back the state written by {@link #writeState(DataOutput)}. */
+    protected void readState(DataInput in) throws IOException {
+    }
+
+    /** The rules watched through {@link #watch(List)}, in input order. */
+    public List<RuleStream<?>> children() {
+        return Collections.unmodifiableList(children);
+    }
+
+    /**
+     * Detaches this rule from its watched inputs and closes its results, leaving the child rules live
+     * so they can be watched by another rule. The deferred mode set by a parent is dropped as well.
+     */
+    public void detach() {
+        inputs.forEach(DirectFlux::close);
+        inputs.clear();
+        children.clear();
+        results.close();
+        deferred = false;
+    }
+
+    /** Detaches this rule and closes its child rules, releasing the zip executors of the whole subtree. */
+    public void close() {
+        var subtree = List.copyOf(children);
+        detach();
+        subtree.forEach(RuleStream::close);
+    }
+
+    /**
+     * Whether the result depends on the current inputs only, with no state carried between events. Short-circuit
+     * combinators only defer stateless children, since a skipped stateful rule would miss events. False unless the
+     * rule declares otherwise.
+     */
+    public boolean isStateless() {
+        return false;
+    }
+
+    public boolean isDeferred() {
+        return deferred;
+    }
+
+    /**
+     * When deferred, inputs are not evaluated on arrival: a {@link DeferredTimeSeries} is emitted instead and
+     * the consumer decides whether to resolve it. Used by short-circuit combinators to skip children whose
+     * result is no longer needed.
+     */
+    public RuleStream<T> setDeferred(boolean deferred) {
+        this.deferred = deferred;
+        return this;
+    }
+
     public String getDescription() {
         return description;
     }
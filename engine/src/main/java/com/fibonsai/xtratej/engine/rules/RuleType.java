@@ -22,18 +22,24 @@ import java.util.function.Supplier;
 public enum RuleType {
     And(AndRule::new),
     ActiveOrder(ActiveOrderRule::new),
+    Atr(AtrRule::new),
+    Bollinger(BollingerRule::new),
     Crossed(CrossedRule::new),
     DateTime(DateTimeRule::new),
+    Ema(EmaRule::new),
     False(FalseRule::new),
     GainLossRatio(GainLossRatioRule::new),
     HasOpenPosition(HasOpenPositionRule::new),
     InSlope(InSlopeRule::new),
     Limit(LimitRule::new),
+    Macd(MacdRule::new),
     MaxDrawdown(MaxDrawdownRule::new),
     Not(NotRule::new),
     Or(OrRule::new),
     Random(RandomRule::new),
+    Rsi(RsiRule::new),
     SharperRatio(SharperRatioRule::new),
+    Sma(SmaRule::new),
     Trend(TrendRule::new),
     Weekday(WeekdayRule::new),
     XOr(XOrRule::new)
@@ -44,6 +44,11 @@ public class ActiveOrderRule extends RuleStream<BooleanTimeSeries> {
     private int min = 0;
     private int max = Integer.MAX_VALUE;
 
+    @Override
+    public boolean isStateless() {
+        return true;
+    }
+
     @Override
     public RuleStream<BooleanTimeSeries> setParams(JsonNode params) {
         for (var e: params.properties()) {
@@ -0,0 +1,98 @@
+/*
+ *  Copyright (c) 2026 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.xtratej.engine.rules.impl;
+
+import com.fibonsai.xtratej.engine.rules.RuleStream;
+import com.fibonsai.xtratej.event.series.dao.DoubleTimeSeries;
+import tools.jackson.databind.JsonNode;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Average true range with Wilder smoothing. Uses highs and lows of BarTimeSeries; for the other series
+ * the true range is the absolute change of the price.
+ */
+public class AtrRule extends DoubleIndicatorRule {
+
+    public static final int DEFAULT_PERIOD = 14;
+
+    static class Atr implements Indicator {
+        private final int period;
+        private double previousClose = Double.NaN;
+        private int count = 0;
+        private double value = 0.0;
+
+        Atr(int period) {
+            this.period = period;
+        }
+
+        @Override
+        public void next(double high, double low, double close, double[] out) {
+            double trueRange = high - low;
+            if (!Double.isNaN(previousClose)) {
+                trueRange = Math.max(trueRange, Math.max(Math.abs(high - previousClose), Math.abs(low - previousClose)));
+            }
+            previousClose = close;
+            if (count < period) {
+                value += trueRange / period;
+                out[0] = ++count < period ? Double.NaN : value;
+            } else {
+                value = (value * (period - 1) + trueRange) / period;
+                out[0] = value;
+            }
+        }
+
+        @Override
+        public void writeTo(DataOutput out) throws IOException {
+            out.writeDouble(previousClose);
+            out.writeInt(count);
+            out.writeDouble(value);
+        }
+
+        @Override
+        public void readFrom(DataInput in) throws IOException {
+            previousClose = in.readDouble();
+            count = in.readInt();
+            value = in.readDouble();
+        }
+    }
+
+    private int period = DEFAULT_PERIOD;
+
+    public AtrRule() {
+        super("atr");
+    }
+
+    @Override
+    public RuleStream<DoubleTimeSeries> setParams(JsonNode params) {
+        super.setParams(params);
+        for (var e: params.properties()) {
+            if ("period".equals(e.getKey())) period = Math.max(1, intParam(e.getValue(), period));
+        }
+        return this;
+    }
+
+    public AtrRule setPeriod(int period) {
+        this.period = Math.max(1, period);
+        return this;
+    }
+
+    @Override
+    protected Indicator newIndicator() {
+        return new Atr(period);
+    }
+}
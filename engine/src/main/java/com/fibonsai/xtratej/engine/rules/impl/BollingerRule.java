@@ -0,0 +1,140 @@
+/*
+ *  Copyright (c) 2026 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.xtratej.engine.rules.impl;
+
+import com.fibonsai.xtratej.engine.rules.RuleStream;
+import com.fibonsai.xtratej.event.series.dao.BandTimeSeries;
+import com.fibonsai.xtratej.event.series.dao.tools.Welford;
+import tools.jackson.databind.JsonNode;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Bollinger bands: simple moving average of the last {@code period} prices (middle) plus/minus
+ * {@code deviations} population standard deviations (upper/lower), emitted as BandTimeSeries.
+ * The window statistics slide with a Welford update and are recomputed on every turn of the window.
+ */
+public class BollingerRule extends IndicatorRule<BandTimeSeries> {
+
+    public static final int DEFAULT_PERIOD = 20;
+    public static final double DEFAULT_DEVIATIONS = 2.0;
+
+    static class Bollinger implements Indicator {
+        private final double[] window;
+        private final double deviations;
+        private final Welford stats = new Welford();
+        private int next = 0;
+
+        Bollinger(int period, double deviations) {
+            this.window = new double[period];
+            this.deviations = deviations;
+        }
+
+        @Override
+        public void next(double high, double low, double close, double[] out) {
+            if (stats.count() == window.length) {
+                stats.replace(window[next], close);
+            } else {
+                stats.add(close);
+            }
+            window[next] = close;
+            next = (next + 1) % window.length;
+            if (stats.count() < window.length) {
+                out[0] = Double.NaN;
+                out[1] = Double.NaN;
+                out[2] = Double.NaN;
+                return;
+            }
+            if (next == 0) {
+                // drop the rounding error the sliding updates accumulated
+                stats.clear();
+                for (double value : window) {
+                    stats.add(value);
+                }
+            }
+            double mean = stats.mean();
+            double deviation = Math.sqrt(stats.populationVariance());
+            out[0] = mean + deviations * deviation;
+            out[1] = mean;
+            out[2] = mean - deviations * deviation;
+        }
+
+        @Override
+        public void writeTo(DataOutput out) throws IOException {
+            out.writeInt(window.length);
+            for (double value : window) {
+                out.writeDouble(value);
+            }
+            out.writeInt(next);
+            stats.writeTo(out);
+        }
+
+        @Override
+        public void readFrom(DataInput in) throws IOException {
+            if (in.readInt() != window.length) {
+                throw new IOException("Bollinger period does not match");
+            }
+            for (int x = 0; x < window.length; x++) {
+                window[x] = in.readDouble();
+            }
+            next = in.readInt();
+            stats.readFrom(in);
+        }
+    }
+
+    private int period = DEFAULT_PERIOD;
+    private double deviations = DEFAULT_DEVIATIONS;
+
+    public BollingerRule() {
+        super("bollinger", 3);
+    }
+
+    @Override
+    public RuleStream<BandTimeSeries> setParams(JsonNode params) {
+        super.setParams(params);
+        for (var e: params.properties()) {
+            if ("period".equals(e.getKey())) period = Math.max(1, intParam(e.getValue(), period));
+            if ("deviations".equals(e.getKey())) deviations = doubleParam(e.getValue(), deviations);
+        }
+        return this;
+    }
+
+    public BollingerRule setPeriod(int period) {
+        this.period = Math.max(1, period);
+        return this;
+    }
+
+    public BollingerRule setDeviations(double deviations) {
+        this.deviations = deviations;
+        return this;
+    }
+
+    @Override
+    protected Indicator newIndicator() {
+        return new Bollinger(period, deviations);
+    }
+
+    @Override
+    protected BandTimeSeries toSeries(String id, long[] timestamps, double[][] columns) {
+        return new BandTimeSeries(id, timestamps, columns[0], columns[1], columns[2]);
+    }
+
+    @Override
+    protected BandTimeSeries[] newArray(int size) {
+        return new BandTimeSeries[size];
+    }
+}
@@ -46,6 +46,11 @@ public class DateTimeRule extends RuleStream<BooleanTimeSeries> {
             .appendOptional(DateTimeFormatter.ISO_LOCAL_TIME)
             .toFormatter();;
 
+    @Override
+    public boolean isStateless() {
+        return true;
+    }
+
     @Override
     public RuleStream<BooleanTimeSeries> setParams(JsonNode params) {
         for (var e: params.properties()) {
@@ -73,7 +78,7 @@ public class DateTimeRule extends RuleStream<BooleanTimeSeries> {
 
     public LocalDateTime now() {
         // useful when mock in tests
-        return LocalDateTime.now();
+        return LocalDateTime.now(clock());
     }
 
     @Override
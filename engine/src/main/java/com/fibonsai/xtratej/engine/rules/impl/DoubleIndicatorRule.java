@@ -0,0 +1,37 @@
+/*
+ *  Copyright (c) 2026 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.xtratej.engine.rules.impl;
+
+import com.fibonsai.xtratej.event.series.dao.DoubleTimeSeries;
+
+/**
+ * Base of the indicators producing a single value per point, emitted as DoubleTimeSeries.
+ */
+public abstract class DoubleIndicatorRule extends IndicatorRule<DoubleTimeSeries> {
+
+    protected DoubleIndicatorRule(String name) {
+        super(name, 1);
+    }
+
+    @Override
+    protected DoubleTimeSeries toSeries(String id, long[] timestamps, double[][] columns) {
+        return new DoubleTimeSeries(id, timestamps, columns[0]);
+    }
+
+    @Override
+    protected DoubleTimeSeries[] newArray(int size) {
+        return new DoubleTimeSeries[size];
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ *  Copyright (c) 2026 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.xtratej.engine.rules.impl;
+
+import com.fibonsai.xtratej.engine.rules.RuleStream;
+import com.fibonsai.xtratej.event.series.dao.DoubleTimeSeries;
+import tools.jackson.databind.JsonNode;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Exponential moving average, smoothing 2 / (period + 1), seeded with the simple average of the first
+ * {@code period} prices.
+ */
+public class EmaRule extends DoubleIndicatorRule {
+
+    public static final int DEFAULT_PERIOD = 14;
+
+    static class Ema implements Indicator {
+        private final int period;
+        private final double alpha;
+        private int count = 0;
+        private double value = 0.0;
+
+        Ema(int period) {
+            this.period = period;
+            this.alpha = 2.0 / (period + 1);
+        }
+
+        double next(double price) {
+            if (count < period) {
+                value += price;
+                if (++count < period) return Double.NaN;
+                value /= period;
+            } else {
+                value += alpha * (price - value);
+            }
+            return value;
+        }
+
+        @Override
+        public void next(double high, double low, double close, double[] out) {
+            out[0] = next(close);
+        }
+
+        @Override
+        public void writeTo(DataOutput out) throws IOException {
+            out.writeInt(count);
+            out.writeDouble(value);
+        }
+
+        @Override
+        public void readFrom(DataInput in) throws IOException {
+            count = in.readInt();
+            value = in.readDouble();
+        }
+    }
+
+    private int period = DEFAULT_PERIOD;
+
+    public EmaRule() {
+        super("ema");
+    }
+
+    @Override
+    public RuleStream<DoubleTimeSeries> setParams(JsonNode params) {
+        super.setParams(params);
+        for (var e: params.properties()) {
+            if ("period".equals(e.getKey())) period = Math.max(1, intParam(e.getValue(), period));
+        }
+        return this;
+    }
+
+    public EmaRule setPeriod(int period) {
+        this.period = Math.max(1, period);
+        return this;
+    }
+
+    @Override
+    protected Indicator newIndicator() {
+        return new Ema(period);
+    }
+}
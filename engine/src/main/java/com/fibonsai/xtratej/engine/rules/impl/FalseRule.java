@@ -27,6 +27,11 @@ public class FalseRule extends RuleStream<BooleanTimeSeries> {
 
     private static final Logger log = LoggerFactory.getLogger(FalseRule.class);
 
+    @Override
+    public boolean isStateless() {
+        return true;
+    }
+
     @Override
     protected Function<TimeSeries[], BooleanTimeSeries[]> predicate() {
         return timeSeriesArray -> {
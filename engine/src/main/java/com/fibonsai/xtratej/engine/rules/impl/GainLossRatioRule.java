@@ -14,20 +14,16 @@
 
 package com.fibonsai.xtratej.engine.rules.impl;
 
+import com.fibonsai.xtratej.engine.ledger.PositionLedger;
 import com.fibonsai.xtratej.engine.rules.RuleStream;
 import com.fibonsai.xtratej.event.series.dao.BooleanTimeSeries;
 import com.fibonsai.xtratej.event.series.dao.MyOrdersTimeSeries;
-import com.fibonsai.xtratej.event.series.dao.MyOrdersTimeSeries.BidAskSide;
 import com.fibonsai.xtratej.event.series.dao.TimeSeries;
 import com.fibonsai.xtratej.event.series.dao.builders.BooleanTimeSeriesBuilder;
 import tools.jackson.databind.JsonNode;
 
 import java.util.function.Function;
 
-import static com.fibonsai.xtratej.event.series.dao.MyOrdersTimeSeries.BidAskSide.ASK;
-import static com.fibonsai.xtratej.event.series.dao.MyOrdersTimeSeries.BidAskSide.BID;
-import static com.fibonsai.xtratej.event.series.dao.MyOrdersTimeSeries.MINIMUM_AMOUNT_ALLOWED;
-
 /**
  * GainLossRatioRule calculates the ratio of winning trades to losing trades.
  * - A "winning" trade is one where the profit is positive (result > 0)
@@ -36,15 +32,18 @@ import static com.fibonsai.xtratej.event.series.dao.MyOrdersTimeSeries.MINIMUM_A
  * - If no losses, ratio is POSITIVE_INFINITY
  * - If no gains and no losses, ratio is 1.0
  *
+ * The counters are kept by a {@link PositionLedger}, so each new fill costs O(1).
+ *
  * IMPORTANT: this rule only supports MyOrderTimeSeries
 */
-public class GainLossRatioRule extends RuleStream<BooleanTimeSeries> {
+public class GainLossRatioRule extends LedgerRule {
 
     private double ratioMin = Double.NEGATIVE_INFINITY;
     private double ratioMax = Double.POSITIVE_INFINITY;
 
     @Override
     public RuleStream<BooleanTimeSeries> setParams(JsonNode params) {
+        super.setParams(params);
         for (var e: params.properties()) {
             if ("ratioMin".equals(e.getKey()) && e.getValue().isDouble()) {
                 this.ratioMin = e.getValue().asDouble();
@@ -62,36 +61,13 @@ public class GainLossRatioRule extends RuleStream<BooleanTimeSeries> {
             long lastTimestamp = 0;
             int count = 0;
             BooleanTimeSeries[] results = new BooleanTimeSeries[timeSeriesArray.length];
-            for (var ts: timeSeriesArray) {
+            for (int index = 0; index < timeSeriesArray.length; index++) {
+                var ts = timeSeriesArray[index];
                 if (ts.timestamp() > lastTimestamp) lastTimestamp = ts.timestamp();
                 if (ts instanceof MyOrdersTimeSeries myorders) {
-                    double result = Double.NaN;
-                    double amountAccumulated = Double.NaN;
-                    float gainCounter = 0.0F;
-                    float lossCounter = 0.0F;
-                    for (int x = 0; x < myorders.size(); x++) {
-                        BidAskSide side = myorders.sides()[x];
-                        double amount = myorders.executedAmounts()[x];
-                        double price = myorders.prices()[x];
-                        if (Double.isNaN(result) && side == ASK) continue;
-                        if (side == ASK) {
-                            result = Double.isNaN(result) ? (amount * price) : result + (amount * price);
-                            amountAccumulated = Double.isNaN(amountAccumulated) ? amount : amountAccumulated - amount;
-                            if (amountAccumulated < 0.0) {
-                                results().emitError(new RuntimeException("Something is wrong. Selling more than you have."));
-                                amountAccumulated = 0.0;
-                            }
-                            if (amountAccumulated < MINIMUM_AMOUNT_ALLOWED) {
-                                if (result > 0) gainCounter++;
-                                if (result < 0) lossCounter++;
-                                amountAccumulated = Double.NaN;
-                                result = Double.NaN;
-                            }
-                        } else if (side == BID) {
-                            result = Double.isNaN(result) ? amount * price * -1.0 : result - (amount * price);
-                            amountAccumulated = Double.isNaN(amountAccumulated) ? amount : amountAccumulated + amount;
-                        }
-                    }
+                    PositionLedger ledger = ledger(index, myorders);
+                    double gainCounter = ledger.gains();
+                    double lossCounter = ledger.losses();
 
                     double ratio = (lossCounter == 0.0 && gainCounter > 0.0) ?
                             Double.POSITIVE_INFINITY :
@@ -14,7 +14,7 @@
 
 package com.fibonsai.xtratej.engine.rules.impl;
 
-import com.fibonsai.xtratej.engine.rules.RuleStream;
+import com.fibonsai.xtratej.engine.ledger.PositionLedger;
 import com.fibonsai.xtratej.event.series.dao.BooleanTimeSeries;
 import com.fibonsai.xtratej.event.series.dao.MyOrdersTimeSeries;
 import com.fibonsai.xtratej.event.series.dao.TimeSeries;
@@ -22,14 +22,12 @@ import com.fibonsai.xtratej.event.series.dao.builders.BooleanTimeSeriesBuilder;
 
 import java.util.function.Function;
 
-import static com.fibonsai.xtratej.event.series.dao.MyOrdersTimeSeries.BidAskSide.ASK;
-import static com.fibonsai.xtratej.event.series.dao.MyOrdersTimeSeries.BidAskSide.BID;
-import static com.fibonsai.xtratej.event.series.dao.MyOrdersTimeSeries.MINIMUM_AMOUNT_ALLOWED;
-
 /***
  * this rule only supports MyOrderTimeSeries
+ * <p>
+ * Open amounts are kept per symbol and owner by a {@link PositionLedger}, so each new fill costs O(1).
  */
-public class HasOpenPositionRule extends RuleStream<BooleanTimeSeries> {
+public class HasOpenPositionRule extends LedgerRule {
 
     @Override
     protected Function<TimeSeries[], BooleanTimeSeries[]> predicate() {
@@ -37,16 +35,17 @@ public class HasOpenPositionRule extends RuleStream<BooleanTimeSeries> {
             long lastTimestamp = 0;
             int count = 0;
             BooleanTimeSeries[] results = new BooleanTimeSeries[timeSeriesArray.length];
-            for (var ts: timeSeriesArray) {
+            for (int index = 0; index < timeSeriesArray.length; index++) {
+                var ts = timeSeriesArray[index];
                 if (ts.timestamp() > lastTimestamp) lastTimestamp = ts.timestamp();
                 if (ts instanceof MyOrdersTimeSeries myorders) {
-                    double remainAmount = getRemainAmount(myorders);
-                    if (remainAmount < 0.0) {
+                    PositionLedger ledger = ledger(index, myorders);
+                    if (ledger.isOversold()) {
                         results().emitError(new RuntimeException("Something is wrong. Selling more than you have."));
                         return BooleanTimeSeriesBuilder.toSingleArray(lastTimestamp, false);
                     }
                     results[count++] = new BooleanTimeSeriesBuilder()
-                            .add(ts.timestamp(), remainAmount >= MINIMUM_AMOUNT_ALLOWED)
+                            .add(ts.timestamp(), ledger.hasOpenPosition())
                             .build();
                 }
             }
@@ -58,23 +57,8 @@ public class HasOpenPositionRule extends RuleStream<BooleanTimeSeries> {
         };
     }
 
-    private static double getRemainAmount(MyOrdersTimeSeries myorders) {
-        double totalExecutedAmount = 0.0;
-        double totalAmount = 0.0;
-        double[] initialAmounts = myorders.initialAmounts();
-        double[] executedAmounts = myorders.executedAmounts();
-        for (int x = 0; x < myorders.size(); x++) {
-            if (myorders.sides()[x] == ASK) {
-                totalAmount -= initialAmounts[x];
-                totalExecutedAmount -= executedAmounts[x];
-            } else if (myorders.sides()[x] == BID) {
-                totalAmount += initialAmounts[x];
-                totalExecutedAmount += executedAmounts[x];
-            }
-        }
-        if (totalAmount < 0.0 || totalExecutedAmount < 0.0) {
-            return -1.0; // sold more than bought: error
-        }
-        return Math.max(totalAmount, totalExecutedAmount);
+    @Override
+    protected void onLedgerError(RuntimeException error) {
+        // reported from the position totals instead
     }
 }
@@ -35,6 +35,11 @@ public class InSlopeRule extends RuleStream<BooleanTimeSeries> {
     private double minSlope = Double.NaN;
     private double maxSlope = Double.NaN;
 
+    @Override
+    public boolean isStateless() {
+        return true;
+    }
+
     @Override
     public RuleStream<BooleanTimeSeries> setParams(JsonNode params) {
         for (var e: params.properties()) {
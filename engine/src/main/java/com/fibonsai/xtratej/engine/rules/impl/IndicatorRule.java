@@ -0,0 +1,251 @@
+/*
+ *  Copyright (c) 2026 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.xtratej.engine.rules.impl;
+
+import com.fibonsai.xtratej.engine.rules.RuleStream;
+import com.fibonsai.xtratej.event.series.dao.*;
+import com.fibonsai.xtratej.event.series.dao.tools.SeriesCursor;
+import tools.jackson.databind.JsonNode;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Base of the technical indicators computed in-process from the input series.
+ *
+ * <p>Each input position keeps a {@link SeriesCursor} and the indicator state, so only the points not seen yet
+ * are fed and every point costs O(1). Series carry the whole history, or only new points with {@code input}
+ * {@code delta}. Prices are the values of DoubleTimeSeries and Double2TimeSeries, the closes
+ * (and highs/lows) of BarTimeSeries, the middles of BandTimeSeries and the prices of MyOrdersTimeSeries.
+ *
+ * <p>One series per input is emitted with the last {@code outputSize} indicator values (default 2, so downstream
+ * rules such as {@link CrossedRule} see the last move). Its id is the {@code id} param, or
+ * {@code <input id>:<indicator name>} by default. Values are NaN until the indicator has enough points; NaN prices are skipped.
+ */
+public abstract class IndicatorRule<T extends TimeSeries> extends RuleStream<T> {
+
+    public static final int DEFAULT_OUTPUT_SIZE = 2;
+
+    /** Streaming state of one indicator. */
+    protected interface Indicator {
+        /** Feeds the next point and writes the indicator values into {@code out}. */
+        void next(double high, double low, double close, double[] out);
+
+        void writeTo(DataOutput out) throws IOException;
+
+        void readFrom(DataInput in) throws IOException;
+    }
+
+    private static class Tracking {
+        final SeriesCursor cursor;
+        final Indicator indicator;
+        final long[] timestamps;
+        final double[][] outputs;
+        int head = 0;
+        int size = 0;
+
+        Tracking(SeriesCursor cursor, Indicator indicator, int outputSize, int width) {
+            this.cursor = cursor;
+            this.indicator = indicator;
+            this.timestamps = new long[outputSize];
+            this.outputs = new double[outputSize][width];
+        }
+    }
+
+    private final String name;
+    private final int width;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // guarded by 'lock'
+    private final Map<Integer, Tracking> trackings = new HashMap<>();
+
+    private String outputId = "";
+    private int outputSize = DEFAULT_OUTPUT_SIZE;
+    private SeriesCursor.Mode input = SeriesCursor.Mode.HISTORY;
+
+    /**
+     * @param name default suffix of the output id
+     * @param width number of values produced per point
+     */
+    protected IndicatorRule(String name, int width) {
+        this.name = name;
+        this.width = width;
+    }
+
+    protected abstract Indicator newIndicator();
+
+    protected abstract T toSeries(String id, long[] timestamps, double[][] columns);
+
+    protected abstract T[] newArray(int size);
+
+    @Override
+    public RuleStream<T> setParams(JsonNode params) {
+        for (var e: params.properties()) {
+            if ("id".equals(e.getKey()) && e.getValue().isString()) outputId = e.getValue().asString();
+            if ("outputSize".equals(e.getKey()) && e.getValue().isInt()) outputSize = Math.max(1, e.getValue().asInt());
+            if ("input".equals(e.getKey()) && e.getValue().isString()) {
+                input = SeriesCursor.Mode.valueOf(e.getValue().asString().toUpperCase());
+            }
+        }
+        return this;
+    }
+
+    public String getOutputId() {
+        return outputId;
+    }
+
+    public IndicatorRule<T> setOutputId(String outputId) {
+        this.outputId = outputId;
+        return this;
+    }
+
+    public IndicatorRule<T> setOutputSize(int outputSize) {
+        this.outputSize = Math.max(1, outputSize);
+        return this;
+    }
+
+    public IndicatorRule<T> setInput(SeriesCursor.Mode input) {
+        this.input = input;
+        return this;
+    }
+
+    /** Reads an int param, falling back to the current value. */
+    protected static int intParam(JsonNode value, int current) {
+        return value.isInt() ? value.asInt() : current;
+    }
+
+    /** Reads a double param (int values accepted), falling back to the current value. */
+    protected static double doubleParam(JsonNode value, double current) {
+        return value.isDouble() ? value.asDouble() : (value.isInt() ? value.asInt() : current);
+    }
+
+    @Override
+    protected void writeState(DataOutput out) throws IOException {
+        lock.lock();
+        try {
+            out.writeInt(trackings.size());
+            for (var e : trackings.entrySet()) {
+                Tracking tracking = e.getValue();
+                out.writeInt(e.getKey());
+                out.writeInt(tracking.timestamps.length);
+                out.writeInt(width);
+                tracking.cursor.writeTo(out);
+                out.writeInt(tracking.size);
+                for (int x = 0; x < tracking.size; x++) {
+                    int slot = (tracking.head + x) % tracking.timestamps.length;
+                    out.writeLong(tracking.timestamps[slot]);
+                    for (double value : tracking.outputs[slot]) {
+                        out.writeDouble(value);
+                    }
+                }
+                tracking.indicator.writeTo(out);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    protected void readState(DataInput in) throws IOException {
+        lock.lock();
+        try {
+            trackings.clear();
+            int count = in.readInt();
+            for (int t = 0; t < count; t++) {
+                int index = in.readInt();
+                int capacity = in.readInt();
+                if (in.readInt() != width) {
+                    throw new IOException("indicator width does not match");
+                }
+                Tracking tracking = new Tracking(new SeriesCursor(input), newIndicator(), capacity, width);
+                tracking.cursor.readFrom(in);
+                tracking.size = in.readInt();
+                for (int x = 0; x < tracking.size; x++) {
+                    tracking.timestamps[x] = in.readLong();
+                    for (int c = 0; c < width; c++) {
+                        tracking.outputs[x][c] = in.readDouble();
+                    }
+                }
+                tracking.indicator.readFrom(in);
+                trackings.put(index, tracking);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    protected Function<TimeSeries[], T[]> predicate() {
+        return timeSeriesArray -> {
+            T[] results = newArray(timeSeriesArray.length);
+            lock.lock();
+            try {
+                for (int index = 0; index < timeSeriesArray.length; index++) {
+                    results[index] = update(index, timeSeriesArray[index]);
+                }
+            } finally {
+                lock.unlock();
+            }
+            return results;
+        };
+    }
+
+    private T update(int index, TimeSeries ts) {
+        Tracking tracking = trackings.computeIfAbsent(index, _ -> new Tracking(new SeriesCursor(input), newIndicator(), outputSize, width));
+
+        double[] closes = switch (ts) {
+            case DoubleTimeSeries dts -> dts.values();
+            case Double2TimeSeries dts -> dts.values();
+            case BarTimeSeries barTs -> barTs.closes();
+            case BandTimeSeries bandTs -> bandTs.middles();
+            case MyOrdersTimeSeries myOrders -> myOrders.prices();
+            default -> new double[0];
+        };
+        double[] highs = ts instanceof BarTimeSeries barTs ? barTs.highs() : closes;
+        double[] lows = ts instanceof BarTimeSeries barTs ? barTs.lows() : closes;
+        long[] timestamps = ts.timestamps();
+
+        int capacity = tracking.timestamps.length;
+        for (int x = tracking.cursor.firstUnseen(ts); x < closes.length; x++) {
+            tracking.cursor.consumed(timestamps[x]);
+            if (Double.isNaN(closes[x])) continue;
+            int slot = (tracking.head + tracking.size) % capacity;
+            if (tracking.size == capacity) {
+                tracking.head = (tracking.head + 1) % capacity;
+            } else {
+                tracking.size++;
+            }
+            tracking.timestamps[slot] = timestamps[x];
+            tracking.indicator.next(highs[x], lows[x], closes[x], tracking.outputs[slot]);
+        }
+
+        long[] outTimestamps = new long[tracking.size];
+        double[][] columns = new double[width][tracking.size];
+        for (int x = 0; x < tracking.size; x++) {
+            int slot = (tracking.head + x) % capacity;
+            outTimestamps[x] = tracking.timestamps[slot];
+            for (int c = 0; c < width; c++) {
+                columns[c][x] = tracking.outputs[slot][c];
+            }
+        }
+        String id = outputId.isBlank() ? ts.id() + ":" + name : outputId;
+        return toSeries(id, outTimestamps, columns);
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ *  Copyright (c) 2026 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.xtratej.engine.rules.impl;
+
+import com.fibonsai.xtratej.engine.ledger.LedgerRegistry;
+import com.fibonsai.xtratej.engine.ledger.PositionLedger;
+import com.fibonsai.xtratej.engine.rules.RuleStream;
+import com.fibonsai.xtratej.event.series.dao.BooleanTimeSeries;
+import com.fibonsai.xtratej.event.series.dao.MyOrdersTimeSeries;
+import com.fibonsai.xtratej.event.series.dao.tools.SeriesCursor;
+import org.jspecify.annotations.Nullable;
+import tools.jackson.databind.JsonNode;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Base of the rules evaluated on a {@link PositionLedger}.
+ *
+ * <p>Each input position gets its own ledger, so a tick only consumes the orders not seen yet. With the
+ * {@code ledger} param the rule uses the ledger of that name in its {@link LedgerRegistry} instead, so rules
+ * watching the same order stream consume every order once. The registry is private to the rule until one is set
+ * with {@link #setLedgerRegistry(LedgerRegistry)}, as the {@code Loader} does with the registry of its owner.
+ *
+ * <p>Order series carry the whole history, or only new orders with {@code input} {@code delta}. A named ledger
+ * needs the whole history, since its rules tell the orders another rule already consumed only by timestamp.
+ */
+public abstract class LedgerRule extends RuleStream<BooleanTimeSeries> {
+
+    private final Map<Integer, PositionLedger> ledgers = new ConcurrentHashMap<>();
+
+    private @Nullable String ledgerName = null;
+    private SeriesCursor.Mode input = SeriesCursor.Mode.HISTORY;
+    private volatile LedgerRegistry ledgerRegistry = new LedgerRegistry();
+
+    @Override
+    public RuleStream<BooleanTimeSeries> setParams(JsonNode params) {
+        for (var e: params.properties()) {
+            if ("ledger".equals(e.getKey()) && e.getValue().isString()) {
+                this.ledgerName = e.getValue().asString();
+            }
+            if ("input".equals(e.getKey()) && e.getValue().isString()) {
+                this.input = SeriesCursor.Mode.valueOf(e.getValue().asString().toUpperCase());
+            }
+        }
+        checkInput();
+        return this;
+    }
+
+    private void checkInput() {
+        if (ledgerName != null && input == SeriesCursor.Mode.DELTA) {
+            throw new IllegalArgumentException("ledger %s needs the whole order history as input".formatted(ledgerName));
+        }
+    }
+
+    public @Nullable String getLedgerName() {
+        return ledgerName;
+    }
+
+    public LedgerRule setLedgerName(@Nullable String ledgerName) {
+        this.ledgerName = ledgerName;
+        checkInput();
+        return this;
+    }
+
+    public SeriesCursor.Mode getInput() {
+        return input;
+    }
+
+    public LedgerRule setInput(SeriesCursor.Mode input) {
+        this.input = input;
+        checkInput();
+        return this;
+    }
+
+    public LedgerRegistry getLedgerRegistry() {
+        return ledgerRegistry;
+    }
+
+    public LedgerRule setLedgerRegistry(LedgerRegistry ledgerRegistry) {
+        this.ledgerRegistry = ledgerRegistry;
+        return this;
+    }
+
+    /** Updates the ledger of the input position with the new orders and returns it. */
+    protected PositionLedger ledger(int index, MyOrdersTimeSeries orders) {
+        PositionLedger ledger = ledgerName != null ?
+                ledgerRegistry.ledger(ledgerName) :
+                ledgers.computeIfAbsent(index, _ -> new PositionLedger(input));
+        ledger.update(orders, this::onLedgerError);
+        return ledger;
+    }
+
+    /** A shared ledger is saved by every rule using it; restoring any of them restores it. */
+    @Override
+    protected void writeState(DataOutput out) throws IOException {
+        if (ledgerName != null) {
+            out.writeInt(-1);
+            ledgerRegistry.ledger(ledgerName).writeTo(out);
+            return;
+        }
+        var snapshot = Map.copyOf(ledgers);
+        out.writeInt(snapshot.size());
+        for (var e : snapshot.entrySet()) {
+            out.writeInt(e.getKey());
+            e.getValue().writeTo(out);
+        }
+    }
+
+    @Override
+    protected void readState(DataInput in) throws IOException {
+        int count = in.readInt();
+        if (count < 0) {
+            PositionLedger ledger = ledgerName != null ? ledgerRegistry.ledger(ledgerName) : new PositionLedger();
+            ledger.readFrom(in);
+            return;
+        }
+        ledgers.clear();
+        for (int x = 0; x < count; x++) {
+            int index = in.readInt();
+            ledgers.put(index, new PositionLedger(input).readFrom(in));
+        }
+    }
+
+    protected void onLedgerError(RuntimeException error) {
+        results().emitError(error);
+    }
+}
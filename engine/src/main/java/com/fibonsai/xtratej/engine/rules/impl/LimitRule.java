@@ -36,6 +36,11 @@ public class LimitRule extends RuleStream<BooleanTimeSeries> {
     private String upperSourceId = "";
     private String lowerSourceId = "";
 
+    @Override
+    public boolean isStateless() {
+        return true;
+    }
+
     @Override
     public RuleStream<BooleanTimeSeries> setParams(JsonNode params) {
         for (var e: params.properties()) {
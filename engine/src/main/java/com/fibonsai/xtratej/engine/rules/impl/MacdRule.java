@@ -0,0 +1,119 @@
+/*
+ *  Copyright (c) 2026 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.xtratej.engine.rules.impl;
+
+import com.fibonsai.xtratej.engine.rules.RuleStream;
+import com.fibonsai.xtratej.event.series.dao.DoubleTimeSeries;
+import tools.jackson.databind.JsonNode;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Moving average convergence/divergence. {@code macd} is EMA(fast) - EMA(slow), {@code signal} is the
+ * EMA(signal) of macd and {@code histogram} (default output) is macd - signal.
+ */
+public class MacdRule extends DoubleIndicatorRule {
+
+    public static final int DEFAULT_FAST = 12;
+    public static final int DEFAULT_SLOW = 26;
+    public static final int DEFAULT_SIGNAL = 9;
+
+    public enum Output {
+        MACD,
+        SIGNAL,
+        HISTOGRAM
+    }
+
+    static class Macd implements Indicator {
+        private final EmaRule.Ema fast;
+        private final EmaRule.Ema slow;
+        private final EmaRule.Ema signal;
+        private final Output output;
+
+        Macd(int fast, int slow, int signal, Output output) {
+            this.fast = new EmaRule.Ema(fast);
+            this.slow = new EmaRule.Ema(slow);
+            this.signal = new EmaRule.Ema(signal);
+            this.output = output;
+        }
+
+        @Override
+        public void next(double high, double low, double close, double[] out) {
+            double macd = fast.next(close) - slow.next(close);
+            double signalValue = Double.isNaN(macd) ? Double.NaN : signal.next(macd);
+            out[0] = switch (output) {
+                case MACD -> macd;
+                case SIGNAL -> signalValue;
+                case HISTOGRAM -> macd - signalValue;
+            };
+        }
+
+        @Override
+        public void writeTo(DataOutput out) throws IOException {
+            fast.writeTo(out);
+            slow.writeTo(out);
+            signal.writeTo(out);
+        }
+
+        @Override
+        public void readFrom(DataInput in) throws IOException {
+            fast.readFrom(in);
+            slow.readFrom(in);
+            signal.readFrom(in);
+        }
+    }
+
+    private int fast = DEFAULT_FAST;
+    private int slow = DEFAULT_SLOW;
+    private int signal = DEFAULT_SIGNAL;
+    private Output output = Output.HISTOGRAM;
+
+    public MacdRule() {
+        super("macd");
+    }
+
+    @Override
+    public RuleStream<DoubleTimeSeries> setParams(JsonNode params) {
+        super.setParams(params);
+        for (var e: params.properties()) {
+            if ("fast".equals(e.getKey())) fast = Math.max(1, intParam(e.getValue(), fast));
+            if ("slow".equals(e.getKey())) slow = Math.max(1, intParam(e.getValue(), slow));
+            if ("signal".equals(e.getKey())) signal = Math.max(1, intParam(e.getValue(), signal));
+            if ("output".equals(e.getKey()) && e.getValue().isString()) {
+                output = Output.valueOf(e.getValue().asString().toUpperCase());
+            }
+        }
+        return this;
+    }
+
+    public MacdRule setPeriods(int fast, int slow, int signal) {
+        this.fast = Math.max(1, fast);
+        this.slow = Math.max(1, slow);
+        this.signal = Math.max(1, signal);
+        return this;
+    }
+
+    public MacdRule setOutput(Output output) {
+        this.output = output;
+        return this;
+    }
+
+    @Override
+    protected Indicator newIndicator() {
+        return new Macd(fast, slow, signal, output);
+    }
+}
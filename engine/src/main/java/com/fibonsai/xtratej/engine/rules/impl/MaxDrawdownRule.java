@@ -17,13 +17,37 @@ package com.fibonsai.xtratej.engine.rules.impl;
 import com.fibonsai.xtratej.engine.rules.RuleStream;
 import com.fibonsai.xtratej.event.series.dao.*;
 import com.fibonsai.xtratej.event.series.dao.builders.BooleanTimeSeriesBuilder;
+import com.fibonsai.xtratej.event.series.dao.tools.DrawdownTracker;
+import com.fibonsai.xtratej.event.series.dao.tools.SeriesCursor;
 import tools.jackson.databind.JsonNode;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Function;
 
+/**
+ * Each input position keeps a running {@link DrawdownTracker}, fed only with the points not seen yet,
+ * so a tick costs O(new points) whatever the length of the series. The drawdown is the largest decline from a
+ * peak to a later low, reported as {@code 1.0 + (peak - low) / peak}.
+ * With {@code window} only peaks and lows within the last {@code window} points count.
+ * With {@code input} {@code delta} every series carries only new points, instead of the whole history by default.
+ */
 public class MaxDrawdownRule extends RuleStream<BooleanTimeSeries> {
 
+    private record Tracking(SeriesCursor cursor, DrawdownTracker tracker) {}
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // guarded by 'lock'
+    private final Map<Integer, Tracking> trackings = new HashMap<>();
+
     private double max = Double.POSITIVE_INFINITY;
+    private int window = 0;
+    private SeriesCursor.Mode input = SeriesCursor.Mode.HISTORY;
 
     @Override
     public RuleStream<BooleanTimeSeries> setParams(JsonNode params) {
@@ -31,34 +55,64 @@ public class MaxDrawdownRule extends RuleStream<BooleanTimeSeries> {
             if ("max".equals(e.getKey()) && e.getValue().isDouble()) {
                 this.max = e.getValue().asDouble();
             }
+            if ("window".equals(e.getKey()) && e.getValue().isInt()) {
+                this.window = e.getValue().asInt();
+            }
+            if ("input".equals(e.getKey()) && e.getValue().isString()) {
+                this.input = SeriesCursor.Mode.valueOf(e.getValue().asString().toUpperCase());
+            }
         }
         return this;
     }
 
+    @Override
+    protected void writeState(DataOutput out) throws IOException {
+        lock.lock();
+        try {
+            out.writeInt(trackings.size());
+            for (var e : trackings.entrySet()) {
+                out.writeInt(e.getKey());
+                e.getValue().cursor().writeTo(out);
+                e.getValue().tracker().writeTo(out);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    protected void readState(DataInput in) throws IOException {
+        lock.lock();
+        try {
+            trackings.clear();
+            int count = in.readInt();
+            for (int x = 0; x < count; x++) {
+                int index = in.readInt();
+                trackings.put(index, new Tracking(new SeriesCursor(input).readFrom(in), new DrawdownTracker(window).readFrom(in)));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
     @Override
     protected Function<TimeSeries[], BooleanTimeSeries[]> predicate() {
         return timeSeriesArray -> {
             long lastTimestamp = 0;
             int count = 0;
             BooleanTimeSeries[] results = new BooleanTimeSeries[timeSeriesArray.length];
-            for (var ts: timeSeriesArray) {
+            for (int index = 0; index < timeSeriesArray.length; index++) {
+                var ts = timeSeriesArray[index];
                 if (ts.timestamp() > lastTimestamp) lastTimestamp = ts.timestamp();
-                double peak = 0.0;
-                double low = Double.MAX_VALUE;
-                for (int x = 0; x < ts.size(); x++) {
-                    double price = switch (ts) {
-                        case MyOrdersTimeSeries myOrders -> myOrders.prices()[x];
-                        case DoubleTimeSeries dts -> dts.values()[x];
-                        case Double2TimeSeries dts -> dts.values()[x];
-                        case BarTimeSeries barTs -> barTs.closes()[x];
-                        case BandTimeSeries bandTs -> bandTs.middles()[x];
-                        default -> 0.0;
-                    };
-                    if (price > peak) peak = price;
-                    if (price < low) low = price;
+                double maxDrawdown;
+                lock.lock();
+                try {
+                    DrawdownTracker tracker = update(index, ts);
+                    maxDrawdown = tracker.count() == 0 || !(tracker.peak() > 0.0) ?
+                            Double.POSITIVE_INFINITY : 1.0 + tracker.maxDrawdown();
+                } finally {
+                    lock.unlock();
                 }
-                if (low == Double.MAX_VALUE) low = 0.0;
-                double maxDrawdown = (peak == 0.0) ? Double.POSITIVE_INFINITY : 1.0 - ((low - peak) / peak);
 
                 results[count++] = new BooleanTimeSeriesBuilder()
                         .add(ts.timestamp(), maxDrawdown < max)
@@ -71,4 +125,22 @@ public class MaxDrawdownRule extends RuleStream<BooleanTimeSeries> {
             return BooleanTimeSeriesBuilder.toSingleArray(lastTimestamp, false);
         };
     }
+
+    private DrawdownTracker update(int index, TimeSeries ts) {
+        Tracking tracking = trackings.computeIfAbsent(index, _ -> new Tracking(new SeriesCursor(input), new DrawdownTracker(window)));
+        double[] prices = switch (ts) {
+            case MyOrdersTimeSeries myOrders -> myOrders.prices();
+            case DoubleTimeSeries dts -> dts.values();
+            case Double2TimeSeries dts -> dts.values();
+            case BarTimeSeries barTs -> barTs.closes();
+            case BandTimeSeries bandTs -> bandTs.middles();
+            default -> new double[0];
+        };
+        long[] timestamps = ts.timestamps();
+        for (int x = tracking.cursor().firstUnseen(ts); x < prices.length; x++) {
+            tracking.tracker().add(prices[x]);
+            tracking.cursor().consumed(timestamps[x]);
+        }
+        return tracking.tracker();
+    }
 }
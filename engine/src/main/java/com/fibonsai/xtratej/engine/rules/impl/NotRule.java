@@ -27,6 +27,11 @@ public class NotRule extends RuleStream<BooleanTimeSeries> {
 
     private static final Logger log = LoggerFactory.getLogger(NotRule.class);
 
+    @Override
+    public boolean isStateless() {
+        return true;
+    }
+
     @Override
     protected Function<TimeSeries[], BooleanTimeSeries[]> predicate() {
         return timeSeriesArray -> {
@@ -14,39 +14,15 @@
 
 package com.fibonsai.xtratej.engine.rules.impl;
 
-import com.fibonsai.xtratej.engine.rules.RuleStream;
-import com.fibonsai.xtratej.event.series.dao.BooleanTimeSeries;
-import com.fibonsai.xtratej.event.series.dao.TimeSeries;
-import com.fibonsai.xtratej.event.series.dao.builders.BooleanTimeSeriesBuilder;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
-import java.util.function.Function;
-
-public class OrRule extends RuleStream<BooleanTimeSeries> {
-
-    private static final Logger log = LoggerFactory.getLogger(OrRule.class);
+public class OrRule extends ShortCircuitRule {
 
     @Override
-    protected Function<TimeSeries[], BooleanTimeSeries[]> predicate() {
-        return timeSeriesArray -> {
-            if (!isActivated() || timeSeriesArray.length == 0) {
-                log.warn("No sources. Ignoring rule.");
-                return new BooleanTimeSeries[0];
-            }
-
-            Boolean result = null;
-            long timestamp = 0L;
-            for (var ts : timeSeriesArray) {
-                if (ts instanceof BooleanTimeSeries series && series.size() > 0) {
-                    if (series.timestamp() > timestamp) timestamp = series.timestamp();
-                    for (boolean bool : series.values()) {
-                        result = (result == null) ? bool : result || bool;
-                    }
-                }
-            }
+    protected boolean combine(boolean accumulated, boolean value) {
+        return accumulated || value;
+    }
 
-            return new BooleanTimeSeries[]{ new BooleanTimeSeriesBuilder().add(timestamp, result != null && result).build() };
-        };
+    @Override
+    protected boolean decisiveValue() {
+        return true;
     }
 }
@@ -18,17 +18,29 @@ import com.fibonsai.xtratej.engine.rules.RuleStream;
 import com.fibonsai.xtratej.event.series.dao.BooleanTimeSeries;
 import com.fibonsai.xtratej.event.series.dao.TimeSeries;
 import com.fibonsai.xtratej.event.series.dao.builders.BooleanTimeSeriesBuilder;
+import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import tools.jackson.databind.JsonNode;
 
+import java.util.SplittableRandom;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Function;
+import java.util.random.RandomGenerator;
 
 public class RandomRule extends RuleStream<BooleanTimeSeries> {
 
     private static final Logger log = LoggerFactory.getLogger(RandomRule.class);
 
-    private final ThreadLocalRandom random = ThreadLocalRandom.current();
+    private @Nullable RandomGenerator seeded = null;
+
+    @Override
+    public RuleStream<BooleanTimeSeries> setParams(JsonNode params) {
+        for (var e: params.properties()) {
+            if ("seed".equals(e.getKey()) && e.getValue().isIntegralNumber()) seeded = new SplittableRandom(e.getValue().asLong());
+        }
+        return this;
+    }
 
     @Override
     protected Function<TimeSeries[], BooleanTimeSeries[]> predicate() {
@@ -38,7 +50,7 @@ public class RandomRule extends RuleStream<BooleanTimeSeries> {
                 return new BooleanTimeSeries[0];
             }
 
-            boolean result = random.nextBoolean();
+            boolean result = (seeded != null ? seeded : ThreadLocalRandom.current()).nextBoolean();
             long timestamp = 0L;
             for (var ts: timeSeriesArray) {
                 if (ts.timestamp() > timestamp) {
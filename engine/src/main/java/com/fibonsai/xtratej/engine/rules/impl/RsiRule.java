@@ -0,0 +1,112 @@
+/*
+ *  Copyright (c) 2026 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.xtratej.engine.rules.impl;
+
+import com.fibonsai.xtratej.engine.rules.RuleStream;
+import com.fibonsai.xtratej.event.series.dao.DoubleTimeSeries;
+import tools.jackson.databind.JsonNode;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Relative strength index (0 to 100) with Wilder smoothing of the average gain and loss.
+ */
+public class RsiRule extends DoubleIndicatorRule {
+
+    public static final int DEFAULT_PERIOD = 14;
+
+    static class Rsi implements Indicator {
+        private final int period;
+        private double previous = Double.NaN;
+        private int count = 0;
+        private double averageGain = 0.0;
+        private double averageLoss = 0.0;
+
+        Rsi(int period) {
+            this.period = period;
+        }
+
+        @Override
+        public void next(double high, double low, double close, double[] out) {
+            double change = close - previous;
+            previous = close;
+            if (Double.isNaN(change)) {
+                out[0] = Double.NaN;
+                return;
+            }
+            double gain = Math.max(change, 0.0);
+            double loss = Math.max(-change, 0.0);
+            if (count < period) {
+                averageGain += gain / period;
+                averageLoss += loss / period;
+                if (++count < period) {
+                    out[0] = Double.NaN;
+                    return;
+                }
+            } else {
+                averageGain = (averageGain * (period - 1) + gain) / period;
+                averageLoss = (averageLoss * (period - 1) + loss) / period;
+            }
+            if (averageLoss == 0.0) {
+                out[0] = averageGain == 0.0 ? 50.0 : 100.0;
+            } else {
+                out[0] = 100.0 - 100.0 / (1.0 + averageGain / averageLoss);
+            }
+        }
+
+        @Override
+        public void writeTo(DataOutput out) throws IOException {
+            out.writeDouble(previous);
+            out.writeInt(count);
+            out.writeDouble(averageGain);
+            out.writeDouble(averageLoss);
+        }
+
+        @Override
+        public void readFrom(DataInput in) throws IOException {
+            previous = in.readDouble();
+            count = in.readInt();
+            averageGain = in.readDouble();
+            averageLoss = in.readDouble();
+        }
+    }
+
+    private int period = DEFAULT_PERIOD;
+
+    public RsiRule() {
+        super("rsi");
+    }
+
+    @Override
+    public RuleStream<DoubleTimeSeries> setParams(JsonNode params) {
+        super.setParams(params);
+        for (var e: params.properties()) {
+            if ("period".equals(e.getKey())) period = Math.max(1, intParam(e.getValue(), period));
+        }
+        return this;
+    }
+
+    public RsiRule setPeriod(int period) {
+        this.period = Math.max(1, period);
+        return this;
+    }
+
+    @Override
+    protected Indicator newIndicator() {
+        return new Rsi(period);
+    }
+}
@@ -14,26 +14,23 @@
 
 package com.fibonsai.xtratej.engine.rules.impl;
 
+import com.fibonsai.xtratej.engine.ledger.PositionLedger;
 import com.fibonsai.xtratej.engine.rules.RuleStream;
 import com.fibonsai.xtratej.event.series.dao.BooleanTimeSeries;
 import com.fibonsai.xtratej.event.series.dao.MyOrdersTimeSeries;
 import com.fibonsai.xtratej.event.series.dao.TimeSeries;
 import com.fibonsai.xtratej.event.series.dao.builders.BooleanTimeSeriesBuilder;
-import org.hipparchus.stat.descriptive.DescriptiveStatistics;
 import tools.jackson.databind.JsonNode;
 
 import java.util.function.Function;
 
-import static com.fibonsai.xtratej.event.series.dao.MyOrdersTimeSeries.BidAskSide.ASK;
-import static com.fibonsai.xtratej.event.series.dao.MyOrdersTimeSeries.BidAskSide.BID;
-import static com.fibonsai.xtratej.event.series.dao.MyOrdersTimeSeries.MINIMUM_AMOUNT_ALLOWED;
-
 /***
  * this rule only supports MyOrderTimeSeries
+ * <p>
+ * Round trips are tracked by a {@link PositionLedger}, which folds every closed round trip into a
+ * Welford mean/variance accumulator, so each new fill costs O(1) and no history is stored.
  */
-public class SharperRatioRule extends RuleStream<BooleanTimeSeries> {
-
-    private final DescriptiveStatistics statistics = new DescriptiveStatistics();
+public class SharperRatioRule extends LedgerRule {
 
     private double riskFreeRate = 0.0;
     private double ratioMin = Double.NEGATIVE_INFINITY;
@@ -41,6 +38,7 @@ public class SharperRatioRule extends RuleStream<BooleanTimeSeries> {
 
     @Override
     public RuleStream<BooleanTimeSeries> setParams(JsonNode params) {
+        super.setParams(params);
         for (var e: params.properties()) {
             if ("riskFreeRate".equals(e.getKey()) && e.getValue().isDouble()) {
                 this.riskFreeRate = e.getValue().asDouble();
@@ -61,37 +59,15 @@ public class SharperRatioRule extends RuleStream<BooleanTimeSeries> {
             long lastTimestamp = 0;
             int count = 0;
             BooleanTimeSeries[] results = new BooleanTimeSeries[timeSeriesArray.length];
-            for (var ts: timeSeriesArray) {
+            for (int index = 0; index < timeSeriesArray.length; index++) {
+                var ts = timeSeriesArray[index];
                 if (ts.timestamp() > lastTimestamp) lastTimestamp = ts.timestamp();
                 if (ts instanceof MyOrdersTimeSeries myorders) {
-                    double result = Double.NaN;
-                    double amountAccumulated = Double.NaN;
-                    for (int x = 0; x < myorders.size(); x++) {
-                        MyOrdersTimeSeries.BidAskSide side = myorders.sides()[x];
-                        double amount = myorders.executedAmounts()[x];
-                        double price = myorders.prices()[x];
-                        if (Double.isNaN(result) && side == ASK) continue;
-                        if (side == ASK) {
-                            result = Double.isNaN(result) ? (amount * price) : result + (amount * price);
-                            amountAccumulated = Double.isNaN(amountAccumulated) ? amount : amountAccumulated - amount;
-                            if (amountAccumulated < 0.0) {
-                                results().emitError(new RuntimeException("Something is wrong. Selling more than you have."));
-                                amountAccumulated = 0.0;
-                            }
-                            if (amountAccumulated < MINIMUM_AMOUNT_ALLOWED) {
-                                statistics.addValue(result);
-                                result = Double.NaN;
-                                amountAccumulated = Double.NaN;
-                            }
-                        } else if (side == BID) {
-                            result = Double.isNaN(result) ? amount * price * -1.0 : result - (amount * price);
-                            amountAccumulated = Double.isNaN(amountAccumulated) ? amount : amountAccumulated + amount;
-                        }
-                    }
+                    PositionLedger ledger = ledger(index, myorders);
 
                     double sharpRatio;
-                    double stdDev = statistics.getStandardDeviation();
-                    double mean = statistics.getMean();
+                    double stdDev = ledger.roundTripStandardDeviation();
+                    double mean = ledger.roundTripMean();
                     if (stdDev == 0.0) {
                         // If standard deviation is 0, the Sharpe ratio is infinity (positive or negative)
                         // The sign depends on whether mean is positive or negative
@@ -99,7 +75,6 @@ public class SharperRatioRule extends RuleStream<BooleanTimeSeries> {
                     } else {
                         sharpRatio = (mean - riskFreeRate) / stdDev;
                     }
-                    statistics.clear();
 
                     results[count++] = new BooleanTimeSeriesBuilder()
                             .add(ts.timestamp(), sharpRatio >= ratioMin && sharpRatio <= ratioMax)
@@ -0,0 +1,248 @@
+/*
+ *  Copyright (c) 2026 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.xtratej.engine.rules.impl;
+
+import com.fibonsai.xtratej.engine.rules.DeferredTimeSeries;
+import com.fibonsai.xtratej.engine.rules.RuleStream;
+import com.fibonsai.xtratej.event.series.dao.BooleanTimeSeries;
+import com.fibonsai.xtratej.event.series.dao.TimeSeries;
+import com.fibonsai.xtratej.event.series.dao.builders.BooleanTimeSeriesBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import tools.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Base of the boolean combinators that can stop as soon as the result is decided (And: first false, Or: first true).
+ *
+ * <p>With {@code shortCircuit} enabled, stateless child rules (see {@link RuleStream#isStateless()}) are switched to
+ * deferred mode and only evaluated when the combinator reaches them. Stateful children keep being evaluated on
+ * every event, so they do not miss any, and only their result is skipped. Each input position is profiled (decisive rate and mean evaluation time) and, every
+ * {@code reorderInterval} evaluations, the positions are reordered by ascending {@code meanNanos / decisiveRate},
+ * so cheap and decisive checks run first. The learned order is exposed by {@link #getEvaluationOrder()} and
+ * {@link #getProfiles()}.
+ *
+ * <p>Without {@code shortCircuit} every input is processed, as before.
+ */
+public abstract class ShortCircuitRule extends RuleStream<BooleanTimeSeries> {
+
+    private static final Logger log = LoggerFactory.getLogger(ShortCircuitRule.class);
+
+    public static final int DEFAULT_REORDER_INTERVAL = 1000;
+
+    public record ChildProfile(int index, String description, long evaluations, double decisiveRate, double meanNanos) {}
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private boolean shortCircuit = false;
+    private int reorderInterval = DEFAULT_REORDER_INTERVAL;
+    private List<String> descriptions = List.of();
+
+    // All fields below are guarded by 'lock'.
+    private int[] order = new int[0];
+    private long[] evaluations = new long[0];
+    private long[] decisives = new long[0];
+    private long[] nanos = new long[0];
+    private long evaluationsSinceReorder = 0;
+
+    protected abstract boolean combine(boolean accumulated, boolean value);
+
+    @Override
+    public boolean isStateless() {
+        return true;
+    }
+
+    /** The value that, once reached, can no longer change the combined result. */
+    protected abstract boolean decisiveValue();
+
+    @Override
+    public RuleStream<BooleanTimeSeries> setParams(JsonNode params) {
+        for (var e: params.properties()) {
+            if ("shortCircuit".equals(e.getKey()) && e.getValue().isBoolean()) shortCircuit = e.getValue().asBoolean();
+            if ("reorderInterval".equals(e.getKey()) && e.getValue().isInt()) reorderInterval = e.getValue().asInt();
+        }
+        return this;
+    }
+
+    @Override
+    public void watch(List<? extends RuleStream<?>> rules) {
+        if (shortCircuit) {
+            List<String> childDescriptions = new ArrayList<>(rules.size());
+            for (var rule: rules) {
+                if (rule.isStateless()) {
+                    rule.setDeferred(true);
+                }
+                childDescriptions.add(rule.getDescription());
+            }
+            descriptions = List.copyOf(childDescriptions);
+        }
+        super.watch(rules);
+    }
+
+    @Override
+    protected Function<TimeSeries[], BooleanTimeSeries[]> predicate() {
+        return timeSeriesArray -> {
+            if (!isActivated() || timeSeriesArray.length == 0) {
+                log.warn("No sources. Ignoring rule.");
+                return new BooleanTimeSeries[0];
+            }
+            return shortCircuit ? evaluateInOrder(timeSeriesArray) : evaluateAll(timeSeriesArray);
+        };
+    }
+
+    private BooleanTimeSeries[] evaluateAll(TimeSeries[] timeSeriesArray) {
+        Boolean result = null;
+        long timestamp = 0L;
+        for (var input: timeSeriesArray) {
+            TimeSeries ts = DeferredTimeSeries.resolve(input);
+            if (ts instanceof BooleanTimeSeries series && series.size() > 0) {
+                if (series.timestamp() > timestamp) timestamp = series.timestamp();
+                for (boolean bool: series.values()) {
+                    result = (result == null) ? bool : combine(result, bool);
+                }
+            }
+        }
+
+        return new BooleanTimeSeries[] { new BooleanTimeSeriesBuilder().add(timestamp, result != null && result).build() };
+    }
+
+    private BooleanTimeSeries[] evaluateInOrder(TimeSeries[] timeSeriesArray) {
+        final boolean decisive = decisiveValue();
+        lock.lock();
+        try {
+            if (order.length != timeSeriesArray.length) {
+                resetProfiles(timeSeriesArray.length);
+            }
+
+            long timestamp = 0L;
+            for (var ts: timeSeriesArray) {
+                if ((ts instanceof DeferredTimeSeries || (ts instanceof BooleanTimeSeries && ts.size() > 0)) && ts.timestamp() > timestamp) {
+                    timestamp = ts.timestamp();
+                }
+            }
+
+            Boolean result = null;
+            loop:
+            for (int index: order) {
+                long start = System.nanoTime();
+                TimeSeries ts = DeferredTimeSeries.resolve(timeSeriesArray[index]);
+                nanos[index] += System.nanoTime() - start;
+                evaluations[index]++;
+                if (ts instanceof BooleanTimeSeries series && series.size() > 0) {
+                    for (boolean bool: series.values()) {
+                        result = (result == null) ? bool : combine(result, bool);
+                        if (result == decisive) {
+                            decisives[index]++;
+                            break loop;
+                        }
+                    }
+                }
+            }
+
+            if (reorderInterval > 0 && ++evaluationsSinceReorder >= reorderInterval) {
+                reorder();
+                evaluationsSinceReorder = 0;
+            }
+
+            return new BooleanTimeSeries[] { new BooleanTimeSeriesBuilder().add(timestamp, result != null && result).build() };
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Must be called while holding {@link #lock}. */
+    private void resetProfiles(int size) {
+        order = new int[size];
+        for (int x = 0; x < size; x++) {
+            order[x] = x;
+        }
+        evaluations = new long[size];
+        decisives = new long[size];
+        nanos = new long[size];
+        evaluationsSinceReorder = 0;
+    }
+
+    /** Must be called while holding {@link #lock}. */
+    private void reorder() {
+        List<Integer> indexes = new ArrayList<>(order.length);
+        for (int index: order) {
+            indexes.add(index);
+        }
+        // stable sort: ties keep the current order
+        indexes.sort(Comparator.comparingDouble(this::score));
+        for (int x = 0; x < order.length; x++) {
+            order[x] = indexes.get(x);
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("{}: evaluation order {}", getDescription(), indexes);
+        }
+    }
+
+    /** Expected cost to reach a decision at this position. Never evaluated positions score 0 so they get explored. */
+    private double score(int index) {
+        return meanNanos(index) / decisiveRate(index);
+    }
+
+    private double meanNanos(int index) {
+        return evaluations[index] == 0 ? 0.0 : (double) nanos[index] / evaluations[index];
+    }
+
+    private double decisiveRate(int index) {
+        // Laplace smoothing keeps unseen positions away from 0 and 1
+        return (decisives[index] + 1.0) / (evaluations[index] + 2.0);
+    }
+
+    public int[] getEvaluationOrder() {
+        lock.lock();
+        try {
+            return order.clone();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public List<ChildProfile> getProfiles() {
+        lock.lock();
+        try {
+            List<ChildProfile> profiles = new ArrayList<>(order.length);
+            for (int index: order) {
+                String description = index < descriptions.size() ? descriptions.get(index) : "";
+                profiles.add(new ChildProfile(index, description, evaluations[index], decisiveRate(index), meanNanos(index)));
+            }
+            return profiles;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isShortCircuit() {
+        return shortCircuit;
+    }
+
+    public ShortCircuitRule setShortCircuit(boolean shortCircuit) {
+        this.shortCircuit = shortCircuit;
+        return this;
+    }
+
+    public ShortCircuitRule setReorderInterval(int reorderInterval) {
+        this.reorderInterval = reorderInterval;
+        return this;
+    }
+}
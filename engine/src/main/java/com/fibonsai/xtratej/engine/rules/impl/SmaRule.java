@@ -0,0 +1,115 @@
+/*
+ *  Copyright (c) 2026 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.xtratej.engine.rules.impl;
+
+import com.fibonsai.xtratej.engine.rules.RuleStream;
+import com.fibonsai.xtratej.event.series.dao.DoubleTimeSeries;
+import tools.jackson.databind.JsonNode;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Simple moving average of the last {@code period} prices (running sum over a ring buffer,
+ * recomputed on every turn of the window so the rounding error does not grow).
+ */
+public class SmaRule extends DoubleIndicatorRule {
+
+    public static final int DEFAULT_PERIOD = 14;
+
+    static class Sma implements Indicator {
+        private final double[] window;
+        private int next = 0;
+        private int count = 0;
+        private double sum = 0.0;
+
+        Sma(int period) {
+            this.window = new double[period];
+        }
+
+        double next(double value) {
+            if (count == window.length) {
+                sum -= window[next];
+            } else {
+                count++;
+            }
+            window[next] = value;
+            next = (next + 1) % window.length;
+            sum += value;
+            if (next == 0 && count == window.length) {
+                sum = 0.0;
+                for (double v : window) {
+                    sum += v;
+                }
+            }
+            return count == window.length ? sum / count : Double.NaN;
+        }
+
+        @Override
+        public void next(double high, double low, double close, double[] out) {
+            out[0] = next(close);
+        }
+
+        @Override
+        public void writeTo(DataOutput out) throws IOException {
+            out.writeInt(window.length);
+            for (double value : window) {
+                out.writeDouble(value);
+            }
+            out.writeInt(next);
+            out.writeInt(count);
+            out.writeDouble(sum);
+        }
+
+        @Override
+        public void readFrom(DataInput in) throws IOException {
+            if (in.readInt() != window.length) {
+                throw new IOException("SMA period does not match");
+            }
+            for (int x = 0; x < window.length; x++) {
+                window[x] = in.readDouble();
+            }
+            next = in.readInt();
+            count = in.readInt();
+            sum = in.readDouble();
+        }
+    }
+
+    private int period = DEFAULT_PERIOD;
+
+    public SmaRule() {
+        super("sma");
+    }
+
+    @Override
+    public RuleStream<DoubleTimeSeries> setParams(JsonNode params) {
+        super.setParams(params);
+        for (var e: params.properties()) {
+            if ("period".equals(e.getKey())) period = Math.max(1, intParam(e.getValue(), period));
+        }
+        return this;
+    }
+
+    public SmaRule setPeriod(int period) {
+        this.period = Math.max(1, period);
+        return this;
+    }
+
+    @Override
+    protected Indicator newIndicator() {
+        return new Sma(period);
+    }
+}
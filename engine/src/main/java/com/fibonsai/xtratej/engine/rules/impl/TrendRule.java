@@ -36,6 +36,11 @@ public class TrendRule extends RuleStream<BooleanTimeSeries> {
     private String sourceId = "";
     private boolean isRising = true;
 
+    @Override
+    public boolean isStateless() {
+        return true;
+    }
+
     @Override
     public RuleStream<BooleanTimeSeries> setParams(JsonNode params) {
         for (var e : params.properties()) {
@@ -33,6 +33,11 @@ public class WeekdayRule extends RuleStream<BooleanTimeSeries> {
 
     private final List<String> weekdays = new ArrayList<>();
 
+    @Override
+    public boolean isStateless() {
+        return true;
+    }
+
     @Override
     public RuleStream<BooleanTimeSeries> setParams(JsonNode params) {
         for (var e: params.properties()) {
@@ -55,7 +60,7 @@ public class WeekdayRule extends RuleStream<BooleanTimeSeries> {
                 return new BooleanTimeSeries[0];
             }
 
-            String dayOfWeek = LocalDateTime.now().getDayOfWeek().name().toLowerCase();
+            String dayOfWeek = LocalDateTime.now(clock()).getDayOfWeek().name().toLowerCase();
             boolean result = weekdays.isEmpty() || weekdays.contains(dayOfWeek);
 
             long timestamp = 0L;
@@ -27,6 +27,11 @@ public class XOrRule extends RuleStream<BooleanTimeSeries> {
 
     private static final Logger log = LoggerFactory.getLogger(XOrRule.class);
 
+    @Override
+    public boolean isStateless() {
+        return true;
+    }
+
     @Override
     protected Function<TimeSeries[], BooleanTimeSeries[]> predicate() {
         return timeSeriesArray -> {
@@ -14,12 +14,19 @@
 
 package com.fibonsai.xtratej.engine.strategy;
 
+import com.fibonsai.directflux.EventLoop;
 import com.fibonsai.xtratej.adapter.core.Subscriber;
+import com.fibonsai.xtratej.engine.adapters.SourceRegistry;
 import com.fibonsai.xtratej.engine.adapters.SourceType;
 import com.fibonsai.xtratej.engine.rules.RuleStream;
 import com.fibonsai.xtratej.event.series.dao.TimeSeries;
+import org.jspecify.annotations.Nullable;
 import tools.jackson.databind.JsonNode;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.Clock;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Consumer;
@@ -46,6 +53,9 @@ public interface IStrategy {
 
     IStrategy addSource(Subscriber source);
 
+    /** Registers the source under the given name, e.g. a subscriber shared through a {@link SourceRegistry}. */
+    IStrategy addSource(String name, Subscriber source);
+
     IStrategy addSource(SourceType sourceType, String name, String publisher);
 
     IStrategy addSource(SourceType sourceType, String name, String published, JsonNode params);
@@ -65,4 +75,34 @@ public interface IStrategy {
     IStrategy subscribe(Consumer<TimeSeries> consumer);
 
     Map<String, Subscriber> getSources();
+
+    /**
+     * Binds the rule graph of the strategy and the sources it does not share with other strategies to the given
+     * loop, {@code null} to unbind.
+     */
+    default IStrategy dispatchOn(@Nullable EventLoop eventLoop) {
+        return this;
+    }
+
+    /** Sets the clock of the time based rules of the strategy (see {@link RuleStream#setClock(Clock)}). */
+    default IStrategy setClock(Clock clock) {
+        return this;
+    }
+
+    /** Writes the state of the rule graph (see {@link RuleStream#snapshot(DataOutput)}), nothing by default. */
+    default void snapshot(DataOutput out) throws IOException {}
+
+    /** Restores a state written by {@link #snapshot(DataOutput)} into the rule graph. */
+    default void restore(DataInput in) throws IOException {}
+
+    /** Unwires the rule graph and releases the sources of the strategy. */
+    default void close() {}
+
+    /**
+     * Closes this strategy once {@code successor} has taken over, keeping the rules and sources
+     * the successor reuses (see {@link Loader#reload}).
+     */
+    default void close(IStrategy successor) {
+        close();
+    }
 }
@@ -0,0 +1,163 @@
+/*
+ *  Copyright (c) 2026 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.xtratej.engine.strategy;
+
+import com.fibonsai.directflux.DirectFlux;
+import com.fibonsai.directflux.EventLoop;
+import com.fibonsai.xtratej.adapter.core.Subscriber;
+import com.fibonsai.xtratej.engine.rules.RuleStream;
+import com.fibonsai.xtratej.event.series.dao.TimeSeries;
+import org.jspecify.annotations.Nullable;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.Clock;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Root rule of a strategy loaded with {@link Loader.Option#LAZY}: the real rule graph is built and wired
+ * on the first event of any of the strategy sources, and its results are forwarded.
+ * The graph is wired to relays of the sources, so wiring never subscribes to the source being emitted.
+ * The relays and the forwarding of the graph results run on a direct loop, inline on the emitting thread
+ * (or on the event loop of the strategy), so once wired they add no fan-out or hand-off to the events.
+ */
+final class LazyRule extends RuleStream<TimeSeries> {
+
+    private final EventLoop direct = EventLoop.direct("lazy-rule");
+    private final Map<Subscriber, Consumer<TimeSeries>> triggers = new HashMap<>();
+    private final Map<String, DirectFlux<TimeSeries>> relays = new HashMap<>();
+    private final Function<Map<String, DirectFlux<TimeSeries>>, RuleStream<?>> factory;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile @Nullable RuleStream<?> graph = null;
+    private @Nullable EventLoop eventLoop = null;
+
+    LazyRule(Map<String, Subscriber> sources, Function<Map<String, DirectFlux<TimeSeries>>, RuleStream<?>> factory) {
+        this.factory = factory;
+        sources.forEach((name, source) -> {
+            DirectFlux<TimeSeries> relay = new DirectFlux<TimeSeries>().dispatchOn(direct);
+            relays.put(name, relay);
+            Consumer<TimeSeries> trigger = event -> {
+                wire();
+                relay.emitNext(event);
+            };
+            triggers.put(source, trigger);
+            source.subscribe(trigger);
+        });
+    }
+
+    boolean isWired() {
+        return graph != null;
+    }
+
+    private void wire() {
+        if (graph != null) {
+            return;
+        }
+        lock.lock();
+        try {
+            if (graph == null) {
+                RuleStream<?> rule = factory.apply(relays);
+                rule.dispatchOn(eventLoop);
+                rule.results().dispatchOn(forwardLoop());
+                rule.setClock(clock());
+                rule.results().subscribe(results()::emitNext, results()::emitError);
+                graph = rule;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    protected Function<TimeSeries[], TimeSeries[]> predicate() {
+        return _ -> new TimeSeries[0];
+    }
+
+    @Override
+    protected void writeState(DataOutput out) throws IOException {
+        out.writeBoolean(isWired());
+    }
+
+    /** A graph saved wired is built right away, so its state has somewhere to go. */
+    @Override
+    protected void readState(DataInput in) throws IOException {
+        if (in.readBoolean()) {
+            wire();
+        }
+    }
+
+    @Override
+    public List<RuleStream<?>> children() {
+        RuleStream<?> rule = graph;
+        return rule == null ? List.of() : List.of(rule);
+    }
+
+    @Override
+    public RuleStream<TimeSeries> dispatchOn(@Nullable EventLoop eventLoop) {
+        lock.lock();
+        try {
+            this.eventLoop = eventLoop;
+            if (graph != null) {
+                graph.dispatchOn(eventLoop);
+                graph.results().dispatchOn(forwardLoop());
+            }
+        } finally {
+            lock.unlock();
+        }
+        return super.dispatchOn(eventLoop);
+    }
+
+    /** Loop of the graph results, only read by the forwarding to {@link #results()}. Guarded by 'lock'. */
+    private EventLoop forwardLoop() {
+        return eventLoop != null ? eventLoop : direct;
+    }
+
+    @Override
+    public RuleStream<TimeSeries> setClock(Clock clock) {
+        lock.lock();
+        try {
+            super.setClock(clock);
+            if (graph != null) {
+                graph.setClock(clock);
+            }
+        } finally {
+            lock.unlock();
+        }
+        return this;
+    }
+
+    @Override
+    public void detach() {
+        triggers.forEach(Subscriber::unsubscribe);
+        relays.values().forEach(DirectFlux::close);
+        super.detach();
+    }
+
+    @Override
+    public void close() {
+        RuleStream<?> rule = graph;
+        super.close();
+        if (rule != null) {
+            rule.close();
+        }
+    }
+}
@@ -15,12 +15,17 @@
 package com.fibonsai.xtratej.engine.strategy;
 
 import com.fibonsai.directflux.DirectFlux;
+import com.fibonsai.xtratej.adapter.core.Demultiplexer;
 import com.fibonsai.xtratej.adapter.core.Subscriber;
+import com.fibonsai.xtratej.engine.adapters.SourceRegistry;
 import com.fibonsai.xtratej.engine.adapters.SourceType;
+import com.fibonsai.xtratej.engine.ledger.LedgerRegistry;
 import com.fibonsai.xtratej.engine.rules.RuleStream;
 import com.fibonsai.xtratej.engine.rules.RuleType;
+import com.fibonsai.xtratej.engine.rules.impl.LedgerRule;
 import com.fibonsai.xtratej.engine.strategy.IStrategy.StrategyType;
 import com.fibonsai.xtratej.event.series.dao.TimeSeries;
+import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import tools.jackson.databind.JsonNode;
@@ -28,15 +33,28 @@ import tools.jackson.databind.node.ArrayNode;
 import tools.jackson.databind.node.JsonNodeFactory;
 import tools.jackson.databind.node.ObjectNode;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static com.fibonsai.xtratej.engine.strategy.Loader.SchemaKey.*;
 
 /**
  * Strategy loader V2
+ *
+ * <p>The shared sources and the named ledgers of the loaded strategies come from the {@link SourceRegistry} and the
+ * {@link LedgerRegistry} of the loader, so strategies loaded by one loader (e.g. {@link StrategyManager#loader()})
+ * share them and strategies of other owners never do.
  */
 public class Loader {
 
@@ -49,6 +67,7 @@ public class Loader {
         SOURCES("sources"),
         PUBLISHER("publisher"),
         PARAMS("params"),
+        SELECT("select"),
         RULE("rule"),
         INPUTS("inputs"),
         DESCRIPTION("description"),
@@ -65,67 +84,207 @@ public class Loader {
         }
     }
 
+    public enum Option {
+        /** Builds independent strategies concurrently. */
+        PARALLEL,
+        /** Defers building and wiring the rule graph of a strategy until its first source event. */
+        LAZY,
+        /** Shares one subscriber per source definition across the loader's strategies, see {@link SourceRegistry}. */
+        SHARED_SOURCES,
+    }
+
     private static final String UNDEF = "undef";
     private static final JsonNodeFactory NODE_FACTORY = JsonNodeFactory.instance;
     public static final JsonNode EMPTY_PARAMS = new ObjectNode(NODE_FACTORY, Map.of());
     public static final JsonNode EMPTY_ARRAY = new ArrayNode(NODE_FACTORY, List.of());
 
-    public static Map<String, IStrategy> fromJson(JsonNode json) {
+    private final SourceRegistry sourceRegistry;
+    private final LedgerRegistry ledgerRegistry;
+
+    /** A loader with registries of its own. */
+    public Loader() {
+        this(new SourceRegistry(), new LedgerRegistry());
+    }
+
+    public Loader(SourceRegistry sourceRegistry, LedgerRegistry ledgerRegistry) {
+        this.sourceRegistry = sourceRegistry;
+        this.ledgerRegistry = ledgerRegistry;
+    }
+
+    public SourceRegistry getSourceRegistry() {
+        return sourceRegistry;
+    }
+
+    public LedgerRegistry getLedgerRegistry() {
+        return ledgerRegistry;
+    }
+
+    /** Builds the strategies of {@code json} with a new {@link Loader}. */
+    public static Map<String, IStrategy> fromJson(JsonNode json, Option... options) {
+        return new Loader().load(json, options);
+    }
+
+    /**
+     * {@link #load(JsonNode, JsonNode, Map, Option...)} with a new {@link Loader}: the rebuilt strategies don't share
+     * the sources and named ledgers of the previous ones, use the loader of the previous strategies to keep them.
+     */
+    public static Map<String, IStrategy> reload(JsonNode previousJson, JsonNode json, Map<String, IStrategy> previous,
+                                                Option... options) {
+        return new Loader().load(previousJson, json, previous, options);
+    }
+
+    public Map<String, IStrategy> load(JsonNode json, Option... options) {
+        return load(EMPTY_PARAMS, json, Map.of(), options);
+    }
+
+    /**
+     * Builds the strategies of {@code json} against the live {@code previous} strategies loaded from
+     * {@code previousJson}. A strategy with an unchanged definition is returned as is; a changed one is
+     * rebuilt reusing the previous sources whose definition did not change and the rule subtrees whose
+     * definition and sources did not change, so they keep their connections and warmed-up state.
+     * Hand the result to {@link StrategyManager#reload(Map)} to swap it in.
+     */
+    public Map<String, IStrategy> load(JsonNode previousJson, JsonNode json, Map<String, IStrategy> previous,
+                                       Option... options) {
 
         final Map<String, IStrategy> strategiesMap = new HashMap<>();
+        final Set<Option> optionSet = options.length == 0 ? Set.of() : EnumSet.copyOf(List.of(options));
 
         if (json.isObject() && json.hasNonNull(STRATEGIES.key())) {
+            JsonNode previousStrategies = previousJson.isObject() && previousJson.hasNonNull(STRATEGIES.key())
+                    ? previousJson.get(STRATEGIES.key()) : EMPTY_PARAMS;
             Set<Map.Entry<String, JsonNode>> strategies = json.get(STRATEGIES.key()).properties();
-            for (var strategyEntry: strategies) {
-                String strategyName = strategyEntry.getKey();
-                String strategySymbol = UNDEF;
-                StrategyType strategyType = StrategyType.UNDEF;
-                JsonNode strategyJson = strategyEntry.getValue();
-                if (strategyJson.hasNonNull(SYMBOL.key()) && strategyJson.get(SYMBOL.key()).isString()) {
-                    strategySymbol = strategyJson.get(SYMBOL.key()).asString();
-                }
-                if (strategyJson.hasNonNull(TYPE.key()) && strategyJson.get(TYPE.key()).isString()) {
-                    String typeAsString = strategyJson.get(TYPE.key()).asString();
-                    strategyType = StrategyType.fromName(typeAsString);
-                }
-                IStrategy strategy = new Strategy(strategyName, strategySymbol, strategyType);
-
-                // sources
-                if (strategyJson.hasNonNull(SOURCES.key())) {
-                    Set<Map.Entry<String, JsonNode>> sources = strategyJson.get(SOURCES.key()).properties();
-                    for (var sourceEntry: sources) {
-                        String sourceName = sourceEntry.getKey();
-                        JsonNode sourceJson = sourceEntry.getValue();
-                        JsonNode sourceParams = EMPTY_PARAMS;
-                        SourceType sourceType = SourceType.UNDEF;
-                        String publisher = UNDEF;
-                        if (sourceJson.hasNonNull(TYPE.key()) && sourceJson.get(TYPE.key()).isString()) {
-                            sourceType = SourceType.fromName(sourceJson.get(TYPE.key()).asString());
-                        }
-                        if (sourceJson.hasNonNull(PUBLISHER.key()) && sourceJson.get(PUBLISHER.key()).isString()) {
-                            publisher = sourceJson.get(PUBLISHER.key()).asString();
-                        }
-                        if (sourceJson.hasNonNull(PARAMS.key())) {
-                            sourceParams = sourceJson.get(PARAMS.key());
-                        }
-                        strategy.addSource(sourceType, sourceName, publisher, sourceParams);
+            if (optionSet.contains(Option.PARALLEL)) {
+                final Map<String, Future<IStrategy>> futures = new LinkedHashMap<>();
+                try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                    for (var strategyEntry: strategies) {
+                        String strategyName = strategyEntry.getKey();
+                        futures.put(strategyName, executor.submit(() ->
+                                loadStrategy(strategyName, strategyEntry.getValue(), previousStrategies, previous, optionSet)));
                     }
                 }
+                futures.forEach((strategyName, future) -> strategiesMap.put(strategyName, join(future)));
+            } else {
+                for (var strategyEntry: strategies) {
+                    String strategyName = strategyEntry.getKey();
+                    strategiesMap.put(strategyName, loadStrategy(strategyName, strategyEntry.getValue(), previousStrategies, previous, optionSet));
+                }
+            }
+        }
+        return strategiesMap;
+    }
+
+    private IStrategy loadStrategy(String strategyName,
+                                   JsonNode strategyJson,
+                                   JsonNode previousStrategies,
+                                   Map<String, IStrategy> previous,
+                                   Set<Option> options) {
+        JsonNode previousStrategyJson = previousStrategies.get(strategyName);
+        IStrategy previousStrategy = previous.get(strategyName);
+        if (previousStrategy != null && strategyJson.equals(previousStrategyJson)) {
+            return previousStrategy;
+        }
+        return parseStrategy(strategyName, strategyJson, previousStrategyJson, previousStrategy, options);
+    }
+
+    private static IStrategy join(Future<IStrategy> future) {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private IStrategy parseStrategy(String strategyName,
+                                    JsonNode strategyJson,
+                                    @Nullable JsonNode previousJson,
+                                    @Nullable IStrategy previous,
+                                    Set<Option> options) {
+        String strategySymbol = UNDEF;
+        StrategyType strategyType = StrategyType.UNDEF;
+        if (strategyJson.hasNonNull(SYMBOL.key()) && strategyJson.get(SYMBOL.key()).isString()) {
+            strategySymbol = strategyJson.get(SYMBOL.key()).asString();
+        }
+        if (strategyJson.hasNonNull(TYPE.key()) && strategyJson.get(TYPE.key()).isString()) {
+            String typeAsString = strategyJson.get(TYPE.key()).asString();
+            strategyType = StrategyType.fromName(typeAsString);
+        }
+        IStrategy strategy = new Strategy(strategyName, strategySymbol, strategyType, sourceRegistry);
+        final RulePool rulePool = new RulePool();
 
-                // rule (recursive structure)
-                if (strategyJson.hasNonNull(RULE.key())) {
-                    JsonNode ruleAggregatorJson = strategyJson.get(RULE.key());
-                    RuleStream<?> ruleAggregator = parseRule(ruleAggregatorJson, strategy);
-                    strategy.setAggregatorRule(ruleAggregator);
+        // sources
+        if (strategyJson.hasNonNull(SOURCES.key())) {
+            JsonNode previousSources = previousJson != null && previousJson.hasNonNull(SOURCES.key())
+                    ? previousJson.get(SOURCES.key()) : EMPTY_PARAMS;
+            Set<Map.Entry<String, JsonNode>> sources = strategyJson.get(SOURCES.key()).properties();
+            for (var sourceEntry: sources) {
+                String sourceName = sourceEntry.getKey();
+                JsonNode sourceJson = sourceEntry.getValue();
+                Subscriber previousSource = previous != null ? previous.getSources().get(sourceName) : null;
+                if (previousSource != null && sourceJson.equals(previousSources.get(sourceName))) {
+                    sourceRegistry.retain(previousSource);
+                    strategy.addSource(sourceName, previousSource);
+                    rulePool.reusedSources.add(sourceName);
+                    continue;
+                }
+                JsonNode sourceParams = EMPTY_PARAMS;
+                SourceType sourceType = SourceType.UNDEF;
+                String publisher = UNDEF;
+                if (sourceJson.hasNonNull(TYPE.key()) && sourceJson.get(TYPE.key()).isString()) {
+                    sourceType = SourceType.fromName(sourceJson.get(TYPE.key()).asString());
+                }
+                if (sourceJson.hasNonNull(PUBLISHER.key()) && sourceJson.get(PUBLISHER.key()).isString()) {
+                    publisher = sourceJson.get(PUBLISHER.key()).asString();
+                }
+                if (sourceJson.hasNonNull(PARAMS.key())) {
+                    sourceParams = sourceJson.get(PARAMS.key());
+                }
+                if (sourceJson.hasNonNull(SELECT.key()) && sourceJson.get(SELECT.key()).isString()) {
+                    // one child of a demultiplexing source, e.g. one symbol of a wildcard NATS subscription
+                    String select = sourceJson.get(SELECT.key()).asString();
+                    strategy.addSource(sourceName, options.contains(Option.SHARED_SOURCES)
+                            ? sourceRegistry.acquire(sourceType, sourceName, publisher, sourceParams, select)
+                            : Demultiplexer.select(sourceType.create(sourceName, publisher, sourceParams), select));
+                } else if (options.contains(Option.SHARED_SOURCES)) {
+                    strategy.addSource(sourceName, sourceRegistry.acquire(sourceType, sourceName, publisher, sourceParams));
+                } else {
+                    strategy.addSource(sourceType, sourceName, publisher, sourceParams);
                 }
+            }
+        }
 
-                strategiesMap.put(strategyName, strategy);
+        // rule (recursive structure)
+        if (strategyJson.hasNonNull(RULE.key())) {
+            JsonNode ruleAggregatorJson = strategyJson.get(RULE.key());
+            if (options.contains(Option.LAZY)) {
+                strategy.setAggregatorRule(new LazyRule(strategy.getSources(),
+                        relays -> parseRule(ruleAggregatorJson, relays, new RulePool())));
+                return strategy;
             }
+            if (previous instanceof Strategy previousStrategy && !(previousStrategy.aggregator() instanceof LazyRule)
+                    && previousJson != null && previousJson.hasNonNull(RULE.key())) {
+                rulePool.index(previousJson.get(RULE.key()), previousStrategy.aggregator());
+            }
+            RuleStream<?> ruleAggregator = parseRule(ruleAggregatorJson, strategy.getSources(), rulePool);
+            strategy.setAggregatorRule(ruleAggregator);
         }
-        return strategiesMap;
+        return strategy;
     }
 
-    private static RuleStream<?> parseRule(JsonNode ruleJson, IStrategy strategy) {
+    private RuleStream<?> parseRule(JsonNode ruleJson,
+                                    Map<String, ? extends DirectFlux<TimeSeries>> sources,
+                                    RulePool rulePool) {
+        RuleStream<?> reused = rulePool.take(ruleJson);
+        if (reused != null) {
+            return reused;
+        }
+
         RuleType ruleType = RuleType.False;
         JsonNode ruleParams = EMPTY_PARAMS;
         String description = "";
@@ -151,25 +310,81 @@ public class Loader {
         RuleStream<?> ruleInstance = ruleType.build()
                 .setParams(ruleParams)
                 .setDescription(description);
+        if (ruleInstance instanceof LedgerRule ledgerRule) {
+            ledgerRule.setLedgerRegistry(ledgerRegistry);
+        }
 
         if (!inputs.isEmpty()) {
             JsonNode firstInput = inputs.get(0);
-            DirectFlux<TimeSeries>[] arrayOfFluxes = DirectFlux.createArray(inputs.size());
-            int counter = 0;
             if (firstInput != null && firstInput.isString()) {
+                DirectFlux<TimeSeries>[] arrayOfFluxes = DirectFlux.createArray(inputs.size());
+                int counter = 0;
                 for (var input : inputs) {
-                    Subscriber subscriber = strategy.getSources().get(input.asString());
-                    arrayOfFluxes[counter++] = subscriber != null ? subscriber : DirectFlux.empty();
+                    DirectFlux<TimeSeries> source = sources.get(input.asString());
+                    arrayOfFluxes[counter++] = source != null ? source : DirectFlux.empty();
                 }
+                ruleInstance.watch(DirectFlux.zip(arrayOfFluxes));
             } else {
+                List<RuleStream<?>> subRules = new ArrayList<>(inputs.size());
                 for (var input : inputs) {
-                    RuleStream<?> subRule = parseRule(input, strategy);
-                    arrayOfFluxes[counter++] = subRule.results();
+                    subRules.add(parseRule(input, sources, rulePool));
                 }
+                ruleInstance.watch(subRules);
             }
-            ruleInstance.watch(DirectFlux.zip(arrayOfFluxes));
         }
         return ruleInstance;
     }
 
+    /**
+     * Live rule instances of the previous version of a strategy, indexed by their JSON definition.
+     * A rule is reusable only if every source it reads (at any depth) was reused as well.
+     */
+    private static final class RulePool {
+
+        private final Set<String> reusedSources = new HashSet<>();
+        private final Map<JsonNode, Deque<RuleStream<?>>> rules = new HashMap<>();
+
+        void index(JsonNode ruleJson, RuleStream<?> rule) {
+            rules.computeIfAbsent(ruleJson, _ -> new ArrayDeque<>()).add(rule);
+            if (ruleJson.hasNonNull(INPUTS.key()) && ruleJson.get(INPUTS.key()).isArray()) {
+                JsonNode inputs = ruleJson.get(INPUTS.key());
+                List<RuleStream<?>> children = rule.children();
+                for (int i = 0; i < inputs.size() && i < children.size(); i++) {
+                    if (inputs.get(i).isObject()) {
+                        index(inputs.get(i), children.get(i));
+                    }
+                }
+            }
+        }
+
+        @Nullable RuleStream<?> take(JsonNode ruleJson) {
+            Deque<RuleStream<?>> candidates = rules.get(ruleJson);
+            if (candidates == null || candidates.isEmpty() || !readsReusedSourcesOnly(ruleJson)) {
+                return null;
+            }
+            RuleStream<?> rule = candidates.poll();
+            // the subtree comes along with its root: its rules can't be handed out again
+            rule.children().forEach(this::remove);
+            // deferred only if the new parent is short-circuit, which sets it again in watch
+            rule.setDeferred(false);
+            return rule;
+        }
+
+        private void remove(RuleStream<?> rule) {
+            rules.values().forEach(candidates -> candidates.removeIf(candidate -> candidate == rule));
+            rule.children().forEach(this::remove);
+        }
+
+        private boolean readsReusedSourcesOnly(JsonNode ruleJson) {
+            if (!ruleJson.hasNonNull(INPUTS.key()) || !ruleJson.get(INPUTS.key()).isArray()) {
+                return true;
+            }
+            for (var input : ruleJson.get(INPUTS.key())) {
+                if (input.isString() ? !reusedSources.contains(input.asString()) : !readsReusedSourcesOnly(input)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
 }
@@ -0,0 +1,217 @@
+/*
+ *  Copyright (c) 2026 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.xtratej.engine.strategy;
+
+import com.fibonsai.xtratej.event.series.dao.TradingSignal;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Asynchronous hand-off of the trading signals to the publisher. The evaluation threads only enqueue into
+ * a bounded queue and a single drainer takes up to {@code batchSize} signals at a time off the queue and hands
+ * them to the sink one by one, in submission order.
+ * What happens when the queue is full depends on the {@link OverflowPolicy}: by default the signal is dropped
+ * and counted, so evaluation never waits for a slow publisher.
+ *
+ * <p>With a coalescing window, a signal repeating the last queued one of the same strategy, symbol and
+ * direction less than the window later (in event time) is dropped before being queued.
+ */
+public class SignalPipeline implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(SignalPipeline.class);
+
+    public static final int DEFAULT_CAPACITY = 8192;
+    public static final int DEFAULT_BATCH_SIZE = 256;
+    private static final long POLL_MILLIS = 100;
+
+    public enum OverflowPolicy {
+        /** Drops the signal. */
+        DROP,
+        /** Waits for room in the queue while the pipeline runs: a slow publisher slows down the evaluation. */
+        BLOCK,
+    }
+
+    private record CoalesceKey(String strategyName, String pair, TradingSignal.Signal signal) {}
+
+    private final BlockingQueue<TradingSignal> queue;
+    private final int batchSize;
+    private final long coalesceWindowMillis;
+    private final OverflowPolicy overflowPolicy;
+    private final Map<CoalesceKey, Long> lastAccepted = new ConcurrentHashMap<>();
+
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+
+    private volatile boolean running = false;
+    private @Nullable Thread drainer = null;
+
+    public SignalPipeline() {
+        this(DEFAULT_CAPACITY, DEFAULT_BATCH_SIZE, Duration.ZERO);
+    }
+
+    /** A zero coalescing window disables coalescing. */
+    public SignalPipeline(int capacity, int batchSize, Duration coalesceWindow) {
+        this(capacity, batchSize, coalesceWindow, OverflowPolicy.DROP);
+    }
+
+    public SignalPipeline(int capacity, int batchSize, Duration coalesceWindow, OverflowPolicy overflowPolicy) {
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+        this.batchSize = Math.max(1, batchSize);
+        this.coalesceWindowMillis = Math.max(0, coalesceWindow.toMillis());
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    /** Starts the drainer publishing to the sink, does nothing if already started. */
+    public synchronized SignalPipeline start(Consumer<TradingSignal> sink) {
+        if (!running) {
+            running = true;
+            drainer = Thread.ofVirtual().name("signal-pipeline").start(() -> drain(sink));
+        }
+        return this;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    /** Queues the signal, returns false if it was dropped because the queue is full. */
+    public boolean submit(TradingSignal signal) {
+        if (coalesceWindowMillis == 0) {
+            return enqueue(signal);
+        }
+        final CoalesceKey key = new CoalesceKey(signal.strategyName(), signal.pair(), signal.signal());
+        final long timestamp = signal.timestamp();
+        while (true) {
+            Long last = lastAccepted.get(key);
+            if (last != null && timestamp >= last && timestamp - last < coalesceWindowMillis) {
+                coalesced.incrementAndGet();
+                return true;
+            }
+            if (last == null ? lastAccepted.putIfAbsent(key, timestamp) == null : lastAccepted.replace(key, last, timestamp)) {
+                if (enqueue(signal)) {
+                    return true;
+                }
+                // a dropped signal must not coalesce the next ones
+                if (last == null) {
+                    lastAccepted.remove(key, timestamp);
+                } else {
+                    lastAccepted.replace(key, timestamp, last);
+                }
+                return false;
+            }
+        }
+    }
+
+    private boolean enqueue(TradingSignal signal) {
+        if (queue.offer(signal)) {
+            return true;
+        }
+        if (overflowPolicy == OverflowPolicy.BLOCK) {
+            try {
+                while (running) {
+                    if (queue.offer(signal, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                        return true;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        long count = dropped.incrementAndGet();
+        // 1st, 2nd, 4th, 8th... drop, so a lasting overflow stays visible without flooding the log
+        if (Long.bitCount(count) == 1 || log.isDebugEnabled()) {
+            log.warn("signal queue full, {} signal of {} dropped, {} dropped so far",
+                    signal.signal(), signal.strategyName(), count);
+        }
+        return false;
+    }
+
+    private void drain(Consumer<TradingSignal> sink) {
+        final List<TradingSignal> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                TradingSignal first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                queue.drainTo(batch);
+                running = false;
+                if (batch.isEmpty()) {
+                    continue;
+                }
+            }
+            for (var signal : batch) {
+                try {
+                    sink.accept(signal);
+                } catch (Exception e) {
+                    log.error(e.getMessage(), e);
+                }
+            }
+            published.addAndGet(batch.size());
+            batch.clear();
+        }
+    }
+
+    /** Stops the drainer once the queued signals are published, waiting for it up to 10 seconds. */
+    @Override
+    public void close() {
+        final Thread thread;
+        synchronized (this) {
+            running = false;
+            thread = drainer;
+            drainer = null;
+        }
+        if (thread != null) {
+            try {
+                thread.join(Duration.ofSeconds(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    public int pending() {
+        return queue.size();
+    }
+
+    public long published() {
+        return published.get();
+    }
+
+    public long dropped() {
+        return dropped.get();
+    }
+
+    public long coalesced() {
+        return coalesced.get();
+    }
+}
@@ -14,20 +14,30 @@
 
 package com.fibonsai.xtratej.engine.strategy;
 
+import com.fibonsai.directflux.EventLoop;
 import com.fibonsai.xtratej.adapter.core.Subscriber;
-import com.fibonsai.xtratej.adapter.core.WithParams;
+import com.fibonsai.xtratej.engine.adapters.SourceRegistry;
 import com.fibonsai.xtratej.engine.adapters.SourceType;
 import com.fibonsai.xtratej.engine.rules.RuleStream;
 import com.fibonsai.xtratej.engine.rules.RuleType;
 import com.fibonsai.xtratej.engine.rules.impl.FalseRule;
 import com.fibonsai.xtratej.event.series.dao.TimeSeries;
+import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import tools.jackson.databind.JsonNode;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.Clock;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
@@ -38,16 +48,24 @@ public class Strategy implements IStrategy {
     private final String name;
     private final String symbol;
     private final StrategyType strategyType;
+    private final @Nullable SourceRegistry sourceRegistry;
 
     private RuleStream<? extends TimeSeries> aggregator = RuleType.False.build();
     private Runnable onSubscribe = () -> {};
 
     private final Map<String, Subscriber> sources = new HashMap<>();
+    private final List<Consumer<TimeSeries>> subscriptions = new CopyOnWriteArrayList<>();
 
     public Strategy(String name, String symbol, StrategyType strategyType) {
+        this(name, symbol, strategyType, null);
+    }
+
+    /** A strategy whose shared sources are held through {@code sourceRegistry}. */
+    public Strategy(String name, String symbol, StrategyType strategyType, @Nullable SourceRegistry sourceRegistry) {
         this.name = name;
         this.symbol = symbol;
         this.strategyType = strategyType;
+        this.sourceRegistry = sourceRegistry;
     }
 
     @Override
@@ -77,8 +95,13 @@ public class Strategy implements IStrategy {
 
     @Override
     public IStrategy addSource(Subscriber source) {
+        return addSource(source.name(), source);
+    }
+
+    @Override
+    public IStrategy addSource(String name, Subscriber source) {
         if (!isActivated()) {
-            sources.put(source.name(), source);
+            sources.put(name, source);
         }
         return this;
     }
@@ -91,11 +114,7 @@ public class Strategy implements IStrategy {
     @Override
     public IStrategy addSource(SourceType sourceType, String name, String publisher, JsonNode params) {
         if (!isActivated()) {
-            Subscriber subscriber = sourceType.builder().setName(name).setPublisher(publisher).build();
-            if (subscriber instanceof WithParams subscribeWithParams) {
-                subscribeWithParams.setParams(params);
-            }
-            addSource(subscriber);
+            addSource(sourceType.create(name, publisher, params));
         }
         return this;
     }
@@ -117,12 +136,100 @@ public class Strategy implements IStrategy {
 
     @Override
     public IStrategy subscribe(Consumer<TimeSeries> consumer) {
+        subscriptions.add(consumer);
         aggregator.results().onSubscribe(onSubscribe).subscribe(consumer);
         return this;
     }
 
+    public RuleStream<? extends TimeSeries> aggregator() {
+        return aggregator;
+    }
+
     @Override
     public Map<String, Subscriber> getSources() {
         return sources;
     }
+
+    @Override
+    public IStrategy dispatchOn(@Nullable EventLoop eventLoop) {
+        // a shared source also feeds strategies of other shards: it keeps its dispatch and the rules
+        // reading it hop onto the loop through their zipped inputs
+        sources.values().stream()
+                .filter(source -> !isShared(source))
+                .forEach(source -> source.dispatchOn(eventLoop));
+        aggregator.dispatchOn(eventLoop);
+        return this;
+    }
+
+    @Override
+    public IStrategy setClock(Clock clock) {
+        aggregator.setClock(clock);
+        return this;
+    }
+
+    @Override
+    public void snapshot(DataOutput out) throws IOException {
+        aggregator.snapshot(out);
+    }
+
+    @Override
+    public void restore(DataInput in) throws IOException {
+        aggregator.restore(in);
+        log.info("{} strategy: state restored", name());
+    }
+
+    @Override
+    public void close() {
+        release(identitySet(), identitySet());
+    }
+
+    @Override
+    public void close(IStrategy successor) {
+        Set<RuleStream<?>> keptRules = identitySet();
+        if (successor instanceof Strategy next) {
+            collect(next.aggregator, keptRules);
+        }
+        Set<Subscriber> keptSources = identitySet();
+        keptSources.addAll(successor.getSources().values());
+        release(keptRules, keptSources);
+    }
+
+    private void release(Set<RuleStream<?>> keptRules, Set<Subscriber> keptSources) {
+        subscriptions.forEach(aggregator.results()::unsubscribe);
+        subscriptions.clear();
+        release(aggregator, keptRules);
+        sources.values().forEach(source -> {
+            // every holder of a shared source owns one reference, the registry closes it with the last one
+            if ((sourceRegistry != null && sourceRegistry.release(source)) || keptSources.contains(source)) {
+                return;
+            }
+            if (source.isConnected()) {
+                source.disconnect();
+            }
+            source.close();
+        });
+        log.info("{} strategy: closed", name());
+    }
+
+    private boolean isShared(Subscriber source) {
+        return sourceRegistry != null && sourceRegistry.references(source) > 0;
+    }
+
+    private static void release(RuleStream<?> rule, Set<RuleStream<?>> keptRules) {
+        if (keptRules.contains(rule)) {
+            return;
+        }
+        var children = List.copyOf(rule.children());
+        rule.detach();
+        children.forEach(child -> release(child, keptRules));
+    }
+
+    private static void collect(RuleStream<?> rule, Set<RuleStream<?>> rules) {
+        rules.add(rule);
+        rule.children().forEach(child -> collect(child, rules));
+    }
+
+    private static <E> Set<E> identitySet() {
+        return Collections.newSetFromMap(new IdentityHashMap<>());
+    }
 }
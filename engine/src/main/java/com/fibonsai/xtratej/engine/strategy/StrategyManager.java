@@ -14,28 +14,63 @@
 
 package com.fibonsai.xtratej.engine.strategy;
 
+import com.fibonsai.directflux.EventLoop;
 import com.fibonsai.xtratej.adapter.core.Publisher;
+import com.fibonsai.xtratej.engine.adapters.SourceRegistry;
 import com.fibonsai.xtratej.engine.adapters.TargetType;
+import com.fibonsai.xtratej.engine.ledger.LedgerRegistry;
 import com.fibonsai.xtratej.event.series.dao.BooleanTimeSeries;
 import com.fibonsai.xtratej.event.series.dao.TradingSignal;
-import com.fibonsai.xtratej.event.series.dao.builders.BooleanTimeSeriesBuilder;
+import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 public class StrategyManager {
 
     private static final Logger log = LoggerFactory.getLogger(StrategyManager.class);
+
+    public static final int DEFAULT_SHARDS = Runtime.getRuntime().availableProcessors();
+    private static final int SNAPSHOT_MAGIC = 0x58534E50; // "XSNP"
+    private static final short SNAPSHOT_VERSION = 1;
+
     private final ReentrantReadWriteLock reentrantReadWriteLock = new ReentrantReadWriteLock();
     private final ReentrantReadWriteLock.ReadLock readLock = reentrantReadWriteLock.readLock();
     private final ReentrantReadWriteLock.WriteLock writeLock = reentrantReadWriteLock.writeLock();
 
     private final ArrayList<IStrategy> strategies = new ArrayList<>();
-    private Publisher publisher = TargetType.SIMULATED.builder().build();
+    private String name = super.toString();
+    private volatile Publisher publisher = TargetType.SIMULATED.builder().build();
+    private volatile @Nullable SignalPipeline signalPipeline = null;
+    private boolean sharded = false;
+    private int shards = DEFAULT_SHARDS;
+    private volatile EventLoop[] eventLoops = new EventLoop[0];
+    private volatile boolean running = false;
+    private @Nullable Path snapshotFile = null;
+    // signal emission switch of each started strategy, flipped atomically by replace/undeploy
+    private final Map<IStrategy, AtomicBoolean> gates = new ConcurrentHashMap<>();
+    private final SourceRegistry sourceRegistry = new SourceRegistry();
+    private final LedgerRegistry ledgerRegistry = new LedgerRegistry();
 
     public StrategyManager registerStrategy(IStrategy strategy) {
         writeLock.lock();
@@ -47,58 +82,425 @@ public class StrategyManager {
         return this;
     }
 
+    /** Name stamped as id on the emitted trading signals, the instance identity by default. */
+    public StrategyManager setName(String name) {
+        this.name = name;
+        return this;
+    }
+
+    public String getName() {
+        return name;
+    }
+
     public StrategyManager setPublisher(Publisher publisher) {
         this.publisher = publisher;
         return this;
     }
 
+    /**
+     * Publishes the signals asynchronously through the given pipeline instead of on the evaluation path,
+     * {@code null} (the default) publishes synchronously.
+     */
+    public StrategyManager setSignalPipeline(@Nullable SignalPipeline signalPipeline) {
+        this.signalPipeline = signalPipeline;
+        return this;
+    }
+
+    public @Nullable SignalPipeline getSignalPipeline() {
+        return signalPipeline;
+    }
+
+    /** Sources shared by this manager's strategies (see {@link Loader.Option#SHARED_SOURCES}). */
+    public SourceRegistry getSourceRegistry() {
+        return sourceRegistry;
+    }
+
+    /** Named ledgers shared by the rules of this manager's strategies. */
+    public LedgerRegistry getLedgerRegistry() {
+        return ledgerRegistry;
+    }
+
+    /** A loader building strategies that share the registries of this manager. */
+    public Loader loader() {
+        return new Loader(sourceRegistry, ledgerRegistry);
+    }
+
     public ArrayList<IStrategy> getStrategies() {
-        return strategies;
+        readLock.lock();
+        try {
+            return new ArrayList<>(strategies);
+        } finally {
+            readLock.unlock();
+        }
     }
 
-    public boolean run() {
+    /**
+     * Sharded mode: strategies are partitioned by symbol onto {@link #setShards(int)} single-threaded
+     * event loops, and the sources, rules and signal emission of one symbol all run on its loop.
+     * This gives a strict per-symbol ordering and keeps a symbol's state on one thread. Sources shared
+     * between strategies (see {@link Loader.Option#SHARED_SOURCES}) keep their own dispatch, the rules
+     * reading them still run on the loop.
+     */
+    public StrategyManager setSharded(boolean sharded) {
+        this.sharded = sharded;
+        return this;
+    }
+
+    public boolean isSharded() {
+        return sharded;
+    }
+
+    /** Number of event loops in sharded mode, {@link #DEFAULT_SHARDS} (core count) by default. */
+    public StrategyManager setShards(int shards) {
+        this.shards = Math.max(1, shards);
+        return this;
+    }
+
+    public int getShards() {
+        return shards;
+    }
+
+    /** The loop evaluating the given symbol, or null if not sharded or not running. */
+    public @Nullable EventLoop eventLoopOf(String symbol) {
+        EventLoop[] loops = eventLoops;
+        return loops.length == 0 ? null : loops[Math.floorMod(symbol.hashCode(), loops.length)];
+    }
+
+    /**
+     * Warm restart file: {@link #run()} restores the strategies from it when it exists and {@link #shutdown()}
+     * saves them to it. {@code null} (the default) starts cold.
+     */
+    public StrategyManager setSnapshotFile(@Nullable Path snapshotFile) {
+        this.snapshotFile = snapshotFile;
+        return this;
+    }
+
+    public @Nullable Path getSnapshotFile() {
+        return snapshotFile;
+    }
+
+    /**
+     * Saves the rule state of every strategy, by name, to a binary file. The file is written aside and
+     * moved into place, so a reader never sees a partial snapshot.
+     */
+    public void snapshot(Path file) throws IOException {
+        final Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        final int count;
+        readLock.lock();
+        try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeShort(SNAPSHOT_VERSION);
+            count = strategies.size();
+            out.writeInt(count);
+            for (var strategy : strategies) {
+                ByteArrayOutputStream state = new ByteArrayOutputStream();
+                strategy.snapshot(new DataOutputStream(state));
+                out.writeUTF(strategy.name());
+                out.writeInt(state.size());
+                state.writeTo(out);
+            }
+        } finally {
+            readLock.unlock();
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        log.info("{} strategies saved to {}", count, file);
+    }
+
+    /**
+     * Restores the strategies saved by {@link #snapshot(Path)} into the registered strategies of the same name,
+     * which must be built from the same definition. A strategy whose snapshot does not fit is logged and keeps
+     * the state it had. Call before {@link #run()}.
+     *
+     * @return the number of strategies restored
+     */
+    public int restore(Path file) throws IOException {
+        final Map<String, ArrayDeque<byte[]>> states = new HashMap<>();
+        try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readShort() != SNAPSHOT_VERSION) {
+                throw new IOException(file + " is not a strategy snapshot");
+            }
+            int count = in.readInt();
+            for (int x = 0; x < count; x++) {
+                String strategyName = in.readUTF();
+                byte[] state = new byte[in.readInt()];
+                in.readFully(state);
+                states.computeIfAbsent(strategyName, _ -> new ArrayDeque<>()).add(state);
+            }
+        }
+        int restored = 0;
         readLock.lock();
-        if (strategies.isEmpty()) {
+        try {
+            for (var strategy : strategies) {
+                ArrayDeque<byte[]> saved = states.get(strategy.name());
+                byte[] state = saved == null ? null : saved.poll();
+                if (state == null) {
+                    continue;
+                }
+                if (restore(strategy, state)) {
+                    restored++;
+                }
+            }
+        } finally {
+            readLock.unlock();
+        }
+        return restored;
+    }
+
+    /** Restores one strategy, or puts its previous state back if the snapshot does not fit. */
+    private static boolean restore(IStrategy strategy, byte[] state) {
+        final ByteArrayOutputStream previous = new ByteArrayOutputStream();
+        try {
+            strategy.snapshot(new DataOutputStream(previous));
+        } catch (IOException e) {
+            log.warn("{} strategy: snapshot not restored, current state not saved: {}", strategy.name(), e.getMessage());
+            return false;
+        }
+        try {
+            var in = new DataInputStream(new ByteArrayInputStream(state));
+            strategy.restore(in);
+            if (in.available() > 0) {
+                throw new IOException(in.available() + " bytes of the snapshot left over");
+            }
+            return true;
+        } catch (IOException | RuntimeException e) {
+            log.warn("{} strategy: snapshot not restored: {}", strategy.name(), e.getMessage());
+        }
+        try {
+            strategy.restore(new DataInputStream(new ByteArrayInputStream(previous.toByteArray())));
+        } catch (IOException e) {
+            log.error("{} strategy: previous state not restored: {}", strategy.name(), e.getMessage(), e);
+        }
+        return false;
+    }
+
+    /** Stops the shard event loops and flushes the signal pipeline, then saves the snapshot file if set. */
+    public void shutdown() {
+        final Path file = snapshotFile;
+        if (file != null && running) {
+            try {
+                snapshot(file);
+            } catch (IOException e) {
+                log.error("snapshot not saved to {}: {}", file, e.getMessage(), e);
+            }
+        }
+        writeLock.lock();
+        try {
+            if (signalPipeline != null) {
+                signalPipeline.close();
+            }
+            for (var eventLoop : eventLoops) {
+                eventLoop.close();
+            }
+            eventLoops = new EventLoop[0];
+            running = false;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void startEventLoops() {
+        if (sharded && eventLoops.length == 0) {
+            EventLoop[] loops = new EventLoop[shards];
+            for (int i = 0; i < shards; i++) {
+                loops[i] = new EventLoop("strategy-shard-" + i);
+            }
+            eventLoops = loops;
+        }
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public boolean run() {
+        final Path file = snapshotFile;
+        if (file != null && Files.exists(file)) {
+            try {
+                log.info("{} strategies restored from {}", restore(file), file);
+            } catch (IOException e) {
+                log.error("snapshot not restored from {}, starting cold: {}", file, e.getMessage(), e);
+            }
+        }
+        final List<IStrategy> toStart;
+        writeLock.lock();
+        try {
+            startEventLoops();
+            if (signalPipeline != null) {
+                signalPipeline.start(signal -> publisher.emitNext(signal));
+            }
+            running = true;
+            // taken with running set, so a strategy deployed from now on is started by deploy only
+            toStart = List.copyOf(strategies);
+        } finally {
+            writeLock.unlock();
+        }
+        if (toStart.isEmpty()) {
             return false;
         }
+        // waiting outside the lock, so deploy, undeploy and replace are not held up by slow starts
+        CountDownLatch latch = new CountDownLatch(toStart.size());
+        toStart.forEach(strategy -> Thread.startVirtualThread(() -> start(strategy, latch, true)));
         try {
-            CountDownLatch latch = new CountDownLatch(strategies.size());
-            strategies.forEach(strategy -> {
-                final String strategyName = strategy.name();
-                final String strategyPair = strategy.symbol();
-                final String strategyPublishers = String.join("#", strategy.publishers());
-                final TradingSignal.Signal signalType = switch (strategy.strategyType()) {
-                    case ENTER -> TradingSignal.Signal.ENTER;
-                    case EXIT -> TradingSignal.Signal.EXIT;
-                    default -> TradingSignal.Signal.UNDEF;
-                };
-
-                Thread.startVirtualThread(() -> {
-                    log.info("Executing {} strategy", strategyName);
-                    strategy.onSubscribe(latch::countDown).subscribe(timeSeries -> {
-                        var result = switch (timeSeries) {
-                            case BooleanTimeSeries ts when ts.size() > 0 -> new BooleanTimeSeriesBuilder().add(ts.timestamp(), ts.values()[ts.size() - 1]).build();
-                            case BooleanTimeSeries booleanTimeSeries -> booleanTimeSeries;
-                            default -> new BooleanTimeSeriesBuilder().add(0, false).build();
-                        };
-                        long timestamp;
-                        if ((timestamp = result.timestamp()) > 0 && result.values()[result.size() - 1]) {
-                            if (log.isDebugEnabled()) {
-                                log.debug("[{}] Strategy {}: Send trading signal", timestamp, strategyName);
-                            }
-                            var tradingSignal = new TradingSignal(toString(), timestamp, signalType, strategyName, strategyPair, strategyPublishers);
-                            publisher.emitNext(tradingSignal);
-                        }
-                    });
-                });
-            });
             return latch.await(10, TimeUnit.SECONDS);
         } catch (InterruptedException e) {
             log.error(e.getMessage(), e);
             return false;
+        }
+    }
+
+    /**
+     * Adds a strategy; if the manager is already running it is wired and started right away,
+     * the other strategies are not touched.
+     */
+    public boolean deploy(IStrategy strategy) {
+        writeLock.lock();
+        try {
+            strategies.add(strategy);
+            if (!running) {
+                return true;
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        return startAndWait(strategy, true);
+    }
+
+    /** Stops emitting the signals of the named strategy, removes it and closes its rules and sources. */
+    public boolean undeploy(String name) {
+        final IStrategy strategy;
+        writeLock.lock();
+        try {
+            int index = indexOf(name);
+            if (index < 0) {
+                return false;
+            }
+            strategy = strategies.remove(index);
+            var gate = gates.remove(strategy);
+            if (gate != null) {
+                gate.set(false);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        strategy.close();
+        log.info("{} strategy undeployed", name);
+        return true;
+    }
+
+    /**
+     * Swaps the strategy with the same name for the given one (e.g. a new version from {@link Loader#fromJson}).
+     * The new strategy is wired and started first, then the signal emission switches over in one step
+     * and the old strategy is closed, so no signal is emitted by both or lost in between.
+     * Deploys the strategy if there is none with that name.
+     */
+    public boolean replace(IStrategy strategy) {
+        readLock.lock();
+        try {
+            if (strategies.stream().anyMatch(deployed -> deployed == strategy)) {
+                return true;
+            }
         } finally {
             readLock.unlock();
         }
+        if (running && !startAndWait(strategy, false)) {
+            log.warn("{} strategy: replacement not started", strategy.name());
+        }
+        final @Nullable IStrategy previous;
+        writeLock.lock();
+        try {
+            int index = indexOf(strategy.name());
+            if (index < 0) {
+                strategies.add(strategy);
+                previous = null;
+            } else {
+                previous = strategies.set(index, strategy);
+                var previousGate = gates.remove(previous);
+                if (previousGate != null) {
+                    previousGate.set(false);
+                }
+            }
+            var gate = gates.get(strategy);
+            if (gate != null) {
+                gate.set(true);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        if (previous != null) {
+            previous.close(strategy);
+            log.info("{} strategy replaced", strategy.name());
+        }
+        return previous != null;
+    }
+
+    /**
+     * Applies a reloaded set of strategies (see {@link Loader#reload}): strategies missing from it are
+     * undeployed, new instances replace the deployed ones of the same name, unchanged instances are left alone.
+     */
+    public StrategyManager reload(Map<String, IStrategy> reloaded) {
+        getStrategies().stream()
+                .map(IStrategy::name)
+                .filter(name -> !reloaded.containsKey(name))
+                .forEach(this::undeploy);
+        reloaded.values().forEach(this::replace);
+        return this;
+    }
+
+    private int indexOf(String name) {
+        for (int i = 0; i < strategies.size(); i++) {
+            if (name.equals(strategies.get(i).name())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private boolean startAndWait(IStrategy strategy, boolean emitting) {
+        CountDownLatch latch = new CountDownLatch(1);
+        start(strategy, latch, emitting);
+        try {
+            return latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            log.error(e.getMessage(), e);
+            return false;
+        }
+    }
+
+    private void start(IStrategy strategy, CountDownLatch latch, boolean emitting) {
+        final String strategyName = strategy.name();
+        final String strategyPair = strategy.symbol();
+        final String strategyPublishers = String.join("#", strategy.publishers());
+        final TradingSignal.Signal signalType = switch (strategy.strategyType()) {
+            case ENTER -> TradingSignal.Signal.ENTER;
+            case EXIT -> TradingSignal.Signal.EXIT;
+            default -> TradingSignal.Signal.UNDEF;
+        };
+        final AtomicBoolean gate = new AtomicBoolean(emitting);
+        gates.put(strategy, gate);
+
+        if (sharded) {
+            strategy.dispatchOn(eventLoopOf(strategyPair));
+        }
+        log.info("Executing {} strategy", strategyName);
+        strategy.onSubscribe(latch::countDown).subscribe(timeSeries -> {
+            if (!gate.get()) {
+                return;
+            }
+            long timestamp;
+            if (timeSeries instanceof BooleanTimeSeries ts && ts.size() > 0
+                    && (timestamp = ts.timestamp()) > 0 && ts.values()[ts.size() - 1]) {
+                if (log.isDebugEnabled()) {
+                    log.debug("[{}] Strategy {}: Send trading signal", timestamp, strategyName);
+                }
+                var tradingSignal = new TradingSignal(name, timestamp, signalType, strategyName, strategyPair, strategyPublishers);
+                final SignalPipeline pipeline = signalPipeline;
+                if (pipeline != null) {
+                    pipeline.submit(tradingSignal);
+                } else {
+                    publisher.emitNext(tradingSignal);
+                }
+            }
+        });
     }
 
 }
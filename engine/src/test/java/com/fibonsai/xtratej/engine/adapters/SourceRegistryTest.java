@@ -0,0 +1,102 @@
+/*
+ *  Copyright (c) 2026 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.xtratej.engine.adapters;
+
+import com.fibonsai.xtratej.adapter.core.Subscriber;
+import com.fibonsai.xtratej.engine.strategy.Loader;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SourceRegistryTest {
+
+    private final SourceRegistry registry = new SourceRegistry();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void acquire_sameDefinition_sharesSubscriber() {
+        Subscriber first = registry.acquire(SourceType.SIMULATED, "a", "test", Loader.EMPTY_PARAMS);
+        Subscriber second = registry.acquire(SourceType.SIMULATED, "b", "test", objectMapper.readValue("{}", JsonNode.class));
+
+        assertSame(first, second);
+        assertEquals("a", second.name());
+        assertEquals(2, registry.references(first));
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    void acquire_differentDefinition_buildsNewSubscriber() {
+        Subscriber first = registry.acquire(SourceType.SIMULATED, "a", "test", Loader.EMPTY_PARAMS);
+        Subscriber otherPublisher = registry.acquire(SourceType.SIMULATED, "a", "other", Loader.EMPTY_PARAMS);
+        Subscriber otherParams = registry.acquire(SourceType.SIMULATED, "a", "test",
+                objectMapper.readValue("{\"topics\": [\"x\"]}", JsonNode.class));
+
+        assertNotSame(first, otherPublisher);
+        assertNotSame(first, otherParams);
+        assertEquals(3, registry.size());
+    }
+
+    @Test
+    void release_lastReference_closesSubscriber() {
+        Subscriber subscriber = registry.acquire(SourceType.SIMULATED, "a", "test", Loader.EMPTY_PARAMS);
+        assertTrue(registry.retain(subscriber));
+
+        assertTrue(registry.release(subscriber));
+        assertFalse(subscriber.isClosed());
+        assertTrue(registry.release(subscriber));
+        assertTrue(subscriber.isClosed());
+        assertEquals(0, registry.size());
+        assertNotSame(subscriber, registry.acquire(SourceType.SIMULATED, "a", "test", Loader.EMPTY_PARAMS));
+    }
+
+    @Test
+    void release_unknownSubscriber_returnsFalse() {
+        Subscriber subscriber = SourceType.SIMULATED.builder().setName("a").setPublisher("test").build();
+
+        assertFalse(registry.release(subscriber));
+        assertFalse(registry.retain(subscriber));
+        assertFalse(subscriber.isClosed());
+    }
+
+    @Test
+    void acquire_select_sharesParentAcrossChildren() {
+        JsonNode params = objectMapper.readValue("[{\"topics\": [\"ticks.>\"]}]", JsonNode.class);
+
+        Subscriber btc = registry.acquire(SourceType.NATS, "btc", "feed", params, "BTC");
+        Subscriber eth = registry.acquire(SourceType.NATS, "eth", "feed", params, "ETH");
+
+        assertNotSame(btc, eth);
+        assertSame(btc, registry.acquire(SourceType.NATS, "btc2", "feed", params, "BTC"));
+        assertEquals(1, registry.size());
+        assertEquals(3, registry.references(eth));
+
+        assertTrue(registry.release(btc));
+        assertTrue(registry.release(btc));
+        assertFalse(eth.isClosed());
+        assertTrue(registry.release(eth));
+        assertTrue(eth.isClosed());
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    void acquire_select_onPlainSource_failsWithoutLeaking() {
+        assertThrows(IllegalArgumentException.class,
+                () -> registry.acquire(SourceType.SIMULATED, "a", "test", Loader.EMPTY_PARAMS, "BTC"));
+
+        assertEquals(0, registry.size());
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ *  Copyright (c) 2026 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.xtratej.engine.ledger;
+
+import com.fibonsai.xtratej.event.series.dao.MyOrdersTimeSeries;
+import com.fibonsai.xtratej.event.series.dao.MyOrdersTimeSeries.BidAskSide;
+import com.fibonsai.xtratej.event.series.dao.MyOrdersTimeSeries.TradeState;
+import com.fibonsai.xtratej.event.series.dao.builders.MyOrdersTimeSeriesBuilder;
+import com.fibonsai.xtratej.event.series.dao.tools.SeriesCursor;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.fibonsai.xtratej.event.series.dao.MyOrdersTimeSeries.BidAskSide.ASK;
+import static com.fibonsai.xtratej.event.series.dao.MyOrdersTimeSeries.BidAskSide.BID;
+import static org.junit.jupiter.api.Assertions.*;
+
+class PositionLedgerTest {
+
+    private static MyOrdersTimeSeriesBuilder add(MyOrdersTimeSeriesBuilder builder, long timestamp, String symbol, BidAskSide side, double price, double amount) {
+        return builder.add(timestamp, "order" + timestamp, symbol, side, "OWNER", TradeState.FILLED, MyOrdersTimeSeries.OrderType.MARKET,
+                0.0, price, Double.NaN, Double.NaN, Double.NaN, Double.NaN, amount, amount, MyOrdersTimeSeries.OrderCondition.GOOD_TIL_CANCELED, "");
+    }
+
+    @Test
+    void update_roundTripsGainsAndLosses() {
+        var builder = new MyOrdersTimeSeriesBuilder().setId("id");
+        add(builder, 1000L, "SYMBOL", BID, 100.0, 1.0);
+        add(builder, 2000L, "SYMBOL", ASK, 120.0, 1.0);
+        add(builder, 3000L, "SYMBOL", BID, 100.0, 1.0);
+        add(builder, 4000L, "SYMBOL", ASK, 70.0, 1.0);
+        add(builder, 5000L, "SYMBOL", BID, 100.0, 2.0);
+
+        PositionLedger ledger = new PositionLedger();
+        assertEquals(5, ledger.update(builder.build(), e -> fail(e)));
+
+        assertEquals(2, ledger.roundTrips());
+        assertEquals(1, ledger.gains());
+        assertEquals(1, ledger.losses());
+        assertEquals(-5.0, ledger.roundTripMean(), 1e-9);
+        assertTrue(ledger.hasOpenPosition());
+        assertEquals(2.0, ledger.position("SYMBOL", "OWNER").openAmount(), 1e-9);
+    }
+
+    @Test
+    void update_fullHistoryConsumesOnlyNewOrders() {
+        var builder = new MyOrdersTimeSeriesBuilder().setId("id");
+        PositionLedger ledger = new PositionLedger();
+
+        add(builder, 1000L, "SYMBOL", BID, 100.0, 1.0);
+        assertEquals(1, ledger.update(builder.build(), e -> fail(e)));
+        add(builder, 2000L, "SYMBOL", ASK, 110.0, 1.0);
+        add(builder, 2000L, "OTHER", BID, 10.0, 1.0);
+        assertEquals(2, ledger.update(builder.build(), e -> fail(e)));
+        assertEquals(0, ledger.update(builder.build(), e -> fail(e)));
+        add(builder, 3000L, "OTHER", ASK, 12.0, 1.0);
+        assertEquals(1, ledger.update(builder.build(), e -> fail(e)));
+
+        assertEquals(2, ledger.roundTrips());
+        assertEquals(2, ledger.gains());
+        assertEquals(6.0, ledger.roundTripMean(), 1e-9);
+        assertFalse(ledger.hasOpenPosition());
+    }
+
+    @Test
+    void update_deltasGiveSameStateAsFullHistory() {
+        var builder = new MyOrdersTimeSeriesBuilder().setId("id");
+        PositionLedger deltas = new PositionLedger(SeriesCursor.Mode.DELTA);
+        double[] prices = {100.0, 110.0, 100.0, 95.0, 90.0, 130.0};
+        for (int x = 0; x < prices.length; x++) {
+            BidAskSide side = x % 2 == 0 ? BID : ASK;
+            add(builder, 1000L * (x + 1), "SYMBOL", side, prices[x], 1.0);
+            deltas.update(add(new MyOrdersTimeSeriesBuilder().setId("id"), 1000L * (x + 1), "SYMBOL", side, prices[x], 1.0).build(), e -> fail(e));
+        }
+        PositionLedger full = new PositionLedger();
+        full.update(builder.build(), e -> fail(e));
+
+        assertEquals(full.roundTrips(), deltas.roundTrips());
+        assertEquals(full.roundTripMean(), deltas.roundTripMean(), 1e-9);
+        assertEquals(full.roundTripStandardDeviation(), deltas.roundTripStandardDeviation(), 1e-9);
+    }
+
+    @Test
+    void update_sellingMoreThanHeld_reportsErrorAndOversold() {
+        var builder = new MyOrdersTimeSeriesBuilder().setId("id");
+        add(builder, 1000L, "SYMBOL", BID, 100.0, 1.0);
+        add(builder, 2000L, "SYMBOL", ASK, 100.0, 2.0);
+
+        List<RuntimeException> errors = new ArrayList<>();
+        PositionLedger ledger = new PositionLedger();
+        ledger.update(builder.build(), errors::add);
+
+        assertEquals(1, errors.size());
+        assertTrue(ledger.isOversold());
+        assertFalse(ledger.hasOpenPosition());
+    }
+
+    @Test
+    void registry_sameNameSameLedger() {
+        LedgerRegistry registry = new LedgerRegistry();
+        assertSame(registry.ledger("account"), registry.ledger("account"));
+        assertNotSame(registry.ledger("account"), registry.ledger("other"));
+        assertNotSame(registry.ledger("account"), new LedgerRegistry().ledger("account"), "Registries don't share ledgers");
+
+        registry.release("account");
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    void writeTo_readFrom_restoresState() throws IOException {
+        var builder = new MyOrdersTimeSeriesBuilder().setId("id");
+        add(builder, 1000L, "SYMBOL", BID, 100.0, 1.0);
+        add(builder, 2000L, "SYMBOL", ASK, 120.0, 1.0);
+        add(builder, 3000L, "SYMBOL", BID, 100.0, 1.0);
+        PositionLedger ledger = new PositionLedger();
+        ledger.update(builder.build(), e -> fail(e));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ledger.writeTo(new DataOutputStream(bytes));
+        PositionLedger restored = new PositionLedger().readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertEquals(1, restored.roundTrips());
+        assertEquals(20.0, restored.roundTripMean(), 1e-9);
+        assertTrue(restored.hasOpenPosition());
+        // the cursor is restored too: the full history only feeds the new order
+        add(builder, 4000L, "SYMBOL", ASK, 90.0, 1.0);
+        assertEquals(1, restored.update(builder.build(), e -> fail(e)));
+        assertEquals(1, restored.losses());
+        assertFalse(restored.hasOpenPosition());
+    }
+
+    @Test
+    void update_deltaMode_ordersAtTheSameTimestampAllCount() {
+        var bid = add(new MyOrdersTimeSeriesBuilder().setId("id"), 1000L, "SYMBOL", BID, 100.0, 1.0).build();
+        var ask = add(new MyOrdersTimeSeriesBuilder().setId("id"), 1000L, "SYMBOL", ASK, 120.0, 1.0).build();
+
+        PositionLedger deltas = new PositionLedger(SeriesCursor.Mode.DELTA);
+        assertEquals(1, deltas.update(bid, e -> fail(e)));
+        assertEquals(1, deltas.update(ask, e -> fail(e)));
+        assertEquals(1, deltas.gains());
+        assertFalse(deltas.hasOpenPosition());
+
+        PositionLedger history = new PositionLedger();
+        history.update(bid, e -> fail(e));
+        assertEquals(0, history.update(ask, e -> fail(e)), "A history series at the same timestamp holds no new order");
+    }
+
+    @Test
+    void update_twoStreams_eachHasItsOwnCursor() {
+        var first = new MyOrdersTimeSeriesBuilder().setId("first");
+        var second = new MyOrdersTimeSeriesBuilder().setId("second");
+        add(first, 5000L, "SYMBOL", BID, 100.0, 1.0);
+        add(second, 1000L, "OTHER", BID, 10.0, 1.0);
+        add(second, 2000L, "OTHER", ASK, 12.0, 1.0);
+
+        PositionLedger ledger = new PositionLedger();
+        assertEquals(1, ledger.update(first.build(), e -> fail(e)));
+        assertEquals(2, ledger.update(second.build(), e -> fail(e)), "Earlier orders of another stream are new");
+        assertEquals(0, ledger.update(second.build(), e -> fail(e)));
+
+        assertEquals(1, ledger.gains());
+        assertTrue(ledger.position("SYMBOL", "OWNER").isOpen());
+    }
+}
@@ -16,6 +16,8 @@
 package com.fibonsai.xtratej.engine.rules.impl;
 
 import com.fibonsai.directflux.DirectFlux;
+import com.fibonsai.xtratej.engine.rules.DeferredTimeSeries;
+import com.fibonsai.xtratej.engine.rules.RuleStream;
 import com.fibonsai.xtratej.event.series.dao.BooleanTimeSeries;
 import com.fibonsai.xtratej.event.series.dao.TimeSeries;
 import com.fibonsai.xtratej.event.series.dao.builders.BooleanTimeSeriesBuilder;
@@ -25,6 +27,9 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.MockitoAnnotations;
 
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -126,4 +131,130 @@ class AndRuleTest {
         assertTrue(result[0].values()[0]);
         assertEquals(100L, result[0].timestamp());
     }
+
+    private RuleStream<BooleanTimeSeries> countingRule(AtomicInteger counter, boolean value, long costMillis) {
+        RuleStream<BooleanTimeSeries> rule = new RuleStream<>() {
+            @Override
+            public boolean isStateless() {
+                return true;
+            }
+
+            @Override
+            protected Function<TimeSeries[], BooleanTimeSeries[]> predicate() {
+                return timeSeriesArray -> {
+                    counter.incrementAndGet();
+                    try {
+                        Thread.sleep(costMillis);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return BooleanTimeSeriesBuilder.toSingleArray(timeSeriesArray[0].timestamp(), value);
+                };
+            }
+        };
+        rule.watch(new DirectFlux<>());
+        return rule;
+    }
+
+    @Test
+    void predicate_shortCircuit_stopsAtFirstFalse() {
+        AtomicInteger firstCounter = new AtomicInteger();
+        AtomicInteger secondCounter = new AtomicInteger();
+        RuleStream<BooleanTimeSeries> first = countingRule(firstCounter, false, 0);
+        RuleStream<BooleanTimeSeries> second = countingRule(secondCounter, true, 0);
+
+        AndRule rule = new AndRule();
+        rule.setShortCircuit(true).setReorderInterval(0);
+        rule.watch(List.of(first, second));
+
+        TimeSeries[] sources = { createBooleanSeries("s1", 100L, true) };
+        TimeSeries[] input = { new DeferredTimeSeries(first, sources), new DeferredTimeSeries(second, sources) };
+        BooleanTimeSeries[] result = rule.predicate().apply(input);
+
+        assertTrue(first.isDeferred());
+        assertTrue(second.isDeferred());
+        assertFalse(result[0].values()[0]);
+        assertEquals(100L, result[0].timestamp());
+        assertEquals(1, firstCounter.get());
+        assertEquals(0, secondCounter.get(), "second child must not be evaluated");
+    }
+
+    @Test
+    void predicate_shortCircuit_reordersDecisiveChildFirst() {
+        AtomicInteger alwaysTrueCounter = new AtomicInteger();
+        AtomicInteger alwaysFalseCounter = new AtomicInteger();
+        RuleStream<BooleanTimeSeries> alwaysTrue = countingRule(alwaysTrueCounter, true, 1);
+        RuleStream<BooleanTimeSeries> alwaysFalse = countingRule(alwaysFalseCounter, false, 0);
+
+        AndRule rule = new AndRule();
+        rule.setShortCircuit(true).setReorderInterval(10);
+        rule.watch(List.of(alwaysTrue, alwaysFalse));
+
+        TimeSeries[] sources = { createBooleanSeries("s1", 100L, true) };
+        for (int x = 0; x < 20; x++) {
+            TimeSeries[] input = { new DeferredTimeSeries(alwaysTrue, sources), new DeferredTimeSeries(alwaysFalse, sources) };
+            BooleanTimeSeries[] result = rule.predicate().apply(input);
+            assertFalse(result[0].values()[0]);
+        }
+
+        assertArrayEquals(new int[] {1, 0}, rule.getEvaluationOrder());
+        assertEquals(20, alwaysFalseCounter.get());
+        assertEquals(10, alwaysTrueCounter.get(), "after reorder the always true child is skipped");
+        List<ShortCircuitRule.ChildProfile> profiles = rule.getProfiles();
+        assertEquals(1, profiles.getFirst().index());
+        assertEquals(20, profiles.getFirst().evaluations());
+    }
+
+    @Test
+    void predicate_withoutShortCircuit_evaluatesEveryInput() {
+        TimeSeries series1 = createBooleanSeries("s1", 100L, false);
+        TimeSeries series2 = createBooleanSeries("s2", 105L, true);
+        TimeSeries[] input = {series1, series2};
+
+        BooleanTimeSeries[] result = andRule.predicate().apply(input);
+
+        assertFalse(andRule.isShortCircuit());
+        assertFalse(result[0].values()[0]);
+        assertEquals(105L, result[0].timestamp());
+        assertEquals(0, andRule.getEvaluationOrder().length);
+    }
+
+    @Test
+    void shortCircuit_keepsFeedingStatefulChildBehindDecisiveSibling() throws InterruptedException {
+        AtomicInteger decisiveCounter = new AtomicInteger();
+        AtomicInteger statefulCounter = new AtomicInteger();
+        RuleStream<BooleanTimeSeries> decisive = countingRule(decisiveCounter, false, 0);
+        RuleStream<BooleanTimeSeries> stateful = new RuleStream<>() {
+            @Override
+            protected Function<TimeSeries[], BooleanTimeSeries[]> predicate() {
+                return timeSeriesArray -> {
+                    statefulCounter.incrementAndGet();
+                    return BooleanTimeSeriesBuilder.toSingleArray(timeSeriesArray[0].timestamp(), true);
+                };
+            }
+        };
+        DirectFlux<TimeSeries[]> feed = new DirectFlux<>();
+        stateful.watch(feed);
+
+        AndRule rule = new AndRule();
+        rule.setShortCircuit(true).setReorderInterval(0);
+        rule.watch(List.of(decisive, stateful));
+
+        assertTrue(decisive.isDeferred());
+        assertFalse(stateful.isDeferred(), "stateful children are never deferred");
+
+        for (int x = 0; x < 3; x++) {
+            feed.emitNext(new TimeSeries[]{ createBooleanSeries("s1", 100L + x, true) });
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (statefulCounter.get() < 3 && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(5);
+        }
+        assertEquals(3, statefulCounter.get(), "stateful child sees every event");
+
+        TimeSeries[] sources = { createBooleanSeries("s1", 103L, true) };
+        TimeSeries[] input = { new DeferredTimeSeries(decisive, sources), stateful.evaluate(sources) };
+        assertFalse(rule.predicate().apply(input)[0].values()[0]);
+        assertEquals(1, decisiveCounter.get());
+    }
 }
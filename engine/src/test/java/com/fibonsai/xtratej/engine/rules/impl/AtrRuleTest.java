@@ -0,0 +1,58 @@
+/*
+ *  Copyright (c) 2026 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.xtratej.engine.rules.impl;
+
+import com.fibonsai.directflux.DirectFlux;
+import com.fibonsai.xtratej.engine.rules.RuleType;
+import com.fibonsai.xtratej.event.series.dao.BarTimeSeries;
+import com.fibonsai.xtratej.event.series.dao.DoubleTimeSeries;
+import com.fibonsai.xtratej.event.series.dao.TimeSeries;
+import com.fibonsai.xtratej.event.series.dao.builders.BarTimeSeriesBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.node.JsonNodeFactory;
+import tools.jackson.databind.node.ObjectNode;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AtrRuleTest {
+
+    private ObjectNode params;
+
+    @BeforeEach
+    void setUp() {
+        params = JsonNodeFactory.instance.objectNode();
+    }
+
+    @Test
+    void predicate_barTrueRange() {
+        // true ranges: 2, 2, 3 -> atr(2) = 2, then (2 + 3) / 2 = 2.5
+        BarTimeSeries series = new BarTimeSeriesBuilder()
+            .setId("bars")
+            .add(1000L, 9.0, 10.0, 8.0, 9.0, 1.0)
+            .add(2000L, 9.0, 11.0, 9.0, 10.0, 1.0)
+            .add(3000L, 10.0, 13.0, 10.0, 12.0, 1.0)
+            .build();
+
+        params.put("period", 2);
+        AtrRule rule = (AtrRule) RuleType.Atr.build().setParams(params);
+        rule.watch(new DirectFlux<>());
+
+        DoubleTimeSeries result = rule.predicate().apply(new TimeSeries[]{series})[0];
+
+        assertEquals("bars:atr", result.id());
+        assertArrayEquals(new double[]{2.0, 2.5}, result.values(), 1e-9);
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ *  Copyright (c) 2026 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.xtratej.engine.rules.impl;
+
+import com.fibonsai.directflux.DirectFlux;
+import com.fibonsai.xtratej.engine.rules.RuleType;
+import com.fibonsai.xtratej.event.series.dao.BandTimeSeries;
+import com.fibonsai.xtratej.event.series.dao.TimeSeries;
+import com.fibonsai.xtratej.event.series.dao.builders.DoubleTimeSeriesBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.node.JsonNodeFactory;
+import tools.jackson.databind.node.ObjectNode;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BollingerRuleTest {
+
+    private ObjectNode params;
+
+    @BeforeEach
+    void setUp() {
+        params = JsonNodeFactory.instance.objectNode();
+    }
+
+    @Test
+    void predicate_bands() {
+        // window 1, 3 -> mean 2, std dev 1 -> 4 / 2 / 0
+        // window 3, 5 -> mean 4, std dev 1 -> 6 / 4 / 2
+        params.put("period", 2);
+        params.put("deviations", 2);
+        BollingerRule rule = (BollingerRule) RuleType.Bollinger.build().setParams(params);
+        rule.watch(new DirectFlux<>());
+
+        TimeSeries series = new DoubleTimeSeriesBuilder().setId("price")
+            .add(1000L, 1.0)
+            .add(2000L, 3.0)
+            .add(3000L, 5.0)
+            .build();
+        BandTimeSeries result = rule.predicate().apply(new TimeSeries[]{series})[0];
+
+        assertEquals("price:bollinger", result.id());
+        assertArrayEquals(new double[]{4.0, 6.0}, result.uppers(), 1e-9);
+        assertArrayEquals(new double[]{2.0, 4.0}, result.middles(), 1e-9);
+        assertArrayEquals(new double[]{0.0, 2.0}, result.lowers(), 1e-9);
+    }
+
+
+    @Test
+    void next_largePricesTightBands_keepsPrecision() {
+        BollingerRule.Bollinger bollinger = new BollingerRule.Bollinger(20, 2.0);
+        double[] out = new double[3];
+        for (int i = 0; i < 100_001; i++) {
+            bollinger.next(Double.NaN, Double.NaN, 1e9 + (i % 2 == 0 ? 0.5 : -0.5), out);
+            if (i >= 19) {
+                // ten points at each side of 1e9 -> std dev 0.5
+                assertEquals(1.0, out[0] - out[1], 1e-6);
+                assertEquals(1.0, out[1] - out[2], 1e-6);
+            }
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ *  Copyright (c) 2026 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.xtratej.engine.rules.impl;
+
+import com.fibonsai.directflux.DirectFlux;
+import com.fibonsai.xtratej.engine.rules.RuleType;
+import com.fibonsai.xtratej.event.series.dao.BooleanTimeSeries;
+import com.fibonsai.xtratej.event.series.dao.DoubleTimeSeries;
+import com.fibonsai.xtratej.event.series.dao.TimeSeries;
+import com.fibonsai.xtratej.event.series.dao.builders.DoubleTimeSeriesBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.node.JsonNodeFactory;
+import tools.jackson.databind.node.ObjectNode;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmaRuleTest {
+
+    private ObjectNode params;
+
+    @BeforeEach
+    void setUp() {
+        params = JsonNodeFactory.instance.objectNode();
+    }
+
+    private static DoubleTimeSeries series(double... values) {
+        DoubleTimeSeriesBuilder builder = new DoubleTimeSeriesBuilder().setId("price");
+        for (int i = 0; i < values.length; i++) {
+            builder.add(1000L * (i + 1), values[i]);
+        }
+        return builder.build();
+    }
+
+    @Test
+    void predicate_seededWithSimpleAverage() {
+        // period 3 -> alpha = 0.5, seed = (1 + 2 + 3) / 3 = 2, next = 2 + 0.5 * (10 - 2) = 6
+        params.put("period", 3);
+        EmaRule rule = (EmaRule) RuleType.Ema.build().setParams(params);
+        rule.watch(new DirectFlux<>());
+
+        DoubleTimeSeries result = rule.predicate().apply(new TimeSeries[]{series(1.0, 2.0, 3.0, 10.0)})[0];
+
+        assertEquals("price:ema", result.id());
+        assertArrayEquals(new double[]{2.0, 6.0}, result.values(), 1e-9);
+    }
+
+    @Test
+    void predicate_feedsCrossedRule() {
+        params.put("period", 2);
+        EmaRule ema = (EmaRule) RuleType.Ema.build().setParams(params);
+        ema.watch(new DirectFlux<>());
+        CrossedRule crossed = (CrossedRule) RuleType.Crossed.build();
+        crossed.setThreshold(5.0);
+        crossed.watch(new DirectFlux<>());
+
+        // ema: 2, 6 -> crosses 5
+        TimeSeries emaSeries = ema.evaluate(new TimeSeries[]{series(1.0, 3.0, 8.0)});
+        BooleanTimeSeries[] result = crossed.predicate().apply(new TimeSeries[]{emaSeries});
+
+        assertTrue(result[0].values()[0], "EMA moved from 2 to 6, crossing 5");
+    }
+
+    @Test
+    void snapshot_restoredRuleContinuesWarm() throws IOException {
+        params.put("period", 3);
+        EmaRule rule = (EmaRule) RuleType.Ema.build().setParams(params);
+        rule.evaluate(new TimeSeries[]{series(1.0, 2.0, 3.0)});
+        ByteArrayOutputStream snapshot = new ByteArrayOutputStream();
+        rule.snapshot(new DataOutputStream(snapshot));
+
+        EmaRule restored = (EmaRule) RuleType.Ema.build().setParams(params);
+        restored.restore(new DataInputStream(new ByteArrayInputStream(snapshot.toByteArray())));
+
+        TimeSeries[] next = {new DoubleTimeSeriesBuilder().setId("price").add(4000L, 10.0).build()};
+        DoubleTimeSeries expected = (DoubleTimeSeries) rule.evaluate(next);
+        DoubleTimeSeries actual = (DoubleTimeSeries) restored.evaluate(next);
+        assertArrayEquals(expected.timestamps(), actual.timestamps());
+        assertArrayEquals(new double[]{2.0, 6.0}, actual.values(), 1e-9);
+    }
+
+    @Test
+    void restore_otherRuleType_throws() throws IOException {
+        ByteArrayOutputStream snapshot = new ByteArrayOutputStream();
+        RuleType.Sma.build().snapshot(new DataOutputStream(snapshot));
+
+        assertThrows(IOException.class, () -> RuleType.Ema.build()
+                .restore(new DataInputStream(new ByteArrayInputStream(snapshot.toByteArray()))));
+    }
+}
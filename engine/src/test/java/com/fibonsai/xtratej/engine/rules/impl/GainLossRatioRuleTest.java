@@ -15,6 +15,7 @@
 package com.fibonsai.xtratej.engine.rules.impl;
 
 import com.fibonsai.directflux.DirectFlux;
+import com.fibonsai.xtratej.engine.ledger.LedgerRegistry;
 import com.fibonsai.xtratej.engine.rules.RuleType;
 import com.fibonsai.xtratej.event.series.dao.BooleanTimeSeries;
 import com.fibonsai.xtratej.event.series.dao.DoubleTimeSeries;
@@ -376,4 +377,28 @@ class GainLossRatioRuleTest {
         // series2: 0 gain, 1 loss -> ratio = 0 -> within [0, 100] -> true
         assertTrue(result[1].values()[0], "series2 (ratio=0) within range");
     }
+
+    /**
+     * Test: Rules naming the same ledger share it, so orders consumed by one are seen by the other.
+     */
+    @Test
+    void predicate_sharedLedger() {
+        MyOrdersTimeSeries series = new MyOrdersTimeSeriesBuilder().setId("id")
+            .add(1000L, "order1", BID, TradeState.FILLED, 100.0, 1.0, 1.0)
+            .add(2000L, "order2", ASK, TradeState.FILLED, 110.0, 1.0, 1.0)
+            .build();
+
+        params.put("ledger", "predicate_sharedLedger");
+        params.put("ratioMin", 0.0);
+        params.put("ratioMax", 100.0);
+        LedgerRegistry registry = new LedgerRegistry();
+        GainLossRatioRule first = (GainLossRatioRule) RuleType.GainLossRatio.build().setParams(params);
+        first.setLedgerRegistry(registry).watch(new DirectFlux<>());
+        GainLossRatioRule second = (GainLossRatioRule) RuleType.GainLossRatio.build().setParams(params);
+        second.setLedgerRegistry(registry).watch(new DirectFlux<>());
+
+        assertFalse(first.predicate().apply(new TimeSeries[]{series})[0].values()[0], "1 gain (infinity) exceeds max of 100");
+        assertFalse(second.predicate().apply(new TimeSeries[]{series})[0].values()[0], "Shared ledger already holds the gain");
+        assertEquals(1, registry.ledger("predicate_sharedLedger").gains(), "Orders consumed once");
+    }
 }
@@ -0,0 +1,89 @@
+/*
+ *  Copyright (c) 2026 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.xtratej.engine.rules.impl;
+
+import com.fibonsai.directflux.DirectFlux;
+import com.fibonsai.xtratej.engine.rules.RuleType;
+import com.fibonsai.xtratej.event.series.dao.DoubleTimeSeries;
+import com.fibonsai.xtratej.event.series.dao.TimeSeries;
+import com.fibonsai.xtratej.event.series.dao.builders.DoubleTimeSeriesBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.node.JsonNodeFactory;
+import tools.jackson.databind.node.ObjectNode;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MacdRuleTest {
+
+    private static final double[] PRICES = {10.0, 11.0, 13.0, 12.0, 15.0, 17.0, 16.0, 18.0};
+
+    private ObjectNode params;
+
+    @BeforeEach
+    void setUp() {
+        params = JsonNodeFactory.instance.objectNode();
+        params.put("fast", 2);
+        params.put("slow", 3);
+        params.put("signal", 2);
+    }
+
+    private static DoubleTimeSeries series() {
+        DoubleTimeSeriesBuilder builder = new DoubleTimeSeriesBuilder().setId("price");
+        for (int i = 0; i < PRICES.length; i++) {
+            builder.add(1000L * (i + 1), PRICES[i]);
+        }
+        return builder.build();
+    }
+
+    private static double[] expected() {
+        var fast = new EmaRule.Ema(2);
+        var slow = new EmaRule.Ema(3);
+        var signal = new EmaRule.Ema(2);
+        double macd = Double.NaN;
+        double signalValue = Double.NaN;
+        for (double price : PRICES) {
+            macd = fast.next(price) - slow.next(price);
+            if (!Double.isNaN(macd)) signalValue = signal.next(macd);
+        }
+        return new double[]{macd, signalValue};
+    }
+
+    @Test
+    void predicate_histogramByDefault() {
+        MacdRule rule = (MacdRule) RuleType.Macd.build().setParams(params);
+        rule.watch(new DirectFlux<>());
+
+        DoubleTimeSeries result = rule.predicate().apply(new TimeSeries[]{series()})[0];
+
+        double[] expected = expected();
+        assertEquals("price:macd", result.id());
+        assertEquals(expected[0] - expected[1], result.values()[1], 1e-9);
+    }
+
+    @Test
+    void predicate_macdAndSignalOutputs() {
+        params.put("output", "macd");
+        MacdRule macd = (MacdRule) RuleType.Macd.build().setParams(params);
+        macd.watch(new DirectFlux<>());
+        params.put("output", "signal");
+        MacdRule signal = (MacdRule) RuleType.Macd.build().setParams(params);
+        signal.watch(new DirectFlux<>());
+
+        double[] expected = expected();
+        assertEquals(expected[0], macd.predicate().apply(new TimeSeries[]{series()})[0].values()[1], 1e-9);
+        assertEquals(expected[1], signal.predicate().apply(new TimeSeries[]{series()})[0].values()[1], 1e-9);
+    }
+}
@@ -35,10 +35,10 @@ import static org.junit.jupiter.api.Assertions.*;
  * This rule calculates the maximum drawdown from price series and checks if it's below a threshold.
  *
  * Implementation note: The formula used is:
- *   maxDrawdown = 1.0 - ((low - peak) / peak)
+ *   maxDrawdown = 1.0 - ((low - peak) / peak) = 1.0 + (peak - low) / peak
  *
- * When low < peak (typical case), (low - peak) is negative, so:
- *   maxDrawdown = 1.0 - (negative / peak) = 1.0 + (peak - low) / peak
+ * where low is the lowest price after peak, taken on the peak-to-trough pair with the largest relative decline.
+ * A low that comes before the peak is not a drawdown.
  *
  * This means maxDrawdown > 1.0 when there's any drawdown from the peak.
  * A maxDrawdown < max means the "drawdown" is within acceptable bounds.
@@ -216,7 +216,7 @@ class MaxDrawdownRuleTest {
     /**
      * Test: Very small drawdown threshold.
      * Only acceptable if prices are almost constant.
-     * Using closes: 101, 102, 103
+     * Using closes: 103, 102, 101
      * peak = 103, low = 101
      * maxDrawdown = 1.0 - ((101 - 103) / 103) = 1.0 + 2/103 = 1.019
      */
@@ -224,12 +224,12 @@ class MaxDrawdownRuleTest {
     void predicate_verySmallThreshold() {
         BarTimeSeries series = new BarTimeSeriesBuilder()
             .setId("test")
-            .add(1000L, 100.0, 102.0, 100.0, 101.0, 1.0)
+            .add(1000L, 102.0, 104.0, 102.0, 103.0, 1.0)
             .add(2000L, 101.0, 103.0, 101.0, 102.0, 1.0)
-            .add(3000L, 102.0, 104.0, 102.0, 103.0, 1.0)
+            .add(3000L, 100.0, 102.0, 100.0, 101.0, 1.0)
             .build();
 
-        // closes: 101, 102, 103
+        // closes: 103, 102, 101
         // peak = 103, low = 101
         // maxDrawdown = 1.0 - ((101 - 103) / 103) = 1.0 + 2/103 = 1.019
         params.put("max", 1.01);
@@ -467,8 +467,8 @@ class MaxDrawdownRuleTest {
         BarTimeSeries series2 = new BarTimeSeriesBuilder()
             .setId("test2")
             .add(1000L, 100.0, 150.0, 50.0, 150.0, 1.0)
-            .add(2000L, 150.0, 200.0, 100.0, 120.0, 1.0)
-            .add(3000L, 100.0, 150.0, 80.0, 100.0, 1.0)
+            .add(2000L, 150.0, 200.0, 100.0, 140.0, 1.0)
+            .add(3000L, 100.0, 150.0, 80.0, 130.0, 1.0)
             .build();
 
         params.put("max", 1.25);
@@ -480,10 +480,114 @@ class MaxDrawdownRuleTest {
 
         assertEquals(2, result.length, "Should have 2 results");
 
-        // series1: peak=200, low=100 -> maxDrawdown = 1.5 >= 1.25 -> false
-        assertFalse(result[0].values()[0], "series1 drawdown 1.5 >= max of 1.25");
+        // series1: closes 150, 120, 100 -> peak=150, low=100 -> maxDrawdown = 1.333 >= 1.25 -> false
+        assertFalse(result[0].values()[0], "series1 drawdown 1.333 >= max of 1.25");
+
+        // series2: closes 150, 140, 130 -> peak=150, low=130 -> maxDrawdown = 1.133 < 1.25 -> true
+        assertTrue(result[1].values()[0], "series2 drawdown 1.133 < max of 1.25");
+    }
+
+    /**
+     * Test: Ticks carrying the growing series only feed the new points, and the result matches a single evaluation.
+     * Values: 100, 120, 80 -> drawdown 1.333
+     */
+    @Test
+    void predicate_growingSeries_sameAsSingleEvaluation() {
+        DoubleTimeSeriesBuilder builder = new DoubleTimeSeriesBuilder().setId("test");
+        params.put("max", 1.3);
+        MaxDrawdownRule rule = (MaxDrawdownRule) RuleType.MaxDrawdown.build().setParams(params);
+        rule.watch(new DirectFlux<>());
+
+        builder.add(1000L, 100.0);
+        assertTrue(rule.predicate().apply(new TimeSeries[]{builder.build()})[0].values()[0], "Drawdown 1.0 < max of 1.3");
+        builder.add(2000L, 120.0);
+        assertTrue(rule.predicate().apply(new TimeSeries[]{builder.build()})[0].values()[0], "Drawdown 1.167 < max of 1.3");
+        builder.add(3000L, 80.0);
+        assertFalse(rule.predicate().apply(new TimeSeries[]{builder.build()})[0].values()[0], "Drawdown 1.333 >= max of 1.3");
+    }
+
+    /**
+     * Test: With a window only the last points count.
+     * Values: 200, 100, 110, 105 with window 3 -> peak = 110, later low = 105 -> drawdown 1.045
+     */
+    @Test
+    void predicate_window() {
+        DoubleTimeSeries series = new DoubleTimeSeriesBuilder()
+            .setId("test")
+            .add(1000L, 200.0)
+            .add(2000L, 100.0)
+            .add(3000L, 110.0)
+            .add(4000L, 105.0)
+            .build();
+
+        params.put("max", 1.1);
+        MaxDrawdownRule unbounded = (MaxDrawdownRule) RuleType.MaxDrawdown.build().setParams(params);
+        unbounded.watch(new DirectFlux<>());
+        params.put("window", 3);
+        MaxDrawdownRule windowed = (MaxDrawdownRule) RuleType.MaxDrawdown.build().setParams(params);
+        windowed.watch(new DirectFlux<>());
+
+        TimeSeries[] input = new TimeSeries[]{series};
+        assertFalse(unbounded.predicate().apply(input)[0].values()[0], "Drawdown 1.5 >= max of 1.1");
+        assertTrue(windowed.predicate().apply(input)[0].values()[0], "Windowed drawdown 1.045 < max of 1.1");
+    }
+
+    /**
+     * Test: A low before the peak is not a drawdown.
+     * Closes: 101, 102, 103 -> no decline from any peak -> maxDrawdown = 1.0
+     */
+    @Test
+    void predicate_lowBeforePeak_noDrawdown() {
+        BarTimeSeries series = new BarTimeSeriesBuilder()
+            .setId("test")
+            .add(1000L, 100.0, 102.0, 100.0, 101.0, 1.0)
+            .add(2000L, 101.0, 103.0, 101.0, 102.0, 1.0)
+            .add(3000L, 102.0, 104.0, 102.0, 103.0, 1.0)
+            .build();
+
+        params.put("max", 1.01);
+        MaxDrawdownRule rule = (MaxDrawdownRule) RuleType.MaxDrawdown.build().setParams(params);
+        rule.watch(new DirectFlux<>());
+
+        assertTrue(rule.predicate().apply(new TimeSeries[]{series})[0].values()[0], "Rising prices: drawdown 1.0 < max of 1.01");
+    }
+
+    /**
+     * Test: The largest decline counts, not the gap between the overall peak and low.
+     * Values: 50, 100, 90, 200, 180 -> declines 10% (100 -> 90) and 10% (200 -> 180), the low 50 comes first
+     */
+    @Test
+    void predicate_largestDeclineFromRunningPeak() {
+        DoubleTimeSeries series = new DoubleTimeSeriesBuilder()
+            .setId("test")
+            .add(1000L, 50.0)
+            .add(2000L, 100.0)
+            .add(3000L, 90.0)
+            .add(4000L, 200.0)
+            .add(5000L, 180.0)
+            .build();
+
+        params.put("max", 1.11);
+        MaxDrawdownRule rule = (MaxDrawdownRule) RuleType.MaxDrawdown.build().setParams(params);
+        rule.watch(new DirectFlux<>());
+
+        assertTrue(rule.predicate().apply(new TimeSeries[]{series})[0].values()[0], "Drawdown 1.1 < max of 1.11");
+    }
+
+    /**
+     * Test: With delta input every one-point series is new, even at the timestamp of the previous one.
+     * Values: 100, 80 both at 1000 -> drawdown 1.2
+     */
+    @Test
+    void predicate_deltaInput_sameTimestampPointsAllCount() {
+        params.put("max", 1.1);
+        params.put("input", "delta");
+        MaxDrawdownRule rule = (MaxDrawdownRule) RuleType.MaxDrawdown.build().setParams(params);
+        rule.watch(new DirectFlux<>());
 
-        // series2: peak=200, low=50 -> maxDrawdown = 1.75 >= 1.25 -> false
-        assertFalse(result[1].values()[0], "series2 drawdown 1.75 >= max of 1.25");
+        DoubleTimeSeries first = new DoubleTimeSeriesBuilder().setId("test").add(1000L, 100.0).build();
+        DoubleTimeSeries second = new DoubleTimeSeriesBuilder().setId("test").add(1000L, 80.0).build();
+        assertTrue(rule.predicate().apply(new TimeSeries[]{first})[0].values()[0], "Drawdown 1.0 < max of 1.1");
+        assertFalse(rule.predicate().apply(new TimeSeries[]{second})[0].values()[0], "Drawdown 1.2 >= max of 1.1");
     }
 }
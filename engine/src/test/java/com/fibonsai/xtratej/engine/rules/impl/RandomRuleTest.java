@@ -243,4 +243,18 @@ class RandomRuleTest {
         assertNotNull(result);
         assertEquals(1, result.length);
     }
+
+    @Test
+    void predicate_seed_isReproducible() {
+        params.put("seed", 42);
+        RandomRule first = (RandomRule) new RandomRule().setParams(params);
+        RandomRule second = (RandomRule) new RandomRule().setParams(params);
+        first.watch(new DirectFlux<>());
+        second.watch(new DirectFlux<>());
+        TimeSeries[] input = {new DoubleTimeSeriesBuilder().setId("test").add(456L, 100.0).build()};
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(first.predicate().apply(input)[0].values()[0], second.predicate().apply(input)[0].values()[0]);
+        }
+    }
 }
@@ -0,0 +1,69 @@
+/*
+ *  Copyright (c) 2026 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.xtratej.engine.rules.impl;
+
+import com.fibonsai.directflux.DirectFlux;
+import com.fibonsai.xtratej.engine.rules.RuleType;
+import com.fibonsai.xtratej.event.series.dao.DoubleTimeSeries;
+import com.fibonsai.xtratej.event.series.dao.TimeSeries;
+import com.fibonsai.xtratej.event.series.dao.builders.DoubleTimeSeriesBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.node.JsonNodeFactory;
+import tools.jackson.databind.node.ObjectNode;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RsiRuleTest {
+
+    private ObjectNode params;
+
+    @BeforeEach
+    void setUp() {
+        params = JsonNodeFactory.instance.objectNode();
+    }
+
+    private static DoubleTimeSeries series(double... values) {
+        DoubleTimeSeriesBuilder builder = new DoubleTimeSeriesBuilder().setId("price");
+        for (int i = 0; i < values.length; i++) {
+            builder.add(1000L * (i + 1), values[i]);
+        }
+        return builder.build();
+    }
+
+    @Test
+    void predicate_wilderSmoothing() {
+        // changes +1, +1 -> avg gain 1, avg loss 0 -> 100
+        // change -1 -> avg gain 0.5, avg loss 0.5 -> 50
+        params.put("period", 2);
+        RsiRule rule = (RsiRule) RuleType.Rsi.build().setParams(params);
+        rule.watch(new DirectFlux<>());
+
+        DoubleTimeSeries result = rule.predicate().apply(new TimeSeries[]{series(10.0, 11.0, 12.0, 11.0)})[0];
+
+        assertArrayEquals(new double[]{100.0, 50.0}, result.values(), 1e-9);
+    }
+
+    @Test
+    void predicate_flatPrices_fifty() {
+        params.put("period", 2);
+        RsiRule rule = (RsiRule) RuleType.Rsi.build().setParams(params);
+        rule.watch(new DirectFlux<>());
+
+        DoubleTimeSeries result = rule.predicate().apply(new TimeSeries[]{series(10.0, 10.0, 10.0)})[0];
+
+        assertEquals(50.0, result.values()[1], 1e-9);
+    }
+}
@@ -443,4 +443,64 @@ class SharperRatioRuleTest {
         // series2: +20, -20 -> mean = 0, Sharpe = 0 -> within [0, 100]
         assertTrue(result[1].values()[0], "series2 (Sharpe=0) within [0, 100]");
     }
+
+    private static MyOrdersTimeSeries fill(long timestamp, String symbol, MyOrdersTimeSeries.BidAskSide side, double price) {
+        return new MyOrdersTimeSeriesBuilder().setId("id")
+            .add(timestamp, "order" + timestamp, symbol, side, "OWNER", TradeState.FILLED, MyOrdersTimeSeries.OrderType.MARKET,
+                0.0, price, Double.NaN, Double.NaN, Double.NaN, Double.NaN, 1.0, 1.0, MyOrdersTimeSeries.OrderCondition.GOOD_TIL_CANCELED, "")
+            .build();
+    }
+
+    /**
+     * Test: Feeding one fill per tick gives the same ratio as replaying the full history.
+     * Round trips: +20, -10, +30 -> mean = 13.33, sample std dev = 20.82, Sharpe = 0.64
+     */
+    @Test
+    void predicate_oneFillPerTick_matchesFullReplay() {
+        double[] prices = {100.0, 120.0, 100.0, 90.0, 100.0, 130.0};
+        MyOrdersTimeSeriesBuilder history = new MyOrdersTimeSeriesBuilder().setId("id");
+        for (int x = 0; x < prices.length; x++) {
+            history.add(1000L * (x + 1), "order" + x, x % 2 == 0 ? BID : ASK, TradeState.FILLED, prices[x], 1.0, 1.0);
+        }
+
+        params.put("ratioMin", 0.63);
+        params.put("ratioMax", 0.65);
+        SharperRatioRule replayRule = (SharperRatioRule) RuleType.SharperRatio.build().setParams(params);
+        replayRule.watch(new DirectFlux<>());
+        assertTrue(replayRule.predicate().apply(new TimeSeries[]{history.build()})[0].values()[0], "Full replay Sharpe within [0.63, 0.65]");
+
+        SharperRatioRule rule = (SharperRatioRule) RuleType.SharperRatio.build().setParams(params);
+        rule.watch(new DirectFlux<>());
+
+        BooleanTimeSeries[] result = new BooleanTimeSeries[0];
+        for (int x = 0; x < prices.length; x++) {
+            result = rule.predicate().apply(new TimeSeries[]{fill(1000L * (x + 1), "SYMBOL", x % 2 == 0 ? BID : ASK, prices[x])});
+            if (x < prices.length - 1) {
+                assertFalse(result[0].values()[0], "Partial history is outside [0.63, 0.65]");
+            }
+        }
+        assertTrue(result[0].values()[0], "Tick by tick Sharpe within [0.63, 0.65]");
+    }
+
+    /**
+     * Test: Round trips are kept per symbol, so interleaved fills do not mix positions.
+     * AAA: 100 -> 120 (+20), BBB: 50 -> 40 (-10)
+     */
+    @Test
+    void predicate_interleavedSymbols() {
+        params.put("ratioMin", Double.NEGATIVE_INFINITY);
+        params.put("ratioMax", 1.0);
+        SharperRatioRule rule = (SharperRatioRule) RuleType.SharperRatio.build().setParams(params);
+        rule.watch(new DirectFlux<>());
+
+        rule.predicate().apply(new TimeSeries[]{fill(1000L, "AAA", BID, 100.0)});
+        rule.predicate().apply(new TimeSeries[]{fill(2000L, "BBB", BID, 50.0)});
+        BooleanTimeSeries[] result = rule.predicate().apply(new TimeSeries[]{fill(3000L, "AAA", ASK, 120.0)});
+        // single +20 round trip -> infinity Sharpe -> above max
+        assertFalse(result[0].values()[0], "Single gain (infinity) exceeds max");
+
+        result = rule.predicate().apply(new TimeSeries[]{fill(4000L, "BBB", ASK, 40.0)});
+        // +20, -10 -> mean = 5, std dev = 21.21, Sharpe = 0.24
+        assertTrue(result[0].values()[0], "Two round trips (Sharpe=0.24) within range");
+    }
 }
@@ -0,0 +1,99 @@
+/*
+ *  Copyright (c) 2026 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.xtratej.engine.rules.impl;
+
+import com.fibonsai.directflux.DirectFlux;
+import com.fibonsai.xtratej.engine.rules.RuleType;
+import com.fibonsai.xtratej.event.series.dao.DoubleTimeSeries;
+import com.fibonsai.xtratej.event.series.dao.TimeSeries;
+import com.fibonsai.xtratej.event.series.dao.builders.DoubleTimeSeriesBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.node.JsonNodeFactory;
+import tools.jackson.databind.node.ObjectNode;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SmaRuleTest {
+
+    private ObjectNode params;
+
+    @BeforeEach
+    void setUp() {
+        params = JsonNodeFactory.instance.objectNode();
+    }
+
+    private static DoubleTimeSeries series(double... values) {
+        DoubleTimeSeriesBuilder builder = new DoubleTimeSeriesBuilder().setId("price");
+        for (int i = 0; i < values.length; i++) {
+            builder.add(1000L * (i + 1), values[i]);
+        }
+        return builder.build();
+    }
+
+    @Test
+    void predicate_emitsLastValues() {
+        params.put("period", 3);
+        SmaRule rule = (SmaRule) RuleType.Sma.build().setParams(params);
+        rule.watch(new DirectFlux<>());
+
+        DoubleTimeSeries result = rule.predicate().apply(new TimeSeries[]{series(1.0, 2.0, 3.0, 4.0, 5.0)})[0];
+
+        assertEquals("price:sma", result.id());
+        assertArrayEquals(new long[]{4000L, 5000L}, result.timestamps());
+        assertArrayEquals(new double[]{3.0, 4.0}, result.values(), 1e-9);
+    }
+
+    @Test
+    void predicate_notEnoughPoints_nan() {
+        params.put("period", 3);
+        params.put("id", "sma3");
+        SmaRule rule = (SmaRule) RuleType.Sma.build().setParams(params);
+        rule.watch(new DirectFlux<>());
+
+        DoubleTimeSeries result = rule.predicate().apply(new TimeSeries[]{series(1.0, 2.0)})[0];
+
+        assertEquals("sma3", result.id());
+        assertTrue(Double.isNaN(result.values()[1]));
+    }
+
+    @Test
+    void predicate_growingSeries_onlyNewPointsFed() {
+        params.put("period", 2);
+        params.put("outputSize", 1);
+        SmaRule rule = (SmaRule) RuleType.Sma.build().setParams(params);
+        rule.watch(new DirectFlux<>());
+
+        rule.predicate().apply(new TimeSeries[]{series(1.0, 3.0)});
+        DoubleTimeSeries result = rule.predicate().apply(new TimeSeries[]{series(1.0, 3.0, 7.0)})[0];
+
+        assertArrayEquals(new double[]{5.0}, result.values(), 1e-9);
+    }
+
+
+    @Test
+    void next_afterLargePrices_noAccumulatedError() {
+        SmaRule.Sma sma = new SmaRule.Sma(20);
+        for (int i = 0; i < 100_000; i++) {
+            sma.next(1e9 + i * 0.37);
+        }
+        double result = Double.NaN;
+        for (int i = 0; i < 20; i++) {
+            result = sma.next(1.0 + i);
+        }
+
+        assertEquals(10.5, result, 1e-9);
+    }
+}
@@ -27,7 +27,10 @@ import org.mockito.MockitoAnnotations;
 import tools.jackson.databind.node.JsonNodeFactory;
 import tools.jackson.databind.node.ObjectNode;
 
+import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.when;
@@ -271,4 +274,21 @@ class WeekdayRuleTest {
 
         assertTrue(result[0].values()[0]);
     }
+
+    @Test
+    void predicate_usesRuleClock() {
+        params.set("weekdays", JsonNodeFactory.instance.arrayNode().add("saturday"));
+        WeekdayRule rule = switch (RuleType.Weekday.build().setParams(params)) {
+            case WeekdayRule r -> r;
+            default -> throw new RuntimeException();
+        };
+        rule.watch(new DirectFlux<>());
+        TimeSeries[] input = new TimeSeries[]{mockTimeSeries};
+
+        // 2026-01-03 is a Saturday, 2026-01-05 a Monday
+        rule.setClock(Clock.fixed(Instant.parse("2026-01-03T12:00:00Z"), ZoneOffset.UTC));
+        assertTrue(rule.predicate().apply(input)[0].values()[0]);
+        rule.setClock(Clock.fixed(Instant.parse("2026-01-05T12:00:00Z"), ZoneOffset.UTC));
+        assertFalse(rule.predicate().apply(input)[0].values()[0]);
+    }
 }
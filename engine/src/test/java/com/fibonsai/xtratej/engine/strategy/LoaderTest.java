@@ -14,14 +14,27 @@
 
 package com.fibonsai.xtratej.engine.strategy;
 
+import com.fibonsai.xtratej.adapter.core.Subscriber;
+import com.fibonsai.xtratej.engine.adapters.SourceRegistry;
+import com.fibonsai.xtratej.engine.rules.impl.LedgerRule;
+import com.fibonsai.xtratej.engine.rules.impl.NotRule;
+import com.fibonsai.xtratej.event.series.dao.BooleanTimeSeries;
+import com.fibonsai.xtratej.event.series.dao.TimeSeries;
+import com.fibonsai.xtratej.event.series.dao.builders.DoubleTimeSeriesBuilder;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.MockitoAnnotations;
 import tools.jackson.databind.JsonNode;
 import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.node.ObjectNode;
 
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -355,4 +368,282 @@ class LoaderTest {
         assertTrue(emptyArray.isArray());
         assertEquals(0, emptyArray.size());
     }
+
+    private static final String RELOAD_JSON = """
+            {
+              "strategies": {
+                "kept": {
+                  "symbol": "KEPT",
+                  "type": "ENTER",
+                  "sources": { "flux1": { "type": "SIMULATED", "publisher": "test" } },
+                  "rule": { "type": "Limit", "params": { "min": 1, "max": 2 }, "inputs": ["flux1"] }
+                },
+                "tweaked": {
+                  "symbol": "TWEAKED",
+                  "type": "ENTER",
+                  "sources": {
+                    "flux1": { "type": "SIMULATED", "publisher": "test" },
+                    "flux2": { "type": "SIMULATED", "publisher": "%s" }
+                  },
+                  "rule": {
+                    "type": "And",
+                    "inputs": [
+                      { "type": "Limit", "params": { "min": 10, "max": 20 }, "inputs": ["flux1"] },
+                      { "type": "Limit", "params": { "min": 5, "max": %d }, "inputs": ["flux2"] }
+                    ]
+                  }
+                }
+              }
+            }
+            """;
+
+    private JsonNode reloadJson(String publisher, int max) {
+        return objectMapper.readValue(RELOAD_JSON.formatted(publisher, max), JsonNode.class);
+    }
+
+    @Test
+    void reload_unchangedStrategy_keepsInstance() {
+        JsonNode json = reloadJson("test", 15);
+        Map<String, IStrategy> previous = Loader.fromJson(json);
+
+        Map<String, IStrategy> reloaded = Loader.reload(json, reloadJson("test", 15), previous);
+
+        assertSame(previous.get("kept"), reloaded.get("kept"));
+        assertSame(previous.get("tweaked"), reloaded.get("tweaked"));
+    }
+
+    @Test
+    void reload_changedParams_rebuildsOnlyChangedSubtree() {
+        JsonNode json = reloadJson("test", 15);
+        Map<String, IStrategy> previous = Loader.fromJson(json);
+
+        Map<String, IStrategy> reloaded = Loader.reload(json, reloadJson("test", 30), previous);
+
+        assertSame(previous.get("kept"), reloaded.get("kept"));
+        Strategy before = (Strategy) previous.get("tweaked");
+        Strategy after = (Strategy) reloaded.get("tweaked");
+        assertNotSame(before, after);
+        assertSame(before.getSources().get("flux1"), after.getSources().get("flux1"));
+        assertSame(before.getSources().get("flux2"), after.getSources().get("flux2"));
+        assertNotSame(before.aggregator(), after.aggregator());
+        assertSame(before.aggregator().children().get(0), after.aggregator().children().get(0));
+        assertNotSame(before.aggregator().children().get(1), after.aggregator().children().get(1));
+
+        var changed = before.aggregator().children().get(1);
+        before.close(after);
+        assertTrue(changed.results().isClosed());
+        assertFalse(after.aggregator().children().get(0).results().isClosed());
+        assertFalse(after.getSources().get("flux2").isClosed());
+    }
+
+    @Test
+    void reload_changedSource_rebuildsRulesReadingIt() {
+        JsonNode json = reloadJson("test", 15);
+        Map<String, IStrategy> previous = Loader.fromJson(json);
+
+        Map<String, IStrategy> reloaded = Loader.reload(json, reloadJson("other", 15), previous);
+
+        Strategy before = (Strategy) previous.get("tweaked");
+        Strategy after = (Strategy) reloaded.get("tweaked");
+        assertSame(before.getSources().get("flux1"), after.getSources().get("flux1"));
+        assertNotSame(before.getSources().get("flux2"), after.getSources().get("flux2"));
+        assertSame(before.aggregator().children().get(0), after.aggregator().children().get(0));
+        assertNotSame(before.aggregator().children().get(1), after.aggregator().children().get(1));
+
+        var replacedSource = before.getSources().get("flux2");
+        before.close(after);
+        assertTrue(replacedSource.isClosed());
+        assertFalse(after.getSources().get("flux1").isClosed());
+    }
+
+    @Test
+    void reload_removedStrategy_isDropped() {
+        JsonNode json = reloadJson("test", 15);
+        Map<String, IStrategy> previous = Loader.fromJson(json);
+        JsonNode withoutTweaked = json.deepCopy();
+        ((ObjectNode) withoutTweaked.get("strategies")).remove("tweaked");
+
+        Map<String, IStrategy> reloaded = Loader.reload(json, withoutTweaked, previous);
+
+        assertEquals(Set.of("kept"), reloaded.keySet());
+        assertSame(previous.get("kept"), reloaded.get("kept"));
+    }
+
+    @Test
+    void fromJson_parallel_buildsSameStrategies() {
+        JsonNode json = reloadJson("test", 15);
+
+        Map<String, IStrategy> sequential = Loader.fromJson(json);
+        Map<String, IStrategy> parallel = Loader.fromJson(json, Loader.Option.PARALLEL);
+
+        assertEquals(sequential.keySet(), parallel.keySet());
+        parallel.forEach((name, strategy) -> {
+            assertEquals(name, strategy.name());
+            assertEquals(sequential.get(name).symbol(), strategy.symbol());
+            assertEquals(sequential.get(name).getSources().keySet(), strategy.getSources().keySet());
+            assertTrue(strategy.isActivated());
+        });
+    }
+
+    @Test
+    void fromJson_parallel_propagatesException() {
+        String json = """
+                {
+                  "strategies": {
+                    "ok": { "type": "ENTER", "sources": { "flux1": { "type": "SIMULATED", "publisher": "test" } } },
+                    "sourceWithoutType": { "type": "ENTER", "sources": { "flux1": { "publisher": "test" } } }
+                  }
+                }
+                """;
+
+        assertThrows(RuntimeException.class, () ->
+                Loader.fromJson(objectMapper.readValue(json, JsonNode.class), Loader.Option.PARALLEL));
+    }
+
+    @Test
+    void fromJson_lazy_wiresRuleGraphOnFirstEvent() throws InterruptedException {
+        String json = """
+                {
+                  "strategies": {
+                    "lazy": {
+                      "symbol": "LAZY",
+                      "type": "ENTER",
+                      "sources": { "flux1": { "type": "SIMULATED", "publisher": "test" } },
+                      "rule": { "type": "Limit", "params": { "min": 1.0, "max": 10.0 }, "inputs": ["flux1"] }
+                    }
+                  }
+                }
+                """;
+        Strategy strategy = (Strategy) Loader.fromJson(objectMapper.readValue(json, JsonNode.class), Loader.Option.LAZY).get("lazy");
+        LazyRule lazyRule = assertInstanceOf(LazyRule.class, strategy.aggregator());
+        assertFalse(lazyRule.isWired());
+
+        List<TimeSeries> results = new CopyOnWriteArrayList<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        strategy.subscribe(ts -> { results.add(ts); latch.countDown(); });
+        assertFalse(lazyRule.isWired());
+
+        strategy.getSources().get("flux1").emitNext(new DoubleTimeSeriesBuilder().setId("flux1").add(1_000L, 5.0).build());
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(lazyRule.isWired());
+        BooleanTimeSeries result = assertInstanceOf(BooleanTimeSeries.class, results.getFirst());
+        assertTrue(result.values()[0]);
+        assertEquals(1, lazyRule.children().size());
+        var loop = lazyRule.children().getFirst().results().eventLoop();
+        assertTrue(loop != null && loop.isDirect(), "graph results are forwarded inline");
+    }
+
+    @Test
+    void fromJson_sharedSources_oneSubscriberPerDefinition() {
+        JsonNode json = reloadJson("other", 15);
+
+        Loader loader = new Loader();
+        Map<String, IStrategy> strategies = loader.load(json, Loader.Option.SHARED_SOURCES);
+        SourceRegistry registry = loader.getSourceRegistry();
+
+        Subscriber shared = strategies.get("kept").getSources().get("flux1");
+        assertSame(shared, strategies.get("tweaked").getSources().get("flux1"));
+        assertNotSame(shared, strategies.get("tweaked").getSources().get("flux2"));
+        assertEquals(2, registry.references(shared));
+
+        strategies.get("kept").close();
+        assertFalse(shared.isClosed());
+        strategies.get("tweaked").close();
+        assertTrue(shared.isClosed());
+        assertEquals(0, registry.references(shared));
+    }
+
+    @Test
+    void fromJson_selectedSources_shareOneDemultiplexingSubscriber() {
+        String strategyJson = """
+                "%s": {
+                  "symbol": "%s",
+                  "type": "ENTER",
+                  "sources": {
+                    "ticks": { "type": "NATS", "publisher": "feed", "params": [{ "topics": ["ticks.>"] }], "select": "%s" }
+                  },
+                  "rule": { "type": "Limit", "params": { "min": 1, "max": 2 }, "inputs": ["ticks"] }
+                }
+                """;
+        JsonNode json = objectMapper.readValue("{ \"strategies\": {" + strategyJson.formatted("btc", "BTC", "BTC") + ","
+                + strategyJson.formatted("eth", "ETH", "ETH") + "} }", JsonNode.class);
+
+        Loader loader = new Loader();
+        Map<String, IStrategy> strategies = loader.load(json, Loader.Option.SHARED_SOURCES);
+        SourceRegistry registry = loader.getSourceRegistry();
+
+        Subscriber btc = strategies.get("btc").getSources().get("ticks");
+        Subscriber eth = strategies.get("eth").getSources().get("ticks");
+        assertNotSame(btc, eth);
+        assertTrue(btc.name().endsWith(".BTC"));
+        assertEquals(2, registry.references(btc));
+        assertEquals(1, registry.size());
+
+        strategies.get("btc").close();
+        assertFalse(eth.isClosed());
+        strategies.get("eth").close();
+        assertTrue(eth.isClosed());
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    void load_namedLedgers_scopedToTheLoader() {
+        String json = """
+                {
+                  "strategies": {
+                    "%s": {
+                      "symbol": "SYM",
+                      "type": "ENTER",
+                      "sources": { "orders": { "type": "SIMULATED", "publisher": "test" } },
+                      "rule": { "type": "HasOpenPosition", "params": { "ledger": "account" }, "inputs": ["orders"] }
+                    }
+                  }
+                }
+                """;
+        Loader loader = new Loader();
+        Strategy first = (Strategy) loader.load(objectMapper.readValue(json.formatted("first"), JsonNode.class)).get("first");
+        Strategy second = (Strategy) loader.load(objectMapper.readValue(json.formatted("second"), JsonNode.class)).get("second");
+        Strategy other = (Strategy) Loader.fromJson(objectMapper.readValue(json.formatted("other"), JsonNode.class)).get("other");
+
+        LedgerRule firstRule = assertInstanceOf(LedgerRule.class, first.aggregator());
+        LedgerRule secondRule = assertInstanceOf(LedgerRule.class, second.aggregator());
+        LedgerRule otherRule = assertInstanceOf(LedgerRule.class, other.aggregator());
+        assertSame(loader.getLedgerRegistry(), firstRule.getLedgerRegistry());
+        assertSame(loader.getLedgerRegistry(), secondRule.getLedgerRegistry());
+        assertNotSame(loader.getLedgerRegistry(), otherRule.getLedgerRegistry());
+        assertNotSame(loader.getLedgerRegistry().ledger("account"), otherRule.getLedgerRegistry().ledger("account"));
+    }
+
+    @Test
+    void reload_subtreeMovedFromShortCircuitToNot_isNotDeferred() {
+        String template = """
+                {
+                  "strategies": {
+                    "moved": {
+                      "symbol": "MOVED",
+                      "type": "ENTER",
+                      "sources": { "flux1": { "type": "SIMULATED", "publisher": "test" } },
+                      "rule": %s
+                    }
+                  }
+                }
+                """;
+        String limit = """
+                { "type": "Limit", "params": { "min": 1.0, "max": 2.0 }, "inputs": ["flux1"] }""";
+        JsonNode json = objectMapper.readValue(template.formatted("""
+                { "type": "And", "params": { "shortCircuit": true }, "inputs": [%s, %s] }""".formatted(limit, limit)), JsonNode.class);
+        JsonNode notJson = objectMapper.readValue(template.formatted("""
+                { "type": "Not", "inputs": [%s] }""".formatted(limit)), JsonNode.class);
+        Map<String, IStrategy> previous = Loader.fromJson(json);
+        var moved = ((Strategy) previous.get("moved")).aggregator().children().get(0);
+        assertTrue(moved.isDeferred());
+
+        Map<String, IStrategy> reloaded = Loader.reload(json, notJson, previous);
+
+        var not = ((Strategy) reloaded.get("moved")).aggregator();
+        assertInstanceOf(NotRule.class, not);
+        assertSame(moved, not.children().get(0));
+        assertFalse(moved.isDeferred(), "A Not parent needs the evaluated result");
+    }
 }
@@ -0,0 +1,142 @@
+/*
+ *  Copyright (c) 2026 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.xtratej.engine.strategy;
+
+import com.fibonsai.xtratej.event.series.dao.TradingSignal;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SignalPipelineTest {
+
+    private static TradingSignal signal(String strategy, long timestamp) {
+        return new TradingSignal("test", timestamp, TradingSignal.Signal.ENTER, strategy, "BTC", "test");
+    }
+
+    @Test
+    @Timeout(5)
+    void submit_publishesInOrder() {
+        List<TradingSignal> received = new CopyOnWriteArrayList<>();
+        SignalPipeline pipeline = new SignalPipeline(1024, 16, Duration.ZERO);
+        for (int i = 1; i <= 100; i++) {
+            assertTrue(pipeline.submit(signal("s", i)));
+        }
+
+        pipeline.start(received::add);
+        pipeline.close();
+
+        assertEquals(100, received.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i + 1, received.get(i).timestamp());
+        }
+        assertEquals(100, pipeline.published());
+        assertFalse(pipeline.isRunning());
+    }
+
+    @Test
+    void submit_fullQueue_dropsSignal() {
+        SignalPipeline pipeline = new SignalPipeline(2, 16, Duration.ZERO);
+
+        assertTrue(pipeline.submit(signal("s", 1)));
+        assertTrue(pipeline.submit(signal("s", 2)));
+        assertFalse(pipeline.submit(signal("s", 3)));
+
+        assertEquals(1, pipeline.dropped());
+        assertEquals(2, pipeline.pending());
+    }
+
+    @Test
+    void submit_coalescesRepeatedSignalsWithinWindow() {
+        SignalPipeline pipeline = new SignalPipeline(1024, 16, Duration.ofMillis(1000));
+
+        pipeline.submit(signal("s", 1_000));
+        pipeline.submit(signal("s", 1_500));
+        pipeline.submit(signal("other", 1_500));
+        pipeline.submit(signal("s", 2_000));
+        pipeline.submit(signal("s", 2_999));
+
+        assertEquals(3, pipeline.pending());
+        assertEquals(2, pipeline.coalesced());
+    }
+
+    @Test
+    @Timeout(5)
+    void submit_slowSinkDoesNotBlockSubmitter() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        List<TradingSignal> received = new CopyOnWriteArrayList<>();
+        SignalPipeline pipeline = new SignalPipeline().start(signal -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            received.add(signal);
+        });
+
+        long start = System.nanoTime();
+        for (int i = 1; i <= 50; i++) {
+            assertTrue(pipeline.submit(signal("s", i)));
+        }
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+
+        release.countDown();
+        pipeline.close();
+        assertEquals(50, received.size());
+    }
+
+    @Test
+    void submit_droppedSignalDoesNotCoalesceTheNextOne() {
+        SignalPipeline pipeline = new SignalPipeline(1, 16, Duration.ofMillis(1000));
+
+        assertTrue(pipeline.submit(signal("other", 1_000)));
+        assertFalse(pipeline.submit(signal("s", 1_000)));
+        pipeline.start(_ -> {});
+        pipeline.close();
+
+        assertTrue(pipeline.submit(signal("s", 1_500)));
+        assertEquals(0, pipeline.coalesced());
+        assertEquals(1, pipeline.pending());
+    }
+
+    @Test
+    @Timeout(5)
+    void submit_blockPolicy_waitsForRoomInsteadOfDropping() {
+        List<TradingSignal> received = new CopyOnWriteArrayList<>();
+        SignalPipeline pipeline = new SignalPipeline(2, 1, Duration.ZERO, SignalPipeline.OverflowPolicy.BLOCK)
+                .start(signal -> {
+                    try {
+                        Thread.sleep(5);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    received.add(signal);
+                });
+
+        for (int i = 1; i <= 20; i++) {
+            assertTrue(pipeline.submit(signal("s", i)));
+        }
+        pipeline.close();
+
+        assertEquals(20, received.size());
+        assertEquals(0, pipeline.dropped());
+    }
+}
@@ -14,27 +14,42 @@
 
 package com.fibonsai.xtratej.engine.strategy;
 
+import com.fibonsai.xtratej.adapter.core.Publisher;
 import com.fibonsai.xtratej.adapter.core.Subscriber;
 import com.fibonsai.xtratej.engine.adapters.SourceType;
 import com.fibonsai.xtratej.engine.adapters.TargetType;
 import com.fibonsai.xtratej.engine.rules.RuleStream;
 import com.fibonsai.xtratej.engine.rules.RuleType;
 import com.fibonsai.xtratej.event.series.dao.BooleanTimeSeries;
+import com.fibonsai.xtratej.event.series.dao.DoubleTimeSeries;
 import com.fibonsai.xtratej.event.series.dao.EmptyTimeSeries;
 import com.fibonsai.xtratej.event.series.dao.TimeSeries;
+import com.fibonsai.xtratej.event.series.dao.TradingSignal;
 import com.fibonsai.xtratej.event.series.dao.builders.BooleanTimeSeriesBuilder;
+import com.fibonsai.xtratej.event.series.dao.builders.DoubleTimeSeriesBuilder;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.node.JsonNodeFactory;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 
 class StrategyManagerTest {
@@ -291,4 +306,309 @@ class StrategyManagerTest {
 
         assertTrue(result);
     }
+
+    @Test
+    void run_sharded_sameSymbolOnSameEventLoop() throws InterruptedException {
+        strategyManager.setSharded(true).setShards(4);
+        List<Subscriber> sources = new ArrayList<>();
+        List<String> threads = new CopyOnWriteArrayList<>();
+        CountDownLatch evaluated = new CountDownLatch(3);
+        String[] symbols = {"BTC", "BTC", "ETH"};
+        for (int i = 0; i < symbols.length; i++) {
+            Subscriber source = SourceType.SIMULATED.builder().setName("flux" + i).setPublisher("test").build();
+            sources.add(source);
+            Strategy strategy = new Strategy("strategy" + i, symbols[i], IStrategy.StrategyType.ENTER);
+            strategy.addSource(source);
+            final int index = i;
+            RuleStream<BooleanTimeSeries> rule = new RuleStream<>() {
+                @Override
+                protected Function<TimeSeries[], BooleanTimeSeries[]> predicate() {
+                    return _ -> {
+                        threads.add(index + "@" + Thread.currentThread().getName());
+                        evaluated.countDown();
+                        return new BooleanTimeSeries[]{new BooleanTimeSeriesBuilder().add(System.currentTimeMillis(), true).build()};
+                    };
+                }
+            };
+            rule.watch(source);
+            strategy.setAggregatorRule(rule);
+            strategyManager.registerStrategy(strategy);
+        }
+
+        try {
+            assertTrue(strategyManager.run());
+            sources.forEach(s -> assertTrue(s.emitNext(EmptyTimeSeries.INSTANCE)));
+
+            assertTrue(evaluated.await(5, TimeUnit.SECONDS));
+            String btcLoop = strategyManager.eventLoopOf("BTC").name();
+            String ethLoop = strategyManager.eventLoopOf("ETH").name();
+            assertTrue(threads.contains("0@" + btcLoop));
+            assertTrue(threads.contains("1@" + btcLoop));
+            assertTrue(threads.contains("2@" + ethLoop));
+        } finally {
+            strategyManager.shutdown();
+        }
+        assertNull(strategyManager.eventLoopOf("BTC"));
+    }
+
+    private static Strategy signallingStrategy(String name, Subscriber source, String marker) {
+        Strategy strategy = new Strategy(name, "TEST", IStrategy.StrategyType.ENTER);
+        strategy.addSource(source);
+        RuleStream<BooleanTimeSeries> rule = new RuleStream<>() {
+            @Override
+            protected Function<TimeSeries[], BooleanTimeSeries[]> predicate() {
+                return _ -> new BooleanTimeSeries[]{new BooleanTimeSeriesBuilder().setId(marker).add(System.currentTimeMillis(), true).build()};
+            }
+        };
+        rule.watch(source);
+        strategy.setAggregatorRule(rule);
+        return strategy;
+    }
+
+    private static List<TradingSignal> signals(StrategyManager manager) {
+        Publisher publisher = TargetType.SIMULATED.builder().setName("signals").build();
+        List<TradingSignal> signals = new CopyOnWriteArrayList<>();
+        publisher.subscribe(ts -> signals.add((TradingSignal) ts));
+        manager.setPublisher(publisher);
+        return signals;
+    }
+
+    private static void awaitSize(List<?> list, int size) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (list.size() < size && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(size, list.size());
+    }
+
+    @Test
+    void deploy_whileRunning_startsOnlyNewStrategy() throws InterruptedException {
+        List<TradingSignal> signals = signals(strategyManager);
+        Subscriber first = SourceType.SIMULATED.builder().setName("first").setPublisher("test").build();
+        strategyManager.registerStrategy(signallingStrategy("first", first, "first"));
+        assertTrue(strategyManager.run());
+        assertTrue(strategyManager.isRunning());
+
+        Subscriber second = SourceType.SIMULATED.builder().setName("second").setPublisher("test").build();
+        assertTrue(strategyManager.deploy(signallingStrategy("second", second, "second")));
+        second.emitNext(EmptyTimeSeries.INSTANCE);
+
+        awaitSize(signals, 1);
+        assertEquals("second", signals.getFirst().strategyName());
+        assertEquals(2, strategyManager.getStrategies().size());
+    }
+
+    @Test
+    void undeploy_stopsSignalsAndUnwiresSource() throws InterruptedException {
+        List<TradingSignal> signals = signals(strategyManager);
+        Subscriber source = SourceType.SIMULATED.builder().setName("source").setPublisher("test").build();
+        strategyManager.registerStrategy(signallingStrategy("gone", source, "gone"));
+        assertTrue(strategyManager.run());
+
+        assertTrue(strategyManager.undeploy("gone"));
+        assertFalse(strategyManager.undeploy("gone"));
+        source.emitNext(EmptyTimeSeries.INSTANCE);
+        Thread.sleep(200);
+
+        assertTrue(signals.isEmpty());
+        assertTrue(source.isClosed());
+        assertTrue(strategyManager.getStrategies().isEmpty());
+    }
+
+    @Test
+    void replace_swapsSignalEmissionToNewVersion() throws InterruptedException {
+        List<TradingSignal> signals = signals(strategyManager);
+        Subscriber oldSource = SourceType.SIMULATED.builder().setName("old").setPublisher("test").build();
+        Strategy oldVersion = signallingStrategy("swap", oldSource, "v1");
+        strategyManager.registerStrategy(oldVersion);
+        assertTrue(strategyManager.run());
+
+        Subscriber newSource = SourceType.SIMULATED.builder().setName("new").setPublisher("test").build();
+        Strategy newVersion = signallingStrategy("swap", newSource, "v2");
+        assertTrue(strategyManager.replace(newVersion));
+
+        oldSource.emitNext(EmptyTimeSeries.INSTANCE);
+        newSource.emitNext(EmptyTimeSeries.INSTANCE);
+
+        awaitSize(signals, 1);
+        Thread.sleep(200);
+        assertEquals(1, signals.size());
+        assertSame(newVersion, strategyManager.getStrategies().getFirst());
+        assertTrue(oldSource.isClosed());
+        assertFalse(strategyManager.replace(signallingStrategy("other", newSource, "v3")));
+        assertEquals(2, strategyManager.getStrategies().size());
+    }
+
+    @Test
+    void reload_undeploysMissingAndReplacesChanged() {
+        Subscriber source = SourceType.SIMULATED.builder().setName("source").setPublisher("test").build();
+        Strategy kept = signallingStrategy("kept", source, "kept");
+        Strategy removed = signallingStrategy("removed", SourceType.SIMULATED.builder().setName("r").setPublisher("test").build(), "removed");
+        Strategy changed = signallingStrategy("changed", SourceType.SIMULATED.builder().setName("c").setPublisher("test").build(), "v1");
+        strategyManager.registerStrategy(kept).registerStrategy(removed).registerStrategy(changed);
+        assertTrue(strategyManager.run());
+
+        Strategy changedV2 = signallingStrategy("changed", SourceType.SIMULATED.builder().setName("c2").setPublisher("test").build(), "v2");
+        strategyManager.reload(Map.of("kept", kept, "changed", changedV2));
+
+        List<IStrategy> deployed = strategyManager.getStrategies();
+        assertEquals(2, deployed.size());
+        assertTrue(deployed.contains(kept));
+        assertTrue(deployed.contains(changedV2));
+        assertFalse(source.isClosed());
+    }
+
+    @Test
+    void run_withSignalPipeline_publishesAsynchronously() throws InterruptedException {
+        List<TradingSignal> signals = signals(strategyManager);
+        SignalPipeline pipeline = new SignalPipeline();
+        strategyManager.setSignalPipeline(pipeline);
+        Subscriber source = SourceType.SIMULATED.builder().setName("source").setPublisher("test").build();
+        strategyManager.registerStrategy(signallingStrategy("async", source, "async"));
+
+        assertTrue(strategyManager.run());
+        assertTrue(pipeline.isRunning());
+        source.emitNext(EmptyTimeSeries.INSTANCE);
+        awaitSize(signals, 1);
+
+        strategyManager.shutdown();
+        assertFalse(pipeline.isRunning());
+        assertEquals(1, pipeline.published());
+        assertEquals("async", signals.getFirst().strategyName());
+    }
+
+    private static Strategy smaStrategy(RuleType ruleType) {
+        Strategy strategy = new Strategy("warm", "TEST", IStrategy.StrategyType.ENTER);
+        strategy.setAggregatorRule(ruleType.build().setParams(JsonNodeFactory.instance.objectNode().put("period", 3)));
+        return strategy;
+    }
+
+    private static double feed(Strategy strategy, long timestamp, double value) {
+        TimeSeries result = strategy.aggregator().evaluate(new TimeSeries[]{
+                new DoubleTimeSeriesBuilder().setId("price").add(timestamp, value).build()});
+        double[] values = ((DoubleTimeSeries) result).values();
+        return values[values.length - 1];
+    }
+
+    @Test
+    void snapshot_restore_resumesRuleState(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("strategies.snapshot");
+        Strategy first = smaStrategy(RuleType.Sma);
+        feed(first, 1000L, 1.0);
+        feed(first, 2000L, 2.0);
+        strategyManager.registerStrategy(first).snapshot(file);
+
+        Strategy second = smaStrategy(RuleType.Sma);
+        assertEquals(1, new StrategyManager().registerStrategy(second).restore(file));
+        assertEquals(2.0, feed(second, 3000L, 3.0), 1e-9);
+
+        Strategy other = smaStrategy(RuleType.Ema);
+        assertEquals(0, new StrategyManager().registerStrategy(other).restore(file));
+    }
+
+    @Test
+    void snapshotFile_restoredOnRunAndSavedOnShutdown(@TempDir Path dir) {
+        Path file = dir.resolve("strategies.snapshot");
+        Strategy first = smaStrategy(RuleType.Sma);
+        StrategyManager manager = new StrategyManager().setSnapshotFile(file).registerStrategy(first);
+        assertTrue(manager.run());
+        feed(first, 1000L, 1.0);
+        feed(first, 2000L, 2.0);
+        manager.shutdown();
+        assertTrue(Files.exists(file));
+
+        Strategy second = smaStrategy(RuleType.Sma);
+        StrategyManager standby = new StrategyManager().setSnapshotFile(file).registerStrategy(second);
+        assertTrue(standby.run());
+        assertEquals(2.0, feed(second, 3000L, 3.0), 1e-9);
+        standby.shutdown();
+    }
+
+    @Test
+    void run_sharded_sharedSourceKeepsItsDispatch() throws InterruptedException {
+        strategyManager.setSharded(true).setShards(4);
+        String strategyJson = """
+                "%s": {
+                  "symbol": "%s",
+                  "type": "ENTER",
+                  "sources": { "flux1": { "type": "SIMULATED", "publisher": "test" } },
+                  "rule": { "type": "Limit", "params": { "min": 1.0, "max": 10.0 }, "inputs": ["flux1"] }
+                }
+                """;
+        var json = new ObjectMapper().readTree("{ \"strategies\": {"
+                + strategyJson.formatted("btc", "BTC") + "," + strategyJson.formatted("eth", "ETH") + "} }");
+        Map<String, IStrategy> strategies = strategyManager.loader().load(json, Loader.Option.SHARED_SOURCES);
+        Subscriber shared = strategies.get("btc").getSources().get("flux1");
+        assertSame(shared, strategies.get("eth").getSources().get("flux1"));
+        assertEquals(2, strategyManager.getSourceRegistry().references(shared));
+        List<TradingSignal> signals = signals(strategyManager);
+        strategies.values().forEach(strategyManager::registerStrategy);
+
+        try {
+            assertTrue(strategyManager.run());
+            assertNull(shared.eventLoop(), "Shared source is not bound to one shard");
+            assertSame(strategyManager.eventLoopOf("BTC"), ((Strategy) strategies.get("btc")).aggregator().results().eventLoop());
+            assertSame(strategyManager.eventLoopOf("ETH"), ((Strategy) strategies.get("eth")).aggregator().results().eventLoop());
+
+            shared.emitNext(new DoubleTimeSeriesBuilder().setId("flux1").add(1_000L, 5.0).build());
+            awaitSize(signals, 2);
+        } finally {
+            strategyManager.shutdown();
+            strategies.values().forEach(IStrategy::close);
+        }
+    }
+
+    @Test
+    void restore_mismatchingSnapshot_keepsStrategyState(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("strategies.snapshot");
+        Strategy saved = pairStrategy(RuleType.Sma);
+        feedFirst(saved, 1000L, 1.0);
+        feedFirst(saved, 2000L, 2.0);
+        strategyManager.registerStrategy(saved).snapshot(file);
+
+        Strategy other = pairStrategy(RuleType.Ema);
+        feedFirst(other, 1000L, 10.0);
+        feedFirst(other, 2000L, 20.0);
+        assertEquals(0, new StrategyManager().registerStrategy(other).restore(file));
+        assertEquals(20.0, feedFirst(other, 3000L, 30.0), 1e-9, "First child is not left restored from the snapshot");
+    }
+
+    private static Strategy pairStrategy(RuleType second) {
+        Strategy strategy = new Strategy("warm", "TEST", IStrategy.StrategyType.ENTER);
+        RuleStream<?> aggregator = RuleType.And.build();
+        aggregator.watch(List.of(
+                RuleType.Sma.build().setParams(JsonNodeFactory.instance.objectNode().put("period", 3)),
+                second.build().setParams(JsonNodeFactory.instance.objectNode().put("period", 3))));
+        strategy.setAggregatorRule(aggregator);
+        return strategy;
+    }
+
+    private static double feedFirst(Strategy strategy, long timestamp, double value) {
+        TimeSeries result = strategy.aggregator().children().getFirst().evaluate(new TimeSeries[]{
+                new DoubleTimeSeriesBuilder().setId("price").add(timestamp, value).build()});
+        double[] values = ((DoubleTimeSeries) result).values();
+        return values[values.length - 1];
+    }
+
+    @Test
+    void run_waitingForStrategies_doesNotBlockUndeploy() throws InterruptedException {
+        when(mockStrategy.name()).thenReturn("slow");
+        when(mockStrategy.symbol()).thenReturn("TEST");
+        when(mockStrategy.strategyType()).thenReturn(IStrategy.StrategyType.ENTER);
+        // never subscribed: run waits for it until its timeout
+        when(mockStrategy.onSubscribe(any())).thenReturn(mockStrategy);
+        strategyManager.registerStrategy(mockStrategy);
+
+        Thread runner = Thread.startVirtualThread(strategyManager::run);
+        while (!strategyManager.isRunning()) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        TimeUnit.MILLISECONDS.sleep(100);
+
+        long start = System.nanoTime();
+        assertTrue(strategyManager.undeploy("slow"));
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2), "undeploy waited for run");
+        runner.interrupt();
+        runner.join();
+    }
 }
@@ -0,0 +1,395 @@
+/*
+ *  Copyright (c) 2026 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.xtratej.event.series.dao.codec;
+
+import com.fibonsai.xtratej.event.series.dao.*;
+import org.jspecify.annotations.Nullable;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.IntFunction;
+
+/**
+ * Compact binary encoding of the {@code event.series.dao} records.
+ *
+ * <p>A message is a type tag byte followed by the record components in declaration order. Primitive arrays are
+ * an int length and the little-endian values, copied in bulk; strings are an int UTF-8 length (-1 for null) and
+ * the bytes; enum arrays are one ordinal byte per value (-1 for null). The format is self-describing by its tag,
+ * so no class name travels with the payload.
+ */
+public final class BinaryCodec {
+
+    public static final byte EMPTY = 0;
+    public static final byte DOUBLE = 1;
+    public static final byte DOUBLE2 = 2;
+    public static final byte BAR = 3;
+    public static final byte BAND = 4;
+    public static final byte BOOLEAN = 5;
+    public static final byte ORDER_BOOK_UPDATE = 6;
+    public static final byte MY_ORDERS = 7;
+    public static final byte BALANCE_UPDATE = 8;
+    public static final byte TRADING_SIGNAL = 9;
+
+    private static final MyOrdersTimeSeries.BidAskSide[] SIDES = MyOrdersTimeSeries.BidAskSide.values();
+    private static final MyOrdersTimeSeries.TradeState[] TRADE_STATES = MyOrdersTimeSeries.TradeState.values();
+    private static final MyOrdersTimeSeries.OrderType[] ORDER_TYPES = MyOrdersTimeSeries.OrderType.values();
+    private static final MyOrdersTimeSeries.OrderCondition[] ORDER_CONDITIONS = MyOrdersTimeSeries.OrderCondition.values();
+    private static final BalanceUpdateTimeSeries.UpdateCause[] UPDATE_CAUSES = BalanceUpdateTimeSeries.UpdateCause.values();
+    private static final TradingSignal.Signal[] SIGNALS = TradingSignal.Signal.values();
+
+    private BinaryCodec() {}
+
+    public static byte[] encode(TimeSeries timeSeries) {
+        if (timeSeries instanceof TimeSeriesView view) {
+            timeSeries = view.toSeries();
+        }
+        Writer out = new Writer(64 + timeSeries.size() * 48);
+        switch (timeSeries) {
+            case DoubleTimeSeries ts -> {
+                out.header(DOUBLE, ts.id(), ts.timestamps());
+                out.doubles(ts.values());
+            }
+            case Double2TimeSeries ts -> {
+                out.header(DOUBLE2, ts.id(), ts.timestamps());
+                out.doubles(ts.values());
+                out.doubles(ts.values2());
+            }
+            case BarTimeSeries ts -> {
+                out.header(BAR, ts.id(), ts.timestamps());
+                out.doubles(ts.opens());
+                out.doubles(ts.highs());
+                out.doubles(ts.lows());
+                out.doubles(ts.closes());
+                out.doubles(ts.volumes());
+            }
+            case BandTimeSeries ts -> {
+                out.header(BAND, ts.id(), ts.timestamps());
+                out.doubles(ts.uppers());
+                out.doubles(ts.middles());
+                out.doubles(ts.lowers());
+            }
+            case BooleanTimeSeries ts -> {
+                out.header(BOOLEAN, ts.id(), ts.timestamps());
+                out.booleans(ts.values());
+            }
+            case OrderBookUpdateTimeSeries ts -> {
+                out.header(ORDER_BOOK_UPDATE, ts.id(), ts.timestamps());
+                out.strings(ts.bidOrderIds());
+                out.strings(ts.askOrderIds());
+                out.doubles(ts.bidPrices());
+                out.doubles(ts.askPrices());
+                out.doubles(ts.bidAmounts());
+                out.doubles(ts.askAmounts());
+                out.doubles(ts.spreads());
+            }
+            case MyOrdersTimeSeries ts -> {
+                out.header(MY_ORDERS, ts.id(), ts.timestamps());
+                out.strings(ts.orderIds());
+                out.strings(ts.symbols());
+                out.enums(ts.sides());
+                out.strings(ts.owners());
+                out.enums(ts.tradeStates());
+                out.enums(ts.orderTypes());
+                out.doubles(ts.fees());
+                out.doubles(ts.prices());
+                out.doubles(ts.limitPrices());
+                out.doubles(ts.stopPrices());
+                out.doubles(ts.takeProfitPrices());
+                out.doubles(ts.trailingPrices());
+                out.doubles(ts.initialAmounts());
+                out.doubles(ts.executedAmounts());
+                out.enums(ts.orderConditions());
+                out.strings(ts.orderConditionsRules());
+            }
+            case BalanceUpdateTimeSeries ts -> {
+                out.header(BALANCE_UPDATE, ts.id(), ts.timestamps());
+                out.strings(ts.symbols());
+                out.strings(ts.owners());
+                out.enums(ts.updateCauses());
+                out.doubles(ts.totals());
+                out.doubles(ts.availables());
+                out.doubles(ts.frozens());
+                out.doubles(ts.borroweds());
+                out.doubles(ts.loaneds());
+                out.doubles(ts.withdrawings());
+                out.doubles(ts.depositings());
+                out.ints(ts.scales());
+            }
+            case TradingSignal ts -> {
+                out.tag(TRADING_SIGNAL);
+                out.string(ts.id());
+                out.buffer.putLong(ts.timestamp());
+                out.enumOrdinal(ts.signal());
+                out.string(ts.strategyName());
+                out.string(ts.pair());
+                out.string(ts.publishers());
+            }
+            case EmptyTimeSeries _ -> out.tag(EMPTY);
+            default -> throw new IllegalArgumentException("not supported: " + timeSeries.getClass().getName());
+        }
+        return out.toByteArray();
+    }
+
+    public static TimeSeries decode(byte[] data) {
+        return decode(ByteBuffer.wrap(data));
+    }
+
+    /**
+     * Decodes the message between the position and the limit of {@code data}, which is left untouched.
+     *
+     * @throws IllegalArgumentException if the message is malformed or of an unknown type
+     */
+    public static TimeSeries decode(ByteBuffer data) {
+        Reader in = new Reader(data.slice().order(ByteOrder.LITTLE_ENDIAN));
+        try {
+            byte tag = in.buffer.get();
+            return switch (tag) {
+                case EMPTY -> EmptyTimeSeries.INSTANCE;
+                case DOUBLE -> new DoubleTimeSeries(in.string(), in.longs(), in.doubles());
+                case DOUBLE2 -> new Double2TimeSeries(in.string(), in.longs(), in.doubles(), in.doubles());
+                case BAR -> new BarTimeSeries(in.string(), in.longs(), in.doubles(), in.doubles(), in.doubles(),
+                        in.doubles(), in.doubles());
+                case BAND -> new BandTimeSeries(in.string(), in.longs(), in.doubles(), in.doubles(), in.doubles());
+                case BOOLEAN -> new BooleanTimeSeries(in.string(), in.longs(), in.booleans());
+                case ORDER_BOOK_UPDATE -> new OrderBookUpdateTimeSeries(in.string(), in.longs(), in.strings(),
+                        in.strings(), in.doubles(), in.doubles(), in.doubles(), in.doubles(), in.doubles());
+                case MY_ORDERS -> new MyOrdersTimeSeries(in.string(), in.longs(), in.strings(), in.strings(),
+                        in.enums(SIDES, MyOrdersTimeSeries.BidAskSide[]::new), in.strings(),
+                        in.enums(TRADE_STATES, MyOrdersTimeSeries.TradeState[]::new),
+                        in.enums(ORDER_TYPES, MyOrdersTimeSeries.OrderType[]::new),
+                        in.doubles(), in.doubles(), in.doubles(), in.doubles(), in.doubles(), in.doubles(),
+                        in.doubles(), in.doubles(),
+                        in.enums(ORDER_CONDITIONS, MyOrdersTimeSeries.OrderCondition[]::new), in.strings());
+                case BALANCE_UPDATE -> new BalanceUpdateTimeSeries(in.string(), in.longs(), in.strings(),
+                        in.strings(), in.enums(UPDATE_CAUSES, BalanceUpdateTimeSeries.UpdateCause[]::new),
+                        in.doubles(), in.doubles(), in.doubles(), in.doubles(), in.doubles(), in.doubles(),
+                        in.doubles(), in.ints());
+                case TRADING_SIGNAL -> new TradingSignal(in.required(in.string()), in.buffer.getLong(),
+                        in.required(in.enumValue(SIGNALS)), in.required(in.string()), in.required(in.string()),
+                        in.required(in.string()));
+                default -> throw new IllegalArgumentException("unknown type tag " + tag);
+            };
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("truncated message", e);
+        }
+    }
+
+    /**
+     * Like {@link #decode(ByteBuffer)}, but {@link #DOUBLE} and {@link #ORDER_BOOK_UPDATE} messages come back as a
+     * {@link TimeSeriesView} reading the columns in place; other types are decoded as usual.
+     *
+     * @throws IllegalArgumentException if the message is malformed or of an unknown type
+     */
+    public static TimeSeries view(ByteBuffer data) {
+        if (!data.hasRemaining()) {
+            throw new IllegalArgumentException("truncated message");
+        }
+        return switch (data.get(data.position())) {
+            case DOUBLE -> new DoubleTimeSeriesView(data);
+            case ORDER_BOOK_UPDATE -> new OrderBookUpdateTimeSeriesView(data);
+            default -> decode(data);
+        };
+    }
+
+    private static final class Writer {
+        private ByteBuffer buffer;
+
+        Writer(int capacity) {
+            buffer = ByteBuffer.allocate(capacity).order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        private void ensure(int bytes) {
+            if (buffer.remaining() < bytes) {
+                int capacity = Math.max(buffer.capacity() * 2, buffer.position() + bytes);
+                buffer = ByteBuffer.wrap(Arrays.copyOf(buffer.array(), capacity)).position(buffer.position())
+                        .order(ByteOrder.LITTLE_ENDIAN);
+            }
+        }
+
+        void tag(byte tag) {
+            ensure(1);
+            buffer.put(tag);
+        }
+
+        void header(byte tag, @Nullable String id, long[] timestamps) {
+            tag(tag);
+            string(id);
+            ensure(4 + timestamps.length * Long.BYTES);
+            buffer.putInt(timestamps.length);
+            buffer.asLongBuffer().put(timestamps);
+            buffer.position(buffer.position() + timestamps.length * Long.BYTES);
+        }
+
+        void doubles(double[] values) {
+            ensure(4 + values.length * Double.BYTES);
+            buffer.putInt(values.length);
+            buffer.asDoubleBuffer().put(values);
+            buffer.position(buffer.position() + values.length * Double.BYTES);
+        }
+
+        void ints(int[] values) {
+            ensure(4 + values.length * Integer.BYTES);
+            buffer.putInt(values.length);
+            buffer.asIntBuffer().put(values);
+            buffer.position(buffer.position() + values.length * Integer.BYTES);
+        }
+
+        void booleans(boolean[] values) {
+            ensure(4 + values.length);
+            buffer.putInt(values.length);
+            for (boolean value : values) {
+                buffer.put(value ? (byte) 1 : (byte) 0);
+            }
+        }
+
+        void string(@Nullable String value) {
+            if (value == null) {
+                ensure(4);
+                buffer.putInt(-1);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            ensure(4 + bytes.length);
+            buffer.putInt(bytes.length);
+            buffer.put(bytes);
+        }
+
+        void strings(String[] values) {
+            ensure(4);
+            buffer.putInt(values.length);
+            for (String value : values) {
+                string(value);
+            }
+        }
+
+        void enumOrdinal(@Nullable Enum<?> value) {
+            tag(value == null ? (byte) -1 : (byte) value.ordinal());
+        }
+
+        void enums(Enum<?>[] values) {
+            ensure(4 + values.length);
+            buffer.putInt(values.length);
+            for (Enum<?> value : values) {
+                buffer.put(value == null ? (byte) -1 : (byte) value.ordinal());
+            }
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer.array(), buffer.position());
+        }
+    }
+
+    private static final class Reader {
+        private final ByteBuffer buffer;
+
+        Reader(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        private int length(int elementBytes) {
+            int length = buffer.getInt();
+            if (length < 0 || (long) length * elementBytes > buffer.remaining()) {
+                throw new IllegalArgumentException("malformed array length " + length);
+            }
+            return length;
+        }
+
+        long[] longs() {
+            long[] values = new long[length(Long.BYTES)];
+            buffer.asLongBuffer().get(values);
+            buffer.position(buffer.position() + values.length * Long.BYTES);
+            return values;
+        }
+
+        double[] doubles() {
+            double[] values = new double[length(Double.BYTES)];
+            buffer.asDoubleBuffer().get(values);
+            buffer.position(buffer.position() + values.length * Double.BYTES);
+            return values;
+        }
+
+        int[] ints() {
+            int[] values = new int[length(Integer.BYTES)];
+            buffer.asIntBuffer().get(values);
+            buffer.position(buffer.position() + values.length * Integer.BYTES);
+            return values;
+        }
+
+        boolean[] booleans() {
+            boolean[] values = new boolean[length(1)];
+            for (int x = 0; x < values.length; x++) {
+                values[x] = buffer.get() != 0;
+            }
+            return values;
+        }
+
+        @Nullable String string() {
+            int length = buffer.getInt();
+            if (length == -1) {
+                return null;
+            }
+            if (length < 0 || length > buffer.remaining()) {
+                throw new IllegalArgumentException("malformed string length " + length);
+            }
+            String value;
+            if (buffer.hasArray()) {
+                value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+                buffer.position(buffer.position() + length);
+            } else {
+                byte[] bytes = new byte[length];
+                buffer.get(bytes);
+                value = new String(bytes, StandardCharsets.UTF_8);
+            }
+            return value;
+        }
+
+        String[] strings() {
+            String[] values = new String[length(4)];
+            for (int x = 0; x < values.length; x++) {
+                values[x] = string();
+            }
+            return values;
+        }
+
+        <E extends Enum<E>> @Nullable E enumValue(E[] constants) {
+            byte ordinal = buffer.get();
+            if (ordinal == -1) {
+                return null;
+            }
+            if (ordinal < 0 || ordinal >= constants.length) {
+                throw new IllegalArgumentException("malformed enum ordinal " + ordinal);
+            }
+            return constants[ordinal];
+        }
+
+        <E extends Enum<E>> E[] enums(E[] constants, IntFunction<E[]> newArray) {
+            E[] values = newArray.apply(length(1));
+            for (int x = 0; x < values.length; x++) {
+                values[x] = enumValue(constants);
+            }
+            return values;
+        }
+
+        <V> V required(@Nullable V value) {
+            if (value == null) {
+                throw new IllegalArgumentException("malformed message: missing value");
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ *  Copyright (c) 2026 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.xtratej.event.series.dao.codec;
+
+import com.fibonsai.xtratej.event.series.dao.DoubleTimeSeries;
+
+import java.io.Serial;
+import java.nio.ByteBuffer;
+
+/** Zero-copy view of a {@link BinaryCodec#DOUBLE} message. */
+public final class DoubleTimeSeriesView extends TimeSeriesView {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final int valuesOffset;
+
+    public DoubleTimeSeriesView(ByteBuffer buffer) {
+        super(buffer, BinaryCodec.DOUBLE);
+        valuesOffset = doubleColumn();
+    }
+
+    public double value(int index) {
+        return doubleAt(valuesOffset, index);
+    }
+
+    public double[] values() {
+        return copyDoubles(valuesOffset);
+    }
+
+    @Override
+    public DoubleTimeSeries toSeries() {
+        return new DoubleTimeSeries(id(), timestamps(), values());
+    }
+
+    @Override
+    public String toString() {
+        return "DoubleTimeSeriesView[id=" + id() + ", size=" + size() + "]";
+    }
+}
@@ -0,0 +1,307 @@
+/*
+ *  Copyright (c) 2026 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.xtratej.event.series.dao.codec;
+
+import com.fibonsai.xtratej.event.series.dao.BarTimeSeries;
+import com.fibonsai.xtratej.event.series.dao.Double2TimeSeries;
+import com.fibonsai.xtratej.event.series.dao.DoubleTimeSeries;
+import com.fibonsai.xtratej.event.series.dao.TimeSeries;
+import org.jspecify.annotations.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Gorilla style compression of {@link DoubleTimeSeries}, {@link Double2TimeSeries} and {@link BarTimeSeries}:
+ * delta-of-delta timestamps and XOR-ed doubles packed in a bit stream. Regular ticks cost one bit per timestamp
+ * and an unchanged value one bit, so slow moving feeds shrink far below the 8 bytes per value of
+ * {@link BinaryCodec}. Other types are written with {@link BinaryCodec}, so {@link #decode(byte[])} reads any
+ * message of either codec.
+ *
+ * <p>A compressed message is the {@link BinaryCodec} tag of its type with {@link #COMPRESSED} set, then a bit
+ * stream of: the id, the count, the timestamps and each double column in declaration order. Delta-of-deltas
+ * use the buckets {@code 0}, {@code 10}+7, {@code 110}+9, {@code 1110}+12 and {@code 1111}+64 signed bits; values use
+ * {@code 0} for a repeat, {@code 10} and the previous window, or {@code 11}, 5 bits of leading zeros, 6 bits of
+ * length and the meaningful bits.
+ */
+public final class GorillaCodec {
+
+    public static final byte COMPRESSED = 0x40;
+
+    private GorillaCodec() {}
+
+    public static boolean supports(TimeSeries timeSeries) {
+        return timeSeries instanceof DoubleTimeSeries || timeSeries instanceof Double2TimeSeries
+                || timeSeries instanceof BarTimeSeries;
+    }
+
+    public static byte[] encode(TimeSeries timeSeries) {
+        if (timeSeries instanceof TimeSeriesView view) {
+            timeSeries = view.toSeries();
+        }
+        BitWriter out = new BitWriter(16 + timeSeries.size() * 4);
+        switch (timeSeries) {
+            case DoubleTimeSeries ts -> {
+                out.header(BinaryCodec.DOUBLE, ts.id(), ts.timestamps());
+                out.doubles(ts.values());
+            }
+            case Double2TimeSeries ts -> {
+                out.header(BinaryCodec.DOUBLE2, ts.id(), ts.timestamps());
+                out.doubles(ts.values());
+                out.doubles(ts.values2());
+            }
+            case BarTimeSeries ts -> {
+                out.header(BinaryCodec.BAR, ts.id(), ts.timestamps());
+                out.doubles(ts.opens());
+                out.doubles(ts.highs());
+                out.doubles(ts.lows());
+                out.doubles(ts.closes());
+                out.doubles(ts.volumes());
+            }
+            default -> {
+                return BinaryCodec.encode(timeSeries);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Decodes a message of this codec or of {@link BinaryCodec}.
+     *
+     * @throws IllegalArgumentException if the message is malformed or of an unknown type
+     */
+    public static TimeSeries decode(byte[] data) {
+        if (data.length == 0 || (data[0] & COMPRESSED) == 0) {
+            return BinaryCodec.decode(data);
+        }
+        BitReader in = new BitReader(data);
+        byte tag = (byte) (data[0] & ~COMPRESSED);
+        String id = in.string();
+        long[] timestamps = in.timestamps();
+        return switch (tag) {
+            case BinaryCodec.DOUBLE -> new DoubleTimeSeries(id, timestamps, in.doubles(timestamps.length));
+            case BinaryCodec.DOUBLE2 -> new Double2TimeSeries(id, timestamps, in.doubles(timestamps.length),
+                    in.doubles(timestamps.length));
+            case BinaryCodec.BAR -> new BarTimeSeries(id, timestamps, in.doubles(timestamps.length),
+                    in.doubles(timestamps.length), in.doubles(timestamps.length), in.doubles(timestamps.length),
+                    in.doubles(timestamps.length));
+            default -> throw new IllegalArgumentException("unknown type tag " + data[0]);
+        };
+    }
+
+    private static final class BitWriter {
+        private byte[] bytes;
+        private long bits;
+
+        BitWriter(int capacity) {
+            bytes = new byte[Math.max(capacity, 16)];
+        }
+
+        /** Appends the low {@code count} bits of {@code value}, most significant first. */
+        void write(long value, int count) {
+            int needed = (int) ((bits + count + 7) >>> 3);
+            if (needed > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, needed));
+            }
+            int remaining = count;
+            while (remaining > 0) {
+                int offset = (int) (bits & 7);
+                int take = Math.min(8 - offset, remaining);
+                int chunk = (int) (value >>> (remaining - take)) & ((1 << take) - 1);
+                bytes[(int) (bits >>> 3)] |= (byte) (chunk << (8 - offset - take));
+                bits += take;
+                remaining -= take;
+            }
+        }
+
+        void header(byte tag, @Nullable String id, long[] timestamps) {
+            write(tag | COMPRESSED, 8);
+            if (id == null) {
+                write(-1, 32);
+            } else {
+                byte[] utf8 = id.getBytes(StandardCharsets.UTF_8);
+                write(utf8.length, 32);
+                for (byte b : utf8) {
+                    write(b, 8);
+                }
+            }
+            write(timestamps.length, 32);
+            long previous = 0L;
+            long previousDelta = 0L;
+            for (int x = 0; x < timestamps.length; x++) {
+                if (x == 0) {
+                    write(timestamps[0], 64);
+                } else {
+                    long delta = timestamps[x] - previous;
+                    long deltaOfDelta = delta - previousDelta;
+                    if (deltaOfDelta == 0L) {
+                        write(0b0, 1);
+                    } else if (deltaOfDelta >= -64L && deltaOfDelta <= 63L) {
+                        write(0b10, 2);
+                        write(deltaOfDelta, 7);
+                    } else if (deltaOfDelta >= -256L && deltaOfDelta <= 255L) {
+                        write(0b110, 3);
+                        write(deltaOfDelta, 9);
+                    } else if (deltaOfDelta >= -2048L && deltaOfDelta <= 2047L) {
+                        write(0b1110, 4);
+                        write(deltaOfDelta, 12);
+                    } else {
+                        write(0b1111, 4);
+                        write(deltaOfDelta, 64);
+                    }
+                    previousDelta = delta;
+                }
+                previous = timestamps[x];
+            }
+        }
+
+        void doubles(double[] values) {
+            long previous = 0L;
+            int leading = Integer.MAX_VALUE;
+            int trailing = 0;
+            for (int x = 0; x < values.length; x++) {
+                long value = Double.doubleToRawLongBits(values[x]);
+                if (x == 0) {
+                    write(value, 64);
+                    previous = value;
+                    continue;
+                }
+                long xor = value ^ previous;
+                if (xor == 0L) {
+                    write(0b0, 1);
+                } else {
+                    int newLeading = Math.min(Long.numberOfLeadingZeros(xor), 31);
+                    int newTrailing = Long.numberOfTrailingZeros(xor);
+                    if (newLeading >= leading && newTrailing >= trailing) {
+                        write(0b10, 2);
+                        write(xor >>> trailing, 64 - leading - trailing);
+                    } else {
+                        leading = newLeading;
+                        trailing = newTrailing;
+                        int length = 64 - leading - trailing;
+                        write(0b11, 2);
+                        write(leading, 5);
+                        write(length & 63, 6);
+                        write(xor >>> trailing, length);
+                    }
+                }
+                previous = value;
+            }
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(bytes, (int) ((bits + 7) >>> 3));
+        }
+    }
+
+    private static final class BitReader {
+        private final byte[] bytes;
+        private long bits = 8;
+
+        BitReader(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        long read(int count) {
+            if (bits + count > (long) bytes.length << 3) {
+                throw new IllegalArgumentException("truncated message");
+            }
+            long value = 0L;
+            int remaining = count;
+            while (remaining > 0) {
+                int offset = (int) (bits & 7);
+                int take = Math.min(8 - offset, remaining);
+                int chunk = ((bytes[(int) (bits >>> 3)] & 0xFF) >>> (8 - offset - take)) & ((1 << take) - 1);
+                value = (value << take) | chunk;
+                bits += take;
+                remaining -= take;
+            }
+            return value;
+        }
+
+        long readSigned(int count) {
+            return read(count) << (64 - count) >> (64 - count);
+        }
+
+        @Nullable String string() {
+            int length = (int) read(32);
+            if (length == -1) {
+                return null;
+            }
+            if (length < 0 || length > bytes.length) {
+                throw new IllegalArgumentException("malformed string length " + length);
+            }
+            byte[] utf8 = new byte[length];
+            for (int x = 0; x < length; x++) {
+                utf8[x] = (byte) read(8);
+            }
+            return new String(utf8, StandardCharsets.UTF_8);
+        }
+
+        long[] timestamps() {
+            int length = (int) read(32);
+            if (length < 0 || length > ((long) bytes.length << 3)) {
+                throw new IllegalArgumentException("malformed array length " + length);
+            }
+            long[] values = new long[length];
+            long delta = 0L;
+            for (int x = 0; x < length; x++) {
+                if (x == 0) {
+                    values[0] = read(64);
+                    continue;
+                }
+                long deltaOfDelta;
+                if (read(1) == 0) {
+                    deltaOfDelta = 0L;
+                } else if (read(1) == 0) {
+                    deltaOfDelta = readSigned(7);
+                } else if (read(1) == 0) {
+                    deltaOfDelta = readSigned(9);
+                } else if (read(1) == 0) {
+                    deltaOfDelta = readSigned(12);
+                } else {
+                    deltaOfDelta = read(64);
+                }
+                delta += deltaOfDelta;
+                values[x] = values[x - 1] + delta;
+            }
+            return values;
+        }
+
+        double[] doubles(int length) {
+            double[] values = new double[length];
+            long previous = 0L;
+            int leading = 0;
+            int trailing = 0;
+            for (int x = 0; x < length; x++) {
+                if (x == 0) {
+                    previous = read(64);
+                } else if (read(1) != 0) {
+                    if (read(1) != 0) {
+                        leading = (int) read(5);
+                        int meaningful = (int) read(6);
+                        trailing = 64 - leading - (meaningful == 0 ? 64 : meaningful);
+                    }
+                    if (trailing < 0) {
+                        throw new IllegalArgumentException("malformed value window");
+                    }
+                    previous ^= read(64 - leading - trailing) << trailing;
+                }
+                values[x] = Double.longBitsToDouble(previous);
+            }
+            return values;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ *  Copyright (c) 2026 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.xtratej.event.series.dao.codec;
+
+import com.fibonsai.xtratej.event.series.dao.OrderBookUpdateTimeSeries;
+import org.jspecify.annotations.Nullable;
+
+import java.io.Serial;
+import java.nio.ByteBuffer;
+
+/**
+ * Zero-copy view of a {@link BinaryCodec#ORDER_BOOK_UPDATE} message. Prices, amounts and spreads are read in
+ * place; order ids are variable length, so {@link #bidOrderId(int)} and {@link #askOrderId(int)} walk the column.
+ */
+public final class OrderBookUpdateTimeSeriesView extends TimeSeriesView {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final int bidOrderIdsOffset;
+    private final int askOrderIdsOffset;
+    private final int bidPricesOffset;
+    private final int askPricesOffset;
+    private final int bidAmountsOffset;
+    private final int askAmountsOffset;
+    private final int spreadsOffset;
+
+    public OrderBookUpdateTimeSeriesView(ByteBuffer buffer) {
+        super(buffer, BinaryCodec.ORDER_BOOK_UPDATE);
+        bidOrderIdsOffset = stringColumn();
+        askOrderIdsOffset = stringColumn();
+        bidPricesOffset = doubleColumn();
+        askPricesOffset = doubleColumn();
+        bidAmountsOffset = doubleColumn();
+        askAmountsOffset = doubleColumn();
+        spreadsOffset = doubleColumn();
+    }
+
+    public @Nullable String bidOrderId(int index) {
+        return stringAt(bidOrderIdsOffset, index);
+    }
+
+    public @Nullable String askOrderId(int index) {
+        return stringAt(askOrderIdsOffset, index);
+    }
+
+    public double bidPrice(int index) {
+        return doubleAt(bidPricesOffset, index);
+    }
+
+    public double askPrice(int index) {
+        return doubleAt(askPricesOffset, index);
+    }
+
+    public double bidAmount(int index) {
+        return doubleAt(bidAmountsOffset, index);
+    }
+
+    public double askAmount(int index) {
+        return doubleAt(askAmountsOffset, index);
+    }
+
+    public double spread(int index) {
+        return doubleAt(spreadsOffset, index);
+    }
+
+    @Override
+    public OrderBookUpdateTimeSeries toSeries() {
+        return new OrderBookUpdateTimeSeries(id(), timestamps(), copyStrings(bidOrderIdsOffset),
+                copyStrings(askOrderIdsOffset), copyDoubles(bidPricesOffset), copyDoubles(askPricesOffset),
+                copyDoubles(bidAmountsOffset), copyDoubles(askAmountsOffset), copyDoubles(spreadsOffset));
+    }
+
+    @Override
+    public String toString() {
+        return "OrderBookUpdateTimeSeriesView[id=" + id() + ", size=" + size() + "]";
+    }
+}
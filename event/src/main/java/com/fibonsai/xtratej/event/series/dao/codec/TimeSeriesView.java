@@ -0,0 +1,191 @@
+/*
+ *  Copyright (c) 2026 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.xtratej.event.series.dao.codec;
+
+import com.fibonsai.xtratej.event.series.dao.TimeSeries;
+import org.jspecify.annotations.Nullable;
+
+import java.io.Serial;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Read-only {@link TimeSeries} over a {@link BinaryCodec} message, reading the columns in place instead of copying
+ * them into arrays. Column lengths are validated once when the view is created; the indexed accessors then read
+ * straight from the buffer. The array accessors of {@link TimeSeries} copy, and {@link #toSeries()} materializes
+ * the equivalent record for consumers that only understand the {@code dao} records.
+ *
+ * <p>The view shares the buffer it was created on, so that buffer must not be reused while the view is alive.
+ */
+public abstract sealed class TimeSeriesView implements TimeSeries
+        permits DoubleTimeSeriesView, OrderBookUpdateTimeSeriesView {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    protected final transient ByteBuffer buffer;
+    private final @Nullable String id;
+    private final int size;
+    private final int timestampsOffset;
+
+    /** Cursor over {@code buffer} while the subclass locates its columns; unused afterwards. */
+    private transient int position;
+
+    TimeSeriesView(ByteBuffer buffer, byte tag) {
+        this.buffer = buffer.slice().order(ByteOrder.LITTLE_ENDIAN);
+        try {
+            if (this.buffer.get(0) != tag) {
+                throw new IllegalArgumentException("unexpected type tag " + this.buffer.get(0));
+            }
+            position = 1;
+            id = readString();
+            size = readLength(Long.BYTES);
+            timestampsOffset = skip(size * Long.BYTES);
+        } catch (IndexOutOfBoundsException | BufferUnderflowException e) {
+            throw new IllegalArgumentException("truncated message", e);
+        }
+    }
+
+    /** Returns the offset of the next double column, checking it has {@link #size()} values. */
+    protected final int doubleColumn() {
+        if (readLength(Double.BYTES) != size) {
+            throw new IllegalArgumentException("column length differs from the timestamps length");
+        }
+        return skip(size * Double.BYTES);
+    }
+
+    /** Returns the offset of the next string column, checking it has {@link #size()} values. */
+    protected final int stringColumn() {
+        if (readLength(Integer.BYTES) != size) {
+            throw new IllegalArgumentException("column length differs from the timestamps length");
+        }
+        int offset = position;
+        for (int x = 0; x < size; x++) {
+            int length = readInt();
+            if (length > 0) skip(length);
+            else if (length != -1 && length != 0) throw new IllegalArgumentException("malformed string length " + length);
+        }
+        return offset;
+    }
+
+    /** Reads the string at {@code index} of the string column at {@code offset}. */
+    protected final @Nullable String stringAt(int offset, int index) {
+        for (int x = 0; x < index; x++) {
+            offset += Integer.BYTES + Math.max(buffer.getInt(offset), 0);
+        }
+        int length = buffer.getInt(offset);
+        return length == -1 ? null : readString(offset + Integer.BYTES, length);
+    }
+
+    protected final double doubleAt(int offset, int index) {
+        return buffer.getDouble(offset + index * Double.BYTES);
+    }
+
+    protected final double[] copyDoubles(int offset) {
+        double[] values = new double[size];
+        buffer.slice(offset, size * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer().get(values);
+        return values;
+    }
+
+    protected final String[] copyStrings(int offset) {
+        String[] values = new String[size];
+        for (int x = 0; x < size; x++) {
+            int length = buffer.getInt(offset);
+            offset += Integer.BYTES;
+            values[x] = length == -1 ? null : readString(offset, length);
+            offset += Math.max(length, 0);
+        }
+        return values;
+    }
+
+    /** Returns the equivalent {@code dao} record, copying every column. */
+    public abstract TimeSeries toSeries();
+
+    @Override
+    public @Nullable String id() {
+        return id;
+    }
+
+    public long timestamp(int index) {
+        return buffer.getLong(timestampsOffset + index * Long.BYTES);
+    }
+
+    @Override
+    public long timestamp() {
+        return size > 0 ? timestamp(size - 1) : 0L;
+    }
+
+    @Override
+    public long[] timestamps() {
+        long[] values = new long[size];
+        buffer.slice(timestampsOffset, size * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN).asLongBuffer().get(values);
+        return values;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Serial
+    protected final Object writeReplace() {
+        return toSeries();
+    }
+
+    private int readInt() {
+        int value = buffer.getInt(position);
+        position += Integer.BYTES;
+        return value;
+    }
+
+    private int readLength(int elementBytes) {
+        int length = readInt();
+        if (length < 0 || (long) length * elementBytes > buffer.limit() - position) {
+            throw new IllegalArgumentException("malformed array length " + length);
+        }
+        return length;
+    }
+
+    private int skip(int bytes) {
+        if (bytes > buffer.limit() - position) {
+            throw new IllegalArgumentException("truncated message");
+        }
+        int offset = position;
+        position += bytes;
+        return offset;
+    }
+
+    private @Nullable String readString() {
+        int length = readInt();
+        if (length == -1) {
+            return null;
+        }
+        if (length < 0) {
+            throw new IllegalArgumentException("malformed string length " + length);
+        }
+        return readString(skip(length), length);
+    }
+
+    private String readString(int offset, int length) {
+        if (buffer.hasArray()) {
+            return new String(buffer.array(), buffer.arrayOffset() + offset, length, StandardCharsets.UTF_8);
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,243 @@
+/*
+ *  Copyright (c) 2026 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.xtratej.event.series.dao.tools;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Running peak-to-trough drawdown of an appended series of values, over all values or over the last
+ * {@code window} ones.
+ *
+ * <p>{@link #maxDrawdown()} is the largest relative decline from a value to a later lower one, i.e. the max over t
+ * of {@code (peak_t - value_t) / peak_t} with {@code peak_t} the highest value up to t. A low that comes before the
+ * peak is not a drawdown. Declines from a peak that is not positive count as 0.
+ *
+ * <p>Unbounded, the state is a running peak, low and drawdown. With a window the values are kept in a two-stack
+ * queue whose entries carry the (peak, low, drawdown) summary of their stack segment: summaries combine in order,
+ * the drawdown of an older part followed by a newer one being the largest of both and of the decline from the older
+ * peak to the newer low. Each {@link #add(double)} is amortized O(1) and at most {@code window} values are held.
+ * NaN values are ignored.
+ */
+public class DrawdownTracker {
+
+    /** Values of a window and the summaries of their stack segments. */
+    private static class WindowQueue {
+        private final double[] values;
+        // front stack: oldest on top, each entry summarizes itself and the newer front entries below it
+        private final double[] frontPeaks;
+        private final double[] frontLows;
+        private final double[] frontDrawdowns;
+        private int frontSize = 0;
+        // back stack: newest on top, summarized as a whole
+        private final double[] backValues;
+        private int backSize = 0;
+        private double backPeak = Double.NaN;
+        private double backLow = Double.NaN;
+        private double backDrawdown = 0.0;
+
+        WindowQueue(int capacity) {
+            this.values = new double[capacity];
+            this.frontPeaks = new double[capacity];
+            this.frontLows = new double[capacity];
+            this.frontDrawdowns = new double[capacity];
+            this.backValues = new double[capacity];
+        }
+
+        int size() {
+            return frontSize + backSize;
+        }
+
+        void add(double value) {
+            if (size() == values.length) {
+                evict();
+            }
+            if (backSize == 0) {
+                backPeak = value;
+                backLow = value;
+                backDrawdown = 0.0;
+            } else {
+                backDrawdown = Math.max(backDrawdown, decline(backPeak, value));
+                backPeak = Math.max(backPeak, value);
+                backLow = Math.min(backLow, value);
+            }
+            backValues[backSize++] = value;
+        }
+
+        private void evict() {
+            if (frontSize == 0) {
+                // move the back stack over, newest first, so the oldest ends on top
+                while (backSize > 0) {
+                    double value = backValues[--backSize];
+                    if (frontSize == 0) {
+                        frontPeaks[0] = value;
+                        frontLows[0] = value;
+                        frontDrawdowns[0] = 0.0;
+                    } else {
+                        int below = frontSize - 1;
+                        frontDrawdowns[frontSize] = Math.max(frontDrawdowns[below], decline(value, frontLows[below]));
+                        frontPeaks[frontSize] = Math.max(value, frontPeaks[below]);
+                        frontLows[frontSize] = Math.min(value, frontLows[below]);
+                    }
+                    values[frontSize++] = value;
+                }
+                backPeak = Double.NaN;
+                backLow = Double.NaN;
+                backDrawdown = 0.0;
+            }
+            frontSize--;
+        }
+
+        double peak() {
+            if (frontSize == 0) return backPeak;
+            if (backSize == 0) return frontPeaks[frontSize - 1];
+            return Math.max(frontPeaks[frontSize - 1], backPeak);
+        }
+
+        double low() {
+            if (frontSize == 0) return backLow;
+            if (backSize == 0) return frontLows[frontSize - 1];
+            return Math.min(frontLows[frontSize - 1], backLow);
+        }
+
+        double drawdown() {
+            if (frontSize == 0) return backDrawdown;
+            int top = frontSize - 1;
+            if (backSize == 0) return frontDrawdowns[top];
+            return Math.max(Math.max(frontDrawdowns[top], backDrawdown), decline(frontPeaks[top], backLow));
+        }
+
+        void clear() {
+            frontSize = 0;
+            backSize = 0;
+            backPeak = Double.NaN;
+            backLow = Double.NaN;
+            backDrawdown = 0.0;
+        }
+
+        void writeTo(DataOutput out) throws IOException {
+            out.writeInt(size());
+            for (int x = frontSize - 1; x >= 0; x--) {
+                out.writeDouble(values[x]);
+            }
+            for (int x = 0; x < backSize; x++) {
+                out.writeDouble(backValues[x]);
+            }
+        }
+
+        void readFrom(DataInput in) throws IOException {
+            int entries = in.readInt();
+            if (entries < 0 || entries > values.length) {
+                throw new IOException("drawdown window larger than " + values.length);
+            }
+            clear();
+            for (int x = 0; x < entries; x++) {
+                add(in.readDouble());
+            }
+        }
+    }
+
+    private final int window;
+    private final WindowQueue queue;
+    private long count = 0;
+    private double peak = Double.NaN;
+    private double low = Double.NaN;
+    private double drawdown = 0.0;
+
+    public DrawdownTracker() {
+        this(0);
+    }
+
+    /**
+     * @param window number of most recent values tracked, 0 or less to track all of them
+     */
+    public DrawdownTracker(int window) {
+        this.window = Math.max(window, 0);
+        this.queue = new WindowQueue(Math.max(this.window, 1));
+    }
+
+    private static double decline(double peak, double value) {
+        return peak > 0.0 ? Math.max(0.0, (peak - value) / peak) : 0.0;
+    }
+
+    public DrawdownTracker add(double value) {
+        if (Double.isNaN(value)) return this;
+        count++;
+        if (window == 0) {
+            if (Double.isNaN(peak) || value > peak) peak = value;
+            if (Double.isNaN(low) || value < low) low = value;
+            drawdown = Math.max(drawdown, decline(peak, value));
+        } else {
+            queue.add(value);
+        }
+        return this;
+    }
+
+    /** Number of values added since creation or the last {@link #clear()}. */
+    public long count() {
+        return count;
+    }
+
+    public int window() {
+        return window;
+    }
+
+    /** Highest tracked value, NaN if none. */
+    public double peak() {
+        return window == 0 ? peak : queue.peak();
+    }
+
+    /** Lowest tracked value, NaN if none. It may come before the peak. */
+    public double low() {
+        return window == 0 ? low : queue.low();
+    }
+
+    /** Largest relative peak-to-trough decline of the tracked values, 0.0 if none. */
+    public double maxDrawdown() {
+        return window == 0 ? drawdown : queue.drawdown();
+    }
+
+    public void clear() {
+        count = 0;
+        peak = Double.NaN;
+        low = Double.NaN;
+        drawdown = 0.0;
+        queue.clear();
+    }
+
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeInt(window);
+        out.writeLong(count);
+        out.writeDouble(peak);
+        out.writeDouble(low);
+        out.writeDouble(drawdown);
+        queue.writeTo(out);
+    }
+
+    /** Restores a state written by {@link #writeTo(DataOutput)} of a tracker with the same window. */
+    public DrawdownTracker readFrom(DataInput in) throws IOException {
+        int savedWindow = in.readInt();
+        if (savedWindow != window) {
+            throw new IOException("drawdown window " + savedWindow + " does not match " + window);
+        }
+        count = in.readLong();
+        peak = in.readDouble();
+        low = in.readDouble();
+        drawdown = in.readDouble();
+        queue.readFrom(in);
+        return this;
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ *  Copyright (c) 2026 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.xtratej.event.series.dao.tools;
+
+import com.fibonsai.xtratej.event.series.dao.TimeSeries;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Remembers how far a timestamp-ordered stream of series has been consumed, so only new points are processed.
+ *
+ * <p>With {@link Mode#HISTORY} every series carries the whole history: a point is new if its timestamp is after
+ * the last consumed one, or equal to it past the points already consumed at that timestamp, and late points are
+ * skipped. With {@link Mode#DELTA} every series carries only new points, so all of them are new, whatever their
+ * timestamps.
+ */
+public class SeriesCursor {
+
+    public enum Mode {
+        HISTORY,
+        DELTA
+    }
+
+    private final Mode mode;
+    private long watermark = Long.MIN_VALUE;
+    private int consumedAtWatermark = 0;
+
+    public SeriesCursor() {
+        this(Mode.HISTORY);
+    }
+
+    public SeriesCursor(Mode mode) {
+        this.mode = mode;
+    }
+
+    public Mode mode() {
+        return mode;
+    }
+
+    /** Index of the first point of the series not consumed yet, found by binary search in history mode. */
+    public int firstUnseen(TimeSeries timeSeries) {
+        if (mode == Mode.DELTA) {
+            return 0;
+        }
+        long[] timestamps = timeSeries.timestamps();
+        int low = 0;
+        int high = timestamps.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (timestamps[mid] < watermark) low = mid + 1;
+            else high = mid;
+        }
+        int seen = 0;
+        while (low < timestamps.length && timestamps[low] == watermark && seen < consumedAtWatermark) {
+            low++;
+            seen++;
+        }
+        return low;
+    }
+
+    public void consumed(long timestamp) {
+        if (timestamp == watermark) {
+            consumedAtWatermark++;
+        } else {
+            watermark = timestamp;
+            consumedAtWatermark = 1;
+        }
+    }
+
+    public long watermark() {
+        return watermark;
+    }
+
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeLong(watermark);
+        out.writeInt(consumedAtWatermark);
+    }
+
+    public SeriesCursor readFrom(DataInput in) throws IOException {
+        watermark = in.readLong();
+        consumedAtWatermark = in.readInt();
+        return this;
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ *  Copyright (c) 2026 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.xtratej.event.series.dao.tools;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Streaming mean/variance accumulator (Welford's online algorithm).
+ * Each {@link #add(double)} is O(1) and no sample is retained.
+ * Variance is the bias-corrected sample variance, matching hipparchus {@code DescriptiveStatistics}.
+ * {@link #replace(double, double)} slides a fixed-size window without re-adding its samples.
+ */
+public class Welford {
+
+    private long count = 0;
+    private double mean = 0.0;
+    private double m2 = 0.0;
+
+    public Welford add(double value) {
+        count++;
+        double delta = value - mean;
+        mean += delta / count;
+        m2 += delta * (value - mean);
+        return this;
+    }
+
+    public Welford replace(double removed, double added) {
+        double oldMean = mean;
+        mean += (added - removed) / count;
+        m2 = Math.max(0.0, m2 + (added - removed) * (added - mean + removed - oldMean));
+        return this;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public double mean() {
+        return count == 0 ? Double.NaN : mean;
+    }
+
+    public double variance() {
+        if (count == 0) return Double.NaN;
+        if (count == 1) return 0.0;
+        return m2 / (count - 1);
+    }
+
+    public double populationVariance() {
+        return count == 0 ? Double.NaN : m2 / count;
+    }
+
+    public double standardDeviation() {
+        return Math.sqrt(variance());
+    }
+
+    public void clear() {
+        count = 0;
+        mean = 0.0;
+        m2 = 0.0;
+    }
+
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeLong(count);
+        out.writeDouble(mean);
+        out.writeDouble(m2);
+    }
+
+    public Welford readFrom(DataInput in) throws IOException {
+        count = in.readLong();
+        mean = in.readDouble();
+        m2 = in.readDouble();
+        return this;
+    }
+}
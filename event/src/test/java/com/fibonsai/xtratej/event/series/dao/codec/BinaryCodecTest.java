@@ -0,0 +1,112 @@
+/*
+ *  Copyright (c) 2026 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.xtratej.event.series.dao.codec;
+
+import com.fibonsai.xtratej.event.series.dao.*;
+import com.fibonsai.xtratej.event.series.dao.builders.BarTimeSeriesBuilder;
+import com.fibonsai.xtratej.event.series.dao.builders.MyOrdersTimeSeriesBuilder;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.List;
+
+public class BinaryCodecTest {
+
+    private static List<TimeSeries> samples() {
+        return List.of(
+                new DoubleTimeSeries("price", new long[]{1L, 2L}, new double[]{1.5, Double.NaN}),
+                new DoubleTimeSeries(new long[]{3L}, new double[]{4.0}),
+                new Double2TimeSeries("d2", new long[]{1L}, new double[]{1.0}, new double[]{2.0}),
+                new BarTimeSeriesBuilder().setId("bar").add(1L, 1.0, 2.0, 0.5, 1.5, 10.0).add(2L, 1.5, 3.0, 1.0, 2.5, 20.0).build(),
+                new BandTimeSeries("band", new long[]{1L}, new double[]{3.0}, new double[]{2.0}, new double[]{1.0}),
+                new BooleanTimeSeries("bool", new long[]{1L, 2L, 3L}, new boolean[]{true, false, true}),
+                new OrderBookUpdateTimeSeries("book", new long[]{1L}, new String[]{"b1"}, new String[]{"a1"},
+                        new double[]{9.0}, new double[]{10.0}, new double[]{1.0}, new double[]{2.0}, new double[]{1.0}),
+                new MyOrdersTimeSeriesBuilder().setId("orders")
+                        .add(1L, "o1", MyOrdersTimeSeries.BidAskSide.BID, MyOrdersTimeSeries.TradeState.FILLED, 100.0, 1.0, 1.0)
+                        .build(),
+                new BalanceUpdateTimeSeries("balance", new long[]{1L}, new String[]{"BTC"}, new String[]{"me"},
+                        new BalanceUpdateTimeSeries.UpdateCause[]{BalanceUpdateTimeSeries.UpdateCause.TRADE},
+                        new double[]{1.0}, new double[]{1.0}, new double[]{0.0}, new double[]{0.0}, new double[]{0.0},
+                        new double[]{0.0}, new double[]{0.0}, new int[]{8}),
+                new TradingSignal("id", 5L, TradingSignal.Signal.EXIT, "strategy", "BTC-USD", "p1#p2"),
+                EmptyTimeSeries.INSTANCE);
+    }
+
+    @Test
+    public void roundTripTest() {
+        for (var timeSeries : samples()) {
+            byte[] encoded = BinaryCodec.encode(timeSeries);
+            TimeSeries decoded = BinaryCodec.decode(encoded);
+
+            Assertions.assertEquals(timeSeries.getClass(), decoded.getClass());
+            Assertions.assertEquals(timeSeries.id(), decoded.id());
+            Assertions.assertArrayEquals(timeSeries.timestamps(), decoded.timestamps());
+            Assertions.assertArrayEquals(encoded, BinaryCodec.encode(decoded), timeSeries.getClass().getSimpleName());
+        }
+    }
+
+    @Test
+    public void columnsTest() {
+        var bar = (BarTimeSeries) BinaryCodec.decode(BinaryCodec.encode(samples().get(3)));
+        Assertions.assertArrayEquals(new double[]{1.5, 2.5}, bar.closes());
+        Assertions.assertArrayEquals(new double[]{10.0, 20.0}, bar.volumes());
+
+        var orders = (MyOrdersTimeSeries) BinaryCodec.decode(BinaryCodec.encode(samples().get(7)));
+        Assertions.assertEquals(MyOrdersTimeSeries.BidAskSide.BID, orders.sides()[0]);
+        Assertions.assertEquals("o1", orders.orderIds()[0]);
+        Assertions.assertTrue(Double.isNaN(orders.limitPrices()[0]));
+
+        var signal = (TradingSignal) BinaryCodec.decode(BinaryCodec.encode(samples().get(9)));
+        Assertions.assertEquals(samples().get(9), signal);
+    }
+
+    @Test
+    public void littleEndianTest() {
+        byte[] encoded = BinaryCodec.encode(new DoubleTimeSeries(null, new long[]{1L}, new double[]{0.0}));
+
+        Assertions.assertEquals(BinaryCodec.DOUBLE, encoded[0]);
+        Assertions.assertEquals(-1, ByteBuffer.wrap(encoded, 1, 4).order(ByteOrder.LITTLE_ENDIAN).getInt());
+        // count 1, then timestamp 1 with its low byte first
+        Assertions.assertEquals(1, encoded[5]);
+        Assertions.assertEquals(1, encoded[9]);
+        Assertions.assertEquals(0, encoded[10]);
+    }
+
+    @Test
+    public void decodeByteBufferRegionTest() {
+        byte[] encoded = BinaryCodec.encode(samples().getFirst());
+        byte[] framed = new byte[encoded.length + 6];
+        System.arraycopy(encoded, 0, framed, 3, encoded.length);
+
+        var buffer = ByteBuffer.wrap(framed, 3, encoded.length);
+        var decoded = (DoubleTimeSeries) BinaryCodec.decode(buffer);
+
+        Assertions.assertEquals("price", decoded.id());
+        Assertions.assertEquals(3, buffer.position());
+    }
+
+    @Test
+    public void malformedTest() {
+        byte[] encoded = BinaryCodec.encode(samples().getFirst());
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> BinaryCodec.decode(new byte[]{42}));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> BinaryCodec.decode(Arrays.copyOf(encoded, encoded.length - 3)));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> BinaryCodec.decode(new byte[0]));
+    }
+}
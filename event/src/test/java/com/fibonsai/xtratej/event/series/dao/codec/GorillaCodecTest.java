@@ -0,0 +1,102 @@
+/*
+ *  Copyright (c) 2026 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.xtratej.event.series.dao.codec;
+
+import com.fibonsai.xtratej.event.series.dao.*;
+import com.fibonsai.xtratej.event.series.dao.builders.BarTimeSeriesBuilder;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+public class GorillaCodecTest {
+
+    @Test
+    public void roundTripTest() {
+        var samples = List.of(
+                new DoubleTimeSeries("price", new long[]{1L, 2L, 3L, 5L, 1_000L, 1_000L, -7L, Long.MAX_VALUE},
+                        new double[]{1.5, 1.5, 1.75, Double.NaN, -0.0, 0.0, Double.MAX_VALUE, Double.MIN_VALUE}),
+                new DoubleTimeSeries(new long[]{3L}, new double[]{4.0}),
+                new DoubleTimeSeries("empty", new long[0], new double[0]),
+                new Double2TimeSeries("d2", new long[]{1L, 61_000L}, new double[]{1.0, 1.1}, new double[]{2.0, 2.0}),
+                new BarTimeSeriesBuilder().setId("bar").add(1L, 1.0, 2.0, 0.5, 1.5, 10.0).add(2L, 1.5, 3.0, 1.0, 2.5, 20.0).build());
+
+        for (var timeSeries : samples) {
+            TimeSeries decoded = GorillaCodec.decode(GorillaCodec.encode(timeSeries));
+
+            Assertions.assertEquals(timeSeries.getClass(), decoded.getClass());
+            Assertions.assertEquals(timeSeries.id(), decoded.id());
+            Assertions.assertArrayEquals(BinaryCodec.encode(timeSeries), BinaryCodec.encode(decoded));
+        }
+    }
+
+    @Test
+    public void randomWalkRoundTripTest() {
+        Random random = new Random(42L);
+        int size = 10_000;
+        long[] timestamps = new long[size];
+        double[] values = new double[size];
+        long timestamp = 1_700_000_000_000L;
+        double price = 100.0;
+        for (int x = 0; x < size; x++) {
+            timestamp += random.nextInt(10) == 0 ? random.nextInt(100_000) : 250L;
+            price += random.nextInt(3) == 0 ? 0.0 : Math.round(random.nextGaussian() * 4.0) / 100.0;
+            timestamps[x] = timestamp;
+            values[x] = price;
+        }
+        var series = new DoubleTimeSeries("walk", timestamps, values);
+
+        var decoded = (DoubleTimeSeries) GorillaCodec.decode(GorillaCodec.encode(series));
+
+        Assertions.assertArrayEquals(timestamps, decoded.timestamps());
+        Assertions.assertArrayEquals(values, decoded.values());
+    }
+
+    @Test
+    public void compressesRegularTicksTest() {
+        long[] timestamps = new long[1_000];
+        double[] values = new double[1_000];
+        for (int x = 0; x < timestamps.length; x++) {
+            timestamps[x] = 1_700_000_000_000L + x * 1_000L;
+            values[x] = 100.0 + (x / 10) * 0.5;
+        }
+        var series = new DoubleTimeSeries("ticks", timestamps, values);
+
+        int compressed = GorillaCodec.encode(series).length;
+
+        Assertions.assertTrue(compressed * 8 < BinaryCodec.encode(series).length, "compressed to " + compressed);
+    }
+
+    @Test
+    public void otherTypesFallBackToBinaryTest() {
+        var signal = new TradingSignal("id", 5L, TradingSignal.Signal.EXIT, "strategy", "BTC-USD", "p1");
+        byte[] encoded = GorillaCodec.encode(signal);
+
+        Assertions.assertFalse(GorillaCodec.supports(signal));
+        Assertions.assertArrayEquals(BinaryCodec.encode(signal), encoded);
+        Assertions.assertEquals(signal, GorillaCodec.decode(encoded));
+    }
+
+    @Test
+    public void malformedTest() {
+        byte[] encoded = GorillaCodec.encode(new DoubleTimeSeries("price", new long[]{1L, 2L}, new double[]{1.0, 2.0}));
+
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> GorillaCodec.decode(Arrays.copyOf(encoded, encoded.length - 9)));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> GorillaCodec.decode(new byte[]{0x4F, 0, 0, 0, 0}));
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ *  Copyright (c) 2026 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.xtratej.event.series.dao.codec;
+
+import com.fibonsai.xtratej.event.series.dao.BarTimeSeries;
+import com.fibonsai.xtratej.event.series.dao.DoubleTimeSeries;
+import com.fibonsai.xtratej.event.series.dao.OrderBookUpdateTimeSeries;
+import com.fibonsai.xtratej.event.series.dao.TimeSeries;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+public class TimeSeriesViewTest {
+
+    @Test
+    public void doubleViewTest() {
+        var series = new DoubleTimeSeries("price", new long[]{1L, 2L, 3L}, new double[]{1.5, 2.5, Double.NaN});
+        byte[] encoded = BinaryCodec.encode(series);
+
+        TimeSeries view = BinaryCodec.view(ByteBuffer.wrap(encoded));
+
+        var doubles = Assertions.assertInstanceOf(DoubleTimeSeriesView.class, view);
+        Assertions.assertEquals("price", doubles.id());
+        Assertions.assertEquals(3, doubles.size());
+        Assertions.assertEquals(3L, doubles.timestamp());
+        Assertions.assertEquals(2L, doubles.timestamp(1));
+        Assertions.assertEquals(2.5, doubles.value(1));
+        Assertions.assertArrayEquals(series.values(), doubles.values());
+        Assertions.assertEquals(series.id(), doubles.toSeries().id());
+        Assertions.assertArrayEquals(series.timestamps(), doubles.toSeries().timestamps());
+        Assertions.assertArrayEquals(encoded, BinaryCodec.encode(doubles));
+    }
+
+    @Test
+    public void orderBookViewTest() {
+        var series = new OrderBookUpdateTimeSeries("book", new long[]{1L, 1L}, new String[]{"b1", "b22"},
+                new String[]{null, "a2"}, new double[]{9.0, 9.5}, new double[]{10.0, 10.5}, new double[]{1.0, 2.0},
+                new double[]{3.0, 4.0}, new double[]{1.0, 1.0});
+        byte[] encoded = BinaryCodec.encode(series);
+        byte[] framed = new byte[encoded.length + 3];
+        System.arraycopy(encoded, 0, framed, 3, encoded.length);
+        ByteBuffer buffer = ByteBuffer.wrap(framed).position(3);
+
+        var book = Assertions.assertInstanceOf(OrderBookUpdateTimeSeriesView.class, BinaryCodec.view(buffer));
+
+        Assertions.assertEquals(3, buffer.position());
+        Assertions.assertEquals("b22", book.bidOrderId(1));
+        Assertions.assertNull(book.askOrderId(0));
+        Assertions.assertEquals("a2", book.askOrderId(1));
+        Assertions.assertEquals(9.5, book.bidPrice(1));
+        Assertions.assertEquals(10.0, book.askPrice(0));
+        Assertions.assertEquals(2.0, book.bidAmount(1));
+        Assertions.assertEquals(3.0, book.askAmount(0));
+        Assertions.assertEquals(1.0, book.spread(1));
+        Assertions.assertArrayEquals(encoded, BinaryCodec.encode(book.toSeries()));
+        Assertions.assertTrue(Arrays.equals(series.askOrderIds(), book.toSeries().askOrderIds()));
+    }
+
+    @Test
+    public void otherTypesAreDecodedTest() {
+        var bar = new BarTimeSeries("bar", new long[]{1L}, new double[]{1.0}, new double[]{2.0}, new double[]{0.5},
+                new double[]{1.5}, new double[]{10.0});
+
+        Assertions.assertInstanceOf(BarTimeSeries.class, BinaryCodec.view(ByteBuffer.wrap(BinaryCodec.encode(bar))));
+    }
+
+    @Test
+    public void malformedViewTest() {
+        byte[] encoded = BinaryCodec.encode(new DoubleTimeSeries("price", new long[]{1L, 2L}, new double[]{1.0, 2.0}));
+
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> BinaryCodec.view(ByteBuffer.wrap(Arrays.copyOf(encoded, encoded.length - 1))));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> BinaryCodec.view(ByteBuffer.allocate(0)));
+    }
+
+    @Test
+    public void serializesAsRecordTest() throws IOException {
+        var view = new DoubleTimeSeriesView(ByteBuffer.wrap(BinaryCodec.encode(
+                new DoubleTimeSeries("price", new long[]{1L}, new double[]{1.0}))));
+        var out = new ByteArrayOutputStream();
+
+        try (var objects = new ObjectOutputStream(out)) {
+            objects.writeObject(view);
+        }
+
+        Assertions.assertTrue(out.size() > 0);
+    }
+}
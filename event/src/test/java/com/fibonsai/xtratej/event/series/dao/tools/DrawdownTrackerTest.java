@@ -0,0 +1,156 @@
+/*
+ *  Copyright (c) 2026 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.xtratej.event.series.dao.tools;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class DrawdownTrackerTest {
+
+    private final ThreadLocalRandom random = ThreadLocalRandom.current();
+
+    @Test
+    public void emptyTest() {
+        var tracker = new DrawdownTracker();
+
+        Assertions.assertEquals(0, tracker.count());
+        Assertions.assertTrue(Double.isNaN(tracker.peak()));
+        Assertions.assertTrue(Double.isNaN(tracker.low()));
+    }
+
+    @Test
+    public void unboundedTest() {
+        var tracker = new DrawdownTracker().add(100.0D).add(200.0D).add(Double.NaN).add(50.0D).add(150.0D);
+
+        Assertions.assertEquals(4, tracker.count());
+        Assertions.assertEquals(200.0D, tracker.peak());
+        Assertions.assertEquals(50.0D, tracker.low());
+    }
+
+    @Test
+    public void windowTest() {
+        var tracker = new DrawdownTracker(3).add(100.0D).add(200.0D).add(50.0D);
+        Assertions.assertEquals(200.0D, tracker.peak());
+        Assertions.assertEquals(50.0D, tracker.low());
+
+        tracker.add(80.0D).add(90.0D);
+        // window: 50, 80, 90
+        Assertions.assertEquals(90.0D, tracker.peak());
+        Assertions.assertEquals(50.0D, tracker.low());
+
+        tracker.add(85.0D);
+        // window: 80, 90, 85
+        Assertions.assertEquals(90.0D, tracker.peak());
+        Assertions.assertEquals(80.0D, tracker.low());
+    }
+
+    @Test
+    public void windowSameAsBruteForceTest() {
+        int window = 17;
+        var tracker = new DrawdownTracker(window);
+        double[] values = new double[1_000];
+        for (int x = 0; x < values.length; x++) {
+            values[x] = random.nextDouble(0.0D, 1_000.0D);
+            tracker.add(values[x]);
+
+            double peak = Double.NEGATIVE_INFINITY;
+            double low = Double.POSITIVE_INFINITY;
+            for (int y = Math.max(0, x - window + 1); y <= x; y++) {
+                peak = Math.max(peak, values[y]);
+                low = Math.min(low, values[y]);
+            }
+            Assertions.assertEquals(peak, tracker.peak());
+            Assertions.assertEquals(low, tracker.low());
+        }
+    }
+
+    @Test
+    public void clearTest() {
+        var tracker = new DrawdownTracker(2).add(1.0D).add(2.0D);
+        tracker.clear();
+
+        Assertions.assertEquals(0, tracker.count());
+        Assertions.assertTrue(Double.isNaN(tracker.peak()));
+    }
+
+    @Test
+    public void writeToReadFromTest() throws IOException {
+        var tracker = new DrawdownTracker(3).add(100.0D).add(200.0D).add(50.0D).add(150.0D);
+        var bytes = new ByteArrayOutputStream();
+        tracker.writeTo(new DataOutputStream(bytes));
+
+        var restored = new DrawdownTracker(3).readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        restored.add(120.0D);
+        tracker.add(120.0D);
+
+        Assertions.assertEquals(tracker.count(), restored.count());
+        Assertions.assertEquals(tracker.peak(), restored.peak());
+        Assertions.assertEquals(tracker.low(), restored.low());
+        Assertions.assertEquals(tracker.maxDrawdown(), restored.maxDrawdown());
+        Assertions.assertThrows(IOException.class, () -> new DrawdownTracker(5)
+                .readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))));
+    }
+
+    @Test
+    public void windowStrictlyFallingTest() {
+        var tracker = new DrawdownTracker(3).add(5.0D).add(4.0D).add(3.0D).add(2.0D);
+
+        Assertions.assertEquals(4.0D, tracker.peak());
+        Assertions.assertEquals(2.0D, tracker.low());
+    }
+
+    @Test
+    public void windowStrictlyRisingTest() {
+        var tracker = new DrawdownTracker(3).add(1.0D).add(2.0D).add(3.0D).add(4.0D);
+
+        Assertions.assertEquals(4.0D, tracker.peak());
+        Assertions.assertEquals(2.0D, tracker.low());
+    }
+
+    @Test
+    public void maxDrawdownPeakToTroughTest() {
+        var tracker = new DrawdownTracker().add(50.0D).add(100.0D).add(80.0D).add(200.0D).add(170.0D);
+
+        // 100 -> 80 is 20%, 200 -> 170 is 15%, the low 50 comes before any peak
+        Assertions.assertEquals(0.2D, tracker.maxDrawdown(), 1e-12);
+        Assertions.assertEquals(0.0D, new DrawdownTracker(3).add(1.0D).add(2.0D).add(3.0D).add(4.0D).maxDrawdown());
+    }
+
+    @Test
+    public void windowMaxDrawdownSameAsBruteForceTest() {
+        int window = 17;
+        var tracker = new DrawdownTracker(window);
+        double[] values = new double[1_000];
+        for (int x = 0; x < values.length; x++) {
+            values[x] = random.nextDouble(1.0D, 1_000.0D);
+            tracker.add(values[x]);
+
+            double drawdown = 0.0D;
+            double peak = Double.NEGATIVE_INFINITY;
+            for (int y = Math.max(0, x - window + 1); y <= x; y++) {
+                peak = Math.max(peak, values[y]);
+                drawdown = Math.max(drawdown, (peak - values[y]) / peak);
+            }
+            Assertions.assertEquals(drawdown, tracker.maxDrawdown(), 1e-12);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ *  Copyright (c) 2026 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.xtratej.event.series.dao.tools;
+
+import com.fibonsai.xtratej.event.series.dao.DoubleTimeSeries;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class SeriesCursorTest {
+
+    @Test
+    public void fullHistoryTest() {
+        var cursor = new SeriesCursor();
+        var first = new DoubleTimeSeries("x", new long[]{1000L, 2000L}, new double[]{1.0D, 2.0D});
+
+        Assertions.assertEquals(0, cursor.firstUnseen(first));
+        cursor.consumed(1000L);
+        cursor.consumed(2000L);
+        Assertions.assertEquals(2, cursor.firstUnseen(first));
+
+        var second = new DoubleTimeSeries("x", new long[]{1000L, 2000L, 2000L, 3000L}, new double[]{1.0D, 2.0D, 2.5D, 3.0D});
+        Assertions.assertEquals(2, cursor.firstUnseen(second));
+    }
+
+    @Test
+    public void deltaTest() {
+        var cursor = new SeriesCursor();
+        cursor.consumed(1000L);
+
+        Assertions.assertEquals(0, cursor.firstUnseen(new DoubleTimeSeries("x", new long[]{2000L}, new double[]{2.0D})));
+        Assertions.assertEquals(1, cursor.firstUnseen(new DoubleTimeSeries("x", new long[]{500L, 2000L}, new double[]{0.5D, 2.0D})));
+    }
+
+    @Test
+    public void deltaModeSameTimestampTest() {
+        var cursor = new SeriesCursor(SeriesCursor.Mode.DELTA);
+        var first = new DoubleTimeSeries("x", new long[]{1000L}, new double[]{1.0D});
+        var second = new DoubleTimeSeries("x", new long[]{1000L}, new double[]{2.0D});
+
+        Assertions.assertEquals(0, cursor.firstUnseen(first));
+        cursor.consumed(1000L);
+        Assertions.assertEquals(0, cursor.firstUnseen(second));
+
+        var history = new SeriesCursor();
+        history.consumed(1000L);
+        Assertions.assertEquals(1, history.firstUnseen(second));
+    }
+}
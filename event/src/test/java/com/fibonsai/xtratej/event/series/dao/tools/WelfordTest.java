@@ -0,0 +1,85 @@
+/*
+ *  Copyright (c) 2026 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.xtratej.event.series.dao.tools;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+public class WelfordTest {
+
+    private final ThreadLocalRandom random = ThreadLocalRandom.current();
+
+    @Test
+    public void emptyTest() {
+        var welford = new Welford();
+
+        Assertions.assertEquals(0, welford.count());
+        Assertions.assertTrue(Double.isNaN(welford.mean()));
+        Assertions.assertTrue(Double.isNaN(welford.standardDeviation()));
+    }
+
+    @Test
+    public void singleValueTest() {
+        var welford = new Welford().add(20.0D);
+
+        Assertions.assertEquals(20.0D, welford.mean());
+        Assertions.assertEquals(0.0D, welford.standardDeviation());
+    }
+
+    @Test
+    public void sameAsTwoPassTest() {
+        var welford = new Welford();
+        double[] values = new double[10_000];
+        double sum = 0.0D;
+        for (int x = 0; x < values.length; x++) {
+            values[x] = random.nextDouble(-1_000.0D, 1_000.0D);
+            welford.add(values[x]);
+            sum += values[x];
+        }
+        double mean = sum / values.length;
+        double squares = 0.0D;
+        for (var value : values) {
+            squares += (value - mean) * (value - mean);
+        }
+
+        Assertions.assertEquals(values.length, welford.count());
+        Assertions.assertEquals(mean, welford.mean(), 1e-9);
+        Assertions.assertEquals(squares / (values.length - 1), welford.variance(), 1e-6);
+    }
+
+    @Test
+    public void clearTest() {
+        var welford = new Welford().add(1.0D).add(2.0D);
+        welford.clear();
+
+        Assertions.assertEquals(0, welford.count());
+        Assertions.assertTrue(Double.isNaN(welford.mean()));
+    }
+
+
+    @Test
+    public void replaceTest() {
+        var welford = new Welford().add(1.0D).add(2.0D).add(3.0D);
+        welford.replace(1.0D, 7.0D);
+        var expected = new Welford().add(2.0D).add(3.0D).add(7.0D);
+
+        Assertions.assertEquals(3, welford.count());
+        Assertions.assertEquals(expected.mean(), welford.mean(), 1e-12);
+        Assertions.assertEquals(expected.variance(), welford.variance(), 1e-12);
+        Assertions.assertEquals(expected.variance() * 2 / 3, welford.populationVariance(), 1e-12);
+    }
+}